@@ -0,0 +1,177 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for drawing random numbers from the Mersenne Twister. For
+ * comparison, the same benchmarks are run for the xoshiro128** generator. Bulk
+ * draws fill a batch of {@link #BATCH} numbers per invocation and report the
+ * cost per number, which allows direct comparison with single draws.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see MersenneTwister
+ * @see Xoshiro128
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MersenneTwisterBenchmark {
+
+	/**
+	 * The type of random number generator.
+	 */
+	@Param({ "mt", "xoshiro" })
+	String generator;
+
+	/**
+	 * The number of random numbers drawn per invocation of bulk benchmarks.
+	 */
+	static final int BATCH = 1024;
+
+	/**
+	 * The random number generator.
+	 */
+	RandomNumberGenerator rng;
+
+	/**
+	 * The buffer for bulk draws of {@code double}s.
+	 */
+	double[] doubles = new double[BATCH];
+
+	/**
+	 * The buffer for bulk draws of {@code int}s.
+	 */
+	int[] ints = new int[BATCH];
+
+	/**
+	 * Seed the random number generator.
+	 */
+	@Setup
+	public void setup() {
+		rng = ("xoshiro".equals(generator) ? new Xoshiro128(0L) : new MersenneTwister(0L));
+	}
+
+	/**
+	 * Draw a random number from the half-open interval {@code [0, 1)}.
+	 * 
+	 * @return the random number
+	 */
+	@Benchmark
+	public double nextDouble() {
+		return rng.nextDouble();
+	}
+
+	/**
+	 * Draw a random integer.
+	 * 
+	 * @return the random integer
+	 */
+	@Benchmark
+	public int nextInt() {
+		return rng.nextInt();
+	}
+
+	/**
+	 * Draw a random integer from the interval {@code [0, 1000)}. The bound is not
+	 * a power of two, which exercises the rejection sampling.
+	 * 
+	 * @return the random integer
+	 */
+	@Benchmark
+	public int nextIntBounded() {
+		return rng.nextInt(1000);
+	}
+
+	/**
+	 * Draw a batch of random numbers from the half-open interval {@code [0, 1)}.
+	 * 
+	 * @return the buffer with the random numbers
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public double[] nextDoubles() {
+		rng.nextDoubles(doubles, 0, BATCH);
+		return doubles;
+	}
+
+	/**
+	 * Draw a batch of random integers from the interval {@code [0, 1000)}.
+	 * 
+	 * @return the buffer with the random integers
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int[] nextIntsBounded() {
+		rng.nextInts(1000, ints, 0, BATCH);
+		return ints;
+	}
+
+	/**
+	 * Draw a random number from the standard normal distribution.
+	 * 
+	 * @return the random number
+	 */
+	@Benchmark
+	public double nextGaussian() {
+		return rng.nextGaussian();
+	}
+
+	/**
+	 * Draw a batch of random numbers from the standard normal distribution.
+	 * 
+	 * @return the buffer with the random numbers
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public double[] nextGaussians() {
+		rng.nextGaussians(doubles, 0, BATCH);
+		return doubles;
+	}
+}
@@ -0,0 +1,71 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator;
+
+/**
+ * Helper for setting up headless <em>EvoLudo</em> engines in benchmarks. The
+ * engine is configured exactly as for the regression tests in
+ * {@code TestEvoLudo}: the seed is fixed and the model is reset but not
+ * started. Benchmarks then drive the hot paths of the model directly.
+ * 
+ * @author Christoph Hauert
+ */
+public class BenchmarkEngine {
+
+	/**
+	 * Ensure non-instantiability with private default constructor
+	 */
+	private BenchmarkEngine() {
+	}
+
+	/**
+	 * Create a new headless engine, load the module and model specified by the
+	 * command line options {@code clo} and reset the model.
+	 * 
+	 * @param clo the command line options
+	 * @return the engine ready for benchmarking
+	 * 
+	 * @throws IllegalArgumentException if {@code clo} cannot be parsed
+	 */
+	public static EvoLudoJRE load(String clo) {
+		EvoLudoJRE engine = new EvoLudoJRE();
+		engine.addCLOProvider(engine);
+		engine.unloadModule();
+		// fixed seed for reproducible workloads; later options take precedence
+		engine.setCLO("--seed 0 " + clo + " --delay 0");
+		int issues = engine.parseCLO();
+		if (issues > 0)
+			throw new IllegalArgumentException(issues + " parsing issues with options '" + clo + "'");
+		engine.setSuspended(true);
+		engine.modelReset();
+		return engine;
+	}
+}
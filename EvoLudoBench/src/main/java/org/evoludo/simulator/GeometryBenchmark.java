@@ -0,0 +1,103 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for generating large population structures. Measures the time
+ * required to initialize, rewire and evaluate the geometry, i.e. the same
+ * sequence as for every reset of individual based simulations.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see Geometry#init()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryBenchmark {
+
+	/**
+	 * The population structure.
+	 */
+	@Param({ "n", "ni", "N24", "h", "r4", "R4" })
+	public String geometry;
+
+	/**
+	 * The number of nodes.
+	 */
+	@Param({ "262144" })
+	public int popsize;
+
+	/**
+	 * The structure under scrutiny.
+	 */
+	Geometry structure;
+
+	/**
+	 * Load the module with the requested structure.
+	 */
+	@Setup
+	public void setup() {
+		EvoLudoJRE engine = BenchmarkEngine.load("--module Moran --model IBS --geometry " + geometry
+				+ " --popsize " + popsize);
+		structure = engine.getModule().getGeometry();
+	}
+
+	/**
+	 * Generate the population structure.
+	 * 
+	 * @return the structure
+	 */
+	@Benchmark
+	public Geometry init() {
+		structure.init();
+		structure.rewire();
+		structure.evaluate();
+		return structure;
+	}
+}
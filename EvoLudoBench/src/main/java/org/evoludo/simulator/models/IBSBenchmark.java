@@ -0,0 +1,135 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evoludo.simulator.BenchmarkEngine;
+import org.evoludo.simulator.EvoLudoJRE;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for individual based simulations. Measures the time required to
+ * advance representative modules by one generation through
+ * {@link IBS#ibsStep(double)}.
+ * 
+ * @author Christoph Hauert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IBSBenchmark {
+
+	/**
+	 * The module to benchmark.
+	 */
+	@Param({ "2x2", "Moran", "CDL", "cSD" })
+	public String module;
+
+	/**
+	 * The linear dimension of the square lattice.
+	 */
+	@Param({ "100" })
+	public int side;
+
+	/**
+	 * The engine running the model.
+	 */
+	EvoLudoJRE engine;
+
+	/**
+	 * The individual based simulation model.
+	 */
+	IBS ibs;
+
+	/**
+	 * Load the module and reset the model.
+	 */
+	@Setup
+	public void setup() {
+		engine = BenchmarkEngine.load(getOptions(module, side));
+		ibs = (IBS) engine.getModel();
+	}
+
+	/**
+	 * Get the command line options for the module with key {@code key} on a square
+	 * lattice with {@code side}&times;{@code side} nodes. Mutations prevent the
+	 * populations from reaching absorbing states.
+	 * 
+	 * @param key  the key of the module
+	 * @param side the linear dimension of the lattice
+	 * @return the command line options
+	 */
+	static String getOptions(String key, int side) {
+		String structure = " --model IBS --geometry n --popsize " + side + "x";
+		switch (key) {
+			case "2x2":
+				return "--module 2x2 --paymatrix 1,0;1.65,0 --popupdate async --playerupdate imitate 0.1"
+						+ " --mutation 0.001" + structure;
+			case "Moran":
+				return "--module Moran --fitness 1,2 --popupdate Bd --mutation 0.001" + structure;
+			case "CDL":
+				return "--module CDL --interest 3 --mutation 0.001" + structure;
+			case "cSD":
+				return "--module cSD --benefits 11 6,-1.4 --costs 1 4.56,-1.6 --init uniform --interactions all"
+						+ " --popupdate d --mutation 0.1 gaussian 0.01" + structure;
+			default:
+				throw new IllegalArgumentException("unknown module '" + key + "'");
+		}
+	}
+
+	/**
+	 * Advance the model by one generation. Should the model nevertheless converge,
+	 * it is reset.
+	 * 
+	 * @return {@code true} if the model can advance further
+	 */
+	@Benchmark
+	public boolean ibsStep() {
+		if (ibs.ibsStep(1.0))
+			return true;
+		engine.modelReset();
+		return false;
+	}
+}
@@ -0,0 +1,137 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evoludo.simulator.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the elementary operations of individual based simulations:
+ * picking focal individuals proportional to their fitness through
+ * {@link IBSPopulation#pickFitFocalIndividual()} and sampling interaction
+ * groups through {@link IBSGroup#pickAt(int, boolean)}.
+ * 
+ * @author Christoph Hauert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IBSPopulationBenchmark {
+
+	/**
+	 * The population structure.
+	 */
+	@Param({ "n", "ni", "M" })
+	public String geometry;
+
+	/**
+	 * The sampling of interaction groups.
+	 */
+	@Param({ "all", "random 3" })
+	public String interactions;
+
+	/**
+	 * The flag indicating whether fitness proportional picking uses a sum tree.
+	 */
+	@Param({ "false", "true" })
+	public boolean fitnesstree;
+
+	/**
+	 * The population size.
+	 */
+	@Param({ "10000" })
+	public int popsize;
+
+	/**
+	 * The population of the module.
+	 */
+	IBSPopulation population;
+
+	/**
+	 * The interaction group of the population.
+	 */
+	IBSGroup group;
+
+	/**
+	 * The index of the next focal individual for sampling interaction groups.
+	 */
+	int focal;
+
+	/**
+	 * Load the module and reset the model. The payoffs of the snowdrift game
+	 * ensure a heterogeneous fitness landscape.
+	 */
+	@Setup
+	public void setup() {
+		population = BenchmarkEngine.load("--module 2x2 --paymatrix 1,0;1.65,0 --model IBS --geometry "
+				+ geometry + " --popsize " + popsize + " --interactions " + interactions
+				+ (fitnesstree ? " --fitnesstree" : "")).getModule().getIBSPopulation();
+		group = population.getInterGroup();
+		focal = 0;
+	}
+
+	/**
+	 * Pick a focal individual with a probability proportional to its fitness.
+	 * 
+	 * @return the index of the picked individual
+	 */
+	@Benchmark
+	public int pickFitFocalIndividual() {
+		return population.pickFitFocalIndividual();
+	}
+
+	/**
+	 * Sample the interaction group of the next focal individual.
+	 * 
+	 * @return the interaction group
+	 */
+	@Benchmark
+	public int[] pickAt() {
+		if (++focal >= population.nPopulation)
+			focal = 0;
+		return group.pickAt(focal, true);
+	}
+}
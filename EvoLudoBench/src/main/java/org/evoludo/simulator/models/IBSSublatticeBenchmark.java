@@ -0,0 +1,187 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evoludo.simulator.BenchmarkEngine;
+import org.evoludo.simulator.EvoLudoJRE;
+import org.evoludo.util.Formatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for asynchronous updates of independent sublattices. Measures the
+ * time required to advance the prisoner's dilemma on a square lattice by one
+ * generation with random sequential updates ({@code asynchronous}) and with
+ * updates of sublattices ({@code checkerboard}) on a single or on all
+ * available threads.
+ * <p>
+ * In order to validate sublattice updates against the serial engine, the
+ * frequency of cooperators is recorded after every generation and its mean and
+ * standard deviation is reported at the end of each trial. The two update
+ * types are not expected to produce identical trajectories but the reported
+ * frequencies should agree within their fluctuations.
+ *
+ * @author Christoph Hauert
+ *
+ * @see PopulationUpdate.Type#CHECKERBOARD
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IBSSublatticeBenchmark {
+
+	/**
+	 * The population update type.
+	 */
+	@Param({ "asynchronous", "checkerboard" })
+	public String popupdate;
+
+	/**
+	 * The number of threads ({@code 0} for all available processors).
+	 */
+	@Param({ "1", "0" })
+	public int threads;
+
+	/**
+	 * The linear dimension of the square lattice.
+	 */
+	@Param({ "300" })
+	public int side;
+
+	/**
+	 * The engine running the model.
+	 */
+	EvoLudoJRE engine;
+
+	/**
+	 * The individual based simulation model.
+	 */
+	IBS ibs;
+
+	/**
+	 * The storage for the mean trait frequencies.
+	 */
+	double[] mean;
+
+	/**
+	 * The sum of the recorded frequencies of cooperators.
+	 */
+	double sum;
+
+	/**
+	 * The sum of the squared recorded frequencies of cooperators.
+	 */
+	double sum2;
+
+	/**
+	 * The number of recorded frequencies of cooperators.
+	 */
+	int samples;
+
+	/**
+	 * Load the module and reset the model.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		engine = BenchmarkEngine.load(getOptions(popupdate, threads, side));
+		ibs = (IBS) engine.getModel();
+		mean = new double[2];
+		sum = 0.0;
+		sum2 = 0.0;
+		samples = 0;
+	}
+
+	/**
+	 * Get the command line options for the prisoner's dilemma on a square
+	 * lattice with {@code side}&times;{@code side} nodes and population update
+	 * type {@code popupdate} using {@code threads} threads. Mutations prevent the
+	 * population from reaching absorbing states.
+	 *
+	 * @param popupdate the population update type
+	 * @param threads   the number of threads
+	 * @param side      the linear dimension of the lattice
+	 * @return the command line options
+	 */
+	static String getOptions(String popupdate, int threads, int side) {
+		return "--module 2x2 --paymatrix 1,0;1.03,0 --init frequency 0.5,0.5 --popupdate " + popupdate
+				+ " --playerupdate thermal 0.1 --mutation 0.001 temperature --model IBS --geometry n --popsize "
+				+ side + "x --threads " + threads;
+	}
+
+	/**
+	 * Advance the model by one generation and record the frequency of
+	 * cooperators. Should the model nevertheless converge, it is reset.
+	 *
+	 * @return {@code true} if the model can advance further
+	 */
+	@Benchmark
+	public boolean ibsStep() {
+		if (ibs.ibsStep(1.0)) {
+			ibs.getMeanTraits(mean);
+			sum += mean[0];
+			sum2 += mean[0] * mean[0];
+			samples++;
+			return true;
+		}
+		engine.modelReset();
+		return false;
+	}
+
+	/**
+	 * Report the mean and standard deviation of the frequency of cooperators.
+	 */
+	@TearDown(Level.Trial)
+	public void report() {
+		if (samples == 0)
+			return;
+		double avg = sum / samples;
+		double sdev = Math.sqrt(Math.max(0.0, sum2 / samples - avg * avg));
+		System.out.println("\n" + popupdate + " (threads " + threads + "): cooperators " //
+				+ Formatter.format(avg, 4) + " +/- " + Formatter.format(sdev, 4) + " (" + samples
+				+ " generations)");
+	}
+}
@@ -0,0 +1,121 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evoludo.simulator.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the reaction and diffusion steps of partial differential
+ * equations. Both steps sweep the entire discretized space of the
+ * rock-scissors-paper game. The reaction step leaves the density unchanged and
+ * the diffusion step only depends on the outcome of the previous reaction step,
+ * which keeps the workload of repeated invocations stable.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see PDE#react(int, int)
+ * @see PDE#diffuse(int, int)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PDEBenchmark {
+
+	/**
+	 * The geometry of the discretized space.
+	 */
+	@Param({ "n", "m" })
+	public String geometry;
+
+	/**
+	 * The number of units of the discretized space.
+	 */
+	@Param({ "65536" })
+	public int pdeN;
+
+	/**
+	 * The partial differential equations model.
+	 */
+	PDE pde;
+
+	/**
+	 * The number of units of the discretized space.
+	 */
+	int size;
+
+	/**
+	 * Load the module and reset the model.
+	 */
+	@Setup
+	public void setup() {
+		pde = (PDE) BenchmarkEngine.load("--module RSP --model PDE --geometry " + geometry
+				+ " --pdeN " + pdeN).getModel();
+		size = pde.space.size;
+		pde.react(0, size);
+	}
+
+	/**
+	 * Perform the reaction step for all units.
+	 * 
+	 * @return the accumulated change
+	 */
+	@Benchmark
+	public double react() {
+		return pde.react(0, size);
+	}
+
+	/**
+	 * Perform the diffusion step for all units.
+	 * 
+	 * @return the model
+	 */
+	@Benchmark
+	public PDE diffuse() {
+		pde.diffuse(0, size);
+		return pde;
+	}
+}
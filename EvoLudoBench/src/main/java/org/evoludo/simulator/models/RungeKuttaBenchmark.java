@@ -0,0 +1,86 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evoludo.simulator.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for numerical integration of ordinary differential equations.
+ * Measures a single (adaptive) step of the fifth order Runge-Kutta integrator
+ * for the rock-scissors-paper game.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see RungeKutta#deStep(double)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RungeKuttaBenchmark {
+
+	/**
+	 * The numerical integrator.
+	 */
+	RungeKutta ode;
+
+	/**
+	 * Load the module and reset the model.
+	 */
+	@Setup
+	public void setup() {
+		ode = (RungeKutta) BenchmarkEngine.load("--module RSP --model ODE --dt 0.1").getModel();
+	}
+
+	/**
+	 * Advance the numerical integration by one step.
+	 * 
+	 * @return the size of the step taken
+	 */
+	@Benchmark
+	public double deStep() {
+		return ode.deStep(ode.dt);
+	}
+}
@@ -0,0 +1,429 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.geom;
+
+/**
+ * Barnes-Hut tree for approximating the pairwise repulsion between the nodes of
+ * a network in 2D (quadtree) or 3D (octree). Space is recursively subdivided
+ * into cells. Cells whose width {@code w} appears small from the position of a
+ * node at distance {@code d}, i.e. if {@code w/d &lt; theta} for the opening
+ * angle {@code theta}, act on the node as a single charge at their center of
+ * mass. This reduces the costs of calculating the repulsion acting on all nodes
+ * from {@code O(N<sup>2</sup>)} to {@code O(N log N)}.
+ * <p>
+ * The tree is stored in flat arrays to minimize allocations when rebuilding the
+ * tree for every sweep of the layouting process. Once built the tree is not
+ * modified and may be queried concurrently.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see "Barnes, J., Hut, P. (1986) <em>A hierarchical O(N log N)
+ *      force-calculation algorithm.</em> Nature 324:446-449. doi: <a href=
+ *      'https://doi.org/10.1038/324446a0'>10.1038/324446a0</a>"
+ */
+public class BarnesHut {
+
+	/**
+	 * The maximum number of nodes in a leaf of the tree.
+	 */
+	static final int LEAF_SIZE = 8;
+
+	/**
+	 * The maximum depth of the tree. Prevents excessive subdivisions for nodes
+	 * with (nearly) identical positions.
+	 */
+	static final int MAX_DEPTH = 32;
+
+	/**
+	 * The minimal (scaled) distance between nodes, which prevents divisions by
+	 * zero.
+	 */
+	static final double MIN_DIST = 0.0001;
+
+	/**
+	 * The dimension of space, {@code 2} or {@code 3}.
+	 */
+	final int dim;
+
+	/**
+	 * The number of children of a cell, {@code 2<sup>dim</sup>}.
+	 */
+	final int nOrthants;
+
+	/**
+	 * The number of nodes in the tree.
+	 */
+	int nNodes;
+
+	/**
+	 * The coordinates of all nodes. The coordinates of node {@code i} are stored
+	 * in {@code coords[i * dim]} through {@code coords[i * dim + dim - 1]}.
+	 */
+	double[] coords = new double[0];
+
+	/**
+	 * The indices of the nodes sorted such that the nodes of every cell occupy a
+	 * contiguous range.
+	 */
+	int[] order = new int[0];
+
+	/**
+	 * The position of every node in {@link #order}.
+	 */
+	int[] rank = new int[0];
+
+	/**
+	 * Temporary storage for partitioning the nodes of a cell.
+	 */
+	int[] buffer = new int[0];
+
+	/**
+	 * The number of cells in the tree.
+	 */
+	int nCells;
+
+	/**
+	 * The index of the first node of every cell in {@link #order}.
+	 */
+	int[] cellStart = new int[0];
+
+	/**
+	 * The index after the last node of every cell in {@link #order}.
+	 */
+	int[] cellEnd = new int[0];
+
+	/**
+	 * The index of the first child of every cell. The children of a cell are
+	 * stored contiguously.
+	 */
+	int[] cellChild = new int[0];
+
+	/**
+	 * The number of children of every cell. Leaves have no children.
+	 */
+	int[] cellNChildren = new int[0];
+
+	/**
+	 * The squared width of every cell.
+	 */
+	double[] cellWidth2 = new double[0];
+
+	/**
+	 * The center of mass of every cell. Stored analogous to {@link #coords}.
+	 */
+	double[] cellCom = new double[0];
+
+	/**
+	 * Create a new Barnes-Hut tree for nodes in {@code dim} dimensions.
+	 * 
+	 * @param dim the dimension of space ({@code 2} or {@code 3})
+	 */
+	public BarnesHut(int dim) {
+		if (dim < 2 || dim > 3)
+			throw new IllegalArgumentException("dimension must be 2 or 3 (" + dim + ").");
+		this.dim = dim;
+		nOrthants = 1 << dim;
+	}
+
+	/**
+	 * Get the array for the coordinates of {@code n} nodes. The coordinates of node
+	 * {@code i} must be stored in {@code coords[i * dim]} through
+	 * {@code coords[i * dim + dim - 1]} prior to calling {@link #build(int)}.
+	 * 
+	 * @param n the number of nodes
+	 * @return the array for the coordinates
+	 */
+	public double[] getCoordinates(int n) {
+		if (coords.length < n * dim)
+			coords = new double[n * dim];
+		return coords;
+	}
+
+	/**
+	 * Build the tree for the first {@code n} nodes in the array of coordinates.
+	 * 
+	 * @param n the number of nodes
+	 * 
+	 * @see #getCoordinates(int)
+	 */
+	public void build(int n) {
+		nNodes = n;
+		if (order.length < n) {
+			order = new int[n];
+			rank = new int[n];
+			buffer = new int[n];
+		}
+		nCells = 0;
+		if (n == 0)
+			return;
+		// bounding box
+		double[] min = new double[dim];
+		double[] max = new double[dim];
+		for (int d = 0; d < dim; d++) {
+			min[d] = Double.MAX_VALUE;
+			max[d] = -Double.MAX_VALUE;
+		}
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+			int offset = i * dim;
+			for (int d = 0; d < dim; d++) {
+				double x = coords[offset + d];
+				min[d] = Math.min(min[d], x);
+				max[d] = Math.max(max[d], x);
+			}
+		}
+		double[] center = new double[dim];
+		double half = 0.0;
+		for (int d = 0; d < dim; d++) {
+			center[d] = 0.5 * (min[d] + max[d]);
+			half = Math.max(half, 0.5 * (max[d] - min[d]));
+		}
+		if (half <= 0.0)
+			half = 1.0;
+		ensureCells(1);
+		nCells = 1;
+		buildCell(0, 0, n, center, half, 0);
+		for (int i = 0; i < n; i++)
+			rank[order[i]] = i;
+	}
+
+	/**
+	 * Helper method to recursively build the cell with index {@code cell}
+	 * containing the nodes {@code order[start]} through {@code order[end - 1]}.
+	 * 
+	 * @param cell   the index of the cell
+	 * @param start  the index of the first node in {@link #order}
+	 * @param end    the index after the last node in {@link #order}
+	 * @param center the center of the cell
+	 * @param half   half the width of the cell
+	 * @param depth  the depth of the cell in the tree
+	 */
+	private void buildCell(int cell, int start, int end, double[] center, double half, int depth) {
+		cellStart[cell] = start;
+		cellEnd[cell] = end;
+		cellWidth2[cell] = 4.0 * half * half;
+		cellNChildren[cell] = 0;
+		// center of mass
+		int com = cell * dim;
+		for (int d = 0; d < dim; d++)
+			cellCom[com + d] = 0.0;
+		for (int i = start; i < end; i++) {
+			int offset = order[i] * dim;
+			for (int d = 0; d < dim; d++)
+				cellCom[com + d] += coords[offset + d];
+		}
+		double norm = 1.0 / (end - start);
+		for (int d = 0; d < dim; d++)
+			cellCom[com + d] *= norm;
+		if (end - start <= LEAF_SIZE || depth >= MAX_DEPTH)
+			return;
+		// partition nodes into orthants (counting sort)
+		int[] count = new int[nOrthants + 1];
+		for (int i = start; i < end; i++)
+			count[orthant(order[i], center) + 1]++;
+		int nChildren = 0;
+		for (int o = 0; o < nOrthants; o++) {
+			if (count[o + 1] > 0)
+				nChildren++;
+			count[o + 1] += count[o];
+		}
+		int[] next = new int[nOrthants];
+		System.arraycopy(count, 0, next, 0, nOrthants);
+		for (int i = start; i < end; i++) {
+			int node = order[i];
+			buffer[start + next[orthant(node, center)]++] = node;
+		}
+		System.arraycopy(buffer, start, order, start, end - start);
+		// allocate children contiguously
+		int child = nCells;
+		ensureCells(nCells + nChildren);
+		nCells += nChildren;
+		cellChild[cell] = child;
+		cellNChildren[cell] = nChildren;
+		double quarter = 0.5 * half;
+		for (int o = 0; o < nOrthants; o++) {
+			if (count[o + 1] == count[o])
+				continue;
+			double[] sub = new double[dim];
+			for (int d = 0; d < dim; d++)
+				sub[d] = center[d] + (((o >> d) & 1) == 0 ? -quarter : quarter);
+			buildCell(child++, start + count[o], start + count[o + 1], sub, quarter, depth + 1);
+		}
+	}
+
+	/**
+	 * Helper method to determine the orthant of node {@code node} relative to
+	 * {@code center}.
+	 * 
+	 * @param node   the index of the node
+	 * @param center the center of the cell
+	 * @return the index of the orthant
+	 */
+	private int orthant(int node, double[] center) {
+		int o = 0;
+		int offset = node * dim;
+		for (int d = 0; d < dim; d++) {
+			if (coords[offset + d] >= center[d])
+				o |= 1 << d;
+		}
+		return o;
+	}
+
+	/**
+	 * Helper method to ensure that the storage for the cells can hold at least
+	 * {@code size} cells.
+	 * 
+	 * @param size the minimum number of cells
+	 */
+	private void ensureCells(int size) {
+		if (cellStart.length >= size)
+			return;
+		int capacity = Math.max(size, 2 * cellStart.length);
+		int[] tmp = new int[capacity];
+		System.arraycopy(cellStart, 0, tmp, 0, nCells);
+		cellStart = tmp;
+		tmp = new int[capacity];
+		System.arraycopy(cellEnd, 0, tmp, 0, nCells);
+		cellEnd = tmp;
+		tmp = new int[capacity];
+		System.arraycopy(cellChild, 0, tmp, 0, nCells);
+		cellChild = tmp;
+		tmp = new int[capacity];
+		System.arraycopy(cellNChildren, 0, tmp, 0, nCells);
+		cellNChildren = tmp;
+		double[] dtmp = new double[capacity];
+		System.arraycopy(cellWidth2, 0, dtmp, 0, nCells);
+		cellWidth2 = dtmp;
+		dtmp = new double[capacity * dim];
+		System.arraycopy(cellCom, 0, dtmp, 0, nCells * dim);
+		cellCom = dtmp;
+	}
+
+	/**
+	 * Calculate the repulsion acting on node {@code idx} at position {@code pos}
+	 * exerted by all other nodes. The potential and force between two nodes
+	 * correspond to those in {@link org.evoludo.simulator.Network2D#repulsion(int)}
+	 * and {@link org.evoludo.simulator.Network3D#repulsion(int)}, i.e. for the
+	 * scaled distance {@code D} between two nodes the potential is
+	 * {@code -(2 - 1/D - D)} and the force is proportional to
+	 * {@code 1/D<sup>2</sup> - 1}. Cells that satisfy the opening criterion act as
+	 * a single node with a charge equal to the number of nodes in the cell.
+	 * 
+	 * @param idx   the index of the node
+	 * @param pos   the position of the node
+	 * @param theta the opening angle
+	 * @param scale the scaling factor for distances
+	 * @param force the array to store the net force acting on the node
+	 * @return the potential energy of the node
+	 */
+	public double repulsion(int idx, double[] pos, double theta, double scale, double[] force) {
+		for (int d = 0; d < dim; d++)
+			force[d] = 0.0;
+		if (nCells == 0)
+			return 0.0;
+		return repulsion(0, idx, pos, theta * theta, scale, force);
+	}
+
+	/**
+	 * Helper method to recursively calculate the repulsion exerted by cell
+	 * {@code cell} on node {@code idx}.
+	 * 
+	 * @param cell   the index of the cell
+	 * @param idx    the index of the node
+	 * @param pos    the position of the node
+	 * @param theta2 the squared opening angle
+	 * @param scale  the scaling factor for distances
+	 * @param force  the array to accumulate the net force acting on the node
+	 * @return the potential energy of the node
+	 */
+	private double repulsion(int cell, int idx, double[] pos, double theta2, double scale, double[] force) {
+		int start = cellStart[cell];
+		int end = cellEnd[cell];
+		int nChildren = cellNChildren[cell];
+		if (nChildren == 0) {
+			// leaf: consider all nodes individually
+			double npot = 0.0;
+			for (int i = start; i < end; i++) {
+				int node = order[i];
+				if (node == idx)
+					continue;
+				npot += interact(coords, node * dim, 1.0, pos, scale, force);
+			}
+			return npot;
+		}
+		int r = (idx < nNodes ? rank[idx] : -1);
+		boolean inside = (r >= start && r < end);
+		if (!inside) {
+			int com = cell * dim;
+			double dist2 = 0.0;
+			for (int d = 0; d < dim; d++) {
+				double dx = pos[d] - cellCom[com + d];
+				dist2 += dx * dx;
+			}
+			if (cellWidth2[cell] < theta2 * dist2)
+				// cell sufficiently far away to act as a single charge
+				return interact(cellCom, com, end - start, pos, scale, force);
+		}
+		double npot = 0.0;
+		int child = cellChild[cell];
+		for (int c = 0; c < nChildren; c++)
+			npot += repulsion(child + c, idx, pos, theta2, scale, force);
+		return npot;
+	}
+
+	/**
+	 * Helper method to calculate the potential and force between a node at
+	 * {@code pos} and a charge {@code charge} at the position stored in
+	 * {@code src} starting at {@code offset}.
+	 * 
+	 * @param src    the array with the position of the charge
+	 * @param offset the index of the first coordinate of the charge in {@code src}
+	 * @param charge the charge
+	 * @param pos    the position of the node
+	 * @param scale  the scaling factor for distances
+	 * @param force  the array to accumulate the net force acting on the node
+	 * @return the potential energy
+	 */
+	private double interact(double[] src, int offset, double charge, double[] pos, double scale,
+			double[] force) {
+		double len2 = 0.0;
+		for (int d = 0; d < dim; d++) {
+			double dx = pos[d] - src[offset + d];
+			len2 += dx * dx;
+		}
+		// ensure positive distance to avoid divisions by zero
+		double dist = Math.max(MIN_DIST, Math.sqrt(len2) * scale);
+		double f = charge * (1.0 / (dist * dist) - 1.0);
+		for (int d = 0; d < dim; d++)
+			force[d] += (pos[d] - src[offset + d]) * f;
+		return -charge * (2.0 - 1.0 / dist - dist);
+	}
+}
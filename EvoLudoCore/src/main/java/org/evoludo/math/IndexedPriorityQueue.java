@@ -0,0 +1,222 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.math;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of a fixed number of keys. Every index in
+ * {@code [0, size)} is always present in the queue and is associated with a
+ * key, typically the (putative) time of the next event. The index with the
+ * smallest key is retrieved in constant time, while changing the key of any
+ * index restores the heap order in {@code O(log N)} time, where {@code N}
+ * denotes the number of indices.
+ * <p>
+ * This is the indexed priority queue of the next reaction method, which
+ * schedules events according to their putative times and avoids drawing
+ * random numbers for events whose rates are not affected by the last event.
+ * 
+ * <h3>Requirements/notes:</h3>
+ * Keys must not be {@code NaN}. Indices that must never be picked (e.g. events
+ * with zero rate) have keys {@code Double.POSITIVE_INFINITY}.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see <a href="https://doi.org/10.1021/jp993732q">Gibson, M. A. &amp; Bruck,
+ *      J. (2000) Efficient exact stochastic simulation of chemical systems with
+ *      many species and many channels, J. Phys. Chem. A 104, 1876-1889</a>
+ */
+public class IndexedPriorityQueue {
+
+	/**
+	 * The number of indices.
+	 */
+	private final int size;
+
+	/**
+	 * The keys of all indices.
+	 */
+	private final double[] keys;
+
+	/**
+	 * The heap of indices. The index with the smallest key is at
+	 * {@code heap[0]}.
+	 */
+	private final int[] heap;
+
+	/**
+	 * The position of each index in the heap, i.e. {@code heap[pos[i]] == i}.
+	 */
+	private final int[] pos;
+
+	/**
+	 * Create a new priority queue for {@code size} indices. All keys are
+	 * initially {@code Double.POSITIVE_INFINITY}.
+	 * 
+	 * @param size the number of indices
+	 */
+	public IndexedPriorityQueue(int size) {
+		if (size < 1)
+			throw new IllegalArgumentException("priority queue requires at least one index.");
+		this.size = size;
+		keys = new double[size];
+		heap = new int[size];
+		pos = new int[size];
+		clear();
+	}
+
+	/**
+	 * Gets the number of indices.
+	 * 
+	 * @return the number of indices
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Sets all keys to {@code Double.POSITIVE_INFINITY}.
+	 */
+	public void clear() {
+		Arrays.fill(keys, Double.POSITIVE_INFINITY);
+		for (int i = 0; i < size; i++) {
+			heap[i] = i;
+			pos[i] = i;
+		}
+	}
+
+	/**
+	 * Sets all keys to {@code keys} and rebuilds the heap in {@code O(N)}.
+	 * 
+	 * @param keys the array of keys (at least of length {@link #size()})
+	 */
+	public void init(double[] keys) {
+		System.arraycopy(keys, 0, this.keys, 0, size);
+		for (int i = 0; i < size; i++) {
+			heap[i] = i;
+			pos[i] = i;
+		}
+		for (int i = size / 2 - 1; i >= 0; i--)
+			siftDown(i);
+	}
+
+	/**
+	 * Gets the key of index {@code idx}.
+	 * 
+	 * @param idx the index
+	 * @return the key
+	 */
+	public double get(int idx) {
+		return keys[idx];
+	}
+
+	/**
+	 * Sets the key of index {@code idx} to {@code key} and restores the heap
+	 * order.
+	 * 
+	 * @param idx the index
+	 * @param key the new key
+	 */
+	public void set(int idx, double key) {
+		double old = keys[idx];
+		keys[idx] = key;
+		if (key < old)
+			siftUp(pos[idx]);
+		else if (key > old)
+			siftDown(pos[idx]);
+	}
+
+	/**
+	 * Gets the index with the smallest key.
+	 * 
+	 * @return the index with the smallest key
+	 */
+	public int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * Gets the smallest key.
+	 * 
+	 * @return the smallest key
+	 */
+	public double peekKey() {
+		return keys[heap[0]];
+	}
+
+	/**
+	 * Helper method to move the index at heap position {@code p} towards the root
+	 * until its parent has a smaller or equal key.
+	 * 
+	 * @param p the heap position
+	 */
+	private void siftUp(int p) {
+		int idx = heap[p];
+		double key = keys[idx];
+		while (p > 0) {
+			int parent = (p - 1) >> 1;
+			int pidx = heap[parent];
+			if (keys[pidx] <= key)
+				break;
+			heap[p] = pidx;
+			pos[pidx] = p;
+			p = parent;
+		}
+		heap[p] = idx;
+		pos[idx] = p;
+	}
+
+	/**
+	 * Helper method to move the index at heap position {@code p} towards the
+	 * leaves until both children have larger or equal keys.
+	 * 
+	 * @param p the heap position
+	 */
+	private void siftDown(int p) {
+		int idx = heap[p];
+		double key = keys[idx];
+		int half = size >> 1;
+		while (p < half) {
+			int child = 2 * p + 1;
+			int right = child + 1;
+			if (right < size && keys[heap[right]] < keys[heap[child]])
+				child = right;
+			int cidx = heap[child];
+			if (key <= keys[cidx])
+				break;
+			heap[p] = cidx;
+			pos[cidx] = p;
+			p = child;
+		}
+		heap[p] = idx;
+		pos[idx] = p;
+	}
+}
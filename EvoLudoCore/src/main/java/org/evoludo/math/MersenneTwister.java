@@ -37,6 +37,7 @@ import java.util.logging.Logger;
 
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * <h2>MersenneTwister and MersenneTwisterFast</h2>
@@ -251,9 +252,12 @@ import org.evoludo.util.Plist;
 // - removed nasNextNextGaussian, use nextGaussian == NaN as flag
 // - clearGaussian retired; only meaningful if states are equal
 // - stateEqual includes check of Gaussian state
+// - 251017:
+// - derived random numbers moved to RandomNumberGenerator
+// - synchronization removed; instances must be confined to a single thread
 // -- Christoph Hauert
 
-public class MersenneTwister {
+public class MersenneTwister extends RandomNumberGenerator {
 
 	/**
 	 * Period parameters
@@ -271,70 +275,6 @@ public class MersenneTwister {
 	private static final int TEMPERING_MASK_B = 0x9d2c5680;
 	private static final int TEMPERING_MASK_C = 0xefc60000;
 
-	/**
-	 * Constant: {@code 2^27}.
-	 */
-	private static final double TWO_TO_27 = 134217728.0;
-
-	/**
-	 * Constant: {@code 2^31}.
-	 */
-	private static final float TWO_TO_31_FLOAT = 2147483648f;
-
-	/**
-	 * Constant: {@code 2^31 - 1}.
-	 */
-	private static final double TWO_TO_31M1 = 2147483647.0;
-
-	/**
-	 * Constant: {@code 2^32}.
-	 */
-	private static final double TWO_TO_32 = 4294967296.0;
-
-	/**
-	 * Constant: {@code 2^53}.
-	 */
-	private static final double TWO_TO_53 = 9007199254740992.0;
-
-	/**
-	 * Constant: {@code 2^-24}.
-	 */
-	private static final double TWO_TO_NEG24 = 8.0 / TWO_TO_27;
-
-	/**
-	 * Constant: {@code 2^-25}.
-	 */
-	private static final double TWO_TO_NEG25 = 4.0 / TWO_TO_27;
-
-	/**
-	 * Constant: {@code 2^-27}.
-	 */
-	private static final double TWO_TO_NEG27 = 1.0 / TWO_TO_27;
-
-	/**
-	 * Constant: {@code 2^-31}.
-	 */
-	private static final float TWO_TO_NEG31_FLOAT = 1f / TWO_TO_31_FLOAT;
-
-	/**
-	 * Constant: {@code 1/2^-31}.
-	 */
-	private static final double TWO_TO_NEG31 = 2.0 / TWO_TO_32;
-
-	/**
-	 * Constant: {@code 1/(2^-31 - 1)}.
-	 */
-	private static final double INV_TWO_TO_31M1 = 1.0 / (TWO_TO_31M1);
-
-	/**
-	 * Constant: {@code 2^-52}.
-	 */
-	private static final double TWO_TO_NEG52 = 2.0 / TWO_TO_53;
-
-	/**
-	 * Constant: {@code 2^-53}.
-	 */
-	private static final double TWO_TO_NEG53 = 1.0 / TWO_TO_53;
 
 	/**
 	 * The array for the state vector
@@ -362,42 +302,21 @@ public class MersenneTwister {
 	 */
 	private static final long GOOD_SEED = 4357;
 
-	/**
-	 * Gaussian random numbers are generated in pairs. This is the second of the
-	 * two.
-	 */
-	private double nextGaussian;
-
 	/**
 	 * Constants for encoding and restoring state in plist.
 	 */
 	private static final String ENCODE_MT = "mt";
 	private static final String ENCODE_MTI = "mti";
-	private static final String ENCODE_NEXT_GAUSSIAN = "nextGaussian";
 
-	/**
-	 * Encode state of random number generator as <code>plist</code> for saving.
-	 * 
-	 * @return <code>plist</code> string encoding state of random number generator
-	 */
-	public synchronized String encodeState() {
-		StringBuilder plist = new StringBuilder();
-		plist.append(Plist.encodeKey(ENCODE_MT, mt));
-		plist.append(Plist.encodeKey(ENCODE_MTI, mti));
-		// encode nextGaussian only if one available
-		if (!Double.isNaN(nextGaussian))
-			plist.append(Plist.encodeKey(ENCODE_NEXT_GAUSSIAN, nextGaussian));
-		return plist.toString();
+	@Override
+	public void encodeState(PlistWriter plist) {
+		plist.appendKey(ENCODE_MT, mt);
+		plist.appendKey(ENCODE_MTI, mti);
+		encodeGaussian(plist);
 	}
 
-	/**
-	 * Restore state of random number generator from <code>plist</code> encoded
-	 * string.
-	 * 
-	 * @param plist encoded state of random number generator
-	 * @return <code>true</code> if state successfully restored
-	 */
-	public synchronized boolean restoreState(Plist plist) {
+	@Override
+	public boolean restoreState(Plist plist) {
 		@SuppressWarnings("unchecked")
 		List<Integer> rmt = (List<Integer>) plist.get(ENCODE_MT);
 		if (rmt == null || rmt.size() != N)
@@ -405,9 +324,7 @@ public class MersenneTwister {
 		for (int n = 0; n < N; n++)
 			mt[n] = rmt.get(n);
 		mti = (Integer) plist.get(ENCODE_MTI);
-		// check if nextGaussian available
-		Double nextGauss = (Double) plist.get(ENCODE_NEXT_GAUSSIAN);
-		nextGaussian = (nextGauss == null ? Double.NaN : nextGauss);
+		restoreGaussian(plist);
 		return true;
 	}
 
@@ -422,17 +339,19 @@ public class MersenneTwister {
 	 * @param other another {@link MersenneTwister}
 	 * @return <code>true</code> the two {@link MersenneTwister}'s are identical.
 	 */
-	public synchronized boolean stateEquals(MersenneTwister other) {
+	@Override
+	public boolean stateEquals(RandomNumberGenerator other) {
 		if (other == this)
 			return true;
-		if (other == null)
+		if (!(other instanceof MersenneTwister))
 			return false;
-		if (mti != other.mti)
+		MersenneTwister mto = (MersenneTwister) other;
+		if (mti != mto.mti)
 			return false;
-		if (nextGaussian != other.nextGaussian)
+		if (nextGaussian != mto.nextGaussian)
 			return false;
 		for (int x = 0; x < mt.length; x++)
-			if (mt[x] != other.mt[x])
+			if (mt[x] != mto.mt[x])
 				return false;
 		return true;
 	}
@@ -487,7 +406,8 @@ public class MersenneTwister {
 	 * 
 	 * @param seed the seed for the random number generator
 	 */
-	public synchronized void setSeed(long seed) {
+	@Override
+	public void setSeed(long seed) {
 		initializeWithSeed(this, seed);
 	}
 
@@ -502,22 +422,16 @@ public class MersenneTwister {
 	 * 
 	 * @param array of integers for seeding the random number generator
 	 */
-	public synchronized void setSeed(int[] array) {
+	public void setSeed(int[] array) {
 		initializeWithArray(this, array);
 	}
 
-	/**
-	 * Returns the seed of the random number generator.
-	 * 
-	 * @return the seed of the random number generator
-	 */
-	public synchronized long getSeed() {
+	@Override
+	public long getSeed() {
 		return seed;
 	}
 
-	/**
-	 * Resets the random number generator to its initial state.
-	 */
+	@Override
 	public void reset() {
 		if (seed == null)
 			throw new IllegalStateException("No seed available for reset!");
@@ -625,7 +539,7 @@ public class MersenneTwister {
 	 * @see <a href= "https://create.stephan-brumme.com/mersenne-twister/">
 	 *      https://create.stephan-brumme.com/mersenne-twister/</a>
 	 */
-	private synchronized void twist() {
+	private void twist() {
 		if (mti < N)
 			return;
 		// generate N words at one time
@@ -646,17 +560,16 @@ public class MersenneTwister {
 	}
 
 	/**
-	 * Generates a 32bit 'unsigned' random <code>int</code> in
-	 * <code>[0, 2^<sup>33</sup>-1]</code>. All 32bits represent random number - use
-	 * with care! Allows to verify output with original mt19937ar.c output.
+	 * {@inheritDoc}
 	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * Allows to verify output with original mt19937ar.c output. From <code>mt19937ar.c</code>: generates a random number on
 	 * <code>[0, 0xffffffff]</code>-interval corresponds to:
 	 * <code>unsigned long genrand_int32</code>
 	 * 
-	 * @return random <code>int</code> in <code>[0, 2^<sup>33</sup>-1]</code>
+	 * @return random <code>int</code> in <code>[0, 2^<sup>32</sup>-1]</code>
 	 */
-	private int nextUInt() {
+	@Override
+	protected int nextUInt() {
 		twist();
 		int y = mt[mti++];
 		y ^= (y >>> 11); // TEMPERING_SHIFT_U(y)
@@ -667,366 +580,27 @@ public class MersenneTwister {
 	}
 
 	/**
-	 * Generate a 31bit (signed) random <code>int</code> in
-	 * <code>[0, Integer.MAX_VALUE)</code>.
+	 * {@inheritDoc}
 	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
-	 * <code>[0, 0x7fffffff]</code>-interval corresponds to:
-	 * <code>unsigned long genrand_int31</code>
-	 * 
-	 * @return random <code>int</code> in <code>[0, 2^<sup>32</sup>-1]</code>
-	 */
-	public synchronized int nextInt() {
-		return (nextUInt() >>> 1);
-	}
-
-	/**
-	 * Generate a random <code>int</code> in <code>[0, n-1]</code>-interval.
-	 * 
-	 * @param n integer upper bound (exclusive)
-	 * @return random integer in <code>[0, n)</code>
-	 * 
-	 * @throws IllegalArgumentException if <code>n &le; 0</code>
-	 */
-	public synchronized int nextInt(int n) {
-		if (n <= 1) {
-			if (n == 1)
-				return 0;
-			throw new IllegalArgumentException("n must be positive, got: " + n);
-		}
-
-		if ((n & -n) == n) {
-			// i.e., n is a power of 2
-			// ChH: GWT does not look kindly on long - eliminate!
-			// avoid multiplication overflow: split 32 bits into 2x 16 bits and process them
-			// individually
-			// calc log_2(n)
-			int log2 = 1;
-			n = n >>> 2;
-			while (n > 0) {
-				log2++;
-				n = n >>> 1;
-			}
-			// note: cannot shift by 32bit (apparently turns into nop...), log2>0 must hold
-			// n=1 caught at start
-			// check if mask needed - might be only in rare cases
-			return (nextUInt() >>> (32 - log2)) & BIT32_MASK;
-		}
-
-		int bits;
-		int val;
-		do {
-			bits = nextInt();
-			val = bits % n;
-			// note: the while-loop essentially checks for an integer overflow.
-			// in GWT/JavaScript this needs to be done explicitly because all
-			// numbers are doubles and overflows are handled differently.
-			// ChH: check overflow in an JRE/GWT agnostic manner:
-			// val <= n-1 must hold
-			// bits + (n-1-val) may result in overflow, which manifests itself
-			// by a negative result
-			// check against Integer.MAX_VALUE instead
-		} while (Integer.MAX_VALUE - bits < n - 1 - val);
-		return val;
-	}
-
-	/**
-	 * Generate a 64bit unsigned random long in <code>[0, 2^<sup>65</sup>-1]</code>.
-	 * 
-	 * @return random <code>long</code> integer in
-	 *         <code>[0, 2^<sup>65</sup>-1]</code>
-	 */
-	private long nextULong() {
-		long y = nextUInt();
-		long z = nextUInt();
-		return (y << 32) + z;
-	}
-
-	/**
-	 * Generate a 63bit (signed) random <code>long</code> integer in
-	 * <code>[0, Long.MAX_VALUE)</code>.
-	 * <p>
-	 * <strong>Note:</strong>
-	 * <ul>
-	 * <li>Twice as expensive as nextInt().</li>
-	 * <li>Do <em>not</em> use in GWT applications (<code>long</code> integers are
-	 * CPU hogs).</li>
-	 * </ul>
-	 * 
-	 * @return random <code>long</code> integer in <code>[0,
-	 *         2^<sup>63</sup>-1]</code>
-	 */
-	public synchronized long nextLong() {
-		return (nextULong() >>> 1);
-	}
-
-	/**
-	 * Generate a random <code>long</code> integer in <code>[0, n)</code> with
-	 * <code>n &gt; 0</code>.
-	 * <p>
-	 * <strong>Note:</strong>
-	 * <ul>
-	 * <li>Twice as expensive as {@link #nextInt(int)}.</li>
-	 * <li>Do <em>not</em> use in GWT applications (<code>long</code> integers are
-	 * CPU hogs).</li>
-	 * </ul>
-	 * 
-	 * @param n integer upper bound (exclusive)
-	 * @return random <code>long</code> integer in <code>[0, n]</code>
-	 * 
-	 * @throws IllegalArgumentException if <code>n &le; 0</code>
-	 */
-	public synchronized long nextLong(long n) {
-		if (n <= 1) {
-			if (n == 1)
-				return 0L;
-			throw new IllegalArgumentException("n must be positive, got: " + n);
-		}
-
-		// use same optimization as for nextInt(int)
-		if ((n & -n) == n) {
-			// i.e., n is a power of 2; calc log_2(n)
-			int log2 = 1;
-			n = n >>> 2;
-			while (n > 0) {
-				log2++;
-				n = n >>> 1;
+	 * <strong>Note:</strong> processes the state vector in blocks of up to
+	 * {@code N} words between twists, which avoids the per-number check for
+	 * exhaustion of the state vector.
+	 */
+	@Override
+	public void nextDoubles(double[] dst, int from, int to) {
+		int n = from;
+		while (n < to) {
+			twist();
+			int end = Math.min(to, n + N - mti);
+			for (; n < end; n++) {
+				int y = mt[mti++];
+				y ^= (y >>> 11);
+				y ^= (y << 7) & TEMPERING_MASK_B;
+				y ^= (y << 15) & TEMPERING_MASK_C;
+				y ^= (y >>> 18);
+				dst[n] = (y >>> 1) * TWO_TO_NEG31;
 			}
-			// note: cannot shift by 32bit (apparently turns into nop...), log2>0 must hold
-			// n=1 caught at start
-			return (nextULong() >>> (64 - log2));
-		}
-
-		long bits;
-		long val;
-		do {
-			bits = nextLong();
-			val = bits % n;
-		} while (bits - val + (n - 1) < 0);
-		return val;
-	}
-
-	/**
-	 * Generates a random short integer on <code>[0, 0xffff]</code>-interval.
-	 * <p>
-	 * <strong>Note:</strong>
-	 * <ul>
-	 * <li>same as nextChar() but different return type.</li>
-	 * <li>Do <em>not</em> use in GWT applications (<code>short</code> integers are
-	 * not supported).
-	 * </ul>
-	 * 
-	 * @return random <code>short</code> integer in <code>[0, 65536)</code>
-	 */
-	public synchronized short nextShort() {
-		return (short) (nextUInt() >>> 16);
-	}
-
-	/**
-	 * generates a random <code>char</code> on <code>[0, 0xffff]</code>-interval.
-	 * <p>
-	 * Note: same as nextShort() but different return type.
-	 * </p>
-	 * 
-	 * @return random <code>short</code> integer in <code>[0, 65536)</code>
-	 */
-	public synchronized char nextChar() {
-		return (char) (nextUInt() >>> 16);
-	}
-
-	/**
-	 * Generates a random <code>byte</code> on <code>[0, 0xff]</code>-interval.
-	 * 
-	 * @return random <code>short</code> integer in <code>[0, 16)</code>
-	 */
-	public synchronized byte nextByte() {
-		return (byte) (nextUInt() >>> 24);
-	}
-
-	/**
-	 * Fill array {@code bytes} with random bytes.
-	 * 
-	 * @param bytes random bytes stored here
-	 * @see #nextByte()
-	 */
-	public synchronized void nextBytes(byte[] bytes) {
-		for (int x = 0; x < bytes.length; x++)
-			bytes[x] = nextByte();
-	}
-
-	/**
-	 * Generates a random boolean.
-	 * 
-	 * @return <code>true</code> with 50% chance
-	 */
-	public synchronized boolean nextBoolean() {
-		return (nextUInt() >>> 31) != 0;
-	}
-
-	/**
-	 * This generates a coin flip with a probability <code>probability</code> of
-	 * returning <code>true</code>, else returning <code>false</code>.
-	 * <code>probability</code> must be in <code>[0, 1]</code>. Not as precise as
-	 * {@link #nextBoolean(double)}, but twice as fast. To explicitly use this,
-	 * remember you may need to cast to <code>float</code> first.
-	 * <p>
-	 * <strong>Note:</strong> Do <em>not</em> use in GWT applications
-	 * (<code>float</code>'s create overhead).
-	 * </p>
-	 * 
-	 * @param probability for returning <code>true</code>
-	 * @return <code>true</code> with <code>probability</code>
-	 * 
-	 * @throws IllegalArgumentException if <code>probability&lt;0</code> or
-	 *                                  <code>probability&gt;1</code>
-	 */
-	public synchronized boolean nextBoolean(float probability) {
-		if (probability < 0f || probability > 1f)
-			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive.");
-		if (probability == 0f)
-			return false; // fix half-open issues
-		else if (probability == 1f)
-			return true; // fix half-open issues
-		return (nextUInt() >>> 8) * TWO_TO_NEG24 < probability;
-	}
-
-	/**
-	 * This generates a coin flip with a probability <code>probability</code> of
-	 * returning <code>true</code>, else returning <code>false</code>.
-	 * <code>probability</code> must be in <code>[0, 1]</code>.
-	 * <p>
-	 * <strong>Note:</strong> More accurate than {@link #nextBoolean(float)}, but
-	 * twice as expensive
-	 * </p>
-	 *
-	 * @param probability for returning true
-	 * @return <code>true</code> with <code>probability</code>
-	 * 
-	 * @throws IllegalArgumentException if <code>probability&lt;0</code> or
-	 *                                  <code>probability&gt;1</code>
-	 */
-	public synchronized boolean nextBoolean(double probability) {
-		if (probability < 0.0 || probability > 1.0)
-			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive.");
-		if (probability == 0.0)
-			return false; // fix half-open issues
-		else if (probability == 1.0)
-			return true; // fix half-open issues
-		return nextDoubleHigh() < probability;
-	}
-
-	/**
-	 * Generates a random high-precision double on half-open
-	 * <code>[0, 1)</code>-interval.
-	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
-	 * <code>[0,1)</code> with 53-bit resolution corresponds to:
-	 * <code>double genrand_res53(void)</code>.
-	 * <p>
-	 * <strong>Note:</strong> Twice as expensive as {@link #nextDouble()} or the
-	 * equivalent {@link #nextFloat()}.
-	 * 
-	 * @return random high-precision <code>double</code> in <code>[0, 1)</code>
-	 */
-	public synchronized double nextDoubleHigh() {
-		int y = nextUInt();
-		int z = nextUInt();
-		return (y >>> 5) * TWO_TO_NEG27 + (z >>> 6) * TWO_TO_NEG53;
-	}
-
-	/**
-	 * Generate random <code>double</code> on half-open
-	 * <code>[0, 1)</code>-interval.
-	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
-	 * <code>[0,1)</code>-real-interval corresponds to:
-	 * <code>double genrand_real2(void)</code>.
-	 * <p>
-	 * <strong>Note:</strong>
-	 * <ul>
-	 * <li>Twice as fast as {@link #nextDoubleHigh()}</li>
-	 * <li>Equivalent to {@link #nextFloat()}</li>
-	 * <li>One bit lost compared to original due to signed <code>int</code></li>
-	 * </ul>
-	 * 
-	 * @return random <code>double</code> in <code>[0, 1)</code>
-	 */
-	public synchronized double nextDouble() {
-		return nextInt() * TWO_TO_NEG31; // rand/(2^31)
-	}
-
-	/**
-	 * Generate random double on closed <code>[0, 1]</code>-interval
-	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
-	 * <code>[0,1]</code>-real-interval corresponds to:
-	 * <code>double genrand_real1(void)</code>.
-	 * <p>
-	 * <strong>Note:</strong> one bit lost compared to original due to signed
-	 * <code>int</code>.
-	 * 
-	 * @return random double in <code>[0, 1]</code>
-	 */
-	public synchronized double nextDoubleClosed() {
-		return nextInt() * INV_TWO_TO_31M1; // rand/(2^31- 1)
-	}
-
-	/**
-	 * Generate random double on open <code>(0, 1)</code>-interval
-	 * <p>
-	 * From <code>mt19937ar.c</code>: generates a random number on
-	 * <code>(0,1)</code>-real-interval corresponds to:
-	 * <code>double genrand_real3(void)</code>.
-	 * <p>
-	 * <strong>Note:</strong> one bit lost compared to original due to signed
-	 * <code>int</code>.
-	 * 
-	 * @return random <code>double</code> in <code>(0, 1)</code>
-	 */
-	public synchronized double nextDoubleOpen() {
-		return (nextInt() + 0.5) * TWO_TO_NEG31; // (rand+0.5)/(2^31)
-	}
-
-	/**
-	 * Generates a random <code>float</code> on half-open
-	 * <code>[0, 1)</code>-interval.
-	 * <p>
-	 * <strong>Note:</strong>
-	 * <ul>
-	 * <li>Twice as fast as {@link #nextDouble()}.
-	 * <li>Do <em>not</em> use in GWT applications (<code>float</code>'s create
-	 * overhead).
-	 * </ul>
-	 * 
-	 * @return random <code>float</code> in <code>[0, 1)</code>
-	 */
-	public synchronized float nextFloat() {
-		return nextInt() * TWO_TO_NEG31_FLOAT;
-	}
-
-	/**
-	 * Generate random number from standard normal distribution (Gaussian
-	 * distribution).
-	 * 
-	 * @return random number
-	 */
-	public synchronized double nextGaussian() {
-		if (!Double.isNaN(nextGaussian)) {
-			double gauss = nextGaussian;
-			nextGaussian = Double.NaN;
-			return gauss;
 		}
-		double v1;
-		double v2;
-		double s;
-		do {
-			v1 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
-			v2 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
-			s = v1 * v1 + v2 * v2;
-		} while (s >= 1 || s == 0);
-		double multiplier = Math.sqrt(-2.0 * Math.log(s) / s);
-		nextGaussian = v2 * multiplier;
-		return v1 * multiplier;
 	}
 
 	/**
@@ -1046,7 +620,7 @@ public class MersenneTwister {
 	 */
 	// @Override
 	@SuppressWarnings("all")
-	public synchronized MersenneTwister clone() {
+	public MersenneTwister clone() {
 		MersenneTwister clone = new MersenneTwister();
 		System.arraycopy(this.mt, 0, clone.mt, 0, N);
 		clone.mti = this.mti;
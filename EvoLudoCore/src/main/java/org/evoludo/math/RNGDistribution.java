@@ -30,6 +30,7 @@
 
 package org.evoludo.math;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -69,6 +70,7 @@ import org.evoludo.util.Formatter;
  * re-generated while not interfering with the model calculations.
  * </p>
  * 
+ * @see RandomNumberGenerator
  * @see MersenneTwister
  * @see <a href="http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/emt.html"> The
  *      Mersenne Twister Home Page</a>
@@ -78,10 +80,10 @@ import org.evoludo.util.Formatter;
 public abstract class RNGDistribution {
 
 	/**
-	 * Reference to the {@link MersenneTwister} that supplies the random numbers for
-	 * the different distributions.
+	 * Reference to the {@link RandomNumberGenerator} that supplies the random
+	 * numbers for the different distributions.
 	 */
-	protected MersenneTwister rng;
+	protected RandomNumberGenerator rng;
 
 	/**
 	 * <code>true</code> if seed was set.
@@ -103,7 +105,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param rng random number generator
 	 */
-	protected RNGDistribution(MersenneTwister rng) {
+	protected RNGDistribution(RandomNumberGenerator rng) {
 		this.rng = (rng == null ? new MersenneTwister(new Date().getTime()) : rng);
 	}
 
@@ -112,7 +114,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param rng random number generator
 	 */
-	public void setRNG(MersenneTwister rng) {
+	public void setRNG(RandomNumberGenerator rng) {
 		if (rng != null)
 			this.rng = rng;
 	}
@@ -122,7 +124,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @return random number generator of distribution
 	 */
-	public MersenneTwister getRNG() {
+	public RandomNumberGenerator getRNG() {
 		return rng;
 	}
 
@@ -131,7 +133,7 @@ public abstract class RNGDistribution {
 	 * regular precision (based on 31bit random integer).
 	 *
 	 * @return random number in <code>[0, 1)</code>
-	 * @see MersenneTwister#nextDouble()
+	 * @see RandomNumberGenerator#nextDouble()
 	 */
 	public double random01() {
 		return rng.nextDouble();
@@ -142,7 +144,7 @@ public abstract class RNGDistribution {
 	 * (based on 53bit random integer).
 	 *
 	 * @return high precision random number in <code>[0, 1)</code>
-	 * @see MersenneTwister#nextDoubleHigh()
+	 * @see RandomNumberGenerator#nextDoubleHigh()
 	 */
 	public double random01d() {
 		return rng.nextDoubleHigh();
@@ -154,7 +156,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param n upper bound (inclusive)
 	 * @return random integer in <code>[0, n]</code>
-	 * @see MersenneTwister#nextInt(int)
+	 * @see RandomNumberGenerator#nextInt(int)
 	 */
 	public int random0N(int n) {
 		return rng.nextInt(n + 1);
@@ -166,12 +168,43 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param n integer upper bound (exclusive)
 	 * @return random integer in <code>[0, n)</code>
-	 * @see MersenneTwister#nextInt(int)
+	 * @see RandomNumberGenerator#nextInt(int)
 	 */
 	public int random0n(int n) {
 		return rng.nextInt(n);
 	}
 
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with uniformly distributed
+	 * random numbers from interval <code>[0, 1)</code> with regular precision.
+	 * Identical to successive calls to {@link #random01()} but avoids the
+	 * overhead of drawing numbers one at a time.
+	 * 
+	 * @param dst  the array to fill with random numbers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 * @see RandomNumberGenerator#nextDoubles(double[], int, int)
+	 */
+	public void random01(double[] dst, int from, int to) {
+		rng.nextDoubles(dst, from, to);
+	}
+
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with uniformly distributed
+	 * integer random numbers from interval <code>[0, n)</code>. Identical to
+	 * successive calls to {@link #random0n(int)} but avoids the overhead of
+	 * drawing numbers one at a time.
+	 * 
+	 * @param n    integer upper bound (exclusive)
+	 * @param dst  the array to fill with random integers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 * @see RandomNumberGenerator#nextInts(int, int[], int, int)
+	 */
+	public void random0n(int n, int[] dst, int from, int to) {
+		rng.nextInts(n, dst, from, to);
+	}
+
 	/**
 	 * Uniformly distributed random integer in
 	 * <code>[0, {@link Integer#MAX_VALUE})</code>.
@@ -180,7 +213,7 @@ public abstract class RNGDistribution {
 	 * </p>
 	 * 
 	 * @return random integer in <code>[0, {@link Integer#MAX_VALUE})</code>
-	 * @see MersenneTwister#nextInt()
+	 * @see RandomNumberGenerator#nextInt()
 	 */
 	public int nextInt() {
 		return rng.nextInt();
@@ -194,7 +227,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param n integer upper bound (exclusive)
 	 * @return random integer in <code>[0, n)</code>
-	 * @see MersenneTwister#nextInt(int)
+	 * @see RandomNumberGenerator#nextInt(int)
 	 */
 	public int nextInt(int n) {
 		return rng.nextInt(n);
@@ -208,7 +241,7 @@ public abstract class RNGDistribution {
 	 * </p>
 	 * 
 	 * @return random byte in <code>[0, 127]</code>
-	 * @see MersenneTwister#nextByte()
+	 * @see RandomNumberGenerator#nextByte()
 	 */
 	public byte nextByte() {
 		return rng.nextByte();
@@ -223,7 +256,7 @@ public abstract class RNGDistribution {
 	 * 
 	 * @param bytes array to fill with uniformly distributed random bytes in
 	 *              <code>[0, 127]</code>
-	 * @see MersenneTwister#nextBytes(byte[])
+	 * @see RandomNumberGenerator#nextBytes(byte[])
 	 */
 	public void nextBytes(byte[] bytes) {
 		rng.nextBytes(bytes);
@@ -236,7 +269,7 @@ public abstract class RNGDistribution {
 	 * </p>
 	 * 
 	 * @return <code>true</code> with probability <code>0.5</code>
-	 * @see MersenneTwister#nextBoolean()
+	 * @see RandomNumberGenerator#nextBoolean()
 	 */
 	public boolean nextBoolean() {
 		return rng.nextBoolean();
@@ -247,7 +280,7 @@ public abstract class RNGDistribution {
 	 * regular precision (based on 31bit random integer).
 	 *
 	 * @return random number in <code>[0, 1)</code>
-	 * @see MersenneTwister#nextDouble()
+	 * @see RandomNumberGenerator#nextDouble()
 	 */
 	public double nextDouble() {
 		return rng.nextDouble();
@@ -259,19 +292,34 @@ public abstract class RNGDistribution {
 	 * on 31bit random integer).
 	 *
 	 * @return random number in <code>(-Double.MAX_VALUE , Double.MAX_VALUE)</code>
-	 * @see MersenneTwister#nextGaussian()
+	 * @see RandomNumberGenerator#nextGaussian()
 	 */
 	public synchronized double nextGaussian() {
 		return rng.nextGaussian();
 	}
 
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with Gaussian distributed
+	 * random numbers with mean <code>0</code> and variance <code>1</code>.
+	 * Identical to successive calls to {@link #nextGaussian()} but avoids the
+	 * overhead of drawing numbers one at a time.
+	 * 
+	 * @param dst  the array to fill with random numbers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 * @see RandomNumberGenerator#nextGaussians(double[], int, int)
+	 */
+	public void nextGaussian(double[] dst, int from, int to) {
+		rng.nextGaussians(dst, from, to);
+	}
+
 	/**
 	 * Set seed of random number generator to <code>seed</code>. Since
 	 * MersenneTwister only uses lower 32bits of long, <code>seed</code> is
 	 * truncated accordingly to fall in interval <code>[0, 2<sup>33</sup>-1]</code>.
 	 * 
 	 * @param seed for random number generator
-	 * @see MersenneTwister#setSeed(long)
+	 * @see RandomNumberGenerator#setSeed(long)
 	 */
 	public void setSeed(long seed) {
 		this.seedSet = true;
@@ -281,7 +329,7 @@ public abstract class RNGDistribution {
 	/**
 	 * Pass seed to random number generator.
 	 * 
-	 * @see MersenneTwister#setSeed(long)
+	 * @see RandomNumberGenerator#setSeed(long)
 	 */
 	public void reset() {
 		rng.reset();
@@ -392,7 +440,7 @@ public abstract class RNGDistribution {
 		 * @throws IllegalArgumentException if <code>max&le;min</code>
 		 * @see MersenneTwister
 		 */
-		public Uniform(MersenneTwister rng, double min, double max) throws IllegalArgumentException {
+		public Uniform(RandomNumberGenerator rng, double min, double max) throws IllegalArgumentException {
 			super(rng);
 			if (max <= min)
 				throw new IllegalArgumentException("max<=min.");
@@ -458,7 +506,7 @@ public abstract class RNGDistribution {
 		 *         <code>[min, max)</code>
 		 * @throws IllegalArgumentException if <code>max&le;min</code>
 		 */
-		public static double next(MersenneTwister rng, double min, double max) {
+		public static double next(RandomNumberGenerator rng, double min, double max) {
 			if (max <= min)
 				throw new IllegalArgumentException("max<=min.");
 			return min + rng.nextDouble() * (max - min);
@@ -482,7 +530,7 @@ public abstract class RNGDistribution {
 		 * @see <a href="https://en.wikipedia.org/wiki/Standard_error">Wikipedia:
 		 *      Standard error</a>
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Uniform tests.");
 				return;
@@ -602,7 +650,7 @@ public abstract class RNGDistribution {
 		 * @throws IllegalArgumentException if <code>mean&le;0</code>
 		 * @see MersenneTwister
 		 */
-		public Exponential(MersenneTwister rng, double mean) throws IllegalArgumentException {
+		public Exponential(RandomNumberGenerator rng, double mean) throws IllegalArgumentException {
 			super(rng);
 			if (mean < 0.0)
 				throw new IllegalArgumentException("mean must be non-negative.");
@@ -648,7 +696,7 @@ public abstract class RNGDistribution {
 		 * @return exponentially distributed random number with <code>mean</code>
 		 * @throws IllegalArgumentException if <code>man&le;0</code>
 		 */
-		public static double next(MersenneTwister rng, double mean) {
+		public static double next(RandomNumberGenerator rng, double mean) {
 			if (mean < 0.0)
 				throw new IllegalArgumentException("mean must be non-negative.");
 			if (mean == 0.0)
@@ -674,7 +722,7 @@ public abstract class RNGDistribution {
 		 * @see <a href="https://en.wikipedia.org/wiki/Standard_error">Wikipedia:
 		 *      Standard error</a>
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Exponential tests.");
 				return;
@@ -801,7 +849,7 @@ public abstract class RNGDistribution {
 		 * @throws IllegalArgumentException if <code>man&le;0</code>
 		 * @see MersenneTwister
 		 */
-		public Normal(MersenneTwister rng, double mean, double stdev) throws IllegalArgumentException {
+		public Normal(RandomNumberGenerator rng, double mean, double stdev) throws IllegalArgumentException {
 			super(rng);
 			if (stdev <= 0.0)
 				throw new IllegalArgumentException("standard deviation must be >0.");
@@ -856,7 +904,7 @@ public abstract class RNGDistribution {
 		 * @param stdev the standard deviation of the Normal distribution
 		 * @return Normally distributed random number
 		 */
-		public static double next(MersenneTwister rng, double mean, double stdev) {
+		public static double next(RandomNumberGenerator rng, double mean, double stdev) {
 			if (stdev <= 0.0)
 				throw new IllegalArgumentException("standard deviation must be >0.");
 			return mean + stdev * rng.nextGaussian();
@@ -880,7 +928,7 @@ public abstract class RNGDistribution {
 		 * @see <a href="https://en.wikipedia.org/wiki/Standard_error">Wikipedia:
 		 *      Standard error</a>
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Normal tests.");
 				return;
@@ -1010,21 +1058,23 @@ public abstract class RNGDistribution {
 	 */
 	public static class Geometric extends RNGDistribution {
 
-		/**
-		 * Cumulative distribution function of geometric probability distribution.
-		 */
-		private double[] cdf;
-
 		/**
 		 * Success probability of single trial.
 		 */
-		private double p;
+		private double p = -1.0;
 
 		/**
 		 * Mean of geometric distribution.
 		 */
 		private double mean;
 
+		/**
+		 * The scaling factor for the inversion of the cumulative distribution
+		 * function, <code>1/log(1-p)</code>, or <code>0</code> if the geometric
+		 * distribution is approximated by an exponential distribution.
+		 */
+		private double invlogq;
+
 		/**
 		 * Creates geometric distribution with success probability <code>p</code> (mean
 		 * <code>1/p</code>) and a new instance of {@link MersenneTwister}.
@@ -1042,7 +1092,7 @@ public abstract class RNGDistribution {
 		 * @param rng random number generator
 		 * @param p   success probability of single trial
 		 */
-		public Geometric(MersenneTwister rng, double p) {
+		public Geometric(RandomNumberGenerator rng, double p) {
 			super(rng);
 			initialize(this, p);
 		}
@@ -1058,36 +1108,19 @@ public abstract class RNGDistribution {
 		protected static void initialize(Geometric rng, double p) throws IllegalArgumentException {
 			if (p <= 0.0 || p >= 1.0)
 				throw new IllegalArgumentException("success probability must be in (0, 1).");
-			rng.p = p;
-			if (rng.cdf != null && Math.abs(rng.cdf[1] - p) < 1e-8) {
+			if (p == rng.p)
 				// success probability did not change - nothing to do
 				return;
-			}
+			rng.p = p;
 			if (p < 1e-4) {
 				// p too small, use exponential distribution as an approximation
 				// adjust mean accordingly
-				rng.cdf = null;
+				rng.invlogq = 0.0;
 				rng.mean = Math.floor(1.0 / p + 0.5);
 				return;
 			}
 			rng.mean = 1.0 / p;
-			int bins = (int) (50.0 * rng.mean + 0.5);
-			double prod = p;
-			double q = 1.0 - p;
-			if (rng.cdf == null || rng.cdf.length != bins) {
-				rng.cdf = new double[bins];
-			}
-			rng.cdf[0] = 0.0;
-			rng.cdf[1] = p;
-			for (int i = 2; i < bins - 1; i++) {
-				prod *= q;
-				rng.cdf[i] = rng.cdf[i - 1] + prod;
-			}
-			if (rng.cdf[bins - 2] < 0.9999) {
-				System.out.println("WARNING: deviation too big... (" + Formatter.format(rng.cdf[bins - 2], 6)
-						+ ">0.999 should hold)!");
-			}
-			rng.cdf[bins - 1] = 1.0;
+			rng.invlogq = 1.0 / Math.log1p(-p);
 		}
 
 		/**
@@ -1097,7 +1130,8 @@ public abstract class RNGDistribution {
 		 * <ul>
 		 * <li>If <code>p&lt;10<sup>-4</sup></code> the geometric distribution is
 		 * approximated by an exponential distribution.</li>
-		 * <li>cumulative probabilities are limited to <code>50*mean</code> trials.</li>
+		 * <li>otherwise the cumulative distribution function is inverted in closed
+		 * form, which requires constant time regardless of <code>p</code>.</li>
 		 * </ul>
 		 *
 		 * @param p probability of success of single trial
@@ -1126,25 +1160,12 @@ public abstract class RNGDistribution {
 		public int next() {
 			double uRand = random01();
 
-			if (cdf == null)
+			if (invlogq == 0.0)
 				// use exponential distribution
 				return Math.max((int) Math.ceil(-Math.log1p(-uRand) * mean), 1);
 
-			// binary search - start at expected value
-			int xmin = 0;
-			int xmax = cdf.length - 1;
-			int x = (int) mean;
-
-			while (xmax - xmin > 1) {
-				if (uRand > cdf[x]) {
-					xmin = x;
-					x += (xmax - x) / 2;
-				} else {
-					xmax = x;
-					x -= (x - xmin) / 2;
-				}
-			}
-			return xmax;
+			// smallest x with 1-(1-p)^x >= uRand
+			return Math.max((int) Math.ceil(Math.log1p(-uRand) * invlogq), 1);
 		}
 
 		@Override
@@ -1158,9 +1179,10 @@ public abstract class RNGDistribution {
 		 * Creates geometric distribution with success probability <code>p</code> (mean
 		 * <code>1/p</code>) and the random number generator <code>rng</code>.
 		 * <p>
-		 * <strong>Note:</strong> cumulative distribution function is generated on the
-		 * fly. This is fine if only a few geometrically distributed random numbers are
-		 * required or if performance is of a minor concern. Otherwise use
+		 * <strong>Note:</strong> the inversion of the cumulative distribution function
+		 * is set up on the fly. This is fine if only a few geometrically distributed
+		 * random numbers are required or if performance is of a minor concern.
+		 * Otherwise use
 		 * {@link RNGDistribution.Geometric#Geometric(double) Geometric(double)} and
 		 * {@link #next()}.
 		 *
@@ -1168,24 +1190,14 @@ public abstract class RNGDistribution {
 		 * @param p   probability of success of single trial
 		 * @return number of trials until first success
 		 */
-		public static int next(MersenneTwister rng, double p) {
+		public static int next(RandomNumberGenerator rng, double p) {
 			if (p <= 0.0 || p >= 1.0)
 				throw new IllegalArgumentException("success probability must be in (0, 1).");
 			if (p < 1e-4) {
 				// p too small, use exponential distribution as an approximation
 				return Math.max((int) Math.ceil(-Math.log1p(-rng.nextDouble()) * Math.floor(1.0 / p + 0.5)), 1);
 			}
-			double rnd = rng.nextDouble();
-			int n = 1;
-			double p0 = 1.0 - p;
-			double pn = p;
-			double cum = pn;
-			while (rnd >= cum) {
-				pn *= p0;
-				cum += pn;
-				n++;
-			}
-			return n;
+			return Math.max((int) Math.ceil(Math.log1p(-rng.nextDouble()) / Math.log1p(-p)), 1);
 		}
 
 		/**
@@ -1203,7 +1215,7 @@ public abstract class RNGDistribution {
 		 * @param logger the logger for reporting results
 		 * @param clock  the stop watch
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Geometric tests.");
 				return;
@@ -1279,9 +1291,11 @@ public abstract class RNGDistribution {
 	public static class Binomial extends RNGDistribution {
 
 		/**
-		 * Cumulative distribution function of binomial probability distribution.
+		 * Threshold for the mean <code>n min(p, 1-p)</code> below which binomially
+		 * distributed random numbers are generated by inversion. Above the
+		 * threshold the BTPE algorithm is used.
 		 */
-		private double[] cdf;
+		public static final double THRESHOLD_BTPE = 30.0;
 
 		/**
 		 * Success probability of single trial.
@@ -1289,15 +1303,54 @@ public abstract class RNGDistribution {
 		private double p;
 
 		/**
-		 * Mean number of successes <code>n p</code>.
+		 * Number of trials.
 		 */
-		private double mean;
+		private int n = -1;
+
+		/**
+		 * Smaller of the success and failure probabilities, <code>min(p, 1-p)</code>.
+		 * Random numbers are generated for <code>r</code> and reflected if
+		 * <code>p&gt;1/2</code>.
+		 */
+		private double r;
+
+		/**
+		 * Complement of <code>r</code>, i.e. <code>q = 1-r</code>.
+		 */
+		private double q;
+
+		/**
+		 * Inversion: probability of zero successes, <code>q<sup>n</sup></code>.
+		 */
+		private double qn;
+
+		/**
+		 * Inversion: upper bound for number of successes before restarting to guard
+		 * against accumulated roundoff errors.
+		 */
+		private double bound;
+
+		/**
+		 * BTPE: mode of the distribution.
+		 */
+		private int m;
+
+		/**
+		 * BTPE: <code>n r q</code>.
+		 */
+		private double nrq;
+
+		/**
+		 * BTPE: parameters of the triangular, parallelogram and exponential regions
+		 * of the majorizing function.
+		 */
+		private double p1, xm, xl, xr, c, laml, lamr, p2, p3, p4;
 
 		/**
 		 * Creates binomial distribution with <code>n</code> trials and success
 		 * probability <code>p</code> (mean <code>n p</code>) and a new instance of
 		 * {@link MersenneTwister}..
-		 *
+		 * 
 		 * @param p success probability of single trial
 		 * @param n number of trials
 		 */
@@ -1309,18 +1362,20 @@ public abstract class RNGDistribution {
 		 * Creates binomial distribution with <code>n</code> trials and success
 		 * probability <code>p</code> (mean <code>n p</code>) and the random number
 		 * generator <code>rng</code>.
-		 *
+		 * 
 		 * @param rng random number generator
 		 * @param p   success probability of single trial
 		 * @param n   number of trials
 		 */
-		public Binomial(MersenneTwister rng, double p, int n) throws IllegalArgumentException {
+		public Binomial(RandomNumberGenerator rng, double p, int n) throws IllegalArgumentException {
 			super(rng);
 			initialize(this, p, n);
 		}
 
 		/**
-		 * Helper method to prevent {@code this-escape} warnings.
+		 * Helper method to prevent {@code this-escape} warnings. Prepares the
+		 * constants for drawing random numbers. Nothing needs to be done if neither
+		 * <code>p</code> nor <code>n</code> changed.
 		 * 
 		 * @param rng the binomial distribution to initialize
 		 * @param p   success probability of single trial
@@ -1333,30 +1388,56 @@ public abstract class RNGDistribution {
 				throw new IllegalArgumentException("success probability must be in (0, 1).");
 			if (n < 0)
 				throw new IllegalArgumentException("number of trials must be >=0.");
+			if (p == rng.p && n == rng.n)
+				// parameters did not change - nothing to do
+				return;
 
 			rng.p = p;
-			rng.mean = p * n;
-			if (rng.cdf == null || rng.cdf.length != n + 1) {
-				rng.cdf = new double[n + 1];
-			}
-			double piqni = Combinatorics.pow(1.0 - p, n);
-			rng.cdf[0] = piqni;
-			double piq = p / (1.0 - p);
-			double comb = n;
-			double ni = n - 1;
-			for (int i = 1; i < n; i++) {
-				piqni *= piq;
-				rng.cdf[i] = rng.cdf[i - 1] + comb * piqni;
-				comb *= (ni--) / (i + 1);
+			rng.n = n;
+			double r = Math.min(p, 1.0 - p);
+			double q = 1.0 - r;
+			rng.r = r;
+			rng.q = q;
+			double np = n * r;
+			if (np < THRESHOLD_BTPE) {
+				rng.qn = Math.exp(n * Math.log1p(-r));
+				rng.bound = Math.min(n, np + 10.0 * Math.sqrt(np * q + 1.0));
+				return;
 			}
-			rng.cdf[n] = 1.0;
+			double fm = np + r;
+			int m = (int) Math.floor(fm);
+			rng.m = m;
+			rng.nrq = np * q;
+			double p1 = Math.floor(2.195 * Math.sqrt(np * q) - 4.6 * q) + 0.5;
+			double xm = m + 0.5;
+			double xl = xm - p1;
+			double xr = xm + p1;
+			double c = 0.134 + 20.5 / (15.3 + m);
+			double a = (fm - xl) / (fm - xl * r);
+			double laml = a * (1.0 + a / 2.0);
+			a = (xr - fm) / (xr * q);
+			double lamr = a * (1.0 + a / 2.0);
+			double p2 = p1 * (1.0 + 2.0 * c);
+			double p3 = p2 + c / laml;
+			rng.p1 = p1;
+			rng.xm = xm;
+			rng.xl = xl;
+			rng.xr = xr;
+			rng.c = c;
+			rng.laml = laml;
+			rng.lamr = lamr;
+			rng.p2 = p2;
+			rng.p3 = p3;
+			rng.p4 = p3 + c / lamr;
 		}
 
 		/**
 		 * Set the probability of success <code>p</code> and the number of trials
-		 * <code>n</code>. This calculates the cumulative probabilities for the binomial
-		 * distribution.
-		 *
+		 * <code>n</code>. This prepares the constants for drawing random numbers from
+		 * the binomial distribution, unless neither <code>p</code> nor <code>n</code>
+		 * changed. Hence, repeatedly drawing random numbers for the same parameters
+		 * requires the setup only once.
+		 * 
 		 * @param p probability of success of single trial
 		 * @param n number of trials
 		 * @throws IllegalArgumentException if <code>p&le;0</code>, <code>p&ge;1</code>
@@ -1382,38 +1463,147 @@ public abstract class RNGDistribution {
 		 * @return the number of trials
 		 */
 		public int getTrials() {
-			return cdf.length - 1;
+			return n;
 		}
 
 		/**
 		 * Generate the number of successful trials drawn from the binomial
-		 * distribution.
+		 * distribution. The expected time is constant, regardless of the number of
+		 * trials.
 		 * 
 		 * @return the number of successful trials
 		 */
 		public int next() {
-			double uRand = random01();
+			int x = (n * r < THRESHOLD_BTPE ? nextInversion() : nextBTPE());
+			return (p > 0.5 ? n - x : x);
+		}
 
-			// binary search - start at expected value
-			int xmin = 0;
-			int xmax = cdf.length - 1;
-			int x = (int) mean;
+		/**
+		 * Generate binomially distributed random number with success probability
+		 * <code>r&le;1/2</code> by inversion, i.e. by sequential search starting at
+		 * zero. The expected time is proportional to the mean
+		 * <code>n r &lt; {@value #THRESHOLD_BTPE}</code>.
+		 * 
+		 * @return the number of successful trials
+		 */
+		private int nextInversion() {
+			int x = 0;
+			double px = qn;
+			double u = rng.nextDouble();
+			while (u > px) {
+				x++;
+				if (x > bound) {
+					// roundoff errors accumulated - start over
+					x = 0;
+					px = qn;
+					u = rng.nextDouble();
+				} else {
+					u -= px;
+					px = ((n - x + 1) * r * px) / (x * q);
+				}
+			}
+			return x;
+		}
 
-			while (xmax - xmin > 1) {
-				if (uRand > cdf[x]) {
-					xmin = x;
-					x += (xmax - x) / 2;
+		/**
+		 * Generate binomially distributed random number with success probability
+		 * <code>r&le;1/2</code> using the BTPE algorithm (triangle, parallelogram,
+		 * exponential). A majorizing function composed of a triangle, two
+		 * parallelograms and two exponential tails is sampled and accepted or
+		 * rejected based on the ratio of the binomial and majorizing functions. The
+		 * expected time is constant.
+		 * 
+		 * @return the number of successful trials
+		 * 
+		 * @see <a href="https://doi.org/10.1145/42372.42381">Kachitvichyanukul, V. &amp;
+		 *      Schmeiser, B. W. (1988) Binomial random variate generation, Commun.
+		 *      ACM 31, 216-222</a>
+		 */
+		private int nextBTPE() {
+			while (true) {
+				double u = rng.nextDouble() * p4;
+				double v = rng.nextDouble();
+				int y;
+				if (u <= p1) {
+					// triangular region - immediate acceptance
+					return (int) Math.floor(xm - p1 * v + u);
+				}
+				if (u <= p2) {
+					// parallelograms
+					double x = xl + (u - p1) / c;
+					v = v * c + 1.0 - Math.abs(m - x + 0.5) / p1;
+					if (v > 1.0)
+						continue;
+					y = (int) Math.floor(x);
+				} else if (u <= p3) {
+					// left exponential tail
+					if (v == 0.0)
+						continue;
+					y = (int) Math.floor(xl + Math.log(v) / laml);
+					if (y < 0)
+						continue;
+					v = v * (u - p2) * laml;
 				} else {
-					xmax = x;
-					x -= (x - xmin) / 2;
+					// right exponential tail
+					if (v == 0.0)
+						continue;
+					y = (int) Math.floor(xr - Math.log(v) / lamr);
+					if (y > n)
+						continue;
+					v = v * (u - p3) * lamr;
+				}
+				int k = Math.abs(y - m);
+				if (k <= 20 || k >= nrq / 2.0 - 1.0) {
+					// explicit evaluation of ratio of binomial probabilities
+					double s = r / q;
+					double a = s * (n + 1);
+					double f = 1.0;
+					if (m < y) {
+						for (int i = m + 1; i <= y; i++)
+							f *= (a / i - s);
+					} else if (m > y) {
+						for (int i = y + 1; i <= m; i++)
+							f /= (a / i - s);
+					}
+					if (v <= f)
+						return y;
+					continue;
 				}
+				// squeezing using upper and lower bounds on log(f(y))
+				double rho = (k / nrq) * ((k * (k / 3.0 + 0.625) + 0.16666666666666666) / nrq + 0.5);
+				double t = -k * (double) k / (2.0 * nrq);
+				double logv = Math.log(v);
+				if (logv < t - rho)
+					return y;
+				if (logv > t + rho)
+					continue;
+				// final acceptance/rejection test based on Stirling's formula
+				double x1 = y + 1.0;
+				double f1 = m + 1.0;
+				double z = n + 1.0 - m;
+				double w = n - y + 1.0;
+				if (logv <= xm * Math.log(f1 / x1) + (n - m + 0.5) * Math.log(z / w)
+						+ (y - m) * Math.log(w * r / (x1 * q))
+						+ stirling(f1) + stirling(z) - stirling(x1) - stirling(w))
+					return y;
 			}
-			return xmax;
+		}
+
+		/**
+		 * Helper method for the correction term of Stirling's approximation of
+		 * <code>log(x!)</code> used by BTPE.
+		 * 
+		 * @param x the argument
+		 * @return the correction term
+		 */
+		private static double stirling(double x) {
+			double x2 = x * x;
+			return (13860.0 - (462.0 - (132.0 - (99.0 - 140.0 / x2) / x2) / x2) / x2) / x / 166320.0;
 		}
 
 		@Override
 		public Binomial clone() {
-			Binomial clone = new Binomial(rng.clone(), p, getTrials());
+			Binomial clone = new Binomial(rng.clone(), p, n);
 			clone(clone);
 			return clone;
 		}
@@ -1423,38 +1613,23 @@ public abstract class RNGDistribution {
 		 * probability <code>p</code> (mean <code>n p</code>) and the random number
 		 * generator <code>rng</code>.
 		 * <p>
-		 * <strong>Note:</strong> cumulative distribution function is generated on the
-		 * fly. This is fine if only a few binomially distributed random numbers are
-		 * required or if performance is of a minor concern. Otherwise use
+		 * <strong>Note:</strong> the setup of the distribution is repeated for every
+		 * random number. This is fine if only a few binomially distributed random
+		 * numbers are required or if performance is of a minor concern. Otherwise use
 		 * {@link RNGDistribution.Binomial#Binomial(double, int) Binomial(double, int)}}
 		 * and {@link #next()}.
-		 *
+		 * 
 		 * @param rng random number generator
 		 * @param p   probability of success of single trial
 		 * @param n   number of trials
 		 * @return number of successful trials
 		 */
-		public static int next(MersenneTwister rng, double p, int n) {
-			double rnd = rng.nextDouble();
-			double piqni = Combinatorics.pow(1.0 - p, n);
-			if (rnd < piqni)
+		public static int next(RandomNumberGenerator rng, double p, int n) {
+			if (n == 0 || p <= 0.0)
 				return 0;
-			double piq = p / (1.0 - p);
-			double cum = piqni;
-			double comb = n;
-			double ni = n - 1;
-			for (int i = 1; i <= n; i++) {
-				piqni *= piq;
-				cum += comb * piqni;
-				if (rnd < cum)
-					return i;
-				comb *= (ni--) / (i + 1);
-			}
-			// last resort
-			if (cum < 1.0 && rnd < 1.0)
+			if (p >= 1.0)
 				return n;
-			throw new Error("this is not happening... probability: " + p + ", trials: " + n
-					+ ", cumulative probability: " + cum + ", random number: " + rnd);
+			return new Binomial(rng, p, n).next();
 		}
 
 		/**
@@ -1472,12 +1647,12 @@ public abstract class RNGDistribution {
 		 * @param logger the logger for reporting results
 		 * @param clock  the stop watch
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Binomial tests.");
 				return;
 			}
-			double p = 0.2;
+			double p = 0.6;
 			int n = 100;
 			RNGDistribution.Binomial binomial = new Binomial(rng, p, n);
 			int[] bins = new int[n + 1];
@@ -1532,6 +1707,285 @@ public abstract class RNGDistribution {
 		}
 	}
 
+	/**
+	 * Poisson distributed random numbers with support <code>{0,1,2,3,...}</code>.
+	 * This represents the number of events in a fixed interval of time if events
+	 * occur independently at a constant rate with <code>mean</code> number of
+	 * events in the interval. For small means, random numbers are generated by
+	 * multiplying uniform random numbers, otherwise by transformed rejection with
+	 * squeeze (PTRS). In both cases the setup is cached, such that repeatedly
+	 * drawing random numbers with the same mean is cheap.
+	 * 
+	 * @see <a href= "https://en.wikipedia.org/wiki/Poisson_distribution">
+	 *      Wikipedia: Poisson distribution</a>
+	 */
+	public static class Poisson extends RNGDistribution {
+
+		/**
+		 * Threshold for the mean below which Poisson distributed random numbers are
+		 * generated by multiplication of uniform random numbers. Above the threshold
+		 * the PTRS algorithm is used.
+		 */
+		public static final double THRESHOLD_PTRS = 10.0;
+
+		/**
+		 * Table of <code>log(k!)</code> for small <code>k</code>.
+		 */
+		private static final double[] LOG_FACTORIAL = { 0.0, 0.0, 0.6931471805599453, 1.791759469228055,
+				3.1780538303479458, 4.787491742782046, 6.579251212010101, 8.525161361065415, 10.60460290274525,
+				12.801827480081469 };
+
+		/**
+		 * Mean number of events.
+		 */
+		private double mean = -1.0;
+
+		/**
+		 * Multiplication: <code>exp(-mean)</code>.
+		 */
+		private double expmean;
+
+		/**
+		 * PTRS: <code>log(mean)</code>.
+		 */
+		private double logmean;
+
+		/**
+		 * PTRS: parameters of the transformed rejection.
+		 */
+		private double a, b, vr, logalpha;
+
+		/**
+		 * Creates Poisson distribution with mean <code>mean</code> and a new instance
+		 * of {@link MersenneTwister}.
+		 *
+		 * @param mean the mean number of events
+		 */
+		public Poisson(double mean) {
+			this(null, mean);
+		}
+
+		/**
+		 * Creates Poisson distribution with mean <code>mean</code> and the random
+		 * number generator <code>rng</code>.
+		 *
+		 * @param rng  random number generator
+		 * @param mean the mean number of events
+		 */
+		public Poisson(RandomNumberGenerator rng, double mean) throws IllegalArgumentException {
+			super(rng);
+			initialize(this, mean);
+		}
+
+		/**
+		 * Helper method to prevent {@code this-escape} warnings. Prepares the
+		 * constants for drawing random numbers. Nothing needs to be done if the mean
+		 * did not change.
+		 * 
+		 * @param rng  the Poisson distribution to initialize
+		 * @param mean the mean number of events
+		 * @throws IllegalArgumentException if <code>mean&le;0</code>
+		 */
+		protected static void initialize(Poisson rng, double mean) throws IllegalArgumentException {
+			if (mean <= 0.0)
+				throw new IllegalArgumentException("mean must be positive.");
+			if (mean == rng.mean)
+				// mean did not change - nothing to do
+				return;
+			rng.mean = mean;
+			if (mean < THRESHOLD_PTRS) {
+				rng.expmean = Math.exp(-mean);
+				return;
+			}
+			rng.logmean = Math.log(mean);
+			double b = 0.931 + 2.53 * Math.sqrt(mean);
+			rng.b = b;
+			rng.a = -0.059 + 0.02483 * b;
+			rng.vr = 0.9277 - 3.6224 / (b - 2.0);
+			rng.logalpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+		}
+
+		/**
+		 * Set the mean number of events of the Poisson distribution. This prepares the
+		 * constants for drawing random numbers, unless the mean did not change.
+		 *
+		 * @param mean the mean number of events
+		 * @throws IllegalArgumentException if <code>mean&le;0</code>
+		 */
+		public void setMean(double mean) throws IllegalArgumentException {
+			initialize(this, mean);
+		}
+
+		/**
+		 * Get the mean number of events of the Poisson distribution.
+		 * 
+		 * @return the mean number of events
+		 */
+		public double getMean() {
+			return mean;
+		}
+
+		/**
+		 * Generate a Poisson distributed random number. The expected time is
+		 * constant for large means.
+		 * 
+		 * @return the number of events
+		 */
+		public int next() {
+			if (mean < THRESHOLD_PTRS) {
+				int k = 0;
+				double prod = random01();
+				while (prod > expmean) {
+					k++;
+					prod *= random01();
+				}
+				return k;
+			}
+			return nextPTRS();
+		}
+
+		/**
+		 * Generate a Poisson distributed random number using transformed rejection
+		 * with squeeze. The expected time is constant.
+		 * 
+		 * @return the number of events
+		 * 
+		 * @see <a href="https://doi.org/10.1016/0167-6687(93)90997-4">Hörmann, W.
+		 *      (1993) The transformed rejection method for generating Poisson random
+		 *      variables, Insurance: Mathematics and Economics 12, 39-45</a>
+		 */
+		private int nextPTRS() {
+			while (true) {
+				double u = random01() - 0.5;
+				double v = random01();
+				double us = 0.5 - Math.abs(u);
+				int k = (int) Math.floor((2.0 * a / us + b) * u + mean + 0.43);
+				if (us >= 0.07 && v <= vr)
+					return k;
+				if (k < 0 || (us < 0.013 && v > us))
+					continue;
+				if (Math.log(v) + logalpha - Math.log(a / (us * us) + b) <= -mean + k * logmean - logFactorial(k))
+					return k;
+			}
+		}
+
+		/**
+		 * Helper method to calculate <code>log(k!)</code>. Small arguments are looked
+		 * up in a table and Stirling's series is used otherwise.
+		 * 
+		 * @param k the argument
+		 * @return the logarithm of <code>k!</code>
+		 */
+		private static double logFactorial(int k) {
+			if (k < LOG_FACTORIAL.length)
+				return LOG_FACTORIAL[k];
+			double x = k + 1.0;
+			double x2 = 1.0 / (x * x);
+			return (x - 0.5) * Math.log(x) - x + 0.9189385332046728
+					+ (1.0 / 12.0 - x2 * (1.0 / 360.0 - x2 / 1260.0)) / x;
+		}
+
+		@Override
+		public Poisson clone() {
+			Poisson clone = new Poisson(rng.clone(), mean);
+			clone(clone);
+			return clone;
+		}
+
+		/**
+		 * Creates Poisson distribution with mean <code>mean</code> and the random
+		 * number generator <code>rng</code>.
+		 * <p>
+		 * <strong>Note:</strong> the setup of the distribution is repeated for every
+		 * random number. This is fine if only a few Poisson distributed random numbers
+		 * are required or if performance is of a minor concern. Otherwise use
+		 * {@link RNGDistribution.Poisson#Poisson(double) Poisson(double)} and
+		 * {@link #next()}.
+		 *
+		 * @param rng  random number generator
+		 * @param mean the mean number of events
+		 * @return the number of events
+		 */
+		public static int next(RandomNumberGenerator rng, double mean) {
+			if (mean <= 0.0)
+				return 0;
+			return new Poisson(rng, mean).next();
+		}
+
+		/**
+		 * Test Poisson distribution.
+		 * <p>
+		 * The test samples the distribution and bins the random numbers. This sample
+		 * distribution is compared to the theoretical expectation. The mean deviation
+		 * is the mean difference between the actual number of events in each bin and
+		 * their expected number. For a perfect match the mean deviation is
+		 * <code>0</code>. The test passes if the mean deviation lies within one
+		 * standard error from <code>0</code>. This is more stringent than the
+		 * traditional 95% confidence interval.
+		 * 
+		 * @param rng    the random number generator
+		 * @param logger the logger for reporting results
+		 * @param clock  the stop watch
+		 */
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
+			if (!logger.isLoggable(Level.INFO)) {
+				logger.severe("log level of at last INFO required for Poisson tests.");
+				return;
+			}
+			double mean = 25.0;
+			RNGDistribution.Poisson poisson = new Poisson(rng, mean);
+			int nBins = (int) (4.0 * mean);
+			int[] bins = new int[nBins + 1];
+			int nSamples = poisson.testSamples;
+			StringBuilder buffer = new StringBuilder();
+			logger.info("Testing Poisson distribution (mean=" + mean + "): " + nSamples + " samples...");
+			double msStart = clock.elapsedTimeMsec();
+			for (int i = 0; i < nSamples; i++) {
+				int idx = poisson.next();
+				bins[Math.min(idx, nBins)]++;
+			}
+			double msEnd = clock.elapsedTimeMsec();
+			boolean verbose = (logger.getLevel().intValue() <= Level.FINE.intValue());
+			buffer.append("Time elapsed: " + (msEnd - msStart) + " msec\n");
+			if (verbose)
+				buffer.append("Distribution:\n");
+			double pmf = Math.exp(-mean) * nSamples;
+			double cum = 0.0;
+			double m1 = 0.0;
+			double m2 = 0.0;
+			for (int i = 0; i <= nBins; i++) {
+				int bini = bins[i];
+				// last bin collects the tail of the distribution
+				double pmfn = (i < nBins ? pmf : nSamples - cum);
+				if (verbose)
+					buffer.append(i)
+							.append(": ")
+							.append(bini)
+							.append(" (")
+							.append((int) (pmfn * 100.0) * 0.01)
+							.append(")\n");
+				double d = bini - pmfn;
+				m1 += d;
+				m2 += d * d;
+				cum += pmf;
+				pmf *= mean / (i + 1);
+			}
+			m1 /= nSamples;
+			m2 /= nSamples;
+			double sdev = Math.sqrt(m2 - m1 * m1);
+			double sterr = sdev / Math.sqrt(nSamples);
+			buffer.append("Statistics: mean +/- SEM = " + m1 + " +/- " + sterr);
+			logger.info(buffer.toString());
+			// in order to pass the test, the mean+/-sterr must include 0
+			boolean success = (Math.abs(m1) < sterr);
+			if (success) {
+				logger.info("Test passed!");
+				return;
+			}
+			logger.severe("Test of Poisson distribution failed...");
+		}
+	}
+
 	/**
 	 * Gillespie algorithm for selecting integers with support
 	 * <code>{0,1,2,3,..., n}</code> but with different weights.
@@ -1558,6 +2012,27 @@ public abstract class RNGDistribution {
 		 */
 		public static final int THRESHOLD_SIZE = 350;
 
+		/**
+		 * The alias table: probability of accepting the column of the uniformly
+		 * picked index (as opposed to picking its alias).
+		 * 
+		 * @see #setWeights(double[])
+		 */
+		private double[] aliasProb;
+
+		/**
+		 * The alias table: the alias of each column.
+		 * 
+		 * @see #setWeights(double[])
+		 */
+		private int[] alias;
+
+		/**
+		 * Temporary storage for the indices of the small and large columns while
+		 * building the alias table.
+		 */
+		private int[] aliasWork;
+
 		/**
 		 * Creates a weighted distribution over intergers using the Gillespie algorithm
 		 * and a new instance of {@link MersenneTwister}.
@@ -1572,7 +2047,7 @@ public abstract class RNGDistribution {
 		 *
 		 * @param rng random number generator
 		 */
-		public Gillespie(MersenneTwister rng) throws IllegalArgumentException {
+		public Gillespie(RandomNumberGenerator rng) throws IllegalArgumentException {
 			super(rng);
 		}
 
@@ -1709,13 +2184,13 @@ public abstract class RNGDistribution {
 		 * @param sum     the sum of all weights
 		 * @return the random integer
 		 */
-		public static int nextSum(MersenneTwister rng, double[] weights, double sum) {
+		public static int nextSum(RandomNumberGenerator rng, double[] weights, double sum) {
 			return nextHit(weights, rng.nextDouble() * sum);
 		}
 
 		/**
 		 * Helper method for {@link #nextSum(double[], double)} and
-		 * {@link #nextSum(MersenneTwister, double[], double)}.
+		 * {@link #nextSum(RandomNumberGenerator, double[], double)}.
 		 * 
 		 * @param weights the array of weights of the discrete distribution
 		 * @param hit     the random hit value
@@ -1773,7 +2248,7 @@ public abstract class RNGDistribution {
 		 * @param max     the maximum weight in the array
 		 * @return the random integer
 		 */
-		public static int nextMax(MersenneTwister rng, double[] weights, double max) {
+		public static int nextMax(RandomNumberGenerator rng, double[] weights, double max) {
 			int len = weights.length;
 			int aRand = -1;
 			do {
@@ -1782,13 +2257,102 @@ public abstract class RNGDistribution {
 			return aRand;
 		}
 
+		/**
+		 * Prepare the alias table for drawing random integers with support
+		 * {@code [0, weights.length)} from the discrete distribution of weights
+		 * defined by the {@code double[]} array {@code weights}. The setup requires
+		 * {@code O(weights.length)} time but afterwards {@link #nextAlias()} requires
+		 * only constant time regardless of the number or skew of the weights. This is
+		 * worthwhile whenever many random numbers are drawn from the <em>same</em>
+		 * distribution of weights. Storage is reused as long as the number of weights
+		 * does not change.
+		 * 
+		 * @param weights the array of weights of the discrete distribution
+		 * @throws IllegalArgumentException if the sum of weights is not positive
+		 * 
+		 * @see <a href="https://doi.org/10.1109/32.92917">Vose, M. D. (1991) A linear
+		 *      algorithm for generating random numbers with a given distribution,
+		 *      IEEE Trans. Softw. Eng. 17, 972-975</a>
+		 */
+		public void setWeights(double[] weights) throws IllegalArgumentException {
+			int len = weights.length;
+			double sum = ArrayMath.norm(weights);
+			if (len == 0 || sum <= 0.0)
+				throw new IllegalArgumentException("sum of weights must be positive.");
+			if (alias == null || alias.length != len) {
+				aliasProb = new double[len];
+				alias = new int[len];
+				aliasWork = new int[len];
+			}
+			// small columns are stored from the front of aliasWork, large ones from
+			// the back
+			double scale = len / sum;
+			int nSmall = 0;
+			int nLarge = len;
+			for (int i = 0; i < len; i++) {
+				double w = weights[i] * scale;
+				aliasProb[i] = w;
+				if (w < 1.0)
+					aliasWork[nSmall++] = i;
+				else
+					aliasWork[--nLarge] = i;
+			}
+			while (nSmall > 0 && nLarge < len) {
+				int small = aliasWork[--nSmall];
+				int large = aliasWork[nLarge];
+				alias[small] = large;
+				double w = aliasProb[large] + aliasProb[small] - 1.0;
+				aliasProb[large] = w;
+				if (w < 1.0) {
+					// large column turned small
+					nLarge++;
+					aliasWork[nSmall++] = large;
+				}
+			}
+			// remaining columns are full (up to rounding errors)
+			while (nLarge < len)
+				aliasProb[aliasWork[nLarge++]] = 1.0;
+			while (nSmall > 0)
+				aliasProb[aliasWork[--nSmall]] = 1.0;
+		}
+
+		/**
+		 * Return a random integer from the discrete distribution of weights
+		 * prepared by {@link #setWeights(double[])} using Vose's alias method. This
+		 * requires a single uniform random number and constant time.
+		 * 
+		 * @return the random integer
+		 * @throws IllegalStateException if no weights have been set
+		 */
+		public int nextAlias() {
+			if (alias == null)
+				throw new IllegalStateException("weights not set.");
+			double u = random01() * alias.length;
+			int col = (int) u;
+			return (u - col < aliasProb[col] ? col : alias[col]);
+		}
+
 		@Override
 		public Gillespie clone() {
 			Gillespie clone = new Gillespie(rng.clone());
+			if (alias != null)
+				clone.copyAlias(aliasProb, alias);
 			clone(clone);
 			return clone;
 		}
 
+		/**
+		 * Helper method for {@link #clone()} to copy the alias table.
+		 * 
+		 * @param prob the acceptance probabilities of the alias table
+		 * @param ali  the aliases of the alias table
+		 */
+		private void copyAlias(double[] prob, int[] ali) {
+			aliasProb = Arrays.copyOf(prob, prob.length);
+			alias = Arrays.copyOf(ali, ali.length);
+			aliasWork = new int[ali.length];
+		}
+
 		/**
 		 * Test Gillespie algorithm for random weight distribution.
 		 * <p>
@@ -1804,7 +2368,7 @@ public abstract class RNGDistribution {
 		 * @param logger the logger for reporting results
 		 * @param clock  the stop watch
 		 */
-		public static void test(MersenneTwister rng, Logger logger, Chronometer clock) {
+		public static void test(RandomNumberGenerator rng, Logger logger, Chronometer clock) {
 			if (!logger.isLoggable(Level.INFO)) {
 				logger.severe("log level of at last INFO required for Gillespie tests.");
 				return;
@@ -1836,19 +2400,32 @@ public abstract class RNGDistribution {
 			}
 			msEnd = clock.elapsedTimeMsec();
 			logger.info("Time elapsed: " + (msEnd - msStart) + " msec");
+			double[] ali = new double[nBins];
+			logger.info("Testing Gillespie algorithm: " + nSamples + " samples (alias)...");
+			msStart = clock.elapsedTimeMsec();
+			gillespie.setWeights(weights);
+			for (int i = 0; i < nSamples; i++) {
+				int idx = gillespie.nextAlias();
+				ali[idx]++;
+			}
+			msEnd = clock.elapsedTimeMsec();
+			logger.info("Time elapsed: " + (msEnd - msStart) + " msec");
 			ArrayMath.normalize(weights);
 			ArrayMath.normalize(noopt);
 			ArrayMath.normalize(opt);
+			ArrayMath.normalize(ali);
 			boolean verbose = (logger.getLevel().intValue() <= Level.FINE.intValue());
 			if (verbose) {
 				StringBuilder buffer = new StringBuilder();
-				buffer.append("Weighted Distribution:\nbin: non-optimized optimized (expected)\n");
+				buffer.append("Weighted Distribution:\nbin: non-optimized optimized alias (expected)\n");
 				for (int n = 0; n < nBins; n++)
 					buffer.append(n)
 							.append(": ")
 							.append(Formatter.format(noopt[n], 6))
 							.append(" ")
 							.append(Formatter.format(opt[n], 6))
+							.append(" ")
+							.append(Formatter.format(ali[n], 6))
 							.append(" (")
 							.append(Formatter.format(weights[n], 6))
 							.append(")\n");
@@ -1858,6 +2435,8 @@ public abstract class RNGDistribution {
 			double m2no = 0.0;
 			double m1o = 0.0;
 			double m2o = 0.0;
+			double m1a = 0.0;
+			double m2a = 0.0;
 			for (int n = 0; n < nBins; n++) {
 				double d = noopt[n] - weights[n];
 				m1no += d;
@@ -1865,21 +2444,30 @@ public abstract class RNGDistribution {
 				d = opt[n] - weights[n];
 				m1o += d;
 				m2o += d * d;
+				d = ali[n] - weights[n];
+				m1a += d;
+				m2a += d * d;
 			}
 			m1no /= nSamples;
 			m2no /= nSamples;
 			m1o /= nSamples;
 			m2o /= nSamples;
+			m1a /= nSamples;
+			m2a /= nSamples;
 			double stdevno = Math.sqrt(m2no - m1no * m1no);
 			double sterrno = stdevno / Math.sqrt(nSamples);
 			logger.info("Statistics: mean +/- SEM = " + m1no + " +/- " + sterrno + " (non-optimized)");
 			double stdevo = Math.sqrt(m2o - m1o * m1o);
 			double sterro = stdevo / Math.sqrt(nSamples);
 			logger.info("Statistics: mean +/- SEM = " + m1o + " +/- " + sterro + " (optimized)");
+			double stdeva = Math.sqrt(m2a - m1a * m1a);
+			double sterra = stdeva / Math.sqrt(nSamples);
+			logger.info("Statistics: mean +/- SEM = " + m1a + " +/- " + sterra + " (alias)");
 			// in order to pass the test, the mean+/-sterr must include 0
 			boolean successno = (Math.abs(m1no) < sterrno);
 			boolean successo = (Math.abs(m1o) < sterro);
-			if (successno && successo) {
+			boolean successa = (Math.abs(m1a) < sterra);
+			if (successno && successo && successa) {
 				logger.info("Test passed!");
 				return;
 			}
@@ -0,0 +1,712 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.math;
+
+import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
+
+/**
+ * Base class of the pseudo random number generators used by EvoLudo. Concrete
+ * generators only need to supply a stream of 32bit random integers through
+ * {@link #nextUInt()} together with the means to seed, encode and restore their
+ * state. All other random numbers, e.g. integers in a given range, doubles in
+ * the unit interval or Gaussian deviates, are derived from this stream in the
+ * same manner for all generators. In particular, derived numbers of the
+ * {@link MersenneTwister} are identical to those of the reference
+ * implementation {@code mt19937ar.c}.
+ * <p>
+ * <strong>Note:</strong> none of the methods are synchronized. Each instance
+ * must be confined to a single thread. In particular, the random number
+ * generator of the models is owned by the thread running the {@code EvoLudo}
+ * engine. Parallel tasks, such as replicas for sampling statistics, must use
+ * their own instances. Jumpable generators, such as {@link Xoshiro128}, provide
+ * statistically independent streams for this purpose.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see MersenneTwister
+ * @see Xoshiro128
+ */
+public abstract class RandomNumberGenerator {
+
+	/**
+	 * 32 bit mask.
+	 */
+	private static final int BIT32_MASK = 0xffffffff;
+
+	/**
+	 * Constant: {@code 2^27}.
+	 */
+	private static final double TWO_TO_27 = 134217728.0;
+
+	/**
+	 * Constant: {@code 2^31}.
+	 */
+	private static final float TWO_TO_31_FLOAT = 2147483648f;
+
+	/**
+	 * Constant: {@code 2^31 - 1}.
+	 */
+	private static final double TWO_TO_31M1 = 2147483647.0;
+
+	/**
+	 * Constant: {@code 2^32}.
+	 */
+	private static final double TWO_TO_32 = 4294967296.0;
+
+	/**
+	 * Constant: {@code 2^53}.
+	 */
+	private static final double TWO_TO_53 = 9007199254740992.0;
+
+	/**
+	 * Constant: {@code 2^-24}.
+	 */
+	private static final double TWO_TO_NEG24 = 8.0 / TWO_TO_27;
+
+	/**
+	 * Constant: {@code 2^-25}.
+	 */
+	private static final double TWO_TO_NEG25 = 4.0 / TWO_TO_27;
+
+	/**
+	 * Constant: {@code 2^-27}.
+	 */
+	private static final double TWO_TO_NEG27 = 1.0 / TWO_TO_27;
+
+	/**
+	 * Constant: {@code 2^-31}.
+	 */
+	private static final float TWO_TO_NEG31_FLOAT = 1f / TWO_TO_31_FLOAT;
+
+	/**
+	 * Constant: {@code 1/2^-31}.
+	 */
+	protected static final double TWO_TO_NEG31 = 2.0 / TWO_TO_32;
+
+	/**
+	 * Constant: {@code 1/(2^-31 - 1)}.
+	 */
+	private static final double INV_TWO_TO_31M1 = 1.0 / (TWO_TO_31M1);
+
+	/**
+	 * Constant: {@code 2^-52}.
+	 */
+	private static final double TWO_TO_NEG52 = 2.0 / TWO_TO_53;
+
+	/**
+	 * Constant: {@code 2^-53}.
+	 */
+	private static final double TWO_TO_NEG53 = 1.0 / TWO_TO_53;
+
+	/**
+	 * Gaussian random numbers are generated in pairs. This is the second of the
+	 * two or {@code NaN} if none is available.
+	 */
+	protected double nextGaussian = Double.NaN;
+
+	/**
+	 * Constant for encoding and restoring the cached Gaussian in plist.
+	 */
+	private static final String ENCODE_NEXT_GAUSSIAN = "nextGaussian";
+
+	/**
+	 * Encode state of random number generator as <code>plist</code> for saving.
+	 * 
+	 * @return <code>plist</code> string encoding state of random number generator
+	 * 
+	 * @see #encodeState(PlistWriter)
+	 */
+	public String encodeState() {
+		StringBuilder plist = new StringBuilder();
+		encodeState(new PlistWriter(plist));
+		return plist.toString();
+	}
+
+	/**
+	 * Encode state of random number generator as <code>plist</code> and append it
+	 * to the writer {@code plist}.
+	 * 
+	 * @param plist the writer for the encoded state
+	 */
+	public abstract void encodeState(PlistWriter plist);
+
+	/**
+	 * Restore state of random number generator from <code>plist</code> encoded
+	 * string.
+	 * 
+	 * @param plist encoded state of random number generator
+	 * @return <code>true</code> if state successfully restored
+	 */
+	public abstract boolean restoreState(Plist plist);
+
+	/**
+	 * Encode the cached Gaussian deviate (if any) as <code>plist</code>.
+	 * 
+	 * @param plist the writer for the encoded state
+	 */
+	protected void encodeGaussian(PlistWriter plist) {
+		// encode nextGaussian only if one available
+		if (!Double.isNaN(nextGaussian))
+			plist.appendKey(ENCODE_NEXT_GAUSSIAN, nextGaussian);
+	}
+
+	/**
+	 * Restore the cached Gaussian deviate (if any) from <code>plist</code>.
+	 * 
+	 * @param plist encoded state of random number generator
+	 */
+	protected void restoreGaussian(Plist plist) {
+		// check if nextGaussian available
+		Double nextGauss = (Double) plist.get(ENCODE_NEXT_GAUSSIAN);
+		nextGaussian = (nextGauss == null ? Double.NaN : nextGauss);
+	}
+
+	/**
+	 * Returns true if the current internal state of this random number generator
+	 * is equal to that of {@code other}. This includes comparison of the cached
+	 * Gaussian value, ensuring that both generators will produce identical
+	 * sequences including nextGaussian() calls.
+	 * 
+	 * @param other another random number generator
+	 * @return <code>true</code> the two generators are identical.
+	 */
+	public abstract boolean stateEquals(RandomNumberGenerator other);
+
+	/**
+	 * Initialize the pseudo random number generator with {@code seed}.
+	 * 
+	 * @param seed the seed for the random number generator
+	 */
+	public abstract void setSeed(long seed);
+
+	/**
+	 * Returns the seed of the random number generator.
+	 * 
+	 * @return the seed of the random number generator
+	 */
+	public abstract long getSeed();
+
+	/**
+	 * Resets the random number generator to its initial state.
+	 */
+	public abstract void reset();
+
+	/**
+	 * Clone this random number generator to ensure both objects return identical
+	 * sequences of random numbers.
+	 * <p>
+	 * IMPORTANT:
+	 * <ol>
+	 * <li>overrides {@link java.lang.Object#clone() clone()} in
+	 * {@link java.lang.Object} but conflicts with GWT's aversion to
+	 * clone()ing...</li>
+	 * <li>remove <code>@SuppressWarnings("all")</code> to ensure that no other
+	 * issues crept in when modifying method.</li>
+	 * </ol>
+	 * 
+	 * @return clone of random number generator
+	 */
+	// @Override
+	@SuppressWarnings("all")
+	public abstract RandomNumberGenerator clone();
+
+	/**
+	 * Generates a 32bit 'unsigned' random <code>int</code>. All 32bits represent
+	 * the random number - use with care! All other random numbers are derived from
+	 * this stream.
+	 * 
+	 * @return random <code>int</code> in <code>[0, 2<sup>32</sup>-1]</code>
+	 */
+	protected abstract int nextUInt();
+
+	/**
+	 * Generate a 31bit (signed) random <code>int</code> in
+	 * <code>[0, Integer.MAX_VALUE)</code>.
+	 * <p>
+	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * <code>[0, 0x7fffffff]</code>-interval corresponds to:
+	 * <code>unsigned long genrand_int31</code>
+	 * 
+	 * @return random <code>int</code> in <code>[0, 2^<sup>32</sup>-1]</code>
+	 */
+	public int nextInt() {
+		return (nextUInt() >>> 1);
+	}
+
+	/**
+	 * Generate a random <code>int</code> in <code>[0, n-1]</code>-interval.
+	 * 
+	 * @param n integer upper bound (exclusive)
+	 * @return random integer in <code>[0, n)</code>
+	 * 
+	 * @throws IllegalArgumentException if <code>n &le; 0</code>
+	 */
+	public int nextInt(int n) {
+		if (n <= 1) {
+			if (n == 1)
+				return 0;
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		}
+
+		if ((n & -n) == n) {
+			// i.e., n is a power of 2
+			// ChH: GWT does not look kindly on long - eliminate!
+			// avoid multiplication overflow: split 32 bits into 2x 16 bits and process them
+			// individually
+			// calc log_2(n)
+			int log2 = 1;
+			n = n >>> 2;
+			while (n > 0) {
+				log2++;
+				n = n >>> 1;
+			}
+			// note: cannot shift by 32bit (apparently turns into nop...), log2>0 must hold
+			// n=1 caught at start
+			// check if mask needed - might be only in rare cases
+			return (nextUInt() >>> (32 - log2)) & BIT32_MASK;
+		}
+
+		int bits;
+		int val;
+		do {
+			bits = nextInt();
+			val = bits % n;
+			// note: the while-loop essentially checks for an integer overflow.
+			// in GWT/JavaScript this needs to be done explicitly because all
+			// numbers are doubles and overflows are handled differently.
+			// ChH: check overflow in an JRE/GWT agnostic manner:
+			// val <= n-1 must hold
+			// bits + (n-1-val) may result in overflow, which manifests itself
+			// by a negative result
+			// check against Integer.MAX_VALUE instead
+		} while (Integer.MAX_VALUE - bits < n - 1 - val);
+		return val;
+	}
+
+	/**
+	 * Generate a 64bit unsigned random long in <code>[0, 2^<sup>65</sup>-1]</code>.
+	 * 
+	 * @return random <code>long</code> integer in
+	 *         <code>[0, 2^<sup>65</sup>-1]</code>
+	 */
+	private long nextULong() {
+		long y = nextUInt();
+		long z = nextUInt();
+		return (y << 32) + z;
+	}
+
+	/**
+	 * Generate a 63bit (signed) random <code>long</code> integer in
+	 * <code>[0, Long.MAX_VALUE)</code>.
+	 * <p>
+	 * <strong>Note:</strong>
+	 * <ul>
+	 * <li>Twice as expensive as nextInt().</li>
+	 * <li>Do <em>not</em> use in GWT applications (<code>long</code> integers are
+	 * CPU hogs).</li>
+	 * </ul>
+	 * 
+	 * @return random <code>long</code> integer in <code>[0,
+	 *         2^<sup>63</sup>-1]</code>
+	 */
+	public long nextLong() {
+		return (nextULong() >>> 1);
+	}
+
+	/**
+	 * Generate a random <code>long</code> integer in <code>[0, n)</code> with
+	 * <code>n &gt; 0</code>.
+	 * <p>
+	 * <strong>Note:</strong>
+	 * <ul>
+	 * <li>Twice as expensive as {@link #nextInt(int)}.</li>
+	 * <li>Do <em>not</em> use in GWT applications (<code>long</code> integers are
+	 * CPU hogs).</li>
+	 * </ul>
+	 * 
+	 * @param n integer upper bound (exclusive)
+	 * @return random <code>long</code> integer in <code>[0, n]</code>
+	 * 
+	 * @throws IllegalArgumentException if <code>n &le; 0</code>
+	 */
+	public long nextLong(long n) {
+		if (n <= 1) {
+			if (n == 1)
+				return 0L;
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		}
+
+		// use same optimization as for nextInt(int)
+		if ((n & -n) == n) {
+			// i.e., n is a power of 2; calc log_2(n)
+			int log2 = 1;
+			n = n >>> 2;
+			while (n > 0) {
+				log2++;
+				n = n >>> 1;
+			}
+			// note: cannot shift by 32bit (apparently turns into nop...), log2>0 must hold
+			// n=1 caught at start
+			return (nextULong() >>> (64 - log2));
+		}
+
+		long bits;
+		long val;
+		do {
+			bits = nextLong();
+			val = bits % n;
+		} while (bits - val + (n - 1) < 0);
+		return val;
+	}
+
+	/**
+	 * Generates a random short integer on <code>[0, 0xffff]</code>-interval.
+	 * <p>
+	 * <strong>Note:</strong>
+	 * <ul>
+	 * <li>same as nextChar() but different return type.</li>
+	 * <li>Do <em>not</em> use in GWT applications (<code>short</code> integers are
+	 * not supported).
+	 * </ul>
+	 * 
+	 * @return random <code>short</code> integer in <code>[0, 65536)</code>
+	 */
+	public short nextShort() {
+		return (short) (nextUInt() >>> 16);
+	}
+
+	/**
+	 * generates a random <code>char</code> on <code>[0, 0xffff]</code>-interval.
+	 * <p>
+	 * Note: same as nextShort() but different return type.
+	 * </p>
+	 * 
+	 * @return random <code>short</code> integer in <code>[0, 65536)</code>
+	 */
+	public char nextChar() {
+		return (char) (nextUInt() >>> 16);
+	}
+
+	/**
+	 * Generates a random <code>byte</code> on <code>[0, 0xff]</code>-interval.
+	 * 
+	 * @return random <code>short</code> integer in <code>[0, 16)</code>
+	 */
+	public byte nextByte() {
+		return (byte) (nextUInt() >>> 24);
+	}
+
+	/**
+	 * Fill array {@code bytes} with random bytes.
+	 * 
+	 * @param bytes random bytes stored here
+	 * @see #nextByte()
+	 */
+	public void nextBytes(byte[] bytes) {
+		for (int x = 0; x < bytes.length; x++)
+			bytes[x] = nextByte();
+	}
+
+	/**
+	 * Generates a random boolean.
+	 * 
+	 * @return <code>true</code> with 50% chance
+	 */
+	public boolean nextBoolean() {
+		return (nextUInt() >>> 31) != 0;
+	}
+
+	/**
+	 * This generates a coin flip with a probability <code>probability</code> of
+	 * returning <code>true</code>, else returning <code>false</code>.
+	 * <code>probability</code> must be in <code>[0, 1]</code>. Not as precise as
+	 * {@link #nextBoolean(double)}, but twice as fast. To explicitly use this,
+	 * remember you may need to cast to <code>float</code> first.
+	 * <p>
+	 * <strong>Note:</strong> Do <em>not</em> use in GWT applications
+	 * (<code>float</code>'s create overhead).
+	 * </p>
+	 * 
+	 * @param probability for returning <code>true</code>
+	 * @return <code>true</code> with <code>probability</code>
+	 * 
+	 * @throws IllegalArgumentException if <code>probability&lt;0</code> or
+	 *                                  <code>probability&gt;1</code>
+	 */
+	public boolean nextBoolean(float probability) {
+		if (probability < 0f || probability > 1f)
+			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive.");
+		if (probability == 0f)
+			return false; // fix half-open issues
+		else if (probability == 1f)
+			return true; // fix half-open issues
+		return (nextUInt() >>> 8) * TWO_TO_NEG24 < probability;
+	}
+
+	/**
+	 * This generates a coin flip with a probability <code>probability</code> of
+	 * returning <code>true</code>, else returning <code>false</code>.
+	 * <code>probability</code> must be in <code>[0, 1]</code>.
+	 * <p>
+	 * <strong>Note:</strong> More accurate than {@link #nextBoolean(float)}, but
+	 * twice as expensive
+	 * </p>
+	 * 
+	 * @param probability for returning true
+	 * @return <code>true</code> with <code>probability</code>
+	 * 
+	 * @throws IllegalArgumentException if <code>probability&lt;0</code> or
+	 *                                  <code>probability&gt;1</code>
+	 */
+	public boolean nextBoolean(double probability) {
+		if (probability < 0.0 || probability > 1.0)
+			throw new IllegalArgumentException("probability must be between 0.0 and 1.0 inclusive.");
+		if (probability == 0.0)
+			return false; // fix half-open issues
+		else if (probability == 1.0)
+			return true; // fix half-open issues
+		return nextDoubleHigh() < probability;
+	}
+
+	/**
+	 * Generates a random high-precision double on half-open
+	 * <code>[0, 1)</code>-interval.
+	 * <p>
+	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * <code>[0,1)</code> with 53-bit resolution corresponds to:
+	 * <code>double genrand_res53(void)</code>.
+	 * <p>
+	 * <strong>Note:</strong> Twice as expensive as {@link #nextDouble()} or the
+	 * equivalent {@link #nextFloat()}.
+	 * 
+	 * @return random high-precision <code>double</code> in <code>[0, 1)</code>
+	 */
+	public double nextDoubleHigh() {
+		int y = nextUInt();
+		int z = nextUInt();
+		return (y >>> 5) * TWO_TO_NEG27 + (z >>> 6) * TWO_TO_NEG53;
+	}
+
+	/**
+	 * Generate random <code>double</code> on half-open
+	 * <code>[0, 1)</code>-interval.
+	 * <p>
+	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * <code>[0,1)</code>-real-interval corresponds to:
+	 * <code>double genrand_real2(void)</code>.
+	 * <p>
+	 * <strong>Note:</strong>
+	 * <ul>
+	 * <li>Twice as fast as {@link #nextDoubleHigh()}</li>
+	 * <li>Equivalent to {@link #nextFloat()}</li>
+	 * <li>One bit lost compared to original due to signed <code>int</code></li>
+	 * </ul>
+	 * 
+	 * @return random <code>double</code> in <code>[0, 1)</code>
+	 */
+	public double nextDouble() {
+		return nextInt() * TWO_TO_NEG31; // rand/(2^31)
+	}
+
+	/**
+	 * Generate random double on closed <code>[0, 1]</code>-interval
+	 * <p>
+	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * <code>[0,1]</code>-real-interval corresponds to:
+	 * <code>double genrand_real1(void)</code>.
+	 * <p>
+	 * <strong>Note:</strong> one bit lost compared to original due to signed
+	 * <code>int</code>.
+	 * 
+	 * @return random double in <code>[0, 1]</code>
+	 */
+	public double nextDoubleClosed() {
+		return nextInt() * INV_TWO_TO_31M1; // rand/(2^31- 1)
+	}
+
+	/**
+	 * Generate random double on open <code>(0, 1)</code>-interval
+	 * <p>
+	 * From <code>mt19937ar.c</code>: generates a random number on
+	 * <code>(0,1)</code>-real-interval corresponds to:
+	 * <code>double genrand_real3(void)</code>.
+	 * <p>
+	 * <strong>Note:</strong> one bit lost compared to original due to signed
+	 * <code>int</code>.
+	 * 
+	 * @return random <code>double</code> in <code>(0, 1)</code>
+	 */
+	public double nextDoubleOpen() {
+		return (nextInt() + 0.5) * TWO_TO_NEG31; // (rand+0.5)/(2^31)
+	}
+
+	/**
+	 * Generates a random <code>float</code> on half-open
+	 * <code>[0, 1)</code>-interval.
+	 * <p>
+	 * <strong>Note:</strong>
+	 * <ul>
+	 * <li>Twice as fast as {@link #nextDouble()}.
+	 * <li>Do <em>not</em> use in GWT applications (<code>float</code>'s create
+	 * overhead).
+	 * </ul>
+	 * 
+	 * @return random <code>float</code> in <code>[0, 1)</code>
+	 */
+	public float nextFloat() {
+		return nextInt() * TWO_TO_NEG31_FLOAT;
+	}
+
+	/**
+	 * Generate random number from standard normal distribution (Gaussian
+	 * distribution).
+	 * 
+	 * @return random number
+	 */
+	public double nextGaussian() {
+		if (!Double.isNaN(nextGaussian)) {
+			double gauss = nextGaussian;
+			nextGaussian = Double.NaN;
+			return gauss;
+		}
+		double v1;
+		double v2;
+		double s;
+		do {
+			v1 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
+			v2 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		double multiplier = Math.sqrt(-2.0 * Math.log(s) / s);
+		nextGaussian = v2 * multiplier;
+		return v1 * multiplier;
+	}
+
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with random
+	 * <code>double</code>s on the half-open <code>[0, 1)</code>-interval. The
+	 * numbers are identical to those returned by successive calls to
+	 * {@link #nextDouble()}.
+	 * 
+	 * @param dst  the array to fill with random numbers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 */
+	public void nextDoubles(double[] dst, int from, int to) {
+		for (int n = from; n < to; n++)
+			dst[n] = (nextUInt() >>> 1) * TWO_TO_NEG31;
+	}
+
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with random
+	 * <code>int</code>s in <code>[0, n-1]</code>-interval. The numbers are
+	 * identical to those returned by successive calls to {@link #nextInt(int)}
+	 * but the bound {@code n} is processed only once.
+	 * 
+	 * @param n    integer upper bound (exclusive)
+	 * @param dst  the array to fill with random integers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 * 
+	 * @throws IllegalArgumentException if <code>n &le; 0</code>
+	 */
+	public void nextInts(int n, int[] dst, int from, int to) {
+		if (n <= 1) {
+			if (n == 1) {
+				for (int i = from; i < to; i++)
+					dst[i] = 0;
+				return;
+			}
+			throw new IllegalArgumentException("n must be positive, got: " + n);
+		}
+
+		if ((n & -n) == n) {
+			// n is a power of 2; see nextInt(int)
+			int log2 = 1;
+			int m = n >>> 2;
+			while (m > 0) {
+				log2++;
+				m = m >>> 1;
+			}
+			int shift = 32 - log2;
+			for (int i = from; i < to; i++)
+				dst[i] = (nextUInt() >>> shift) & BIT32_MASK;
+			return;
+		}
+
+		int n1 = n - 1;
+		for (int i = from; i < to; i++) {
+			int bits;
+			int val;
+			do {
+				bits = nextUInt() >>> 1;
+				val = bits % n;
+				// see nextInt(int) for overflow check in a JRE/GWT agnostic manner
+			} while (Integer.MAX_VALUE - bits < n1 - val);
+			dst[i] = val;
+		}
+	}
+
+	/**
+	 * Fill {@code dst[from]} through {@code dst[to-1]} with random numbers from
+	 * the standard normal distribution. The numbers are identical to those
+	 * returned by successive calls to {@link #nextGaussian()} but are generated
+	 * in pairs without caching.
+	 * 
+	 * @param dst  the array to fill with random numbers
+	 * @param from the index of the first element (inclusive)
+	 * @param to   the index of the last element (exclusive)
+	 */
+	public void nextGaussians(double[] dst, int from, int to) {
+		int n = from;
+		if (n < to && !Double.isNaN(nextGaussian)) {
+			dst[n++] = nextGaussian;
+			nextGaussian = Double.NaN;
+		}
+		while (n < to) {
+			double v1;
+			double v2;
+			double s;
+			do {
+				v1 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
+				v2 = (nextUInt() >>> 5) * TWO_TO_NEG25 + (nextUInt() >>> 6) * TWO_TO_NEG52 - 1;
+				s = v1 * v1 + v2 * v2;
+			} while (s >= 1 || s == 0);
+			double multiplier = Math.sqrt(-2.0 * Math.log(s) / s);
+			dst[n++] = v1 * multiplier;
+			if (n < to)
+				dst[n++] = v2 * multiplier;
+			else
+				nextGaussian = v2 * multiplier;
+		}
+	}
+}
@@ -0,0 +1,233 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.math;
+
+import java.util.Arrays;
+
+/**
+ * Complete binary tree of partial sums over a fixed number of non-negative
+ * weights. Supports updating individual weights and drawing an index with a
+ * probability proportional to its weight, optionally excluding one index, in
+ * {@code O(log N)} time, where {@code N} denotes the number of weights.
+ * <p>
+ * Leaves are stored at {@code tree[capacity + i]} and every internal node is
+ * recalculated as the sum of its two children whenever a leaf changes. In
+ * contrast to Fenwick trees, which accumulate differences, partial sums
+ * therefore never drift due to rounding errors, no matter how many updates are
+ * performed.
+ * 
+ * <h3>Requirements/notes:</h3>
+ * Weights must be {@code &ge;0}. Zero weights (e.g. vacant sites) are never
+ * drawn.
+ * 
+ * @author Christoph Hauert
+ */
+public class SumTree {
+
+	/**
+	 * The number of weights.
+	 */
+	private final int size;
+
+	/**
+	 * The number of leaves, i.e. the smallest power of two that is at least
+	 * {@code size}.
+	 */
+	private final int capacity;
+
+	/**
+	 * The depth of the tree such that {@code capacity = 1 << depth}.
+	 */
+	private final int depth;
+
+	/**
+	 * The partial sums. The root node with the total sum is at index {@code 1}.
+	 */
+	private final double[] tree;
+
+	/**
+	 * Create a new sum tree for {@code size} weights. All weights are initially
+	 * zero.
+	 * 
+	 * @param size the number of weights
+	 */
+	public SumTree(int size) {
+		if (size < 1)
+			throw new IllegalArgumentException("sum tree requires at least one weight.");
+		this.size = size;
+		int d = 0;
+		while ((1 << d) < size)
+			d++;
+		depth = d;
+		capacity = 1 << d;
+		tree = new double[2 * capacity];
+	}
+
+	/**
+	 * Gets the number of weights.
+	 * 
+	 * @return the number of weights
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Sets all weights to zero.
+	 */
+	public void clear() {
+		Arrays.fill(tree, 0.0);
+	}
+
+	/**
+	 * Sets all weights to {@code weights} and rebuilds the tree in {@code O(N)}.
+	 * 
+	 * @param weights the array of weights (at least of length {@link #size()})
+	 */
+	public void init(double[] weights) {
+		System.arraycopy(weights, 0, tree, capacity, size);
+		Arrays.fill(tree, capacity + size, 2 * capacity, 0.0);
+		for (int i = capacity - 1; i > 0; i--)
+			tree[i] = tree[2 * i] + tree[2 * i + 1];
+	}
+
+	/**
+	 * Gets the weight with index {@code idx}.
+	 * 
+	 * @param idx the index of the weight
+	 * @return the weight
+	 */
+	public double get(int idx) {
+		return tree[capacity + idx];
+	}
+
+	/**
+	 * Sets the weight with index {@code idx} to {@code weight} and updates all
+	 * partial sums along the path to the root.
+	 * 
+	 * @param idx    the index of the weight
+	 * @param weight the new weight
+	 */
+	public void set(int idx, double weight) {
+		int i = capacity + idx;
+		if (tree[i] == weight)
+			return;
+		tree[i] = weight;
+		i >>= 1;
+		while (i > 0) {
+			tree[i] = tree[2 * i] + tree[2 * i + 1];
+			i >>= 1;
+		}
+	}
+
+	/**
+	 * Swaps the weights with indices {@code idxa} and {@code idxb}.
+	 * 
+	 * @param idxa the index of the first weight
+	 * @param idxb the index of the second weight
+	 */
+	public void swap(int idxa, int idxb) {
+		double wa = get(idxa);
+		set(idxa, get(idxb));
+		set(idxb, wa);
+	}
+
+	/**
+	 * Gets the sum of all weights.
+	 * 
+	 * @return the total weight
+	 */
+	public double sum() {
+		return tree[1];
+	}
+
+	/**
+	 * Finds the index {@code i} such that the cumulative weight of all indices
+	 * {@code &lt;i} is at most {@code hit} and the cumulative weight including
+	 * {@code i} exceeds {@code hit}. For {@code hit} uniformly distributed in
+	 * {@code [0, sum())} this draws an index with probability proportional to its
+	 * weight.
+	 * 
+	 * @param hit the target cumulative weight
+	 * @return the index with positive weight
+	 */
+	public int find(double hit) {
+		int i = 1;
+		while (i < capacity) {
+			int left = i + i;
+			double l = tree[left];
+			// guard against rounding errors: never descend into empty subtrees
+			if (l > 0.0 && (hit < l || tree[left + 1] <= 0.0)) {
+				i = left;
+				continue;
+			}
+			hit -= l;
+			i = left + 1;
+		}
+		return i - capacity;
+	}
+
+	/**
+	 * Same as {@link #find(double)} but with the weight of index {@code excl}
+	 * treated as zero. For {@code hit} uniformly distributed in
+	 * {@code [0, sum() - get(excl))} this draws an index other than {@code excl}
+	 * with probability proportional to its weight.
+	 * 
+	 * @param hit  the target cumulative weight
+	 * @param excl the index to exclude
+	 * @return the index with positive weight
+	 */
+	public int find(double hit, int excl) {
+		int leaf = capacity + excl;
+		double wexcl = tree[leaf];
+		int shift = depth;
+		int i = 1;
+		while (i < capacity) {
+			int left = i + i;
+			shift--;
+			// ancestor of excluded leaf at level of children
+			int anc = leaf >> shift;
+			double l = tree[left];
+			double r = tree[left + 1];
+			if (anc == left)
+				l -= wexcl;
+			else
+				r -= wexcl;
+			if (l > 0.0 && (hit < l || r <= 0.0)) {
+				i = left;
+				continue;
+			}
+			hit -= l;
+			i = left + 1;
+		}
+		return i - capacity;
+	}
+}
@@ -0,0 +1,393 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.math;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
+
+/**
+ * The xoshiro128** pseudo random number generator by David Blackman and
+ * Sebastiano Vigna. The generator has a state of 128 bits, a period of
+ * <code>2<sup>128</sup>-1</code> and passes all known statistical tests. It
+ * operates on 32bit words only and hence translates efficiently into
+ * JavaScript. Compared to the {@link MersenneTwister}, the state is tiny and
+ * the generator is considerably faster.
+ * <p>
+ * Most importantly, the generator is jumpable: {@link #jump()} advances the
+ * state by <code>2<sup>64</sup></code> steps and {@link #longJump()} by
+ * <code>2<sup>96</sup></code> steps. This provides up to
+ * <code>2<sup>64</sup></code> non-overlapping streams of random numbers, e.g.
+ * for replicas running in parallel, see {@link #split()}.
+ * <p>
+ * <strong>Note:</strong> the seed is expanded into the initial state using the
+ * SplitMix64 generator, as recommended by the authors.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see <a href="https://prng.di.unimi.it">xoshiro/xoroshiro generators and the
+ *      PRNG shootout</a>
+ */
+public class Xoshiro128 extends RandomNumberGenerator {
+
+	/**
+	 * The jump polynomial, equivalent to <code>2<sup>64</sup></code> calls to
+	 * {@link #nextUInt()}.
+	 */
+	private static final int[] JUMP = { 0x8764000b, 0xf542d2d3, 0x6fa035c3, 0x77f2db5b };
+
+	/**
+	 * The long-jump polynomial, equivalent to <code>2<sup>96</sup></code> calls
+	 * to {@link #nextUInt()}.
+	 */
+	private static final int[] LONG_JUMP = { 0xb523952e, 0x0b6f099f, 0xccf5a0ef, 0x1c580662 };
+
+	/**
+	 * The increment of the SplitMix64 generator used for seeding.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The four words of the state of the generator. Must not be all zero.
+	 */
+	private int s0;
+
+	/**
+	 * The four words of the state of the generator. Must not be all zero.
+	 */
+	private int s1;
+
+	/**
+	 * The four words of the state of the generator. Must not be all zero.
+	 */
+	private int s2;
+
+	/**
+	 * The four words of the state of the generator. Must not be all zero.
+	 */
+	private int s3;
+
+	/**
+	 * The seed used for the random number generator.
+	 */
+	private Long seed;
+
+	/**
+	 * Constant for encoding and restoring state in plist.
+	 */
+	private static final String ENCODE_STATE = "xoshiro128";
+
+	/**
+	 * Constructor using the default seed.
+	 */
+	public Xoshiro128() {
+		this(System.currentTimeMillis());
+	}
+
+	/**
+	 * Constructor using a given seed.
+	 * 
+	 * @param seed for random number generator
+	 */
+	public Xoshiro128(long seed) {
+		initializeWithSeed(this, seed);
+	}
+
+	/**
+	 * Constructor using the four words of the state of the generator. At least
+	 * one of them must be non-zero.
+	 * 
+	 * @param state the four words of the state
+	 */
+	public Xoshiro128(int[] state) {
+		initializeWithState(this, state);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The 64 bits of the seed are expanded into the 128 bits of the state using
+	 * the SplitMix64 generator.
+	 */
+	@Override
+	public void setSeed(long seed) {
+		initializeWithSeed(this, seed);
+	}
+
+	/**
+	 * Sets the state of the generator to the four words in {@code state}. At
+	 * least one of them must be non-zero.
+	 * 
+	 * @param state the four words of the state
+	 */
+	public void setSeed(int[] state) {
+		initializeWithState(this, state);
+	}
+
+	@Override
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public void reset() {
+		if (seed == null)
+			throw new IllegalStateException("No seed available for reset!");
+		initializeWithSeed(this, seed);
+	}
+
+	/**
+	 * Static helper method to initialize the generator with a long seed. This
+	 * avoids this-escape warnings when called from constructors.
+	 * <p>
+	 * <strong>Note:</strong> SplitMix64 relies on <code>long</code> arithmetic,
+	 * which is slow in GWT. However, this is of no concern because seeding is
+	 * rare.
+	 * 
+	 * @param xo   the generator to initialize
+	 * @param seed the seed for the random number generator
+	 */
+	private static void initializeWithSeed(Xoshiro128 xo, long seed) {
+		long z = seed + GOLDEN_GAMMA;
+		long w = splitMix64(z);
+		xo.s0 = (int) w;
+		xo.s1 = (int) (w >>> 32);
+		w = splitMix64(z + GOLDEN_GAMMA);
+		xo.s2 = (int) w;
+		xo.s3 = (int) (w >>> 32);
+		xo.nextGaussian = Double.NaN;
+		xo.seed = seed;
+	}
+
+	/**
+	 * The output function of the SplitMix64 generator.
+	 * 
+	 * @param z the state of the SplitMix64 generator
+	 * @return the mixed 64 bits
+	 */
+	private static long splitMix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Static helper method to initialize the generator with the four words in
+	 * {@code state}. This avoids this-escape warnings when called from
+	 * constructors.
+	 * 
+	 * @param xo    the generator to initialize
+	 * @param state the four words of the state
+	 * 
+	 * @throws IllegalArgumentException if {@code state} does not have length
+	 *                                  {@code 4} or is all zero
+	 */
+	private static void initializeWithState(Xoshiro128 xo, int[] state) {
+		if (state.length != 4 || (state[0] | state[1] | state[2] | state[3]) == 0)
+			throw new IllegalArgumentException("state must be four words, not all zero");
+		xo.s0 = state[0];
+		xo.s1 = state[1];
+		xo.s2 = state[2];
+		xo.s3 = state[3];
+		xo.nextGaussian = Double.NaN;
+		xo.seed = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The scrambler {@code **} applied to the second word of the state.
+	 */
+	@Override
+	protected int nextUInt() {
+		int s = s1 * 5;
+		int result = ((s << 7) | (s >>> 25)) * 9;
+		int t = s1 << 9;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = (s3 << 11) | (s3 >>> 21);
+		return result;
+	}
+
+	/**
+	 * Advance the state of the generator by <code>2<sup>64</sup></code> steps.
+	 * This can be used to generate <code>2<sup>64</sup></code> non-overlapping
+	 * subsequences for parallel computations.
+	 */
+	public void jump() {
+		jump(JUMP);
+	}
+
+	/**
+	 * Advance the state of the generator by <code>2<sup>96</sup></code> steps.
+	 * This can be used to generate <code>2<sup>32</sup></code> starting points,
+	 * from each of which {@link #jump()} generates <code>2<sup>32</sup></code>
+	 * non-overlapping subsequences for parallel distributed computations.
+	 */
+	public void longJump() {
+		jump(LONG_JUMP);
+	}
+
+	/**
+	 * Helper method to advance the state of the generator according to the jump
+	 * polynomial {@code poly}.
+	 * 
+	 * @param poly the jump polynomial
+	 */
+	private void jump(int[] poly) {
+		int t0 = 0;
+		int t1 = 0;
+		int t2 = 0;
+		int t3 = 0;
+		for (int p : poly) {
+			for (int b = 0; b < 32; b++) {
+				if ((p & (1 << b)) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextUInt();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+		nextGaussian = Double.NaN;
+	}
+
+	/**
+	 * Split off a new stream of random numbers. The returned generator continues
+	 * the current sequence of this generator, while this generator jumps ahead
+	 * by <code>2<sup>64</sup></code> steps. Successive calls thus return
+	 * non-overlapping streams.
+	 * 
+	 * @return the generator for the split off stream
+	 * 
+	 * @see #jump()
+	 */
+	public Xoshiro128 split() {
+		Xoshiro128 stream = clone();
+		jump();
+		return stream;
+	}
+
+	/**
+	 * Set the state of this generator to that of {@code other}. In contrast to
+	 * {@link #clone()} this preserves the identity of the generator, which may be
+	 * referenced by other objects, e.g. random number distributions.
+	 * 
+	 * @param other the generator to copy the state from
+	 */
+	public void setState(Xoshiro128 other) {
+		s0 = other.s0;
+		s1 = other.s1;
+		s2 = other.s2;
+		s3 = other.s3;
+		nextGaussian = other.nextGaussian;
+	}
+
+	@Override
+	public void encodeState(PlistWriter plist) {
+		plist.appendKey(ENCODE_STATE, new int[] { s0, s1, s2, s3 });
+		encodeGaussian(plist);
+	}
+
+	@Override
+	public boolean restoreState(Plist plist) {
+		@SuppressWarnings("unchecked")
+		List<Integer> state = (List<Integer>) plist.get(ENCODE_STATE);
+		if (state == null || state.size() != 4)
+			return false;
+		s0 = state.get(0);
+		s1 = state.get(1);
+		s2 = state.get(2);
+		s3 = state.get(3);
+		restoreGaussian(plist);
+		return true;
+	}
+
+	@Override
+	public boolean stateEquals(RandomNumberGenerator other) {
+		if (other == this)
+			return true;
+		if (!(other instanceof Xoshiro128))
+			return false;
+		Xoshiro128 xo = (Xoshiro128) other;
+		return s0 == xo.s0 && s1 == xo.s1 && s2 == xo.s2 && s3 == xo.s3 && nextGaussian == xo.nextGaussian;
+	}
+
+	@SuppressWarnings("all")
+	@Override
+	public Xoshiro128 clone() {
+		Xoshiro128 clone = new Xoshiro128(new int[] { s0, s1, s2, s3 });
+		clone.nextGaussian = this.nextGaussian;
+		clone.seed = this.seed;
+		return clone;
+	}
+
+	/**
+	 * Tests if generated random numbers and jumps comply with the reference
+	 * implementation <code>xoshiro128starstar.c</code>.
+	 * 
+	 * @param logger for reporting progress and results
+	 */
+	public static void testCorrectness(Logger logger) {
+		// references from running xoshiro128starstar.c with state {0x123, 0x234,
+		// 0x345, 0x456}: 1000th number of next()
+		final long REFERENCE_INT_1000 = 1334785421L;
+		// followed by 1000th number of next() after jump()
+		final long REFERENCE_JUMP_1000 = 1001359943L;
+
+		StringBuilder buffer = new StringBuilder(
+				"Check Xoshiro128 (comparison to output of xoshiro128starstar.c original)\n");
+		Xoshiro128 r = new Xoshiro128(new int[] { 0x123, 0x234, 0x345, 0x456 });
+		long l = 0L;
+		for (int j = 0; j < 1000; j++)
+			l = r.nextUInt() & 0xffffffffL;
+		buffer.append("Testing nextUInt():       (32bit random 'unsigned' int)... ")
+				.append(l == REFERENCE_INT_1000 ? "Passed!" : "FAILED: expected " + REFERENCE_INT_1000 + ", got " + l)
+				.append('\n');
+		r.jump();
+		for (int j = 0; j < 1000; j++)
+			l = r.nextUInt() & 0xffffffffL;
+		buffer.append("Testing jump():           (2^64 steps ahead)...            ")
+				.append(l == REFERENCE_JUMP_1000 ? "Passed!"
+						: "FAILED: expected " + REFERENCE_JUMP_1000 + ", got " + l);
+		logger.info(buffer.toString());
+	}
+}
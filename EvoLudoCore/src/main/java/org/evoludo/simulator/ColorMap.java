@@ -96,6 +96,19 @@ public abstract class ColorMap<T extends Object> {
 		throw new UnsupportedOperationException("ColorMap.translate(int[], T[]) not implemented!");
 	}
 
+	/**
+	 * Translate the <code>data</code> array of <code>byte</code> values to colors
+	 * and store the results in the <code>color</code> array. Same as
+	 * {@link #translate(int[], Object[])} but for compact storage of indices.
+	 * 
+	 * @param data  the <code>byte[]</code> array to convert to colors
+	 * @param color the array for the resulting colors
+	 * @return <code>true</code> if translation successful
+	 */
+	public boolean translate(byte[] data, T[] color) {
+		throw new UnsupportedOperationException("ColorMap.translate(byte[], T[]) not implemented!");
+	}
+
 	/**
 	 * Translate the multi-trait <code>double[]</code> array <code>data</code> to a
 	 * color. The type of object returned depends on the implementation.
@@ -159,6 +172,40 @@ public abstract class ColorMap<T extends Object> {
 		throw new UnsupportedOperationException("ColorMap.translate(double[][], double[][], T[]) not implemented!");
 	}
 
+	/**
+	 * Translate the <code>data</code> array of multi-trait values to colors and
+	 * store the results in the <code>color</code> array. Same as
+	 * {@link #translate(double[][], Object[])} but for data stored in a flat array,
+	 * where the values of each entry occupy <code>stride</code> consecutive
+	 * elements.
+	 * 
+	 * @param data   the flat <code>double[]</code> array to convert to colors
+	 * @param stride the number of values (traits) of each entry
+	 * @param color  the array for the resulting colors
+	 * @return <code>true</code> if translation successful
+	 */
+	public boolean translate(double[] data, int stride, T[] color) {
+		throw new UnsupportedOperationException("ColorMap.translate(double[], int, T[]) not implemented!");
+	}
+
+	/**
+	 * Translate the <code>data1</code> and <code>data2</code> arrays of
+	 * multi-trait values to colors and store the results in the <code>color</code>
+	 * array. Same as {@link #translate(double[][], double[][], Object[])} but for
+	 * data stored in flat arrays, where the values of each entry occupy
+	 * <code>stride</code> consecutive elements.
+	 * 
+	 * @param data1  the first flat <code>double[]</code> array to convert to colors
+	 * @param data2  the second flat <code>double[]</code> array to convert to
+	 *               colors
+	 * @param stride the number of values (traits) of each entry
+	 * @param color  the array for the resulting colors
+	 * @return <code>true</code> if translation successful
+	 */
+	public boolean translate(double[] data1, double[] data2, int stride, T[] color) {
+		throw new UnsupportedOperationException("ColorMap.translate(double[], double[], int, T[]) not implemented!");
+	}
+
 	/**
 	 * Utility method for adding the <span style="color:red;">red</span>,
 	 * <span style="color:green;">green</span>,
@@ -356,6 +403,14 @@ public abstract class ColorMap<T extends Object> {
 			return true;
 		}
 
+		@Override
+		public boolean translate(byte[] data, T[] color) {
+			int len = data.length;
+			for (int n = 0; n < len; n++)
+				color[n] = colors[data[n]];
+			return true;
+		}
+
 		/**
 		 * Convert the index colors into a 1D gradient with a total of {@code nIncr}
 		 * shades.
@@ -743,6 +798,44 @@ public abstract class ColorMap<T extends Object> {
 				color[n] = translate(ArrayMath.dot(data1[n], data2[n]));
 			return true;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * <strong>Implementation:</strong> Only the value of the trait of this
+		 * gradient is converted to the corresponding gradient color.
+		 * 
+		 * @see PDE
+		 */
+		@Override
+		public boolean translate(double[] data, int stride, T[] color) {
+			int len = color.length;
+			int idx = trait;
+			for (int n = 0; n < len; n++) {
+				color[n] = gradient[binOf(data[idx])];
+				idx += stride;
+			}
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see PDE
+		 */
+		@Override
+		public boolean translate(double[] data1, double[] data2, int stride, T[] color) {
+			int len = color.length;
+			int idx = 0;
+			for (int n = 0; n < len; n++) {
+				double dot = 0.0;
+				for (int i = 0; i < stride; i++)
+					dot += data1[idx + i] * data2[idx + i];
+				color[n] = translate(dot);
+				idx += stride;
+			}
+			return true;
+		}
 	}
 
 	/**
@@ -1062,6 +1155,32 @@ public abstract class ColorMap<T extends Object> {
 			}
 			return true;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see #translate(double[][], Object[])
+		 * @see PDE
+		 */
+		@Override
+		public boolean translate(double[] data, int stride, T[] color) {
+			int len = color.length;
+			int idx = 0;
+			if (nTraits == 2) {
+				// no dependent trait - use auto scaling
+				for (int n = 0; n < len; n++) {
+					color[n] = gradient[binOf(data[idx + trait1], trait1)][binOf(data[idx + trait2], trait2)];
+					idx += stride;
+				}
+			} else {
+				for (int n = 0; n < len; n++) {
+					color[n] = gradient[(int) (data[idx + trait1] * nGradient)][(int) (data[idx + trait2]
+							* nGradient)];
+					idx += stride;
+				}
+			}
+			return true;
+		}
 	}
 
 	/**
@@ -1238,6 +1357,25 @@ public abstract class ColorMap<T extends Object> {
 			return true;
 		}
 
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * @see #translate(double[][], Object[])
+		 * @see PDE
+		 */
+		@Override
+		public boolean translate(double[] data, int stride, T[] color) {
+			double[] datan = new double[stride];
+			int len = color.length;
+			int idx = 0;
+			for (int n = 0; n < len; n++) {
+				System.arraycopy(data, idx, datan, 0, stride);
+				color[n] = super.translate(datan);
+				idx += stride;
+			}
+			return true;
+		}
+
 		/**
 		 * Convert the <code>N</code>-dimensional color map into a 1D gradient with a
 		 * total of {@code nIncr} shades. This is useful for coloring schemes that are
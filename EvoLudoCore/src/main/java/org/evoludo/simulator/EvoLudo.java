@@ -43,16 +43,22 @@ import java.util.logging.Logger;
 import org.evoludo.math.ArrayMath;
 import org.evoludo.math.MersenneTwister;
 import org.evoludo.math.RNGDistribution;
+import org.evoludo.math.RandomNumberGenerator;
+import org.evoludo.math.Xoshiro128;
 import org.evoludo.simulator.models.ChangeListener;
 import org.evoludo.simulator.models.ChangeListener.PendingAction;
+import org.evoludo.simulator.models.IBS;
 import org.evoludo.simulator.models.IBSPopulation;
 import org.evoludo.simulator.models.MilestoneListener;
 import org.evoludo.simulator.models.Mode;
 import org.evoludo.simulator.models.Model;
 import org.evoludo.simulator.models.Model.HasDE;
+import org.evoludo.simulator.models.ODE;
+import org.evoludo.simulator.models.ODEEnsemble;
 import org.evoludo.simulator.models.PDE;
 import org.evoludo.simulator.models.PDESupervisor;
 import org.evoludo.simulator.models.SampleListener;
+import org.evoludo.simulator.models.SyncSupervisor;
 import org.evoludo.simulator.models.Type;
 import org.evoludo.simulator.modules.ATBT;
 import org.evoludo.simulator.modules.CDL;
@@ -83,6 +89,7 @@ import org.evoludo.util.CLOption.Category;
 import org.evoludo.util.CLOption.Key;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Interface with the outside world. Deals with command line options, help,
@@ -1329,6 +1336,53 @@ public abstract class EvoLudo
 	 */
 	public abstract PDESupervisor hirePDESupervisor(PDE charge);
 
+	/**
+	 * Hire ensemble for integrating many initial conditions of an ODE model
+	 * simultaneously. This is the factory method to provide different
+	 * implementations. This default implementation integrates all members of the
+	 * ensemble sequentially, while JRE takes advantage of multiple threads.
+	 *
+	 * @param charge the ODE model to integrate
+	 * @return ensemble of initial conditions
+	 * 
+	 * @see org.evoludo.simulator.EvoLudoJRE#hireODEEnsemble(ODE)
+	 * @see org.evoludo.simulator.models.ODEEnsemble
+	 * @see org.evoludo.simulator.models.ODEEnsembleJRE
+	 */
+	public ODEEnsemble hireODEEnsemble(ODE charge) {
+		return new ODEEnsemble(this, charge);
+	}
+
+	/**
+	 * Hire supervisor for managing synchronous updates and asynchronous updates of
+	 * sublattices of IBS models. This is the factory method to provide different
+	 * implementations. This default implementation returns {@code null} and all
+	 * updates are processed by the populations themselves, while JRE splits the
+	 * populations into chunks that are processed by multiple threads.
+	 *
+	 * @param charge the IBS model to supervise
+	 * @return supervisor for coordinating synchronous updates or {@code null}
+	 * 
+	 * @see org.evoludo.simulator.EvoLudoJRE#hireSyncSupervisor(IBS)
+	 * @see org.evoludo.simulator.models.SyncSupervisor
+	 * @see org.evoludo.simulator.models.SyncSupervisorJRE
+	 */
+	public SyncSupervisor hireSyncSupervisor(IBS charge) {
+		return null;
+	}
+
+	/**
+	 * Gets the cache for unique geometries. This default implementation does not
+	 * provide a cache and returns {@code null}.
+	 * 
+	 * @return the cache for unique geometries or {@code null} if not available
+	 * 
+	 * @see org.evoludo.simulator.EvoLudoJRE#getGeometryCache()
+	 */
+	public GeometryCache getGeometryCache() {
+		return null;
+	}
+
 	/**
 	 * The copyright string.
 	 */
@@ -1384,6 +1438,25 @@ public abstract class EvoLudo
 		return snapLayoutTimeout;
 	}
 
+	/**
+	 * The opening angle for the Barnes-Hut approximation of the repulsion between
+	 * nodes when laying out networks. The repulsion is calculated exactly for
+	 * {@code layoutAngle &le; 0}.
+	 */
+	protected double layoutAngle = 0.0;
+
+	/**
+	 * Gets the opening angle for the Barnes-Hut approximation of the repulsion
+	 * between nodes when laying out networks.
+	 * 
+	 * @return the opening angle
+	 * 
+	 * @see Network#setOpeningAngle(double)
+	 */
+	public double getLayoutAngle() {
+		return layoutAngle;
+	}
+
 	/**
 	 * Write header of report to <code>output</code> (currently JRE only). The
 	 * information should include items like the version of the EvoLudo code, the
@@ -1413,23 +1486,45 @@ public abstract class EvoLudo
 	 * Encode current state of EvoLudo model as XML string (plist format).
 	 *
 	 * @return encoded state
+	 * 
+	 * @see #encodeState(Appendable)
 	 */
 	public String encodeState() {
-		StringBuilder plist = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+		StringBuilder plist = new StringBuilder();
+		encodeState(plist);
+		return plist.toString();
+	}
+
+	/**
+	 * Encode current state of EvoLudo model as XML (plist format) and stream it
+	 * to {@code out}. The state is appended piecemeal and never assembled in
+	 * memory, which keeps the footprint small even for very large populations.
+	 * 
+	 * @param out the destination of the encoded state
+	 * @return {@code true} if successful and {@code false} if writing to
+	 *         {@code out} failed
+	 * 
+	 * @see PlistWriter
+	 */
+	public boolean encodeState(Appendable out) {
+		PlistWriter plist = new PlistWriter(out);
+		plist.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
 				+ "<!DOCTYPE plist PUBLIC \"-//Apple//DTD PLIST 1.0//EN\" \"http://www.apple.com/DTDs/PropertyList-1.0.dtd\">\n"
 				+ "<plist version=\"1.0\">\n" + "<dict>\n");
-		plist.append(Plist.encodeKey("Export date", new Date().toString()));
-		plist.append(Plist.encodeKey("Title", activeModule.getTitle()));
-		plist.append(Plist.encodeKey("Version", getVersion()));
+		plist.appendKey("Export date", new Date().toString());
+		plist.appendKey("Title", activeModule.getTitle());
+		plist.appendKey("Version", getVersion());
 		String java = getJavaVersion();
 		if (java != null)
-			plist.append(Plist.encodeKey("JavaVersion", java));
-		plist.append(Plist.encodeKey("CLO", parser.getCLO()));
+			plist.appendKey("JavaVersion", java);
+		plist.appendKey("CLO", parser.getCLO());
 		activeModel.encodeState(plist);
 		// the mersenne twister state is pretty long (and uninteresting) keep at end
-		plist.append("<key>RNG state</key>\n" + "<dict>\n" + (rng.getRNG().encodeState()) + "</dict>\n");
+		plist.append("<key>RNG state</key>\n" + "<dict>\n");
+		rng.getRNG().encodeState(plist);
+		plist.append("</dict>\n");
 		plist.append("</dict>\n" + "</plist>");
-		return plist.toString();
+		return !plist.checkError();
 	}
 
 	/**
@@ -1803,6 +1898,31 @@ public abstract class EvoLudo
 				}
 			});
 
+	/**
+	 * Command line option to select the random number generator. The
+	 * {@link MersenneTwister} remains the default to ensure reproducibility of
+	 * earlier results, while {@link Xoshiro128} is faster and provides
+	 * independent streams for parallel replicas.
+	 * <p>
+	 * <strong>Note:</strong> options are parsed in alphabetical order, hence the
+	 * generator is selected before {@link #cloSeed} seeds it.
+	 * 
+	 * @see RNGType
+	 */
+	public final CLOption cloGenerator = new CLOption("rng", RNGType.MERSENNE.getKey(), Category.Model,
+			"--rng <g>       random number generator:", //
+			new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					RNGType type = (RNGType) cloGenerator.match(arg);
+					if (type == null)
+						return false;
+					if (!type.isTypeOf(rng.getRNG()))
+						rng.setRNG(type.create());
+					return true;
+				}
+			});
+
 	/**
 	 * Command line option to request that the EvoLudo model immediately starts
 	 * running after loading.
@@ -1825,7 +1945,27 @@ public abstract class EvoLudo
 			"--delay <d>     delay between updates (d: delay in msec)", new CLODelegate() {
 				@Override
 				public boolean parse(String arg) {
-					setDelay(Integer.parseInt(arg));
+					setDelay((int) CLOParser.parseDouble(arg));
+					return true;
+				}
+			});
+
+	/**
+	 * Command line option to set the opening angle for the Barnes-Hut
+	 * approximation of the repulsion between nodes when laying out networks. This
+	 * reduces the computational costs of each sweep of the layouting process from
+	 * {@code O(N<sup>2</sup>)} to {@code O(N log N)} for networks with {@code N}
+	 * nodes.
+	 * 
+	 * @see Network#setOpeningAngle(double)
+	 */
+	public final CLOption cloLayoutAngle = new CLOption("layoutangle", "0", Category.GUI,
+			"--layoutangle <a>  opening angle for Barnes-Hut layout of networks\n"
+					+ "                (a<=0 exact repulsion, e.g. a=0.8 for large networks)",
+			new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					layoutAngle = CLOParser.parseDouble(arg);
 					return true;
 				}
 			});
@@ -1883,12 +2023,14 @@ public abstract class EvoLudo
 						MersenneTwister.testSpeed(logger, EvoLudo.this, 10000000);
 						int lap = elapsedTimeMsec();
 						logger.info("MersenneTwister tests done: " + ((lap - start) / 1000.0) + " sec.");
-						MersenneTwister mt = rng.getRNG();
+						Xoshiro128.testCorrectness(logger);
+						RandomNumberGenerator mt = rng.getRNG();
 						RNGDistribution.Uniform.test(mt, logger, EvoLudo.this);
 						RNGDistribution.Exponential.test(mt, logger, EvoLudo.this);
 						RNGDistribution.Normal.test(mt, logger, EvoLudo.this);
 						RNGDistribution.Geometric.test(mt, logger, EvoLudo.this);
 						RNGDistribution.Binomial.test(mt, logger, EvoLudo.this);
+						RNGDistribution.Poisson.test(mt, logger, EvoLudo.this);
 					}
 					return true;
 				}
@@ -1986,8 +2128,11 @@ public abstract class EvoLudo
 		parser.addCLO(cloModule);
 		parser.addCLO(cloModel);
 		parser.addCLO(cloSeed);
+		parser.addCLO(cloGenerator);
+		cloGenerator.addKeys(RNGType.values());
 		parser.addCLO(cloRun);
 		parser.addCLO(cloDelay);
+		parser.addCLO(cloLayoutAngle);
 		parser.addCLO(cloRNG);
 		// option for trait color schemes only makes sense for modules with multiple
 		// continuous traits that have 2D/3D visualizations
@@ -2003,6 +2148,98 @@ public abstract class EvoLudo
 			parser.addCLO(cloTrajectoryColor);
 	}
 
+	/**
+	 * Types of random number generators. Currently available generators are:
+	 * <dl>
+	 * <dt>mt
+	 * <dd>The Mersenne Twister MT19937 (default).
+	 * <dt>xoshiro
+	 * <dd>The xoshiro128** generator. Faster and jumpable, which provides
+	 * independent streams of random numbers for parallel replicas.
+	 * </dl>
+	 * 
+	 * @see #cloGenerator
+	 */
+	public enum RNGType implements CLOption.Key {
+
+		/**
+		 * The Mersenne Twister MT19937.
+		 * 
+		 * @see MersenneTwister
+		 */
+		MERSENNE("mt", "Mersenne Twister MT19937"), //
+
+		/**
+		 * The xoshiro128** generator.
+		 * 
+		 * @see Xoshiro128
+		 */
+		XOSHIRO("xoshiro", "xoshiro128** (fast, jumpable)");
+
+		/**
+		 * The name of the random number generator type.
+		 */
+		private final String key;
+
+		/**
+		 * Brief description of the random number generator type for help display.
+		 * 
+		 * @see EvoLudo#getCLOHelp()
+		 */
+		private final String title;
+
+		/**
+		 * Create a new random number generator type.
+		 * 
+		 * @param key   the name of the random number generator
+		 * @param title the title of the random number generator
+		 * 
+		 * @see #cloGenerator
+		 */
+		RNGType(String key, String title) {
+			this.key = key;
+			this.title = title;
+		}
+
+		/**
+		 * Create a new random number generator of this type.
+		 * 
+		 * @return the new random number generator
+		 */
+		public RandomNumberGenerator create() {
+			if (this == XOSHIRO)
+				return new Xoshiro128();
+			return new MersenneTwister();
+		}
+
+		/**
+		 * Check if the random number generator {@code gen} is of this type.
+		 * 
+		 * @param gen the random number generator to check
+		 * @return {@code true} if {@code gen} is of this type
+		 */
+		public boolean isTypeOf(RandomNumberGenerator gen) {
+			if (this == XOSHIRO)
+				return gen instanceof Xoshiro128;
+			return gen instanceof MersenneTwister;
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public String getTitle() {
+			return title;
+		}
+
+		@Override
+		public String toString() {
+			return key + ": " + title;
+		}
+	}
+
 	/**
 	 * The coloring method type.
 	 */
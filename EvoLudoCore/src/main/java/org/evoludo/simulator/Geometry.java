@@ -48,6 +48,7 @@ import org.evoludo.util.CLOParser;
 import org.evoludo.util.CLOption;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Instances of <code>Geometry</code> represent the interaction and/or
@@ -703,7 +704,11 @@ public class Geometry {
 	 * {@code in[i].length} does not necessarily reflect the number of
 	 * neighbours! Use {@code kin[i]} instead. To minimize memory allocation
 	 * requests {@code in[i].length>kin[i]} may hold. This is primarily important
-	 * for dynamical networks.
+	 * for dynamical networks. For frozen geometries and implicit lattices
+	 * {@code in} is {@code null}. Use {@link #getInAt(int, int[])} instead.
+	 * 
+	 * @see #isFrozen()
+	 * @see #isImplicit()
 	 */
 	public int[][] in = null;
 
@@ -716,7 +721,11 @@ public class Geometry {
 	 * {@code out[i].length} does not necessarily reflect the number of
 	 * neighbours! Use {@code kout[i]} instead. To minimize memory allocation
 	 * requests {@code out[i].length>kout[i]} may hold. This is primarily important
-	 * for dynamical networks.
+	 * for dynamical networks. For frozen geometries and implicit lattices
+	 * {@code out} is {@code null}. Use {@link #getOutAt(int, int[])} instead.
+	 * 
+	 * @see #isFrozen()
+	 * @see #isImplicit()
 	 */
 	public int[][] out = null;
 
@@ -732,6 +741,53 @@ public class Geometry {
 	 */
 	public int[] kout = null;
 
+	/**
+	 * The offsets of the incoming neighbours of each node in the compressed sparse
+	 * row (CSR) representation of the network structure. The indices of the
+	 * incoming neighbours of node {@code i} are stored in
+	 * {@code inTargets[inOffsets[i]]} through {@code inTargets[inOffsets[i+1]-1]}.
+	 * Only available for frozen geometries and {@code null} otherwise.
+	 * 
+	 * @see #freeze()
+	 */
+	private int[] inOffsets = null;
+
+	/**
+	 * The indices of the incoming neighbours of all nodes in the compressed sparse
+	 * row (CSR) representation of the network structure. Only available for frozen
+	 * geometries and {@code null} otherwise.
+	 * 
+	 * @see #inOffsets
+	 */
+	private int[] inTargets = null;
+
+	/**
+	 * The offsets of the outgoing neighbours of each node in the compressed sparse
+	 * row (CSR) representation of the network structure. Only available for frozen
+	 * geometries and {@code null} otherwise.
+	 * 
+	 * @see #inOffsets
+	 */
+	private int[] outOffsets = null;
+
+	/**
+	 * The indices of the outgoing neighbours of all nodes in the compressed sparse
+	 * row (CSR) representation of the network structure. Only available for frozen
+	 * geometries and {@code null} otherwise.
+	 * 
+	 * @see #inOffsets
+	 */
+	private int[] outTargets = null;
+
+	/**
+	 * {@code true} if the network structure is frozen, i.e. the compressed sparse
+	 * row representation is complete and replaces the neighbourhood arrays
+	 * {@code in} and {@code out}.
+	 * 
+	 * @see #freeze()
+	 */
+	private boolean frozen = false;
+
 	/**
 	 * The number of nodes in the graph.
 	 */
@@ -756,6 +812,45 @@ public class Geometry {
 	 */
 	public boolean fixedBoundary = false;
 
+	/**
+	 * Flag indicating whether neighbourhoods of regular lattices should be
+	 * computed on the fly rather than stored in {@code in} and {@code out}.
+	 * 
+	 * @see #isImplicit()
+	 */
+	public boolean implicitLattice = false;
+
+	/**
+	 * {@code true} if the neighbourhoods are computed on the fly. The arrays
+	 * {@code in} and {@code out} are {@code null} in that case.
+	 * 
+	 * @see #initGeometryImplicit()
+	 */
+	private boolean implicit = false;
+
+	/**
+	 * The side length of implicit lattices. For cubic lattices this refers to the
+	 * side length of each layer.
+	 * 
+	 * @see #initGeometryImplicit()
+	 */
+	private int implicitSide;
+
+	/**
+	 * The number of layers of implicit cubic lattices.
+	 * 
+	 * @see #initGeometryImplicit()
+	 */
+	private int implicitLayers;
+
+	/**
+	 * The range of the neighbourhood for implicit square and cubic lattices with
+	 * larger neighbourhoods.
+	 * 
+	 * @see #initGeometryImplicit()
+	 */
+	private int implicitRange;
+
 	/*
 	 * public Boundary boundary = Boundary.PERIODIC;
 	 * 
@@ -1036,9 +1131,16 @@ public class Geometry {
 		out = null;
 		kin = null;
 		kout = null;
+		inOffsets = null;
+		inTargets = null;
+		outOffsets = null;
+		outTargets = null;
+		frozen = false;
+		implicit = false;
 		size = -1;
 		geometry = Type.MEANFIELD;
 		fixedBoundary = false;
+		implicitLattice = false;
 		minIn = -1;
 		maxIn = -1;
 		avgIn = -1.0;
@@ -1068,6 +1170,7 @@ public class Geometry {
 	 * Allocate the memory neccessary to store the network structure.
 	 */
 	public void alloc() {
+		discard();
 		// allocate memory to hold links - avoid null values
 		if (in == null || in.length != size) {
 			in = new int[size][];
@@ -1530,13 +1633,33 @@ public class Geometry {
 
 	/**
 	 * Entry point to initialize the network structure according to the given
-	 * parameters.
+	 * parameters. Unique geometries are restored from the cache, if available.
 	 * 
 	 * @see Geometry.Type
 	 * @see #parse(String)
 	 * @see #check()
+	 * @see EvoLudo#getGeometryCache()
 	 */
 	public void init() {
+		// discard previous structure - no need to restore neighbourhoods
+		implicit = false;
+		discard();
+		if (implicitLattice && initGeometryImplicit()) {
+			isValid = true;
+			evaluated = false;
+			return;
+		}
+		// unique geometries may be available from the cache
+		GeometryCache cache = (isUniqueGeometry() ? engine.getGeometryCache() : null);
+		String key = null;
+		if (cache != null) {
+			key = cache.getKey(this);
+			if (cache.restore(this, key)) {
+				isValid = true;
+				evaluated = false;
+				return;
+			}
+		}
 		switch (geometry) {
 			case MEANFIELD:
 				initGeometryMeanField();
@@ -1626,6 +1749,9 @@ public class Geometry {
 		}
 		isValid = true;
 		evaluated = false;
+		// generation may fail and resort to other geometries
+		if (cache != null && isUniqueGeometry())
+			cache.store(this, key);
 	}
 
 	/**
@@ -2175,24 +2301,24 @@ public class Geometry {
 		// plus one of its neighbours
 		int nodeC = done[rng.random0n(nDone)];
 		// note: D may or may not be member of full; must not be A or B
-		int nodeD = out[nodeC][rng.random0n(kout[nodeC])];
+		int nodeD = outAt(nodeC, rng.random0n(kout[nodeC]));
 		// A-B as well as C-D are connected
 		if (nodeD != nodeB && !isNeighborOf(nodeA, nodeC) && !isNeighborOf(nodeB, nodeD)) {
 			// note: D=A cannot hold because then isNeighborOf(nodea, nodec)==true
 			// break C-D edge, connect A-C and B-D
 			// leaves connectivity of C and D unchanged
-			removeEdgeAt(nodeC, nodeD);
-			addEdgeAt(nodeA, nodeC);
-			addEdgeAt(nodeB, nodeD);
+			deleteEdgeAt(nodeC, nodeD);
+			insertEdgeAt(nodeA, nodeC);
+			insertEdgeAt(nodeB, nodeD);
 			return true;
 		}
 		if (nodeD != nodeA && !isNeighborOf(nodeA, nodeD) && !isNeighborOf(nodeB, nodeC)) {
 			// note: D=B cannot hold because then isNeighborOf(nodeb, nodec)==true
 			// break C-D edge, connect B-C and A-D
 			// leaves connectivity of C and D unchanged
-			removeEdgeAt(nodeC, nodeD);
-			addEdgeAt(nodeA, nodeD);
-			addEdgeAt(nodeB, nodeC);
+			deleteEdgeAt(nodeC, nodeD);
+			insertEdgeAt(nodeA, nodeD);
+			insertEdgeAt(nodeB, nodeC);
 			return true;
 		}
 		return false;
@@ -3848,10 +3974,10 @@ public class Geometry {
 		// retrieve the shared RNG to ensure reproducibility of results
 		RNGDistribution rng = engine.getRNG();
 
-		// initialize
+		// initialize; generate graph directly in compressed form
 		isRewired = false;
 		isUndirected = true;
-		alloc();
+		allocCompressed(distr);
 
 		int[] core = new int[size];
 		int[] full = new int[size];
@@ -3888,7 +4014,7 @@ public class Geometry {
 				int nodea = active[idxa];
 				int idxb = rng.random0n(todo);
 				int nodeb = core[idxb];
-				addEdgeAt(nodea, nodeb);
+				insertEdgeAt(nodea, nodeb);
 				// if A reached degree add to full and remove from active
 				if (kout[nodea] == degree[nodea]) {
 					full[done++] = nodea;
@@ -3931,7 +4057,7 @@ public class Geometry {
 				if (!rewireNeighbourEdge(rng, nodea, nodeb, full, size - todo))
 					success = false;
 			} else {
-				addEdgeAt(nodea, nodeb);
+				insertEdgeAt(nodea, nodeb);
 			}
 			if (!success) {
 				if (++escape > 10) {
@@ -3961,21 +4087,23 @@ public class Geometry {
 			int nodea = core[0];
 			int idxc = rng.random0n(size - 1);
 			int nodec = full[idxc];
-			int noded = out[nodec][rng.random0n(kout[nodec])];
+			int noded = outAt(nodec, rng.random0n(kout[nodec]));
 			// A is single, C-D are connected
 			if (noded != nodea && !isNeighborOf(nodea, nodec) && !isNeighborOf(nodea, noded)) {
 				// break C-D edge, connect A-C and A-D
 				// leaves connectivity of C and D unchanged
-				removeEdgeAt(nodec, noded);
-				addEdgeAt(nodea, nodec);
-				addEdgeAt(nodea, noded);
-				return true;
+				deleteEdgeAt(nodec, noded);
+				insertEdgeAt(nodea, nodec);
+				insertEdgeAt(nodea, noded);
+				break;
 			}
 			if (++escape > 10) {
 				logger.info("initGeometryDegreeDistr appears stuck - retry");
 				return false;
 			}
 		}
+		if (outTargets != null)
+			finishCompressed();
 		// check structure
 		// evaluateGeometry();
 		// checkConnections();
@@ -4204,6 +4332,8 @@ public class Geometry {
 		// is rewiring possible?
 		if (!isUndirected || prob <= 0.0)
 			return false;
+		// swapping links requires mutable neighbourhoods
+		thaw();
 
 		// retrieve the shared RNG to ensure reproducibility of results
 		RNGDistribution rng = engine.getRNG();
@@ -4213,6 +4343,10 @@ public class Geometry {
 		int nLinks = (int) Math.floor(ArrayMath.norm(kout) / 2 * Math.min(1.0, -Math.log(1.0 - prob)) + 0.5);
 		long done = 0;
 		int first, firstneigh, second, secondneigh, len;
+		// swaps preserve connectivity only if the graph is connected to begin with;
+		// otherwise all swaps are reverted (but random numbers drawn nevertheless)
+		boolean connected = isGraphConnected();
+		allocSearch();
 		while (done < nLinks) {
 			// draw first node - avoid sources (nodes without inlinks), leaves and fully
 			// connected nodes
@@ -4236,12 +4370,13 @@ public class Geometry {
 
 			if (!swapEdges(first, firstneigh, second, secondneigh))
 				continue;
-			if (!isGraphConnected()) {
-				swapEdges(first, firstneigh, second, secondneigh);
+			// the graph remains connected if and only if first can still reach its
+			// former neighbour; otherwise revert only this swap
+			if (!connected || !isPathBetween(first, firstneigh))
 				swapEdges(first, secondneigh, second, firstneigh);
-			}
 			done += 2;
 		}
+		freeSearch();
 		return true;
 	}
 
@@ -4297,6 +4432,8 @@ public class Geometry {
 	 * @return {@code true} if rewiring succeeded
 	 */
 	public boolean rewireDirected() {
+		// rewiring links requires mutable neighbourhoods
+		thaw();
 		// retrieve the shared RNG to ensure reproducibility of structures
 		RNGDistribution rng = engine.getRNG();
 
@@ -4504,6 +4641,735 @@ public class Geometry {
 		avgIn = (double) sumin / (double) size;
 		avgTot = (double) sumtot / (double) size;
 		evaluated = true;
+		// complete graphs already share in- and out-neighbourhoods and are too dense
+		// to duplicate
+		if (!isDynamic && geometry != Type.COMPLETE)
+			freeze();
+		else if (outTargets != null)
+			// dynamic graphs require mutable neighbourhoods
+			thaw();
+	}
+
+	/**
+	 * Freeze the network structure once it is finished. Replaces the
+	 * neighbourhood arrays {@code in} and {@code out} by the compressed sparse row
+	 * (CSR) representation of the incoming and outgoing links. For undirected
+	 * graphs with identical in- and out-neighbourhoods everywhere the CSR
+	 * representation of the incoming links is shared with the outgoing links.
+	 *
+	 * <h3>Requirements/notes:</h3>
+	 * <ol>
+	 * <li>Only static geometries are frozen. Dynamic geometries, see
+	 * {@link #isDynamic}, retain the mutable form.
+	 * <li>Neighbourhoods of frozen geometries must be retrieved through
+	 * {@link #getOutAt(int, int[])} and {@link #getInAt(int, int[])} or directly
+	 * from the CSR representation.
+	 * <li>Any subsequent changes to the network structure, e.g. through
+	 * {@link #addLinkAt(int, int)} or {@link #removeLinkAt(int, int)}, thaw the
+	 * geometry and revert to the mutable form.
+	 * </ol>
+	 * 
+	 * @see #evaluate()
+	 * @see #isFrozen()
+	 */
+	private void freeze() {
+		if (frozen || in == null || out == null)
+			return;
+		boolean shared = true;
+		for (int n = 0; n < size; n++) {
+			int k = kout[n];
+			if (kin[n] != k) {
+				shared = false;
+				break;
+			}
+			int[] inn = in[n];
+			int[] outn = out[n];
+			if (inn == outn)
+				continue;
+			int i = 0;
+			while (i < k && inn[i] == outn[i])
+				i++;
+			if (i < k) {
+				shared = false;
+				break;
+			}
+		}
+		// release duplicate neighbourhoods first to reduce peak memory
+		if (shared)
+			in = null;
+		outOffsets = new int[size + 1];
+		outTargets = compress(out, kout, outOffsets);
+		out = null;
+		if (shared) {
+			inOffsets = outOffsets;
+			inTargets = outTargets;
+		} else {
+			inOffsets = new int[size + 1];
+			inTargets = compress(in, kin, inOffsets);
+			in = null;
+		}
+		frozen = true;
+	}
+
+	/**
+	 * Helper method to generate the compressed sparse row (CSR) representation of
+	 * the neighbourhoods {@code neighs} with {@code k} neighbours each. The
+	 * offsets are stored in {@code offsets}. The neighbourhood arrays are released
+	 * as they get copied to reduce the peak memory.
+	 * 
+	 * @param neighs  the neighbourhood arrays
+	 * @param k       the number of neighbours of each node
+	 * @param offsets the array for storing the offsets
+	 * @return the array of indices of the neighbours
+	 */
+	private int[] compress(int[][] neighs, int[] k, int[] offsets) {
+		int total = 0;
+		for (int n = 0; n < size; n++) {
+			offsets[n] = total;
+			total += k[n];
+		}
+		offsets[size] = total;
+		int[] targets = new int[total];
+		for (int n = 0; n < size; n++) {
+			System.arraycopy(neighs[n], 0, targets, offsets[n], k[n]);
+			neighs[n] = null;
+		}
+		return targets;
+	}
+
+	/**
+	 * Helper method to restore the neighbourhood arrays from the compressed sparse
+	 * row (CSR) representation with offsets {@code offsets}, indices of neighbours
+	 * {@code targets} and {@code k} neighbours each.
+	 * 
+	 * @param offsets the offsets of the neighbourhoods
+	 * @param targets the indices of the neighbours
+	 * @param k       the number of neighbours of each node
+	 * @return the neighbourhood arrays
+	 */
+	private int[][] expand(int[] offsets, int[] targets, int[] k) {
+		int[][] neighs = new int[size][];
+		for (int n = 0; n < size; n++)
+			neighs[n] = Arrays.copyOfRange(targets, offsets[n], offsets[n] + k[n]);
+		return neighs;
+	}
+
+	/**
+	 * Thaw frozen network structure to permit changes. Restores the
+	 * neighbourhood arrays {@code in} and {@code out} from the compressed sparse
+	 * row (CSR) representation and discards the latter. Implicit neighbourhoods
+	 * are materialized.
+	 * 
+	 * @see #freeze()
+	 * @see #materialize()
+	 */
+	private void thaw() {
+		if (implicit)
+			materialize();
+		// note: graphs generated directly in CSR form are not yet frozen
+		if (outTargets == null)
+			return;
+		out = expand(outOffsets, outTargets, kout);
+		in = expand(inOffsets, inTargets, kin);
+		discard();
+	}
+
+	/**
+	 * Discard the compressed sparse row (CSR) representation without restoring the
+	 * neighbourhood arrays {@code in} and {@code out}. This is appropriate only if
+	 * the network structure is about to be regenerated.
+	 * 
+	 * @see #thaw()
+	 */
+	private void discard() {
+		inOffsets = null;
+		inTargets = null;
+		outOffsets = null;
+		outTargets = null;
+		frozen = false;
+	}
+
+	/**
+	 * Allocate the memory to generate undirected graphs with the degree sequence
+	 * {@code degrees} directly in compressed sparse row (CSR) form. The
+	 * neighbourhood of node {@code i} can hold up to {@code degrees[i]} neighbours.
+	 * This avoids the overhead of the neighbourhood arrays {@code in} and
+	 * {@code out} as well as the peak memory of freezing the graph. In- and
+	 * outgoing links share the same CSR representation.
+	 * 
+	 * @param degrees the requested degrees of all nodes
+	 * 
+	 * @see #insertEdgeAt(int, int)
+	 * @see #deleteEdgeAt(int, int)
+	 * @see #finishCompressed()
+	 */
+	private void allocCompressed(int[] degrees) {
+		implicit = false;
+		in = null;
+		out = null;
+		frozen = false;
+		if (kin == null || kin.length != size) {
+			kin = new int[size];
+			kout = new int[size];
+		}
+		Arrays.fill(kin, 0);
+		Arrays.fill(kout, 0);
+		if (outOffsets == null || outOffsets.length != size + 1)
+			outOffsets = new int[size + 1];
+		int total = 0;
+		for (int n = 0; n < size; n++) {
+			outOffsets[n] = total;
+			total += degrees[n];
+		}
+		outOffsets[size] = total;
+		if (outTargets == null || outTargets.length != total)
+			outTargets = new int[total];
+		inOffsets = outOffsets;
+		inTargets = outTargets;
+	}
+
+	/**
+	 * Finish the generation of undirected graphs in compressed sparse row (CSR)
+	 * form. Removes unused capacity of neighbourhoods that did not reach their
+	 * requested degree and freezes the geometry.
+	 * 
+	 * @see #allocCompressed(int[])
+	 */
+	private void finishCompressed() {
+		int total = 0;
+		for (int n = 0; n < size; n++) {
+			int from = outOffsets[n];
+			outOffsets[n] = total;
+			if (from != total)
+				System.arraycopy(outTargets, from, outTargets, total, kout[n]);
+			total += kout[n];
+		}
+		outOffsets[size] = total;
+		if (total != outTargets.length)
+			outTargets = Arrays.copyOf(outTargets, total);
+		inOffsets = outOffsets;
+		inTargets = outTargets;
+		frozen = true;
+	}
+
+	/**
+	 * Add edge (undirected link) between nodes {@code a} and {@code b} during the
+	 * generation of graphs. Graphs generated in compressed sparse row (CSR) form
+	 * revert to the neighbourhood arrays if either node exceeds its capacity.
+	 * 
+	 * @param a the first node
+	 * @param b the second node
+	 * 
+	 * @see #allocCompressed(int[])
+	 * @see #addEdgeAt(int, int)
+	 */
+	private void insertEdgeAt(int a, int b) {
+		if (outTargets != null && (outOffsets[a] + kout[a] >= outOffsets[a + 1]
+				|| outOffsets[b] + kout[b] >= outOffsets[b + 1]))
+			// capacity exhausted - revert to neighbourhood arrays
+			thaw();
+		if (outTargets == null) {
+			addEdgeAt(a, b);
+			return;
+		}
+		outTargets[outOffsets[a] + kout[a]++] = b;
+		outTargets[outOffsets[b] + kout[b]++] = a;
+		kin[a] = kout[a];
+		kin[b] = kout[b];
+		evaluated = false;
+	}
+
+	/**
+	 * Remove edge (undirected link) between nodes {@code a} and {@code b} during
+	 * the generation of graphs.
+	 * 
+	 * @param a the first node
+	 * @param b the second node
+	 * 
+	 * @see #allocCompressed(int[])
+	 * @see #removeEdgeAt(int, int)
+	 */
+	private void deleteEdgeAt(int a, int b) {
+		if (outTargets == null) {
+			removeEdgeAt(a, b);
+			return;
+		}
+		deleteTargetAt(a, b);
+		deleteTargetAt(b, a);
+		evaluated = false;
+	}
+
+	/**
+	 * Helper method to remove node {@code to} from the neighbourhood of node
+	 * {@code from} in graphs generated in compressed sparse row (CSR) form. The
+	 * order of the remaining neighbours is preserved.
+	 * 
+	 * @param from the index of the node
+	 * @param to   the index of the neighbour to remove
+	 */
+	private void deleteTargetAt(int from, int to) {
+		int start = outOffsets[from];
+		int k = kout[from];
+		for (int i = start; i < start + k; i++) {
+			if (outTargets[i] != to)
+				continue;
+			System.arraycopy(outTargets, i + 1, outTargets, i, start + k - 1 - i);
+			kin[from] = --kout[from];
+			return;
+		}
+	}
+
+	/**
+	 * Get the {@code i}-th outgoing neighbour of node {@code node} for stored
+	 * neighbourhoods, regardless of whether they are stored in the neighbourhood
+	 * arrays or in compressed sparse row (CSR) form.
+	 * 
+	 * @param node the index of the node
+	 * @param i    the index of the neighbour
+	 * @return the index of the {@code i}-th neighbour
+	 */
+	private int outAt(int node, int i) {
+		if (outTargets == null)
+			return out[node][i];
+		return outTargets[outOffsets[node] + i];
+	}
+
+	/**
+	 * Check if the network structure is frozen, i.e. whether the links are stored
+	 * in compressed sparse row (CSR) representation. Frozen geometries do not
+	 * provide the neighbourhood arrays {@code in} and {@code out}.
+	 * 
+	 * @return {@code true} if the geometry is frozen
+	 * 
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Get the offsets of the incoming neighbours in the compressed sparse row (CSR)
+	 * representation. The incoming neighbours of node {@code i} are
+	 * {@code getInTargets()[getInOffsets()[i]]} through
+	 * {@code getInTargets()[getInOffsets()[i+1]-1]}.
+	 * 
+	 * @return the offsets of the incoming neighbours or {@code null} if the
+	 *         geometry is not frozen
+	 * 
+	 * @see #isFrozen()
+	 */
+	public int[] getInOffsets() {
+		return inOffsets;
+	}
+
+	/**
+	 * Get the indices of the incoming neighbours in the compressed sparse row (CSR)
+	 * representation.
+	 * 
+	 * @return the indices of the incoming neighbours or {@code null} if the
+	 *         geometry is not frozen
+	 * 
+	 * @see #getInOffsets()
+	 */
+	public int[] getInTargets() {
+		return inTargets;
+	}
+
+	/**
+	 * Get the offsets of the outgoing neighbours in the compressed sparse row (CSR)
+	 * representation.
+	 * 
+	 * @return the offsets of the outgoing neighbours or {@code null} if the
+	 *         geometry is not frozen
+	 * 
+	 * @see #getInOffsets()
+	 */
+	public int[] getOutOffsets() {
+		return outOffsets;
+	}
+
+	/**
+	 * Get the indices of the outgoing neighbours in the compressed sparse row (CSR)
+	 * representation.
+	 * 
+	 * @return the indices of the outgoing neighbours or {@code null} if the
+	 *         geometry is not frozen
+	 * 
+	 * @see #getInOffsets()
+	 */
+	public int[] getOutTargets() {
+		return outTargets;
+	}
+
+	/**
+	 * Set the network structure directly in compressed sparse row (CSR) form and
+	 * freeze the geometry. The outgoing neighbours of node {@code i} are
+	 * {@code outTargets[o]} through {@code outTargets[o+kout[i]-1]} with
+	 * {@code o} the sum of {@code kout[j]} for all {@code j<i}, and analogously
+	 * for the incoming neighbours. If {@code inTargets} is {@code null} the
+	 * incoming neighbourhoods are the same as the outgoing ones and share the
+	 * same representation. This avoids the memory overhead of generating the
+	 * neighbourhood arrays {@code in} and {@code out} first, e.g. when restoring
+	 * structures.
+	 * 
+	 * @param kout       the number of outgoing neighbours of each node
+	 * @param outTargets the indices of the outgoing neighbours
+	 * @param kin        the number of incoming neighbours of each node (ignored if
+	 *                   {@code inTargets==null})
+	 * @param inTargets  the indices of the incoming neighbours or {@code null} if
+	 *                   identical to outgoing neighbours
+	 * 
+	 * @see #freeze()
+	 */
+	public void setCompressed(int[] kout, int[] outTargets, int[] kin, int[] inTargets) {
+		implicit = false;
+		in = null;
+		out = null;
+		this.kout = kout;
+		this.outTargets = outTargets;
+		outOffsets = offsets(kout);
+		if (inTargets == null) {
+			this.kin = kout.clone();
+			this.inTargets = outTargets;
+			inOffsets = outOffsets;
+		} else {
+			this.kin = kin;
+			this.inTargets = inTargets;
+			inOffsets = offsets(kin);
+		}
+		frozen = true;
+		evaluated = false;
+	}
+
+	/**
+	 * Helper method to derive the offsets of the compressed sparse row (CSR)
+	 * representation from the number of neighbours {@code k} of each node.
+	 * 
+	 * @param k the number of neighbours of each node
+	 * @return the offsets of the neighbourhoods
+	 */
+	private int[] offsets(int[] k) {
+		int[] offsets = new int[size + 1];
+		for (int n = 0; n < size; n++)
+			offsets[n + 1] = offsets[n] + k[n];
+		return offsets;
+	}
+
+	/**
+	 * Generates regular lattices with implicit neighbourhoods, i.e. without
+	 * storing the neighbourhoods in {@code in} and {@code out}. Instead the
+	 * neighbours are computed on the fly, which saves a lot of memory for large
+	 * lattices.
+	 *
+	 * <h3>Requirements/notes:</h3>
+	 * <ol>
+	 * <li>Only available for {@link Type#LINEAR}, {@link Type#SQUARE_NEUMANN},
+	 * {@link Type#SQUARE_NEUMANN_2ND}, {@link Type#SQUARE_MOORE},
+	 * {@link Type#SQUARE}, {@link Type#CUBE}, {@link Type#HONEYCOMB} and
+	 * {@link Type#TRIANGULAR} lattices with periodic boundaries.
+	 * <li>Not available for inter-species interactions or if links are rewired or
+	 * added.
+	 * <li>The order of the neighbours is the same as for the stored
+	 * neighbourhoods.
+	 * </ol>
+	 * 
+	 * @return {@code true} if the lattice was successfully generated
+	 * 
+	 * @see #getOutAt(int, int[])
+	 * @see #getInAt(int, int[])
+	 */
+	private boolean initGeometryImplicit() {
+		int k = (int) Math.rint(connectivity);
+		boolean feasible = !fixedBoundary && !isInterspecies() && pRewire <= 0.0 && pAddwire <= 0.0 && k > 1;
+		if (feasible) {
+			switch (geometry) {
+				case LINEAR:
+					implicitSide = size;
+					implicitRange = 0;
+					break;
+				case SQUARE_NEUMANN:
+				case SQUARE_NEUMANN_2ND:
+				case SQUARE_MOORE:
+				case SQUARE:
+				case HONEYCOMB:
+				case TRIANGULAR:
+					implicitSide = (int) Math.floor(Math.sqrt(size) + 0.5);
+					implicitRange = Math.min(implicitSide / 2,
+							Math.max(1, (int) (Math.sqrt(connectivity + 1.5) / 2.0)));
+					break;
+				case CUBE:
+					implicitSide = (int) Math.floor(Math.pow(size, 1.0 / 3.0) + 0.5);
+					implicitLayers = implicitSide;
+					if (size == 25000) {
+						implicitSide = 50;
+						implicitLayers = 10;
+					}
+					implicitRange = Math.min(implicitSide / 2,
+							Math.max(1, (int) (Math.pow(connectivity + 1.5, 1.0 / 3.0) / 2.0)));
+					break;
+				default:
+					feasible = false;
+			}
+		}
+		if (!feasible) {
+			logger.warning("implicit neighbourhoods not available for '" + geometry.getTitle() + "'"
+					+ (fixedBoundary ? " with fixed boundaries" : "") + " - neighbourhoods stored.");
+			return false;
+		}
+		isRewired = false;
+		isRegular = true;
+		isUndirected = (geometry != Type.LINEAR || linearAsymmetry == 0);
+		in = null;
+		out = null;
+		if (kin == null || kin.length != size) {
+			kin = new int[size];
+			kout = new int[size];
+		}
+		implicit = true;
+		int span = 2 * implicitRange + 1;
+		int nNeighs = fillOut(0, new int[k + span * span * span]);
+		Arrays.fill(kin, nNeighs);
+		Arrays.fill(kout, nNeighs);
+		return true;
+	}
+
+	/**
+	 * Check if the neighbourhoods are computed on the fly. In that case the arrays
+	 * {@code in} and {@code out} are {@code null} and the neighbourhoods must be
+	 * retrieved through {@link #getOutAt(int, int[])} and
+	 * {@link #getInAt(int, int[])}.
+	 * 
+	 * @return {@code true} if neighbourhoods are implicit
+	 */
+	public boolean isImplicit() {
+		return implicit;
+	}
+
+	/**
+	 * Get the outgoing neighbours of node {@code node}. For stored neighbourhoods
+	 * this simply returns {@code out[node]}. For frozen geometries the neighbours
+	 * are copied from the compressed sparse row (CSR) representation and for
+	 * implicit neighbourhoods the neighbours are computed. In both cases they are
+	 * stored in {@code mem}. If {@code mem} is {@code null} or too short a new
+	 * array is allocated.
+	 * 
+	 * @param node the index of the node
+	 * @param mem  the array for storing the neighbours (may be {@code null})
+	 * @return the array with the indices of the outgoing neighbours of
+	 *         {@code node}, valid up to {@code kout[node]}
+	 */
+	public int[] getOutAt(int node, int[] mem) {
+		if (!implicit && outTargets == null)
+			return out[node];
+		if (mem == null || mem.length < kout[node])
+			mem = new int[kout[node]];
+		if (implicit)
+			fillOut(node, mem);
+		else
+			System.arraycopy(outTargets, outOffsets[node], mem, 0, kout[node]);
+		return mem;
+	}
+
+	/**
+	 * Get the incoming neighbours of node {@code node}. For stored neighbourhoods
+	 * this simply returns {@code in[node]}. For frozen geometries the neighbours
+	 * are copied from the compressed sparse row (CSR) representation and for
+	 * implicit neighbourhoods the neighbours are computed. In both cases they are
+	 * stored in {@code mem}. If {@code mem} is {@code null} or too short a new
+	 * array is allocated.
+	 * 
+	 * @param node the index of the node
+	 * @param mem  the array for storing the neighbours (may be {@code null})
+	 * @return the array with the indices of the incoming neighbours of
+	 *         {@code node}, valid up to {@code kin[node]}
+	 */
+	public int[] getInAt(int node, int[] mem) {
+		if (!implicit && inTargets == null)
+			return in[node];
+		if (mem == null || mem.length < kin[node])
+			mem = new int[kin[node]];
+		if (implicit)
+			fillIn(node, mem);
+		else
+			System.arraycopy(inTargets, inOffsets[node], mem, 0, kin[node]);
+		return mem;
+	}
+
+	/**
+	 * Compute the outgoing neighbours of node {@code node} of implicit lattices and
+	 * store them in {@code mem}. The order of the neighbours is the same as in the
+	 * corresponding {@code initGeometryXXX()} methods.
+	 * 
+	 * @param node the index of the node
+	 * @param mem  the array for storing the neighbours
+	 * @return the number of neighbours
+	 */
+	private int fillOut(int node, int[] mem) {
+		int side = implicitSide;
+		int k = 0;
+		if (geometry == Type.LINEAR) {
+			int left = ((int) (connectivity + 0.5) + linearAsymmetry) / 2;
+			int right = ((int) (connectivity + 0.5) - linearAsymmetry) / 2;
+			for (int j = -left; j <= right; j++) {
+				if (j != 0)
+					mem[k++] = (node + j + size) % size;
+			}
+			return k;
+		}
+		if (geometry == Type.CUBE) {
+			int l2 = side * side;
+			int lz = implicitLayers;
+			int kz = node / l2;
+			int i = (node % l2) / side;
+			int j = node % side;
+			if ((int) Math.rint(connectivity) == 6) {
+				int z = kz * l2;
+				int x = i * side;
+				mem[k++] = z + ((i - 1 + side) % side) * side + j;
+				mem[k++] = z + x + (j + 1) % side;
+				mem[k++] = z + ((i + 1) % side) * side + j;
+				mem[k++] = z + x + (j - 1 + side) % side;
+				mem[k++] = ((kz + 1) % lz) * l2 + x + j;
+				mem[k++] = ((kz - 1 + lz) % lz) * l2 + x + j;
+				return k;
+			}
+			int range = implicitRange;
+			for (int kr = kz - range; kr <= kz + range; kr++) {
+				int zr = ((kr + lz) % lz) * l2;
+				for (int ir = i - range; ir <= i + range; ir++) {
+					int yr = ((ir + side) % side) * side;
+					for (int jr = j - range; jr <= j + range; jr++) {
+						int neigh = zr + yr + ((jr + side) % side);
+						if (neigh != node)
+							mem[k++] = neigh;
+					}
+				}
+			}
+			return k;
+		}
+		int i = node / side;
+		int j = node % side;
+		int x = i * side;
+		int u = ((i - 1 + side) % side) * side;
+		int d = ((i + 1) % side) * side;
+		int r = (j + 1) % side;
+		int l = (j - 1 + side) % side;
+		switch (geometry) {
+			case SQUARE_NEUMANN:
+				mem[k++] = u + j;
+				mem[k++] = x + r;
+				mem[k++] = d + j;
+				mem[k++] = x + l;
+				return k;
+			case SQUARE_NEUMANN_2ND:
+				mem[k++] = u + l;
+				mem[k++] = u + r;
+				mem[k++] = d + l;
+				mem[k++] = d + r;
+				return k;
+			case SQUARE_MOORE:
+				mem[k++] = u + j;
+				mem[k++] = u + r;
+				mem[k++] = x + r;
+				mem[k++] = d + r;
+				mem[k++] = d + j;
+				mem[k++] = d + l;
+				mem[k++] = x + l;
+				mem[k++] = u + l;
+				return k;
+			case HONEYCOMB:
+				if (i % 2 == 0) {
+					mem[k++] = u + j;
+					mem[k++] = x + r;
+					mem[k++] = d + j;
+					mem[k++] = d + l;
+					mem[k++] = x + l;
+					mem[k++] = u + l;
+					return k;
+				}
+				mem[k++] = u + j;
+				mem[k++] = u + r;
+				mem[k++] = x + r;
+				mem[k++] = d + r;
+				mem[k++] = d + j;
+				mem[k++] = x + l;
+				return k;
+			case TRIANGULAR:
+				mem[k++] = x + r;
+				mem[k++] = x + l;
+				// even rows link down from even columns and up from odd columns; odd
+				// rows the other way round
+				mem[k++] = ((i + j) % 2 == 0 ? d : u) + j;
+				return k;
+			case SQUARE:
+			default:
+				int range = implicitRange;
+				for (int ui = i - range; ui <= i + range; ui++) {
+					int y = ((ui + side) % side) * side;
+					for (int v = j - range; v <= j + range; v++) {
+						int neigh = y + (v + side) % side;
+						if (neigh != node)
+							mem[k++] = neigh;
+					}
+				}
+				return k;
+		}
+	}
+
+	/**
+	 * Compute the incoming neighbours of node {@code node} of implicit lattices and
+	 * store them in {@code mem}. When generating lattices the incoming links of
+	 * every node are added in the order of the nodes and hence the incoming
+	 * neighbours are sorted by their index.
+	 * 
+	 * @param node the index of the node
+	 * @param mem  the array for storing the neighbours
+	 * @return the number of neighbours
+	 */
+	private int fillIn(int node, int[] mem) {
+		int k;
+		if (isUndirected) {
+			k = fillOut(node, mem);
+		} else {
+			// directed linear lattice: mirror neighbourhood
+			int left = ((int) (connectivity + 0.5) + linearAsymmetry) / 2;
+			int right = ((int) (connectivity + 0.5) - linearAsymmetry) / 2;
+			k = 0;
+			for (int j = -right; j <= left; j++) {
+				if (j != 0)
+					mem[k++] = (node + j + size) % size;
+			}
+		}
+		// insertion sort - few neighbours only
+		for (int i = 1; i < k; i++) {
+			int key = mem[i];
+			int j = i - 1;
+			while (j >= 0 && mem[j] > key) {
+				mem[j + 1] = mem[j];
+				j--;
+			}
+			mem[j + 1] = key;
+		}
+		return k;
+	}
+
+	/**
+	 * Materialize implicit neighbourhoods, i.e. store the neighbourhoods in
+	 * {@code in} and {@code out}. This is required whenever the network structure
+	 * is modified.
+	 * 
+	 * @see #initGeometryImplicit()
+	 */
+	private void materialize() {
+		in = new int[size][];
+		out = new int[size][];
+		for (int n = 0; n < size; n++) {
+			out[n] = new int[kout[n]];
+			fillOut(n, out[n]);
+			in[n] = new int[kin[n]];
+			fillIn(n, in[n]);
+		}
+		implicit = false;
 	}
 
 	/**
@@ -4548,17 +5414,148 @@ public class Geometry {
 	 * @return {@code true} if graph is connected
 	 */
 	public boolean isGraphConnected(int node, boolean[] check) {
+		// iterative depth first search; recursion overflows the stack for large
+		// sparse graphs
+		int[] stack = new int[size];
+		int[] mem = new int[size];
+		int top = 0;
 		check[node] = true;
-		int[] neighs = out[node];
-		int len = kout[node];
-		for (int i = 0; i < len; i++) {
-			int nn = neighs[i];
-			if (!check[nn])
-				isGraphConnected(nn, check);
+		stack[top++] = node;
+		while (top > 0) {
+			int current = stack[--top];
+			int[] neighs = getOutAt(current, mem);
+			int len = kout[current];
+			for (int i = 0; i < len; i++) {
+				int nn = neighs[i];
+				if (check[nn])
+					continue;
+				check[nn] = true;
+				stack[top++] = nn;
+			}
 		}
 		return ArrayMath.max(check);
 	}
 
+	/**
+	 * Marks of nodes visited by the bidirectional search in
+	 * {@link #isPathBetween(int, int)}. Nodes reached from either end are marked
+	 * with {@code searchStamp} or {@code searchStamp + 1}, respectively, which
+	 * avoids clearing the marks between searches.
+	 */
+	private int[] searchMark;
+
+	/**
+	 * The queue of nodes reached from the first end of the bidirectional search.
+	 */
+	private int[] searchQueueA;
+
+	/**
+	 * The queue of nodes reached from the second end of the bidirectional search.
+	 */
+	private int[] searchQueueB;
+
+	/**
+	 * The current stamp for marking visited nodes.
+	 */
+	private int searchStamp;
+
+	/**
+	 * Allocate the memory for bidirectional searches.
+	 *
+	 * @see #isPathBetween(int, int)
+	 * @see #freeSearch()
+	 */
+	private void allocSearch() {
+		if (searchMark == null || searchMark.length < size) {
+			searchMark = new int[size];
+			searchQueueA = new int[size];
+			searchQueueB = new int[size];
+		} else
+			Arrays.fill(searchMark, 0);
+		searchStamp = 1;
+	}
+
+	/**
+	 * Release the memory for bidirectional searches.
+	 *
+	 * @see #allocSearch()
+	 */
+	private void freeSearch() {
+		searchMark = null;
+		searchQueueA = null;
+		searchQueueB = null;
+	}
+
+	/**
+	 * Check if a path exists between nodes {@code a} and {@code b}. Performs a
+	 * bidirectional breadth first search that always expands the end with the
+	 * smaller frontier. The search stops as soon as the two ends meet or one end
+	 * runs out of nodes, i.e. its entire component has been visited. Hence, the
+	 * effort scales with the size of the smaller component or with the distance
+	 * between the two nodes, rather than with the size of the graph.
+	 *
+	 * <h3>Requirements/notes:</h3>
+	 * <ol>
+	 * <li>Requires undirected graphs.
+	 * <li>Memory must be allocated with {@link #allocSearch()}.
+	 * </ol>
+	 *
+	 * @param a the first node
+	 * @param b the second node
+	 * @return {@code true} if {@code a} and {@code b} are connected
+	 */
+	private boolean isPathBetween(int a, int b) {
+		if (a == b)
+			return true;
+		if (searchStamp > Integer.MAX_VALUE - 2) {
+			Arrays.fill(searchMark, 0);
+			searchStamp = 1;
+		}
+		int stampA = searchStamp;
+		int stampB = searchStamp + 1;
+		searchStamp += 2;
+		int headA = 0;
+		int tailA = 0;
+		int headB = 0;
+		int tailB = 0;
+		searchMark[a] = stampA;
+		searchQueueA[tailA++] = a;
+		searchMark[b] = stampB;
+		searchQueueB[tailB++] = b;
+		while (headA < tailA && headB < tailB) {
+			if (tailA - headA <= tailB - headB) {
+				int node = searchQueueA[headA++];
+				int[] neighs = out[node];
+				int len = kout[node];
+				for (int i = 0; i < len; i++) {
+					int nn = neighs[i];
+					int mark = searchMark[nn];
+					if (mark == stampB)
+						return true;
+					if (mark == stampA)
+						continue;
+					searchMark[nn] = stampA;
+					searchQueueA[tailA++] = nn;
+				}
+				continue;
+			}
+			int node = searchQueueB[headB++];
+			int[] neighs = out[node];
+			int len = kout[node];
+			for (int i = 0; i < len; i++) {
+				int nn = neighs[i];
+				int mark = searchMark[nn];
+				if (mark == stampA)
+					return true;
+				if (mark == stampB)
+					continue;
+				searchMark[nn] = stampB;
+				searchQueueB[tailB++] = nn;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Utility method to swap edges (undirected links) between nodes: change link
 	 * {@code a-an} to {@code a-bn} and {@code b-bn} to {@code b-an}.
@@ -4679,6 +5676,9 @@ public class Geometry {
 	 */
 	public boolean checkConnections() {
 		boolean ok = true, allOk = true;
+		// checks require neighbourhood arrays
+		boolean wasFrozen = frozen;
+		thaw();
 
 		logger.fine("Checking multiple out-connections... ");
 		for (int i = 0; i < size; i++) {
@@ -4802,6 +5802,8 @@ public class Geometry {
 			logger.fine("Undirected structure check: " + (ok ? "success!" : "failed!"));
 			allOk &= ok;
 		}
+		if (wasFrozen)
+			freeze();
 		return allOk;
 	}
 
@@ -4836,6 +5838,7 @@ public class Geometry {
 	 * @see #evaluate()
 	 */
 	public void addLinkAt(int from, int to) {
+		thaw();
 		int[] mem = out[from];
 		int max = mem.length;
 		int ko = kout[from];
@@ -4923,6 +5926,7 @@ public class Geometry {
 	 * @param idx the index of the node to remove all outgoing links
 	 */
 	public void clearLinksFrom(int idx) {
+		thaw();
 		// remove in-links
 		int len = kout[idx];
 		int[] neigh = out[idx];
@@ -4947,6 +5951,7 @@ public class Geometry {
 	 * @see #evaluate()
 	 */
 	private void removeInLink(int from, int to) {
+		thaw();
 		// find index
 		int idx = -1;
 		int[] mem = in[to];
@@ -4975,6 +5980,7 @@ public class Geometry {
 	 * @param idx the index of the node to remove all incoming links
 	 */
 	public void clearLinksTo(int idx) {
+		thaw();
 		// remove out-links
 		int len = kin[idx];
 		int[] neigh = in[idx];
@@ -4999,6 +6005,7 @@ public class Geometry {
 	 * @see #evaluate()
 	 */
 	private void removeOutLink(int from, int to) {
+		thaw();
 		// find index
 		int idx = -1;
 		int[] mem = out[from];
@@ -5065,8 +6072,15 @@ public class Geometry {
 	 * @return {@code true} if {@code check} is neighbor of {@code focal}
 	 */
 	public boolean isNeighborOf(int focal, int check) {
-		int[] neigh = out[focal];
 		int k = kout[focal];
+		if (outTargets != null && !implicit) {
+			int start = outOffsets[focal];
+			for (int n = start; n < start + k; n++)
+				if (outTargets[n] == check)
+					return true;
+			return false;
+		}
+		int[] neigh = getOutAt(focal, null);
 		for (int n = 0; n < k; n++)
 			if (neigh[n] == check)
 				return true;
@@ -5150,23 +6164,30 @@ public class Geometry {
 		geometry = (Type) clo.match(cli);
 		String sub = cli.substring(1);
 		boolean oldFixedBoundary = fixedBoundary;
+		boolean oldImplicitLattice = implicitLattice;
 		fixedBoundary = false;
-		int len = sub.length();
-		if (len > 0) {
+		implicitLattice = false;
+		// fixed boundaries and implicit neighbourhoods for regular lattices
+		while (sub.length() > 0) {
+			int len = sub.length();
 			char first = sub.charAt(0);
-			// fixed boundaries for regular lattices
+			char last = sub.charAt(len - 1);
 			if (first == 'f' || first == 'F') {
 				fixedBoundary = true;
 				sub = sub.substring(1);
-			} else {
-				char last = sub.charAt(len - 1);
-				if (last == 'f' || last == 'F') {
-					fixedBoundary = true;
-					sub = sub.substring(0, len - 1);
-				}
-			}
+			} else if (first == 'i' || first == 'I') {
+				implicitLattice = true;
+				sub = sub.substring(1);
+			} else if (last == 'f' || last == 'F') {
+				fixedBoundary = true;
+				sub = sub.substring(0, len - 1);
+			} else if (last == 'i' || last == 'I') {
+				implicitLattice = true;
+				sub = sub.substring(0, len - 1);
+			} else
+				break;
 		}
-		doReset |= (oldFixedBoundary != fixedBoundary);
+		doReset |= (oldFixedBoundary != fixedBoundary) || (oldImplicitLattice != implicitLattice);
 
 		int[] ivec;
 		double[] dvec;
@@ -5381,9 +6402,10 @@ public class Geometry {
 		String descr = "--geometry <>   geometry " //
 				+ (engine.getModel().getType().isIBS() ? "- interaction==competition\n" : "\n") //
 				+ "      argument: <g><k>" //
-				+ (fixedBoundariesAvailable ? "[f|F]" : "") + " (g type, k neighbours)\n" //
+				+ (fixedBoundariesAvailable ? "[f|F][i|I]" : "") + " (g type, k neighbours)\n" //
 				+ clo.getDescriptionKey() + "\n      further specifications:" //
-				+ (fixedBoundariesAvailable ? "\n           f|F: fixed lattice boundaries (default periodic)" : "");
+				+ (fixedBoundariesAvailable ? "\n           f|F: fixed lattice boundaries (default periodic)" //
+						+ "\n           i|I: implicit lattice neighbourhoods (computed, not stored)" : "");
 		return descr;
 	}
 
@@ -5421,6 +6443,18 @@ public class Geometry {
 			for (int i = 0; i < out.length; i++)
 				clone.out[i] = Arrays.copyOf(out[i], out[i].length);
 		}
+		if (outTargets != null) {
+			clone.outOffsets = Arrays.copyOf(outOffsets, outOffsets.length);
+			clone.outTargets = Arrays.copyOf(outTargets, outTargets.length);
+			if (inTargets == outTargets) {
+				clone.inOffsets = clone.outOffsets;
+				clone.inTargets = clone.outTargets;
+			} else {
+				clone.inOffsets = Arrays.copyOf(inOffsets, inOffsets.length);
+				clone.inTargets = Arrays.copyOf(inTargets, inTargets.length);
+			}
+		}
+		clone.frozen = frozen;
 		if (rawhierarchy != null)
 			clone.rawhierarchy = Arrays.copyOf(rawhierarchy, rawhierarchy.length);
 		if (hierarchy != null)
@@ -5429,6 +6463,11 @@ public class Geometry {
 		clone.size = size;
 		clone.geometry = geometry;
 		clone.fixedBoundary = fixedBoundary;
+		clone.implicitLattice = implicitLattice;
+		clone.implicit = implicit;
+		clone.implicitSide = implicitSide;
+		clone.implicitLayers = implicitLayers;
+		clone.implicitRange = implicitRange;
 		clone.minIn = minIn;
 		clone.maxIn = maxIn;
 		clone.avgIn = avgIn;
@@ -5474,17 +6513,17 @@ public class Geometry {
 	}
 
 	/**
-	 * Encode geometry as a plist string fragment.
+	 * Encode geometry as a plist fragment and append it to the writer
+	 * {@code plist}.
 	 *
-	 * @return the geometry encoded as a plist
+	 * @param plist the writer for the encoded geometry
 	 * 
 	 * @see #decodeGeometry(Plist)
 	 * @see Plist
 	 */
-	public String encodeGeometry() {
-		StringBuilder plist = new StringBuilder();
-		plist.append(Plist.encodeKey("Name", geometry.getTitle()));
-		plist.append(Plist.encodeKey("Code", geometry.getKey()));
+	public void encodeGeometry(PlistWriter plist) {
+		plist.appendKey("Name", geometry.getTitle());
+		plist.appendKey("Code", geometry.getKey());
 		// the following lines mimic earlier output
 		// plist.append(Plist.encodeKey("Name", geometry.getKey() + ": " +
 		// geometry.getDescription()));
@@ -5498,11 +6537,11 @@ public class Geometry {
 			// encode geometry
 			plist.append("<key>Graph</key>\n<dict>\n");
 			// note: in[] and kin[] will be reconstructed on restore
+			int[] mem = new int[Math.max(maxOut, 0)];
 			for (int n = 0; n < size; n++)
-				plist.append(Plist.encodeKey(Integer.toString(n), out[n], kout[n]));
+				plist.appendKey(Integer.toString(n), getOutAt(n, mem), kout[n]);
 			plist.append("</dict>\n");
 		}
-		return plist.toString();
 	}
 
 	/**
@@ -5515,11 +6554,13 @@ public class Geometry {
 	 * 
 	 * @param plist the plist encoding the geometry
 	 * 
-	 * @see #encodeGeometry()
+	 * @see #encodeGeometry(PlistWriter)
 	 */
 	public void decodeGeometry(Plist plist) {
 		if (!isUniqueGeometry())
 			return;
+		thaw();
+		evaluated = false;
 		// decode geometry
 		Plist graph = (Plist) plist.get("Graph");
 		ArrayList<List<Integer>> outlinks = new ArrayList<List<Integer>>(size);
@@ -0,0 +1,82 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator;
+
+/**
+ * Cache for unique geometries. Generating unique geometries, such as random
+ * regular or scale-free graphs, can be expensive for large populations. With a
+ * cache, repeated resets with the same geometry specification and the same
+ * state of the random number generator restore the structure instead of
+ * generating it again. Restoring must also restore the state of the random
+ * number generator after generation such that results remain reproducible
+ * regardless of whether the cache is used.
+ * <p>
+ * <strong>Important:</strong> Caches depend on the runtime environment (JRE vs
+ * GWT). The engine provides the cache, if available.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see EvoLudo#getGeometryCache()
+ * @see Geometry#init()
+ */
+public interface GeometryCache {
+
+	/**
+	 * Gets the key identifying the structure that {@code geometry} is about to
+	 * generate. The key must capture the type, size and parameters of
+	 * {@code geometry} as well as the current state of the random number
+	 * generator.
+	 * 
+	 * @param geometry the geometry to generate
+	 * @return the key for the structure
+	 */
+	public String getKey(Geometry geometry);
+
+	/**
+	 * Restore the structure with {@code key} in {@code geometry}, including the
+	 * state of the random number generator after generation.
+	 * 
+	 * @param geometry the geometry to restore
+	 * @param key      the key of the structure
+	 * @return {@code true} if the structure was restored and {@code false} if it
+	 *         needs to be generated
+	 */
+	public boolean restore(Geometry geometry, String key);
+
+	/**
+	 * Store the freshly generated structure of {@code geometry} with {@code key},
+	 * together with the current state of the random number generator.
+	 * 
+	 * @param geometry the geometry to store
+	 * @param key      the key of the structure
+	 */
+	public void store(Geometry geometry, String key);
+}
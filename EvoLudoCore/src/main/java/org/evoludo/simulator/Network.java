@@ -34,6 +34,7 @@ import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import org.evoludo.geom.BarnesHut;
 import org.evoludo.geom.Node;
 import org.evoludo.math.ArrayMath;
 import org.evoludo.math.RNGDistribution;
@@ -169,6 +170,15 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 	 */
 	protected Geometry geometry;
 
+	/**
+	 * Helper array to store the neighbours of nodes for frozen geometries and
+	 * implicit lattices, where the neighbourhoods are not available as arrays.
+	 * 
+	 * @see #getOutAt(int)
+	 * @see #getInAt(int)
+	 */
+	private int[] neighs = null;
+
 	/**
 	 * The timestamp of the last time the layouting process has completed.
 	 */
@@ -219,6 +229,23 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 	 */
 	protected double potential;
 
+	/**
+	 * The opening angle for approximating the repulsion between nodes by the
+	 * Barnes-Hut algorithm. The repulsion is calculated exactly for
+	 * {@code openingAngle &le; 0}.
+	 * 
+	 * @see EvoLudo#cloLayoutAngle
+	 */
+	protected double openingAngle = 0.0;
+
+	/**
+	 * The Barnes-Hut tree for approximating the repulsion between nodes or
+	 * {@code null} if the repulsion is calculated exactly.
+	 * 
+	 * @see #prepareRelax()
+	 */
+	protected BarnesHut tree = null;
+
 	/**
 	 * The link to the GUI elements interested in updates about the layouting
 	 * progress.
@@ -274,6 +301,7 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 		int snapTimeout = engine.getSnapLayoutTimeout();
 		if (snapTimeout > 0)
 			layoutTimeout = snapTimeout;
+		setOpeningAngle(engine.getLayoutAngle());
 
 		nNodes = geometry.size;
 		Geometry.Type type = geometry.getType();
@@ -304,6 +332,41 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 		}
 	}
 
+	/**
+	 * Get the outgoing neighbours of node {@code node}. The neighbours are valid
+	 * up to {@code geometry.kout[node]} and until the next call to
+	 * {@link #getOutAt(int)} or {@link #getInAt(int)}.
+	 * 
+	 * @param node the index of the node
+	 * @return the indices of the outgoing neighbours
+	 * 
+	 * @see Geometry#getOutAt(int, int[])
+	 */
+	protected int[] getOutAt(int node) {
+		int[] links = geometry.getOutAt(node, neighs);
+		// keep (re)allocated memory but never refer to neighbourhood arrays
+		if (geometry.isFrozen() || geometry.isImplicit())
+			neighs = links;
+		return links;
+	}
+
+	/**
+	 * Get the incoming neighbours of node {@code node}. The neighbours are valid
+	 * up to {@code geometry.kin[node]} and until the next call to
+	 * {@link #getOutAt(int)} or {@link #getInAt(int)}.
+	 * 
+	 * @param node the index of the node
+	 * @return the indices of the incoming neighbours
+	 * 
+	 * @see Geometry#getInAt(int, int[])
+	 */
+	protected int[] getInAt(int node) {
+		int[] links = geometry.getInAt(node, neighs);
+		if (geometry.isFrozen() || geometry.isImplicit())
+			neighs = links;
+		return links;
+	}
+
 	/**
 	 * Start the layouting process. The layout listener (if any) is informed about
 	 * the progress of the layouting process. Implementations can take advantage of
@@ -324,7 +387,8 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 		prevPotential = 0.0;
 		prevAdjust = 1.0;
 		nNodes = geometry.size;
-		norm = 1.0 / (nNodes * nNodes);
+		// note: nNodes * nNodes overflows for large networks
+		norm = 1.0 / ((double) nNodes * nNodes);
 		listener.layoutUpdate(0.0);
 		boolean needsLayout = status.equals(Status.NEEDS_LAYOUT);
 		setStatus(Status.LAYOUT_IN_PROGRESS);
@@ -373,6 +437,69 @@ public abstract class Network extends AbstractList<Node> implements Iterator<Nod
 	 */
 	public abstract void initNodes(double pnorm, double nnorm, double unitradius);
 
+	/**
+	 * Prepare for relaxing all nodes. This must be called at the start of every
+	 * sweep over all nodes. If the repulsion between nodes is approximated, the
+	 * Barnes-Hut tree is built for the current positions of all nodes.
+	 * 
+	 * @see #setOpeningAngle(double)
+	 */
+	public abstract void prepareRelax();
+
+	/**
+	 * Set the opening angle for approximating the repulsion between nodes by the
+	 * Barnes-Hut algorithm. Smaller angles are more accurate but slower. Values of
+	 * {@code 0.5-1.0} are common. The repulsion is calculated exactly for
+	 * {@code angle &le; 0}, which requires {@code O(N<sup>2</sup>)} operations
+	 * per sweep for networks with {@code N} nodes.
+	 * 
+	 * @param angle the opening angle
+	 */
+	public void setOpeningAngle(double angle) {
+		openingAngle = Math.max(0.0, angle);
+		if (openingAngle <= 0.0)
+			tree = null;
+	}
+
+	/**
+	 * Get the opening angle for approximating the repulsion between nodes.
+	 * 
+	 * @return the opening angle
+	 * 
+	 * @see #setOpeningAngle(double)
+	 */
+	public double getOpeningAngle() {
+		return openingAngle;
+	}
+
+	/**
+	 * Get the potential energy of the network after the most recent sweep of the
+	 * layouting process. This is the energy that determines the progress of the
+	 * layouting process.
+	 * 
+	 * @return the (normalized) potential energy
+	 */
+	public double getPotential() {
+		return prevPotential;
+	}
+
+	/**
+	 * Calculate the potential energy of the current layout based on the exact
+	 * repulsion between all nodes, irrespective of the opening angle. The positions
+	 * of the nodes remain unchanged. This allows to compare the quality of layouts.
+	 * 
+	 * @return the (normalized) potential energy
+	 */
+	public double computePotential() {
+		BarnesHut bh = tree;
+		tree = null;
+		double pot = 0.0;
+		for (int n = 0; n < nNodes; n++)
+			pot += repulsion(n) + attraction(n);
+		tree = bh;
+		return pot / ((double) nNodes * nNodes);
+	}
+
 	/**
 	 * Relax the potential energy a single node with index {@code nodeidx} by
 	 * adjusting its position. The potential energy increases proportional to
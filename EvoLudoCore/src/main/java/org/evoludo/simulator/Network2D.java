@@ -30,6 +30,7 @@
 
 package org.evoludo.simulator;
 
+import org.evoludo.geom.BarnesHut;
 import org.evoludo.geom.Node2D;
 import org.evoludo.geom.Path2D;
 import org.evoludo.geom.Point2D;
@@ -165,11 +166,48 @@ public abstract class Network2D extends Network {
 		return energy;
 	}
 
+	/**
+	 * Temporary storage for the position of a node when approximating the
+	 * repulsion.
+	 */
+	private final double[] pos = new double[2];
+
+	/**
+	 * Temporary storage for the net force acting on a node when approximating the
+	 * repulsion.
+	 */
+	private final double[] force = new double[2];
+
+	@Override
+	public void prepareRelax() {
+		if (openingAngle <= 0.0) {
+			tree = null;
+			return;
+		}
+		if (tree == null)
+			tree = new BarnesHut(2);
+		double[] coords = tree.getCoordinates(nNodes);
+		int i = 0;
+		for (int n = 0; n < nNodes; n++) {
+			Node2D node = nodes[n];
+			coords[i++] = node.getX();
+			coords[i++] = node.getY();
+		}
+		tree.build(nNodes);
+	}
+
 	@Override
 	protected double repulsion(int nodeidx) {
+		Node2D node = nodes[nodeidx];
+		if (tree != null) {
+			pos[0] = node.getX();
+			pos[1] = node.getY();
+			double npot = tree.repulsion(nodeidx, pos, openingAngle, IR, force);
+			repulsion.set(force[0], force[1]);
+			return npot;
+		}
 		repulsion.set(0.0, 0.0);
 		double npot = 0.0;
-		Node2D node = nodes[nodeidx];
 		for (int i = 0; i < nNodes; i++) {
 			if (i == nodeidx)
 				continue;
@@ -214,7 +252,7 @@ public abstract class Network2D extends Network {
 		double npot = 0.0;
 		Node2D node = nodes[nodeidx];
 		int nOut = geometry.kout[nodeidx];
-		int[] neighs = geometry.out[nodeidx];
+		int[] neighs = getOutAt(nodeidx);
 		for (int i = 0; i < nOut; i++) {
 			Node2D nodei = nodes[neighs[i]];
 			vec.set(node, nodei);
@@ -237,7 +275,7 @@ public abstract class Network2D extends Network {
 		}
 		// note: in directed networks, undirected links are counted twice
 		int nIn = geometry.kin[nodeidx];
-		neighs = geometry.in[nodeidx];
+		neighs = getInAt(nodeidx);
 		for (int i = 0; i < nIn; i++) {
 			Node2D nodei = nodes[neighs[i]];
 			vec.set(node, nodei);
@@ -318,7 +356,7 @@ public abstract class Network2D extends Network {
 				// draw all links
 				for (int n = 0; n < nNodes; n++) {
 					Node2D nodeA = nodes[n];
-					int[] neigh = geometry.out[n];
+					int[] neigh = getOutAt(n);
 					int len = geometry.kout[n];
 					for (int i = 0; i < len; i++) {
 						// check if link was already drawn
@@ -357,7 +395,7 @@ public abstract class Network2D extends Network {
 					idx -= k;
 				}
 				Node2D nodeA = nodes[a];
-				int[] neigh = geometry.out[a];
+				int[] neigh = getOutAt(a);
 				Node2D nodeB = nodes[neigh[idx]];
 				links.moveTo(nodeA);
 				links.lineTo(nodeB);
@@ -372,7 +410,7 @@ public abstract class Network2D extends Network {
 			// draw all links
 			for (int n = 0; n < nNodes; n++) {
 				Node2D nodeA = nodes[n];
-				int[] neigh = geometry.out[n];
+				int[] neigh = getOutAt(n);
 				int len = geometry.kout[n];
 				for (int i = 0; i < len; i++) {
 					int b = neigh[i];
@@ -425,7 +463,7 @@ public abstract class Network2D extends Network {
 				idx -= k;
 			}
 			Node2D nodeA = nodes[a];
-			int[] neigh = geometry.out[a];
+			int[] neigh = getOutAt(a);
 			int b = neigh[idx];
 			Node2D nodeB = nodes[b];
 			links.moveTo(nodeA);
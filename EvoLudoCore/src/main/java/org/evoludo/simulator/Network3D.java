@@ -30,6 +30,7 @@
 
 package org.evoludo.simulator;
 
+import org.evoludo.geom.BarnesHut;
 import org.evoludo.geom.Node3D;
 import org.evoludo.geom.Vector3D;
 
@@ -154,11 +155,50 @@ public abstract class Network3D extends Network {
 		return energy;
 	}
 
+	/**
+	 * Temporary storage for the position of a node when approximating the
+	 * repulsion.
+	 */
+	private final double[] pos = new double[3];
+
+	/**
+	 * Temporary storage for the net force acting on a node when approximating the
+	 * repulsion.
+	 */
+	private final double[] force = new double[3];
+
+	@Override
+	public void prepareRelax() {
+		if (openingAngle <= 0.0) {
+			tree = null;
+			return;
+		}
+		if (tree == null)
+			tree = new BarnesHut(3);
+		double[] coords = tree.getCoordinates(nNodes);
+		int i = 0;
+		for (int n = 0; n < nNodes; n++) {
+			Node3D node = nodes[n];
+			coords[i++] = node.getX();
+			coords[i++] = node.getY();
+			coords[i++] = node.getZ();
+		}
+		tree.build(nNodes);
+	}
+
 	@Override
 	protected double repulsion(int nodeidx) {
+		Node3D node = nodes[nodeidx];
+		if (tree != null) {
+			pos[0] = node.getX();
+			pos[1] = node.getY();
+			pos[2] = node.getZ();
+			double npot = tree.repulsion(nodeidx, pos, openingAngle, IR, force);
+			repulsion.set(force[0], force[1], force[2]);
+			return npot;
+		}
 		repulsion.set(0.0, 0.0, 0.0);
 		double npot = 0.0;
-		Node3D node = nodes[nodeidx];
 		for (int i = 0; i < nNodes; i++) {
 			if (i == nodeidx)
 				continue;
@@ -183,7 +223,7 @@ public abstract class Network3D extends Network {
 		double npot = 0.0;
 		Node3D node = nodes[nodeidx];
 		int nOut = geometry.kout[nodeidx];
-		int[] neighs = geometry.out[nodeidx];
+		int[] neighs = getOutAt(nodeidx);
 		for (int i = 0; i < nOut; i++) {
 			Node3D nodei = nodes[neighs[i]];
 			vec.set(node, nodei);
@@ -205,7 +245,7 @@ public abstract class Network3D extends Network {
 		}
 		// note: in directed networks, undirected links are counted twice
 		int nIn = geometry.kin[nodeidx];
-		neighs = geometry.in[nodeidx];
+		neighs = getInAt(nodeidx);
 		for (int i = 0; i < nIn; i++) {
 			Node3D nodei = nodes[neighs[i]];
 			vec.set(node, nodei);
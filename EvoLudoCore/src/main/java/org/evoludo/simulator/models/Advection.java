@@ -109,8 +109,7 @@ public class Advection extends PDE {
 	// // NOTE: swapping would be faster but results in some strange behavior with
 	// 'apply' and 'init';
 	// // since this is not critical it is not worth tracking down
-	// for( int n=0; n<density.length; n++ )
-	// System.arraycopy(density[n], 0, next[n], 0, density[n].length);
+	// System.arraycopy(density, 0, next, 0, density.length);
 	// double[] dummy = new double[d];
 	// updateFitness(dummy, dummy, dummy);
 	// // NOTE: in the absence of reactions, the total/mean density of each type
@@ -119,94 +118,52 @@ public class Advection extends PDE {
 	// }
 
 	@Override
-	public void diffuse(int start, int end) {
+	public void diffuse(int start, int end, double[] minDens, double[] maxDens, double[] meanDens) {
 		if (!doAdvection) {
-			super.diffuse(start, end);
+			super.diffuse(start, end, minDens, maxDens, meanDens);
 			return;
 		}
 
-		double[] minDens = new double[nDim];
-		Arrays.fill(minDens, Double.MAX_VALUE);
-		double[] maxDens = new double[nDim];
-		Arrays.fill(maxDens, -Double.MAX_VALUE);
-		double[] meanDens = new double[nDim];
-		int[][] in = space.in;
-		double[] delta = new double[nDim];
+		int[] offsets = space.getInOffsets();
+		int[] targets = space.getInTargets();
+		int[] sort = (isSymmetric ? new int[space.maxIn] : null);
+		// neighbourhoods of implicit lattices are computed on the fly
+		int[] mem = (space.isImplicit() ? new int[space.maxIn] : null);
 		double[] adv = new double[nDim];
 
-		if (isSymmetric) {
-			double[][] sort = new double[space.maxIn][];
-			for (int n = start; n < end; n++) {
-				int[] neighs = in[n];
-				int nIn = space.kin[n];
-				double[] sn = next[n]; // current state of focal site sn
-				double[] s = density[n]; // next state
-				ArrayMath.multiply(sn, -space.kout[n], s);
-				Arrays.fill(adv, 0.0);
-				// sort neighbours
-				for (int i = 0; i < nIn; i++) {
-					double[] p = next[neighs[i]];
-					sort[i] = p;
-				}
+		// diffusion & advection
+		for (int n = start; n < end; n++) {
+			int[] neighs;
+			int from;
+			if (targets != null) {
+				neighs = targets;
+				from = offsets[n];
+			} else {
+				neighs = space.getInAt(n, mem);
+				from = 0;
+			}
+			int nIn = space.kin[n];
+			int sn = n * nDim; // offset of focal site sn
+			double kout = -space.kout[n];
+			for (int j = 0; j < nDim; j++)
+				density[sn + j] = next[sn + j] * kout; // s = -kout*sn
+			Arrays.fill(adv, 0.0);
+			if (sort != null) {
 				// sorting must maintain integrity of densities at neighbouring sites
 				// (sorting based on first element is enough - only equality in the first
 				// density but not the others could still result in an eventual break of
 				// symmetry due to rounding error.)
-				Arrays.sort(sort, 0, nIn, sorting);
-				// loop over neighbours
-				for (int i = 0; i < nIn; i++) {
-					double[] si = sort[i];
-					// diffusion
-					ArrayMath.add(s, si); // s += si
-					ArrayMath.sub(si, sn, delta); // delta = si-ds
-					ArrayMath.add(delta, 1.0); // delta = 1+si-sn; note 1+sn-si=2-delta
-					// loop over traits - advection
-					int jidx = 0;
-					for (int j = 0; j < nDim; j++) {
-						if (j == dependent)
-							continue;
-						double advj = 0.0;
-						int kidx = 0;
-						for (int k = 0; k < nDim; k++) {
-							if (k == dependent)
-								continue;
-							double dk = delta[k] * 0.5;
-							advj += beta[jidx][kidx] * (-sn[j] * dk + si[j] * (1.0 - dk));
-							kidx++;
-						}
-						adv[j] += advj;
-						jidx++;
-					}
-				}
-				ArrayMath.multiply(s, alpha); // s *= alpha
-				ArrayMath.add(s, sn); // s += sn
-				ArrayMath.add(s, adv); // s += adv
-				if (dependent >= 0)
-					s[dependent] = 1.0 + s[dependent] - ArrayMath.norm(s);
-				// update extrema and mean density
-				minmaxmean(s, minDens, maxDens, meanDens);
+				sortNeighbours(neighs, from, nIn, sort);
+				neighs = sort;
+				from = 0;
 			}
-			updateDensity(minDens, maxDens, meanDens);
-			return;
-		}
-
-		// diffusion & advection
-		for (int n = start; n < end; n++) {
-			int[] neighs = in[n];
-			int nIn = space.kin[n];
-			double[] sn = next[n]; // current state of focal site sn
-			double[] s = density[n]; // next state
-			ArrayMath.multiply(sn, -space.kout[n], s);
-			Arrays.fill(adv, 0.0);
 			// loop over neighbours
-			// debug outflux of site
-			// double[] outflux = new double[dim];
-			for (int i = 0; i < nIn; i++) {
-				double[] si = next[neighs[i]]; // current state of neighbour i, si
+			int to = from + nIn;
+			for (int i = from; i < to; i++) {
+				int si = neighs[i] * nDim; // offset of neighbour i, si
 				// diffusion
-				ArrayMath.add(s, si); // s += si
-				ArrayMath.sub(si, sn, delta); // delta = si-sn
-				ArrayMath.add(delta, 1.0); // delta = 1+si-sn; note 1+sn-si=2-delta
+				for (int j = 0; j < nDim; j++)
+					density[sn + j] += next[si + j]; // s += si
 				// loop over traits - advection
 				int jidx = 0;
 				for (int j = 0; j < nDim; j++) {
@@ -217,40 +174,28 @@ public class Advection extends PDE {
 					for (int k = 0; k < nDim; k++) {
 						if (k == dependent)
 							continue;
-						double dk = delta[k] * 0.5;
-						advj += beta[jidx][kidx] * (-sn[j] * dk + si[j] * (1.0 - dk));
-						// debug outflux of site
-						// outflux[j] += beta[j][k]*sn[j]*dk;
+						// delta = 1+si-sn; note 1+sn-si=2-delta
+						double dk = (next[si + k] - next[sn + k] + 1.0) * 0.5;
+						advj += beta[jidx][kidx] * (-next[sn + j] * dk + next[si + j] * (1.0 - dk));
 						kidx++;
 					}
 					adv[j] += advj;
 					jidx++;
 				}
 			}
-			// debug outflux of site
-			// for( int j=0; j<dim; j++ ) {
-			// if( outflux[j]>sn[j] ) {
-			// double[] dest = new double[dim];
-			// com.google.gwt.core.client.GWT.log("ALERT @ "+n+":
-			// diff="+ChHFormatter.formatSci(ChHMath.sub(sn, outflux, dest), 4)+
-			// ", state="+ChHFormatter.format(sn,4)+",
-			// flux="+ChHFormatter.formatSci(outflux,4));
-			// com.google.gwt.core.client.GWT.log("time="+time+",
-			// beta="+ChHFormatter.format(beta, 4)+", delta="+ChHFormatter.format(delta, 4)+
-			// ", sn="+ChHFormatter.format(sn, 4));
-			// break;
-			// }
-			// }
-			// end debug
-			ArrayMath.multiply(s, alpha);
-			ArrayMath.add(s, sn);
-			ArrayMath.add(s, adv);
+			double norm = 0.0;
+			for (int j = 0; j < nDim; j++) {
+				double s = density[sn + j] * alpha[j]; // s *= alpha
+				s += next[sn + j]; // s += sn
+				s += adv[j]; // s += adv
+				density[sn + j] = s;
+				norm += s;
+			}
 			if (dependent >= 0)
-				s[dependent] = 1.0 + s[dependent] - ArrayMath.norm(s);
+				density[sn + dependent] = 1.0 + density[sn + dependent] - norm;
 			// update extrema and mean density
-			minmaxmean(s, minDens, maxDens, meanDens);
+			minmaxmean(density, sn, minDens, maxDens, meanDens);
 		}
-		updateDensity(minDens, maxDens, meanDens);
 	}
 
 	/**
@@ -30,6 +30,7 @@
 
 package org.evoludo.simulator.models;
 
+import org.evoludo.math.IndexedPriorityQueue;
 import org.evoludo.math.RNGDistribution;
 import org.evoludo.simulator.ColorMap;
 import org.evoludo.simulator.EvoLudo;
@@ -46,6 +47,7 @@ import org.evoludo.util.CLOption.CLODelegate;
 import org.evoludo.util.CLOption.Category;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Base class for individual based simulation models, IBS. This class deals with
@@ -119,6 +121,17 @@ public abstract class IBS extends Model {
 	 */
 	public boolean optimizeHomo = false;
 
+	/**
+	 * <code>true</code> if tau-leaping is requested and feasible for the (single)
+	 * population.
+	 * <p>
+	 * <strong>Note:</strong> tau-leaping can be requested with the command line
+	 * option <code>--optimize tau</code>, see {@link IBSD#cloOptimize}.
+	 * 
+	 * @see IBSPopulation#leap(int)
+	 */
+	boolean optimizeTau = false;
+
 	/**
 	 * Flag to indicate whether the population updates are synchronous. In
 	 * multi-species models this requires that all species are updated
@@ -130,6 +143,23 @@ public abstract class IBS extends Model {
 	 */
 	boolean isSynchronous;
 
+	/**
+	 * The flag to indicate whether the population is updated asynchronously by
+	 * sublattices of independent individuals. Only available for single species.
+	 * 
+	 * @see PopulationUpdate.Type#CHECKERBOARD
+	 * @see #sublatticeStep(double)
+	 */
+	boolean isSublattice;
+
+	/**
+	 * The supervisor for synchronous population updates or {@code null} if
+	 * populations process synchronous updates themselves.
+	 * 
+	 * @see org.evoludo.simulator.EvoLudo#hireSyncSupervisor(IBS)
+	 */
+	SyncSupervisor syncSupervisor;
+
 	/**
 	 * Creates a population of individuals for IBS simulations.
 	 * 
@@ -199,6 +229,7 @@ public abstract class IBS extends Model {
 			mod.setIBSPopulation(null);
 		speciesUpdate = null;
 		statisticsSettings = null;
+		syncSupervisor = null;
 		super.unload();
 	}
 
@@ -212,6 +243,13 @@ public abstract class IBS extends Model {
 		for (Module<?> mod : species) {
 			IBSPopulation pop = mod.getIBSPopulation();
 			doReset |= pop.check();
+			if (pop.getPopulationUpdate().getType() == PopulationUpdate.Type.CHECKERBOARD
+					&& (isMultispecies || !pop.permitsSublatticeUpdates())) {
+				logger.warning("sublattice updates require discrete traits of a single species on lattices - forcing '"
+						+ PopulationUpdate.Type.ASYNC + "'");
+				pop.getPopulationUpdate().setType(PopulationUpdate.Type.ASYNC);
+				doReset = true;
+			}
 			boolean sync = pop.getPopulationUpdate().isSynchronous();
 			allSync &= sync;
 			allAsync &= !sync;
@@ -239,6 +277,16 @@ public abstract class IBS extends Model {
 				mod.getIBSPopulation().getPopulationUpdate().setType(PopulationUpdate.Type.SYNC);
 			doReset = true;
 		}
+		isSublattice = !isMultispecies
+				&& population.getPopulationUpdate().getType() == PopulationUpdate.Type.CHECKERBOARD;
+		syncSupervisor = (isSynchronous || isSublattice ? engine.hireSyncSupervisor(this) : null);
+		if (syncSupervisor != null && isSynchronous) {
+			for (Module<?> mod : species) {
+				if (!mod.getIBSPopulation().permitsParallelSync())
+					logger.warning((isMultispecies ? mod.getName() + ": " : "")
+							+ "parallel synchronous updates require discrete traits and pairwise interactions with all neighbours on undirected graphs - using single thread.");
+			}
+		}
 		if (isMultispecies && !allPosFitness && speciesUpdate.getType() == SpeciesUpdate.Type.FITNESS) {
 			// fitness based picking of focal species requires positive fitness
 			logger.warning("multispecies models with '" + SpeciesUpdate.Type.FITNESS
@@ -481,7 +529,10 @@ public abstract class IBS extends Model {
 				for (Module<?> mod : species) {
 					IBSPopulation pop = mod.getIBSPopulation();
 					pop.prepareTraits();
-					pop.step();
+					if (syncSupervisor != null && pop.permitsParallelSync())
+						syncSupervisor.step(pop);
+					else
+						pop.step();
 					pop.isConsistent();
 				}
 				// commit traits and reset scores
@@ -499,7 +550,10 @@ public abstract class IBS extends Model {
 				converged = true;
 				for (Module<?> mod : species) {
 					IBSPopulation pop = mod.getIBSPopulation();
-					pop.updateScores();
+					if (syncSupervisor != null && pop.permitsParallelSync())
+						syncSupervisor.updateScores(pop);
+					else
+						pop.updateScores();
 					converged &= pop.checkConvergence();
 					scoreTot += pop.getTotalFitness();
 				}
@@ -509,6 +563,9 @@ public abstract class IBS extends Model {
 			return true;
 		}
 
+		if (isSublattice)
+			return sublatticeStep(stepDt);
+
 		// asynchronous population update - update one individual at a time
 		double nTot = 0.0;
 		double totRate = 0.0;
@@ -531,13 +588,46 @@ public abstract class IBS extends Model {
 		double dUpdates = Math.max(1.0, Math.ceil(stepDt / gincr - 1e-8));
 		double stepDone = 0.0;
 		double gStart = updates;
+		boolean nextReaction = isMultispecies && speciesUpdate.getType() == SpeciesUpdate.Type.NEXT;
+		if (nextReaction)
+			initNextReaction();
 		updates: while (dUpdates >= 1.0) {
 			double stepSize;
 			int nUpdates = Math.min((int) dUpdates, 1000000000); // 1e9 about half of Integer.MAX_VALUE (2.1e9)
 			for (int n = 0; n < nUpdates; n++) {
+				if (optimizeTau) {
+					// advance population by a batch of events (if possible)
+					int leap = population.leap(nUpdates - n);
+					if (leap > 0) {
+						n += leap - 1;
+						updates += leap * gincr;
+						if (time < Double.POSITIVE_INFINITY) {
+							// normal approximation of the sum of leap exponential waiting times
+							time += Math.max(0.0, leap + Math.sqrt(leap) * rng.nextGaussian()) / totRate;
+						}
+						population.isConsistent();
+						converged = population.checkConvergence();
+						totRate = population.getSpeciesUpdateRate();
+						if (converged) {
+							stepSize = n * gincr;
+							stepDone += Math.abs(stepSize);
+							updates = gStart + Math.abs(stepDone);
+							break updates;
+						}
+						continue;
+					}
+				}
 				// update event
 				int dt = 0;
-				debugFocalSpecies = pickFocalSpecies();
+				debugFocalSpecies = (nextReaction ? pickNextReaction() : pickFocalSpecies());
+				if (debugFocalSpecies == null) {
+					// all update rates are zero - nothing can happen anymore
+					converged = true;
+					stepSize = n * gincr;
+					stepDone += Math.abs(stepSize);
+					updates = gStart + Math.abs(stepDone);
+					break updates;
+				}
 				switch (pickEvent(debugFocalSpecies)) {
 					// standard replication event
 					case REPLICATION:
@@ -559,6 +649,8 @@ public abstract class IBS extends Model {
 				// advance time and real time (if possible)
 				if (dt == 0) {
 					// if no time elapsed, nothing happened
+					if (nextReaction)
+						rescheduleNextReaction();
 					n--;
 					continue;
 				}
@@ -569,14 +661,20 @@ public abstract class IBS extends Model {
 					updates += gincr;
 				}
 				converged = true;
-				if (dt > 0 && time < Double.POSITIVE_INFINITY)
+				if (nextReaction)
+					advanceNextReaction();
+				else if (dt > 0 && time < Double.POSITIVE_INFINITY)
 					time += RNGDistribution.Exponential.next(rng.getRNG(), dt / totRate);
 				totRate = 0.0;
+				int idx = 0;
 				for (Module<?> mod : species) {
 					IBSPopulation pop = mod.getIBSPopulation();
 					pop.isConsistent();
 					converged &= pop.checkConvergence();
-					totRate += pop.getSpeciesUpdateRate();
+					double rate = pop.getSpeciesUpdateRate();
+					if (nextReaction)
+						updateNextReaction(idx++, rate, pop == debugFocalSpecies);
+					totRate += rate;
 				}
 				if (converged) {
 					stepSize = n * gincr;
@@ -606,6 +704,44 @@ public abstract class IBS extends Model {
 		return !converged;
 	}
 
+	/**
+	 * Advance the population by {@code stepDt} generations through asynchronous
+	 * updates of independent sublattices. At least one sublattice is updated. Time
+	 * advances by the sum of the exponentially distributed waiting times between
+	 * the updates of all individuals in the sublattice, which is approximated by a
+	 * normal distribution. Because the sublattices are updated as a whole, the
+	 * number of generations may slightly overshoot {@code stepDt}.
+	 * 
+	 * @param stepDt the number of generations to advance the population
+	 * @return {@code true} if the population has not converged
+	 * 
+	 * @see PopulationUpdate.Type#CHECKERBOARD
+	 */
+	private boolean sublatticeStep(double stepDt) {
+		IBSPopulation pop = population;
+		pop.resetTraits();
+		debugFocalSpecies = pop;
+		double gincr = 1.0 / pop.getModule().getNPopulation();
+		double target = updates + stepDt - 1e-8;
+		do {
+			double totRate = pop.getSpeciesUpdateRate();
+			if (totRate <= 0.0) {
+				// all update rates are zero - nothing can happen anymore
+				converged = true;
+				return false;
+			}
+			int dt = (syncSupervisor != null ? syncSupervisor.stepSublattice(pop) : pop.step());
+			updates += dt * gincr;
+			if (time < Double.POSITIVE_INFINITY)
+				time += Math.max(0.0, dt + Math.sqrt(dt) * rng.nextGaussian()) / totRate;
+			pop.isConsistent();
+			converged = pop.checkConvergence();
+			if (converged)
+				return false;
+		} while (updates < target);
+		return true;
+	}
+
 	@Override
 	public boolean permitsDebugStep() {
 		return true;
@@ -865,6 +1001,7 @@ public abstract class IBS extends Model {
 				}
 				return pickFocalSpecies(rates, total);
 			case RATE:
+			case NEXT:
 				for (Module<?> mod : species) {
 					IBSPopulation pop = mod.getIBSPopulation();
 					double rate = pop.getSpeciesUpdateRate();
@@ -903,6 +1040,125 @@ public abstract class IBS extends Model {
 		return null;
 	}
 
+	/**
+	 * The putative times of the next update of each species for the next reaction
+	 * method.
+	 * 
+	 * @see SpeciesUpdate.Type#NEXT
+	 */
+	private IndexedPriorityQueue nextReactions;
+
+	/**
+	 * The update rates of each species when their putative times of the next
+	 * update were last scheduled.
+	 */
+	private double[] nextRates;
+
+	/**
+	 * The clock of the next reaction method, i.e. the time of the last event.
+	 * Independent of {@link #time}, which may not be tracked.
+	 */
+	private double nextClock;
+
+	/**
+	 * Initialize the next reaction method by drawing the putative times of the next
+	 * update of each species based on their current update rates. Called at the
+	 * beginning of every step. Because exponentially distributed waiting times are
+	 * memoryless, redrawing the putative times does not affect the statistics.
+	 * 
+	 * @see SpeciesUpdate.Type#NEXT
+	 */
+	private void initNextReaction() {
+		if (nextReactions == null || nextReactions.size() != nSpecies) {
+			nextReactions = new IndexedPriorityQueue(nSpecies);
+			nextRates = new double[nSpecies];
+		}
+		nextClock = 0.0;
+		double[] tau = new double[nSpecies];
+		int idx = 0;
+		for (Module<?> mod : species) {
+			double rate = mod.getIBSPopulation().getSpeciesUpdateRate();
+			nextRates[idx] = rate;
+			tau[idx++] = nextTime(rate);
+		}
+		nextReactions.init(tau);
+	}
+
+	/**
+	 * Pick the focal species with the earliest putative time of the next update.
+	 * 
+	 * @return the focal population or <code>null</code> if no species can be
+	 *         updated
+	 */
+	private IBSPopulation pickNextReaction() {
+		if (nextReactions.peekKey() == Double.POSITIVE_INFINITY)
+			return null;
+		return species.get(nextReactions.peek()).getIBSPopulation();
+	}
+
+	/**
+	 * Reschedule the focal species after a rejected update. No time elapses and
+	 * the update rates remain unchanged but a new putative time is drawn for the
+	 * focal species.
+	 */
+	private void rescheduleNextReaction() {
+		int focal = nextReactions.peek();
+		nextReactions.set(focal, nextTime(nextRates[focal]));
+	}
+
+	/**
+	 * Advance the clock of the next reaction method (and the real time, if
+	 * tracked) to the putative time of the update of the focal species.
+	 */
+	private void advanceNextReaction() {
+		double tau = nextReactions.peekKey();
+		if (time < Double.POSITIVE_INFINITY)
+			time += tau - nextClock;
+		nextClock = tau;
+	}
+
+	/**
+	 * Update the putative time of the next update of the species with index
+	 * {@code idx} after an update. The focal species draws a new time, while the
+	 * times of all other species are rescaled if, and only if, their update rates
+	 * changed.
+	 * 
+	 * @param idx   the index of the species
+	 * @param rate  the current update rate of the species
+	 * @param focal {@code true} if species {@code idx} was just updated
+	 */
+	private void updateNextReaction(int idx, double rate, boolean focal) {
+		double old = nextRates[idx];
+		nextRates[idx] = rate;
+		if (focal) {
+			nextReactions.set(idx, nextTime(rate));
+			return;
+		}
+		if (rate == old)
+			return;
+		double tau = nextReactions.get(idx);
+		if (rate <= 0.0)
+			tau = Double.POSITIVE_INFINITY;
+		else if (old <= 0.0 || tau == Double.POSITIVE_INFINITY)
+			tau = nextTime(rate);
+		else
+			tau = nextClock + (old / rate) * (tau - nextClock);
+		nextReactions.set(idx, tau);
+	}
+
+	/**
+	 * Helper method to draw the putative time of the next update for an update
+	 * rate {@code rate}.
+	 * 
+	 * @param rate the update rate
+	 * @return the putative time of the next update
+	 */
+	private double nextTime(double rate) {
+		if (rate <= 0.0)
+			return Double.POSITIVE_INFINITY;
+		return nextClock + RNGDistribution.Exponential.next(rng.getRNG(), 1.0 / rate);
+	}
+
 	/**
 	 * Index for turn-based-selection to determine which species to pick next.
 	 * Simply cycles through species array.
@@ -1331,6 +1587,38 @@ public abstract class IBS extends Model {
 				}
 			});
 
+	/**
+	 * Command line option to use a sum tree for picking individuals proportional
+	 * to their fitness.
+	 * 
+	 * @see IBSPopulation#pickFitFocalIndividual()
+	 * @see IBSPopulation#pickFitFocalIndividual(int)
+	 */
+	public final CLOption cloFitnessTree = new CLOption("fitnesstree", "nofitnesstree", CLOption.Argument.NONE,
+			Category.Model,
+			"--fitnesstree   sum tree for fitness based picking (large populations, strong selection)",
+			new CLODelegate() {
+
+				/**
+				 * {@inheritDoc}
+				 * <p>
+				 * Parse method to enable sum trees for fitness based picking. {@code arg} is
+				 * ignored. If the commandline option is present <em>all</em>
+				 * populations/species maintain a sum tree over the fitness of their members
+				 * (unless lookup tables are used).
+				 * 
+				 * @param arg ignored
+				 */
+				@Override
+				public boolean parse(String arg) {
+					for (Module<?> mod : species) {
+						IBSPopulation pop = mod.getIBSPopulation();
+						pop.setFitnessTree(cloFitnessTree.isSet());
+					}
+					return true;
+				}
+			});
+
 	/**
 	 * Command line option to enable consistency checks.
 	 */
@@ -1406,6 +1694,8 @@ public abstract class IBS extends Model {
 			pup.clo.removeKey(PopulationUpdate.Type.ECOLOGY);
 		}
 		parser.addCLO(pup.clo);
+		if (anyPayoffs)
+			parser.addCLO(cloFitnessTree);
 		if (anyPayoffs && !allStatic) {
 			// options that are only meaningful if at least some populations have
 			// (non-static) fitness
@@ -1727,14 +2017,14 @@ public abstract class IBS extends Model {
 	}
 
 	@Override
-	public void encodeState(StringBuilder plist) {
+	public void encodeState(PlistWriter plist) {
 		super.encodeState(plist);
-		plist.append(Plist.encodeKey("Generation", updates));
+		plist.appendKey("Generation", updates);
 		boolean isMultiSpecies = (species.size() > 1);
 		for (Module<?> mod : species) {
 			IBSPopulation pop = mod.getIBSPopulation();
 			if (isMultiSpecies)
-				plist.append("<key>" + mod.getName() + "</key>\n" + "<dict>\n");
+				plist.appendKey(mod.getName()).append("<dict>\n");
 			pop.encodeGeometry(plist);
 			pop.encodeTraits(plist);
 			pop.encodeFitness(plist);
@@ -165,7 +165,7 @@ public class IBSCPopulation extends IBSMCPopulation {
 		int nIn = 0;
 		int nOut = interaction.kout[me];
 		int[] in = null;
-		int[] out = interaction.out[me];
+		int[] out = interaction.getOutAt(me, focalNeighs);
 		for (int n = 0; n < nOut; n++)
 			tmpGroup[n] = opptraits[out[n]];
 		int u2 = 2;
@@ -173,7 +173,7 @@ public class IBSCPopulation extends IBSMCPopulation {
 			// directed graph, count in-neighbors
 			u2 = 1;
 			nIn = interaction.kin[me];
-			in = interaction.in[me];
+			in = interaction.getInAt(me, otherNeighs);
 			for (int n = 0; n < nIn; n++)
 				tmpGroup[nOut + n] = opptraits[in[n]];
 		}
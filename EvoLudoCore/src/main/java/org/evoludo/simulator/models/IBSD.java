@@ -149,6 +149,8 @@ public class IBSD extends IBS implements DModel {
 				doReset = true;
 			}
 		}
+		// NOTE: tau-leaping is disabled for multi-species (see cloOptimize)
+		optimizeTau = !isMultispecies && ((IBSDPopulation) population).optimizeTau;
 		return doReset;
 	}
 
@@ -452,6 +454,15 @@ public class IBSD extends IBS implements DModel {
 	 * <dd>Optimize Moran processes by restring events exclusively to links along
 	 * which a change in the composition of the population may occur. This destroys
 	 * the time scale.
+	 * <dt>TAU
+	 * <dd>Approximate tau-leaping for well-mixed populations with Moran-type
+	 * updates by advancing the trait counts in batches of events. The optional
+	 * argument sets the error control (defaults to
+	 * {@value IBSDPopulation#TAU_EPSILON}).
+	 * <dt>ECOLOGY
+	 * <dd>Draw ecological events with probabilities proportional to their rates
+	 * instead of picking sites uniformly at random and rejecting events that
+	 * cannot happen.
 	 * </dl>
 	 * 
 	 */
@@ -474,7 +485,34 @@ public class IBSD extends IBS implements DModel {
 		 * which a change in the composition of the population may occur. This destroys
 		 * the time scale.
 		 */
-		MORAN("moran", "update active links only (destroys time-scale)");
+		MORAN("moran", "update active links only (destroys time-scale)"),
+
+		/**
+		 * Maintain the trait counts in the neighbourhoods of all individuals for
+		 * pairwise interactions on undirected graphs. Pays off for high degree
+		 * graphs.
+		 * 
+		 * @see IBSDPopulation#optimizeNeighCounts
+		 */
+		NEIGHBOURS("neighbours", "maintain trait counts of neighbourhoods (pairwise, undirected graphs)"),
+
+		/**
+		 * Approximate tau-leaping for well-mixed populations with Moran-type updates
+		 * by advancing the trait counts in batches of events. The optional argument
+		 * sets the error control.
+		 * 
+		 * @see IBSDPopulation#optimizeTau
+		 */
+		TAU("tau", "tau-leaping in well-mixed populations, error <e> (approximate, single species only)"),
+
+		/**
+		 * Draw ecological events with probabilities proportional to their rates
+		 * instead of picking sites uniformly at random and rejecting events that
+		 * cannot happen, e.g. offspring placed on occupied sites.
+		 * 
+		 * @see IBSDPopulation#optimizeEcology
+		 */
+		ECOLOGY("ecology", "sample ecological events by rates (no rejections)");
 
 		/**
 		 * Key of optimization type. Used when parsing command line options.
@@ -543,6 +581,9 @@ public class IBSD extends IBS implements DModel {
 					for (Module<?> mod : species) {
 						IBSDPopulation dpop = (IBSDPopulation) mod.getIBSPopulation();
 						dpop.optimizeMoran = false;
+						dpop.optimizeNeighCounts = false;
+						dpop.optimizeTau = false;
+						dpop.optimizeEcology = false;
 					}
 					// process requested optimizations
 					String[] optis = arg.split(CLOParser.VECTOR_DELIMITER);
@@ -565,11 +606,46 @@ public class IBSD extends IBS implements DModel {
 									dpop.optimizeMoran = true;
 								}
 								break;
+							case NEIGHBOURS:
+								for (Module<?> mod : species) {
+									IBSDPopulation dpop = (IBSDPopulation) mod.getIBSPopulation();
+									dpop.optimizeNeighCounts = true;
+								}
+								break;
+							case TAU:
+								// tau-leaping (single species only)
+								if (isMultispecies) {
+									logger.warning("tau-leaping requires single species - disabled.");
+									continue;
+								}
+								IBSDPopulation tpop = (IBSDPopulation) population;
+								tpop.optimizeTau = true;
+								tpop.tauEpsilon = IBSDPopulation.TAU_EPSILON;
+								String keyarg = CLOption.stripKey(ot, opt);
+								if (keyarg.length() > 0) {
+									double eps = CLOParser.parseDouble(keyarg);
+									if (eps <= 0.0 || eps >= 1.0) {
+										logger.warning("tau-leaping error must be in (0, 1) - using default "
+												+ IBSDPopulation.TAU_EPSILON + ".");
+										continue;
+									}
+									tpop.tauEpsilon = eps;
+								}
+								break;
+							case ECOLOGY:
+								for (Module<?> mod : species) {
+									IBSDPopulation dpop = (IBSDPopulation) mod.getIBSPopulation();
+									dpop.optimizeEcology = true;
+								}
+								break;
 							case NONE:
 								optimizeHomo = false;
 								for (Module<?> mod : species) {
 									IBSDPopulation dpop = (IBSDPopulation) mod.getIBSPopulation();
 									dpop.optimizeMoran = false;
+									dpop.optimizeNeighCounts = false;
+									dpop.optimizeTau = false;
+									dpop.optimizeEcology = false;
 								}
 								break;
 							default:
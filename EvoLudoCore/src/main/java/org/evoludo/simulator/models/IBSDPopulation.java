@@ -38,6 +38,9 @@ import java.util.logging.Level;
 
 import org.evoludo.math.ArrayMath;
 import org.evoludo.math.Combinatorics;
+import org.evoludo.math.RNGDistribution;
+import org.evoludo.math.RandomNumberGenerator;
+import org.evoludo.math.SumTree;
 import org.evoludo.simulator.ColorMap;
 import org.evoludo.simulator.EvoLudo;
 import org.evoludo.simulator.Geometry;
@@ -46,8 +49,10 @@ import org.evoludo.simulator.models.IBSD.Init;
 import org.evoludo.simulator.models.Model.HasIBS;
 import org.evoludo.simulator.modules.Discrete;
 import org.evoludo.simulator.modules.Mutation;
+import org.evoludo.simulator.modules.PlayerUpdate;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * The core class for individual based simulations with discrete traits. Manages
@@ -121,6 +126,153 @@ public class IBSDPopulation extends IBSPopulation {
 	 */
 	protected boolean optimizeMoran = false;
 
+	/**
+	 * The flag to indicate whether tau-leaping is requested for well-mixed
+	 * populations. Instead of processing one event at a time, the trait counts
+	 * are advanced in batches of events drawn from the multinomial distribution of
+	 * trait transitions.
+	 * 
+	 * <h3>Note:</h3>
+	 * <ol>
+	 * <li>Tau-leaping is requested with the command line option
+	 * <code>--optimize tau[&lt;e&gt;]</code>, see {@link IBSD#cloOptimize}, where
+	 * {@code e} sets the error control {@link #tauEpsilon}.
+	 * <li>Tau-leaping is approximate because the transition probabilities are
+	 * assumed constant during a leap. It is restricted to single species,
+	 * well-mixed populations with Moran-type updates and payoffs that are
+	 * determined by the trait counts alone.
+	 * <li>Close to absorbing states, the population reverts to exact events.
+	 * </ol>
+	 * 
+	 * @see #leap(int)
+	 */
+	protected boolean optimizeTau = false;
+
+	/**
+	 * The default error control for tau-leaping.
+	 * 
+	 * @see #tauEpsilon
+	 */
+	public static final double TAU_EPSILON = 0.03;
+
+	/**
+	 * The error control for tau-leaping. The number of events of a leap is chosen
+	 * such that the expected change as well as the standard deviation of the
+	 * change of every trait count does not exceed the fraction {@code tauEpsilon}
+	 * of that count (or one individual).
+	 * 
+	 * @see #optimizeTau
+	 */
+	protected double tauEpsilon = TAU_EPSILON;
+
+	/**
+	 * The flag to indicate whether the trait counts in the neighbourhoods of all
+	 * individuals are maintained. Requested with the command line option
+	 * {@code --optimize neighbours}, see {@link IBSD#cloOptimize}.
+	 * 
+	 * @see #neighCounts
+	 */
+	protected boolean optimizeNeighCounts = false;
+
+	/**
+	 * Optimization: The trait counts in the neighbourhoods of all individuals. The
+	 * counts for the neighbourhood of individual {@code i} are stored in
+	 * {@code neighCounts[i * nTraits]} through
+	 * {@code neighCounts[(i + 1) * nTraits - 1]}. Rebuilt on demand after the
+	 * traits of the population changed wholesale, and maintained incrementally in
+	 * {@link #commitTraitAt(int)} whenever a single individual changes its trait.
+	 * This reduces the effort to determine the composition of a neighbourhood
+	 * from \(O(k)\) to \(O(n)\), where \(k\) denotes the number of neighbours
+	 * and \(n\) the number of traits. Only available for pairwise interactions
+	 * with all neighbours on undirected graphs. {@code null} if not requested or
+	 * not applicable.
+	 * 
+	 * @see #getNeighCountsAt(int, int[])
+	 */
+	private int[] neighCounts;
+
+	/**
+	 * The flag to indicate whether {@link #neighCounts} reflects the current
+	 * traits.
+	 */
+	private boolean neighCountsValid;
+
+	/**
+	 * Temporary storage for the neighbours of individuals on implicit lattices or
+	 * frozen geometries when maintaining {@link #neighCounts}.
+	 */
+	private int[] tmpNeighs;
+
+	/**
+	 * The flag to indicate whether ecological events are drawn with probabilities
+	 * proportional to their rates. Requested with the command line option
+	 * {@code --optimize ecology}, see {@link IBSD#cloOptimize}.
+	 * <p>
+	 * By default, ecological updates pick an individual uniformly at random and
+	 * reject the event if, for example, the offspring would be placed on an
+	 * occupied site. Close to saturation almost all draws are rejected. Instead,
+	 * the birth rates of all individuals are maintained in {@link #ecoTree} such
+	 * that every draw results in an event. The sequence of events and the time
+	 * line are statistically the same as without this optimization.
+	 * 
+	 * @see #updatePlayerEcology()
+	 */
+	protected boolean optimizeEcology = false;
+
+	/**
+	 * Optimization: The birth rates of all individuals for ecological updates. The
+	 * rate of individual {@code i} is its fitness times the fraction of vacant
+	 * sites in its competition neighbourhood, or simply its fitness for well-mixed
+	 * competition. Vacant sites have rate zero. Rebuilt on demand after the traits
+	 * or scores of the population changed wholesale, and maintained incrementally
+	 * whenever a single individual changes its trait or fitness. {@code null} if
+	 * not requested or not applicable.
+	 * 
+	 * @see #optimizeEcology
+	 */
+	private SumTree ecoTree;
+
+	/**
+	 * The number of vacant sites in the competition neighbourhood of every site.
+	 * {@code null} for well-mixed competition.
+	 * 
+	 * @see #ecoTree
+	 */
+	private int[] ecoVacant;
+
+	/**
+	 * The indices of all sites with the {@link #ecoOccupied} occupied sites first
+	 * followed by the vacant ones. This allows to pick occupied or vacant sites
+	 * uniformly at random in constant time.
+	 * 
+	 * @see #ecoIndex
+	 */
+	private int[] ecoSites;
+
+	/**
+	 * The position of every site in {@link #ecoSites}.
+	 */
+	private int[] ecoIndex;
+
+	/**
+	 * The number of occupied sites.
+	 * 
+	 * @see #ecoSites
+	 */
+	private int ecoOccupied;
+
+	/**
+	 * The flag to indicate whether {@link #ecoTree} reflects the current traits
+	 * and fitness.
+	 */
+	private boolean ecoValid;
+
+	/**
+	 * Temporary storage for the competition neighbours of individuals on implicit
+	 * lattices or frozen geometries when maintaining {@link #ecoTree}.
+	 */
+	private int[] ecoNeighs;
+
 	/**
 	 * The mutation parameters.
 	 */
@@ -153,14 +305,25 @@ public class IBSDPopulation extends IBSPopulation {
 	}
 
 	/**
-	 * The array of individual traits.
+	 * The maximum number of traits supported by individual based simulations.
+	 * Traits are stored as {@code byte}s and, in addition to the trait index in
+	 * {@code [0, nTraits)}, need to encode whether the trait has changed, i.e.
+	 * values in {@code [nTraits, 2*nTraits)}.
+	 */
+	public static final int MAX_TRAITS = (Byte.MAX_VALUE + 1) / 2;
+
+	/**
+	 * The array of individual traits. Stored as {@code byte}s to reduce the memory
+	 * footprint and bandwidth of large populations.
+	 * 
+	 * @see #MAX_TRAITS
 	 */
-	int[] traits;
+	byte[] traits;
 
 	/**
 	 * The array for temporarily storing traits during updates.
 	 */
-	protected int[] traitsNext;
+	protected byte[] traitsNext;
 
 	/**
 	 * The array indicating which traits are active. Convenience field to reduce
@@ -254,6 +417,11 @@ public class IBSDPopulation extends IBSPopulation {
 
 			// create list of active links
 			// birth-death: keep track of all nodes that have different downstream neighbors
+			// use compressed sparse row representation of frozen geometries
+			int[] outOffsets = competition.getOutOffsets();
+			int[] outTargets = competition.getOutTargets();
+			int[] inOffsets = competition.getInOffsets();
+			int[] inTargets = competition.getInTargets();
 			int nact = 0;
 			double totscore = 0.0;
 			for (int n = 0; n < nPopulation; n++) {
@@ -261,9 +429,14 @@ public class IBSDPopulation extends IBSPopulation {
 				if (type != rareType)
 					continue;
 				// check out-neighbors
-				int[] neighs = competition.out[n];
+				int[] neighs = competition.getOutAt(n, focalNeighs);
+				int from = 0;
+				if (outTargets != null) {
+					neighs = outTargets;
+					from = outOffsets[n];
+				}
 				int no = competition.kout[n];
-				for (int i = 0; i < no; i++) {
+				for (int i = from; i < from + no; i++) {
 					int aneigh = neighs[i];
 					if (getTraitAt(aneigh) == type)
 						continue;
@@ -275,9 +448,14 @@ public class IBSDPopulation extends IBSPopulation {
 					nact++;
 				}
 				// check in-neighbors
-				neighs = competition.in[n];
+				neighs = competition.getInAt(n, focalNeighs);
+				from = 0;
+				if (inTargets != null) {
+					neighs = inTargets;
+					from = inOffsets[n];
+				}
 				int ni = competition.kin[n];
-				for (int i = 0; i < ni; i++) {
+				for (int i = from; i < from + ni; i++) {
 					int aneigh = neighs[i];
 					if (getTraitAt(aneigh) == type)
 						continue;
@@ -308,13 +486,20 @@ public class IBSDPopulation extends IBSPopulation {
 		// default, more than two traits - check all nodes
 		// create list of active links
 		// birth-death: keep track of all nodes that have different downstream neighbors
+		int[] offsets = competition.getOutOffsets();
+		int[] targets = competition.getOutTargets();
 		int nact = 0;
 		double totscore = 0.0;
 		for (int n = 0; n < nPopulation; n++) {
 			int type = getTraitAt(n);
-			int[] neighs = competition.out[n];
+			int[] neighs = competition.getOutAt(n, focalNeighs);
+			int from = 0;
+			if (targets != null) {
+				neighs = targets;
+				from = offsets[n];
+			}
 			int nn = competition.kout[n];
-			for (int i = 0; i < nn; i++) {
+			for (int i = from; i < from + nn; i++) {
 				int aneigh = neighs[i];
 				if (getTraitAt(aneigh) == type)
 					continue;
@@ -372,15 +557,22 @@ public class IBSDPopulation extends IBSPopulation {
 		// create list of active links
 		// death-birth: keep track of all nodes that have at least one different
 		// upstream neighbor
+		int[] offsets = competition.getInOffsets();
+		int[] targets = competition.getInTargets();
 		int nact = 0;
 		double totscore = 0.0;
 		for (int n = 0; n < nPopulation; n++) {
 			int type = getTraitAt(n);
-			int[] neighs = competition.in[n];
+			int[] neighs = competition.getInAt(n, focalNeighs);
+			int from = 0;
+			if (targets != null) {
+				neighs = targets;
+				from = offsets[n];
+			}
 			int nn = competition.kin[n];
 			double nodescore = withSelf ? getFitnessAt(n) : 0.0;
 			int count = 0;
-			for (int i = 0; i < nn; i++) {
+			for (int i = from; i < from + nn; i++) {
 				int aneigh = neighs[i];
 				double ascore = getFitnessAt(aneigh);
 				nodescore += ascore;
@@ -447,6 +639,259 @@ public class IBSDPopulation extends IBSPopulation {
 		double fitness;
 	}
 
+	/**
+	 * The minimum count of any surviving trait for tau-leaping in the absence of
+	 * mutations. Below this count the population is close to an absorbing state
+	 * and exact events are processed instead.
+	 * 
+	 * @see #leap(int)
+	 */
+	private static final int TAU_CRITICAL = 10;
+
+	/**
+	 * The minimum number of events in a leap. Shorter leaps do not pay off and
+	 * exact events are processed instead.
+	 * 
+	 * @see #leap(int)
+	 */
+	private static final int TAU_MIN_EVENTS = 100;
+
+	/**
+	 * The number of exact events to process before attempting to leap again.
+	 * 
+	 * @see #leap(int)
+	 */
+	private static final int TAU_EXACT_EVENTS = 100;
+
+	/**
+	 * The number of remaining exact events before attempting to leap again.
+	 */
+	private int tauExact = 0;
+
+	/**
+	 * The probabilities of all transitions {@code i -> j} in a single event, where
+	 * an individual with trait {@code i} is replaced by the offspring of an
+	 * individual with trait {@code j}, stored at {@code i * nTraits + j}.
+	 */
+	private double[] tauRates;
+
+	/**
+	 * The change of the trait counts in a leap.
+	 */
+	private int[] tauDelta;
+
+	/**
+	 * The distribution to draw the number of events in a leap. Reused to avoid
+	 * repeated setups.
+	 */
+	private RNGDistribution.Binomial tauBinomial;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Tau-leaping for well-mixed populations with Moran-type updates. The number
+	 * of events is chosen based on the expected change and variance of the trait
+	 * counts (see {@link #tauEpsilon}). The number of transitions
+	 * {@code i -> j} is drawn from the multinomial distribution of all
+	 * transitions, mutations are drawn separately. If any trait count would turn
+	 * negative, the leap is rejected and retried with half the number of events.
+	 * Exact events are processed if the leap turns out too short or the population
+	 * is close to an absorbing state. Finally, individuals are picked uniformly at
+	 * random to change their traits such that the trait counts match.
+	 * 
+	 * @see <a href="https://doi.org/10.1063/1.2159468">Cao, Y., Gillespie, D. T.
+	 *      &amp; Petzold, L. R. (2006) Efficient step size selection for the
+	 *      tau-leaping simulation method, J. Chem. Phys. 124, 044109</a>
+	 */
+	@Override
+	public int leap(int maxEvents) {
+		if (!optimizeTau)
+			return 0;
+		if (tauExact > 0) {
+			tauExact--;
+			return 0;
+		}
+		int nEvents = leapSize(maxEvents);
+		while (nEvents >= TAU_MIN_EVENTS) {
+			if (leapEvents(nEvents)) {
+				commitLeap();
+				return nEvents;
+			}
+			nEvents /= 2;
+		}
+		tauExact = TAU_EXACT_EVENTS;
+		return 0;
+	}
+
+	/**
+	 * Helper method to calculate the transition probabilities of single events
+	 * and determine the number of events of the next leap.
+	 * 
+	 * @param maxEvents the maximum number of events
+	 * @return the number of events or {@code 0} if exact events are required
+	 */
+	private int leapSize(int maxEvents) {
+		double mu = mutation.probability;
+		double totFit = 0.0;
+		for (int i = 0; i < nTraits; i++) {
+			int xi = traitsCount[i];
+			if (mu <= 0.0 && xi > 0 && xi < TAU_CRITICAL)
+				// close to absorbing state
+				return 0;
+			totFit += xi * typeFitness[i];
+		}
+		if (totFit <= 0.0)
+			return 0;
+		double iPop = 1.0 / nPopulation;
+		boolean deathBirth = populationUpdate.getType() == PopulationUpdate.Type.MORAN_DEATHBIRTH;
+		for (int i = 0; i < nTraits; i++) {
+			int xi = traitsCount[i];
+			int row = i * nTraits;
+			// death-birth: the focal individual is not a candidate parent
+			double norm = (deathBirth ? totFit - typeFitness[i] : totFit);
+			if (xi == 0 || norm <= 0.0) {
+				Arrays.fill(tauRates, row, row + nTraits, 0.0);
+				continue;
+			}
+			norm = xi * iPop / norm;
+			for (int j = 0; j < nTraits; j++) {
+				int xj = traitsCount[j];
+				if (deathBirth && j == i)
+					xj--;
+				tauRates[row + j] = norm * xj * typeFitness[j];
+			}
+		}
+		// expected change and variance of trait counts per event
+		double nEvents = maxEvents;
+		for (int i = 0; i < nTraits; i++) {
+			double drift = 0.0;
+			double var = mu;
+			for (int j = 0; j < nTraits; j++) {
+				if (j == i)
+					continue;
+				double in = tauRates[j * nTraits + i];
+				double out = tauRates[i * nTraits + j];
+				drift += in - out;
+				var += in + out;
+			}
+			double bound = Math.max(tauEpsilon * traitsCount[i], 1.0);
+			drift = Math.abs(drift) + mu;
+			nEvents = Math.min(nEvents, Math.min(bound / drift, bound * bound / var));
+		}
+		return (int) nEvents;
+	}
+
+	/**
+	 * Helper method to draw the change of the trait counts for a leap of
+	 * {@code nEvents} events. The result is stored in {@link #tauDelta}.
+	 * 
+	 * @param nEvents the number of events
+	 * @return {@code true} if all trait counts remain non-negative
+	 */
+	private boolean leapEvents(int nEvents) {
+		Arrays.fill(tauDelta, 0);
+		double mu = mutation.probability;
+		boolean temperature = mutation.temperature;
+		int nRepl = nEvents;
+		if (mu > 0.0 && !temperature) {
+			// mutation events affect individuals picked uniformly at random
+			int nMut = nextTauBinomial(nEvents, mu);
+			nRepl -= nMut;
+			int rest = nPopulation;
+			for (int i = 0; i < nTraits && nMut > 0; i++) {
+				int xi = traitsCount[i];
+				int mi = nextTauBinomial(nMut, (double) xi / rest);
+				nMut -= mi;
+				rest -= xi;
+				for (int m = 0; m < mi; m++) {
+					tauDelta[i]--;
+					tauDelta[mutation.mutate(i)]++;
+				}
+			}
+		}
+		// replication events; transitions i -> i only matter for mutations
+		boolean mutate = (mu > 0.0 && temperature);
+		double prem = 1.0;
+		int nTransitions = nTraits * nTraits;
+		for (int c = 0; c < nTransitions && nRepl > 0; c++) {
+			int i = c / nTraits;
+			int j = c % nTraits;
+			if (i == j && !mutate)
+				continue;
+			double rate = tauRates[c];
+			int r = nextTauBinomial(nRepl, rate / prem);
+			nRepl -= r;
+			prem -= rate;
+			int m = (mutate ? nextTauBinomial(r, mu) : 0);
+			if (i != j) {
+				tauDelta[i] -= r - m;
+				tauDelta[j] += r - m;
+			}
+			for (int k = 0; k < m; k++) {
+				tauDelta[i]--;
+				tauDelta[mutation.mutate(j)]++;
+			}
+		}
+		for (int i = 0; i < nTraits; i++) {
+			if (traitsCount[i] + tauDelta[i] < 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Helper method to commit the change of the trait counts in
+	 * {@link #tauDelta} to the population. Individuals are picked uniformly at
+	 * random and, if their trait count decreases, switch to a trait whose count
+	 * increases. Finally, the scores are updated.
+	 */
+	private void commitLeap() {
+		int nChanges = 0;
+		for (int i = 0; i < nTraits; i++) {
+			if (tauDelta[i] < 0)
+				nChanges -= tauDelta[i];
+		}
+		int gain = 0;
+		while (nChanges > 0) {
+			int idx = random0n(nPopulation);
+			int loss = getTraitAt(idx);
+			if (tauDelta[loss] >= 0)
+				continue;
+			while (tauDelta[gain] <= 0)
+				gain++;
+			tauDelta[loss]++;
+			tauDelta[gain]--;
+			traitsCount[loss]--;
+			traitsCount[gain]++;
+			// mark change
+			traits[idx] = (byte) (gain + nTraits);
+			traitsNext[idx] = traits[idx];
+			nChanges--;
+		}
+		updateScores();
+	}
+
+	/**
+	 * Helper method to draw binomially distributed random numbers for
+	 * tau-leaping.
+	 * 
+	 * @param n the number of trials
+	 * @param p the success probability
+	 * @return the number of successes
+	 */
+	private int nextTauBinomial(int n, double p) {
+		if (n == 0 || p <= 0.0)
+			return 0;
+		if (p >= 1.0)
+			return n;
+		RandomNumberGenerator gen = rng.getRNG();
+		if (tauBinomial == null || tauBinomial.getRNG() != gen)
+			tauBinomial = new RNGDistribution.Binomial(gen, p, n);
+		else
+			tauBinomial.setProbabilityTrials(p, n);
+		return tauBinomial.next();
+	}
+
 	/**
 	 * Perform a single ecological update of the individual with index {@code me}:
 	 * <ol>
@@ -467,7 +912,7 @@ public class IBSDPopulation extends IBSPopulation {
 		double randomTestVal = random01() * maxRate; // time rescaling
 		if (randomTestVal < deathRate) {
 			// vacate focal site
-			traitsNext[me] = VACANT + nTraits; // more efficient than setNextTraitAt(me, VACANT)
+			traitsNext[me] = (byte) (VACANT + nTraits); // more efficient than setNextTraitAt(me, VACANT)
 			updateScoreAt(me, true);
 			if (nPop == 1) {
 				// population went extinct, no more events possible
@@ -491,6 +936,182 @@ public class IBSDPopulation extends IBSPopulation {
 		return 1;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * <strong>Note:</strong> If {@link #optimizeEcology} is requested, events are
+	 * drawn with probabilities proportional to their rates:
+	 * <ol>
+	 * <li>With a probability proportional to the death rate times the number of
+	 * occupied sites, an individual picked uniformly at random dies.
+	 * <li>Otherwise, an individual is picked with a probability proportional to its
+	 * birth rate, see {@link #ecoTree}, and places clonal offspring on a vacant
+	 * site in its competition neighbourhood picked uniformly at random.
+	 * </ol>
+	 * This eliminates the rejected events of the default implementation.
+	 * 
+	 * @see #updatePlayerEcologyAt(int)
+	 */
+	@Override
+	public int updatePlayerEcology() {
+		if (!optimizeEcology)
+			return super.updatePlayerEcology();
+		if (!ecoValid)
+			initEcology();
+		double deaths = module.getDeathRate() * ecoOccupied;
+		double births = getEcologyBirthRate();
+		double total = deaths + births;
+		if (total <= 0.0)
+			// nothing can happen, no time elapsed
+			return 0;
+		double hit = random01() * total;
+		if (hit < deaths) {
+			// vacate random site
+			debugFocal = ecoSites[random0n(ecoOccupied)];
+			debugModel = -1;
+			traitsNext[debugFocal] = (byte) (VACANT + nTraits);
+			updateScoreAt(debugFocal, true);
+			// population went extinct, no more events possible
+			return (ecoOccupied == 0 ? -1 : 1);
+		}
+		// place offspring of individual picked proportional to birth rate
+		debugFocal = ecoTree.find((hit - deaths) / births * ecoTree.sum());
+		if (competition.getType() == Geometry.Type.MEANFIELD)
+			debugModel = ecoSites[ecoOccupied + random0n(nPopulation - ecoOccupied)];
+		else
+			debugModel = pickVacantNeighborAt(debugFocal);
+		maybeMutateMoran(debugFocal, debugModel);
+		return 1;
+	}
+
+	/**
+	 * Picks a vacant site in the competition neighbourhood of the individual with
+	 * index {@code me} uniformly at random.
+	 * 
+	 * @param me the index of the focal individual
+	 * @return the index of the vacant site
+	 */
+	private int pickVacantNeighborAt(int me) {
+		int[] neighs = competition.getOutAt(me, ecoNeighs);
+		int hit = random0n(ecoVacant[me]);
+		int n = 0;
+		while (true) {
+			int you = neighs[n++];
+			if (isVacantAt(you) && hit-- == 0)
+				return you;
+		}
+	}
+
+	/**
+	 * Gets the total birth rate of the population for ecological updates. In
+	 * well-mixed populations offspring are placed on a site picked uniformly at
+	 * random and hence the fitness of all individuals is scaled by the fraction of
+	 * vacant sites.
+	 * 
+	 * @return the total birth rate
+	 * 
+	 * @see #ecoTree
+	 */
+	private double getEcologyBirthRate() {
+		double births = ecoTree.sum();
+		if (competition.getType() != Geometry.Type.MEANFIELD)
+			return births;
+		if (nPopulation < 2)
+			return 0.0;
+		return births * (nPopulation - ecoOccupied) / (nPopulation - 1);
+	}
+
+	/**
+	 * Rebuilds the birth rates of all individuals and the sets of occupied and
+	 * vacant sites for optimized ecological updates.
+	 * 
+	 * @see #optimizeEcology
+	 */
+	private void initEcology() {
+		ecoOccupied = 0;
+		int vacant = nPopulation;
+		for (int n = 0; n < nPopulation; n++) {
+			int pos = (isVacantAt(n) ? --vacant : ecoOccupied++);
+			ecoSites[pos] = n;
+			ecoIndex[n] = pos;
+		}
+		boolean wellmixed = (competition.getType() == Geometry.Type.MEANFIELD);
+		for (int n = 0; n < nPopulation; n++) {
+			if (!wellmixed) {
+				int[] neighs = competition.getOutAt(n, ecoNeighs);
+				int nNeighs = competition.kout[n];
+				int count = 0;
+				for (int i = 0; i < nNeighs; i++) {
+					if (isVacantAt(neighs[i]))
+						count++;
+				}
+				ecoVacant[n] = count;
+			}
+			updateEcologyAt(n);
+		}
+		ecoValid = true;
+	}
+
+	/**
+	 * Updates the birth rate of the individual with index {@code idx} for
+	 * optimized ecological updates.
+	 * 
+	 * @param idx the index of the individual
+	 * 
+	 * @see #ecoTree
+	 */
+	private void updateEcologyAt(int idx) {
+		if (isVacantAt(idx)) {
+			ecoTree.set(idx, 0.0);
+			return;
+		}
+		double rate = getFitnessAt(idx);
+		if (competition.getType() != Geometry.Type.MEANFIELD) {
+			int nNeighs = competition.kout[idx];
+			rate = (nNeighs > 0 ? rate * ecoVacant[idx] / nNeighs : 0.0);
+		}
+		ecoTree.set(idx, rate);
+	}
+
+	/**
+	 * Updates the optimized ecological updates after the individual with index
+	 * {@code me} changed its trait from {@code oldtype} to {@code newtype}. If the
+	 * site was vacated or populated the counts of vacant sites and the birth rates
+	 * of all individuals that compete for the site are updated.
+	 * 
+	 * @param me      the index of the individual
+	 * @param oldtype the previous trait
+	 * @param newtype the new trait
+	 * 
+	 * @see #ecoTree
+	 */
+	private void commitEcologyAt(int me, int oldtype, int newtype) {
+		boolean vacated = (newtype == VACANT);
+		if (vacated == (oldtype == VACANT)) {
+			updateEcologyAt(me);
+			return;
+		}
+		// move site across boundary between occupied and vacant sites
+		int last = (vacated ? --ecoOccupied : ecoOccupied++);
+		int pos = ecoIndex[me];
+		int other = ecoSites[last];
+		ecoSites[pos] = other;
+		ecoIndex[other] = pos;
+		ecoSites[last] = me;
+		ecoIndex[me] = last;
+		updateEcologyAt(me);
+		if (competition.getType() == Geometry.Type.MEANFIELD)
+			return;
+		int change = (vacated ? 1 : -1);
+		int[] neighs = competition.getInAt(me, ecoNeighs);
+		int nNeighs = competition.kin[me];
+		for (int n = 0; n < nNeighs; n++) {
+			int you = neighs[n];
+			ecoVacant[you] += change;
+			updateEcologyAt(you);
+		}
+	}
+
 	@Override
 	public void updateFromModelAt(int index, int modelPlayer) {
 		super.updateFromModelAt(index, modelPlayer); // deal with tags
@@ -498,7 +1119,7 @@ public class IBSDPopulation extends IBSPopulation {
 		int oldtrait = getTraitAt(index);
 		if (oldtrait != newtrait)
 			newtrait += nTraits;
-		traitsNext[index] = newtrait;
+		traitsNext[index] = (byte) newtrait;
 	}
 
 	@Override
@@ -519,11 +1140,21 @@ public class IBSDPopulation extends IBSPopulation {
 		return switched;
 	}
 
+	@Override
+	protected boolean maybeMutateAt(int focal, boolean switched, RNGDistribution rand) {
+		if (mutation.doMutate(rand)) {
+			int trait = (switched ? traitsNext[focal] : traits[focal]) % nTraits;
+			setNextTraitAt(focal, mutation.mutate(trait, rand));
+			return true;
+		}
+		return switched;
+	}
+
 	@Override
 	protected void maybeMutateMoran(int source, int dest) {
 		updateFromModelAt(dest, source);
 		if (mutation.doMutate())
-			traitsNext[dest] = mutation.mutate(traitsNext[dest] % nTraits) + nTraits;
+			traitsNext[dest] = (byte) (mutation.mutate(traitsNext[dest] % nTraits) + nTraits);
 		updateScoreAt(dest, true);
 	}
 
@@ -531,13 +1162,13 @@ public class IBSDPopulation extends IBSPopulation {
 	protected void debugMarkChange() {
 		super.debugMarkChange(); // for logging of update
 		if (debugFocal >= 0)
-			traits[debugFocal] = getTraitAt(debugFocal) + nTraits;
+			traits[debugFocal] = (byte) (getTraitAt(debugFocal) + nTraits);
 		if (debugModel >= 0)
-			traits[debugModel] = getTraitAt(debugModel) + nTraits;
+			traits[debugModel] = (byte) (getTraitAt(debugModel) + nTraits);
 		if (debugNModels > 0) {
 			for (int n = 0; n < debugNModels; n++) {
 				int idx = debugModels[n];
-				traits[idx] = getTraitAt(idx) + nTraits;
+				traits[idx] = (byte) (getTraitAt(idx) + nTraits);
 			}
 		}
 	}
@@ -572,6 +1203,8 @@ public class IBSDPopulation extends IBSPopulation {
 	@Override
 	public void setScoreAt(int index, double newscore, int inter) {
 		super.setScoreAt(index, newscore, inter);
+		if (ecoValid)
+			updateEcologyAt(index);
 		int type = getTraitAt(index);
 		if (type == VACANT)
 			return;
@@ -623,7 +1256,9 @@ public class IBSDPopulation extends IBSPopulation {
 	 * @see org.evoludo.simulator.modules.Module#nTraits Module.nTraits
 	 */
 	public void setTraitAt(int idx, int trait) {
-		traits[idx] = trait;
+		traits[idx] = (byte) trait;
+		neighCountsValid = false;
+		ecoValid = false;
 	}
 
 	/**
@@ -640,7 +1275,7 @@ public class IBSDPopulation extends IBSPopulation {
 		int next = trait % nTraits;
 		if (!active[next])
 			return false;
-		traitsNext[idx] = nTraits + next;
+		traitsNext[idx] = (byte) (nTraits + next);
 		return getTraitAt(idx) != next;
 	}
 
@@ -649,6 +1284,24 @@ public class IBSDPopulation extends IBSPopulation {
 		accuTypeScores[getTraitAt(index)] -= getScoreAt(index);
 		super.resetScoreAt(index);
 		accuTypeScores[traitsNext[index] % nTraits] += getScoreAt(index);
+		if (ecoValid)
+			updateEcologyAt(index);
+	}
+
+	@Override
+	public void updateFitnessAt(int idx) {
+		super.updateFitnessAt(idx);
+		if (ecoValid)
+			updateEcologyAt(idx);
+	}
+
+	@Override
+	public void swapScoresAt(int idxa, int idxb) {
+		super.swapScoresAt(idxa, idxb);
+		if (ecoValid) {
+			updateEcologyAt(idxa);
+			updateEcologyAt(idxb);
+		}
 	}
 
 	@Override
@@ -658,6 +1311,7 @@ public class IBSDPopulation extends IBSPopulation {
 			return;
 
 		super.resetScores();
+		ecoValid = false;
 		Arrays.fill(accuTypeScores, 0.0);
 		if (VACANT >= 0)
 			accuTypeScores[VACANT] = Double.NaN;
@@ -699,6 +1353,150 @@ public class IBSDPopulation extends IBSPopulation {
 		super.updateScores();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * <strong>Note:</strong> Parallel synchronous updates are restricted to
+	 * pairwise interactions with all neighbours on undirected graphs (without
+	 * lookup tables). Under these circumstances each individual can calculate its
+	 * own score, see {@link #updateScoresSync(SyncChunk)}.
+	 */
+	@Override
+	public boolean permitsParallelSync() {
+		return populationUpdate.getType() == PopulationUpdate.Type.SYNC && syncFraction >= 1.0
+				&& pMigration <= 0.0 && opponent == this && module.isPairwise() && !module.isStatic()
+				&& !playerScoring.equals(ScoringType.EPHEMERAL)
+				&& playerUpdate.getType() != PlayerUpdate.Type.BEST_RESPONSE
+				&& !hasLookupTable && fitTree == null && interGroup.isSampling(IBSGroup.SamplingType.ALL)
+				&& interaction.isUndirected && interaction.getType() != Geometry.Type.MEANFIELD
+				&& interaction.getType() != Geometry.Type.HIERARCHY;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * <strong>Note:</strong> Sublattice updates are restricted to pairwise
+	 * interactions or static fitness on lattices. Mutations must occur during
+	 * updates (temperature based) rather than as separate events.
+	 */
+	@Override
+	public boolean permitsSublatticeUpdates() {
+		return populationUpdate.getType() == PopulationUpdate.Type.CHECKERBOARD && pMigration <= 0.0
+				&& opponent == this && (module.isPairwise() || module.isStatic())
+				&& !playerScoring.equals(ScoringType.EPHEMERAL)
+				&& playerUpdate.getType() != PlayerUpdate.Type.BEST_RESPONSE
+				&& (mutation.temperature || mutation.probability <= 0.0)
+				&& interaction.getType().isLattice() && competition.getType().isLattice()
+				&& !interaction.isDynamic && !competition.isDynamic;
+	}
+
+	@Override
+	protected SyncChunk createSyncChunk(int start, int end) {
+		return new DSyncChunk(start, end);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * <strong>Note:</strong> In contrast to {@link #playPairGameAt(IBSGroup)},
+	 * the payoffs of the neighbours are not updated. Instead, each individual
+	 * collects the payoffs from all its neighbours. On undirected graphs the
+	 * neighbours contribute the same payoffs as the focal individual earns when
+	 * interacting with them. Hence, the scores are the same but only the focal
+	 * individual is modified.
+	 */
+	@Override
+	void updateScoresSync(SyncChunk chunk) {
+		DSyncChunk dchunk = (DSyncChunk) chunk;
+		IBSGroup group = chunk.interGroup;
+		double[] accu = dchunk.accuTypeScores;
+		Arrays.fill(accu, 0.0);
+		chunk.resetReductions();
+		for (int n = chunk.start; n < chunk.end; n++) {
+			int myType = getTraitAt(n);
+			if (myType != VACANT) {
+				group.pickAt(n, true);
+				stripGroupVacancies(group, dchunk.tmpTraits, dchunk.tmpGroup);
+				int nInter = group.nSampled;
+				countTraits(dchunk.tmpCount, dchunk.tmpTraits, 0, nInter);
+				double myScore = pairmodule.pairScores(myType, dchunk.tmpCount, dchunk.tmpTraitScore);
+				// every interaction counts twice, once as focal and once as neighbour
+				if (playerScoreAveraged)
+					scores[n] = (nInter > 0 ? myScore / nInter : myScore);
+				else
+					scores[n] = 2.0 * myScore;
+				interactions[n] = 2 * nInter;
+				accu[myType] += scores[n];
+			}
+			// vacant sites are mapped as in updateFitnessAt(int)
+			double fit = map2fit.map(scores[n]);
+			fitness[n] = fit;
+			chunk.reduce(n, scores[n], fit);
+		}
+	}
+
+	@Override
+	void mergeSyncScores(SyncChunk[] chunks) {
+		super.mergeSyncScores(chunks);
+		Arrays.fill(accuTypeScores, 0.0);
+		for (SyncChunk chunk : chunks) {
+			double[] accu = ((DSyncChunk) chunk).accuTypeScores;
+			for (int n = 0; n < nTraits; n++)
+				accuTypeScores[n] += accu[n];
+		}
+		if (VACANT >= 0)
+			accuTypeScores[VACANT] = Double.NaN;
+	}
+
+	/**
+	 * Chunk of the population for parallel synchronous updates with discrete
+	 * traits. Adds scratch space for calculating the scores as well as the
+	 * accumulated scores of each trait.
+	 */
+	class DSyncChunk extends SyncChunk {
+
+		/**
+		 * Scratch space for the traits of the members of the interaction group.
+		 */
+		final int[] tmpTraits;
+
+		/**
+		 * Scratch space for the indices of the members of the interaction group.
+		 */
+		final int[] tmpGroup;
+
+		/**
+		 * Scratch space for the number of each trait in the interaction group.
+		 */
+		final int[] tmpCount;
+
+		/**
+		 * Scratch space for the scores of each trait in the interaction group.
+		 */
+		final double[] tmpTraitScore;
+
+		/**
+		 * The accumulated scores of each trait in this chunk.
+		 */
+		final double[] accuTypeScores;
+
+		/**
+		 * Create a new chunk spanning the individuals with indices {@code start}
+		 * through {@code end} (excluding).
+		 * 
+		 * @param start the index of the first individual (including)
+		 * @param end   the index of the last individual (excluding)
+		 */
+		DSyncChunk(int start, int end) {
+			super(start, end);
+			tmpTraits = new int[IBSDPopulation.this.tmpTraits.length];
+			tmpGroup = new int[IBSDPopulation.this.tmpGroup.length];
+			tmpCount = new int[nTraits];
+			tmpTraitScore = new double[nTraits];
+			accuTypeScores = new double[nTraits];
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -729,7 +1527,7 @@ public class IBSDPopulation extends IBSPopulation {
 				}
 			}
 			if (newtype != mytype) {
-				traitsNext[me] = newtype + nTraits;
+				traitsNext[me] = (byte) (newtype + nTraits);
 				return true;
 			}
 			return false;
@@ -812,7 +1610,7 @@ public class IBSDPopulation extends IBSPopulation {
 			}
 		}
 		if (newtype != mytype) {
-			traitsNext[me] = newtype + nTraits;
+			traitsNext[me] = (byte) (newtype + nTraits);
 			return true;
 		}
 		return false;
@@ -948,11 +1746,26 @@ public class IBSDPopulation extends IBSPopulation {
 		int myType = getTraitAt(me);
 		if (myType == VACANT)
 			return;
+		// for ephemeral scores calculate score of focal only
+		boolean ephemeralScores = playerScoring.equals(ScoringType.EPHEMERAL);
+		if (ephemeralScores && group == interGroup && getNeighCountsAt(me, tmpCount)) {
+			// composition of neighbourhood is known, no need to look at neighbours
+			int nInter = group.nSampled;
+			if (VACANT >= 0) {
+				nInter -= tmpCount[VACANT];
+				tmpCount[VACANT] = 0;
+			}
+			double myScore = pairmodule.pairScores(myType, tmpCount, tmpTraitScore);
+			resetScoreAt(me);
+			if (nInter <= 0)
+				updateScoreAt(me, myScore, 0);
+			else
+				setScoreAt(me, myScore / nInter, nInter);
+			return;
+		}
 		stripGroupVacancies(group, tmpTraits, tmpGroup);
 		double myScore;
 		countTraits(tmpCount, tmpTraits, 0, group.nSampled);
-		// for ephemeral scores calculate score of focal only
-		boolean ephemeralScores = playerScoring.equals(ScoringType.EPHEMERAL);
 		if (group.nSampled <= 0) {
 			// isolated individual (note the bookkeeping can be optimized)
 			myScore = pairmodule.pairScores(myType, tmpCount, tmpTraitScore);
@@ -1006,18 +1819,20 @@ public class IBSDPopulation extends IBSPopulation {
 		// count out-neighbors
 		int nIn = 0;
 		int nOut = interaction.kout[me];
-		int[] out = interaction.out[me];
+		int[] out = interaction.getOutAt(me, focalNeighs);
 		int[] in = null;
-		Arrays.fill(tmpCount, 0);
 		// count traits of (outgoing) opponents
-		for (int n = 0; n < nOut; n++)
-			tmpCount[opponent.getTraitAt(out[n])]++;
+		if (!getNeighCountsAt(me, tmpCount)) {
+			Arrays.fill(tmpCount, 0);
+			for (int n = 0; n < nOut; n++)
+				tmpCount[opponent.getTraitAt(out[n])]++;
+		}
 		int u2 = 2;
 		if (!interaction.isUndirected) {
 			// directed graph, count in-neighbors
 			u2 = 1;
 			nIn = interaction.kin[me];
-			in = interaction.in[me];
+			in = interaction.getInAt(me, otherNeighs);
 			// add traits of incoming opponents
 			for (int n = 0; n < nIn; n++)
 				tmpCount[opponent.getTraitAt(in[n])]++;
@@ -1035,6 +1850,10 @@ public class IBSDPopulation extends IBSPopulation {
 			updateEffScoreRange(me, myScore, 0.0);
 			sumFitness -= fitness[me];
 			fitness[me] = 0.0;
+			if (fitTree != null)
+				fitTree.set(me, 0.0);
+			if (ecoValid)
+				updateEcologyAt(me);
 			// neighbors lost one interaction partner - adjust (outgoing) opponent's score
 			for (int n = 0; n < nOut; n++) {
 				int you = out[n];
@@ -1394,6 +2213,23 @@ public class IBSDPopulation extends IBSPopulation {
 			counts[myTraits[n] % nTraits]++;
 	}
 
+	/**
+	 * Count the number of each trait in the array <code>traits</code> starting at
+	 * <code>offset</code> for <code>len</code> individuals. Same as
+	 * {@link #countTraits(int[], int[], int, int)} but for the compact storage of
+	 * the population traits.
+	 *
+	 * @param counts   the array to return the number of individuals with each trait
+	 * @param myTraits the array with the traits of the individuals
+	 * @param offset   the offset into the array {@code traits} to start counting
+	 * @param len      the number of individuals to count
+	 */
+	public void countTraits(int[] counts, byte[] myTraits, int offset, int len) {
+		Arrays.fill(counts, 0);
+		for (int n = offset; n < offset + len; n++)
+			counts[myTraits[n] % nTraits]++;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -1418,10 +2254,12 @@ public class IBSDPopulation extends IBSPopulation {
 	 */
 	@Override
 	public void commitTraits() {
-		int[] swap = traits;
+		byte[] swap = traits;
 		traits = traitsNext;
 		traitsNext = swap;
 		updateTraitCount();
+		neighCountsValid = false;
+		ecoValid = false;
 	}
 
 	/**
@@ -1494,6 +2332,58 @@ public class IBSDPopulation extends IBSPopulation {
 						+ accScores + " (" + Formatter.format(accuTypeScores, 8) + ")");
 			passed = false;
 		}
+		if (neighCountsValid) {
+			int[] checkNeighCounts = neighCounts;
+			neighCounts = new int[checkNeighCounts.length];
+			initNeighCounts();
+			if (!Arrays.equals(checkNeighCounts, neighCounts)) {
+				logger.warning("accounting issue: trait counts of neighbourhoods differ.");
+				passed = false;
+			}
+			neighCounts = checkNeighCounts;
+		}
+		if (ecoValid) {
+			SumTree checkTree = ecoTree;
+			int[] checkVacant = ecoVacant;
+			int[] checkSites = ecoSites;
+			int[] checkIndex = ecoIndex;
+			int checkOccupied = ecoOccupied;
+			ecoTree = new SumTree(nPopulation);
+			ecoVacant = (checkVacant == null ? null : new int[nPopulation]);
+			ecoSites = new int[nPopulation];
+			ecoIndex = new int[nPopulation];
+			initEcology();
+			for (int n = 0; n < nPopulation; n++) {
+				if (Math.abs(checkTree.get(n) - ecoTree.get(n)) > 1e-8) {
+					logger.warning("accounting issue: birth rate @ " + n + " is " + checkTree.get(n)
+							+ " instead of " + ecoTree.get(n) + ".");
+					passed = false;
+					break;
+				}
+			}
+			if (checkVacant != null && !Arrays.equals(checkVacant, ecoVacant)) {
+				logger.warning("accounting issue: counts of vacant neighbours differ.");
+				passed = false;
+			}
+			if (checkOccupied != ecoOccupied) {
+				logger.warning("accounting issue: " + checkOccupied + " occupied sites instead of " + ecoOccupied
+						+ ".");
+				passed = false;
+			}
+			for (int n = 0; n < nPopulation; n++) {
+				int site = checkSites[n];
+				if (checkIndex[site] != n || isVacantAt(site) != (n >= checkOccupied)) {
+					logger.warning("accounting issue: sets of occupied and vacant sites corrupted @ " + site + ".");
+					passed = false;
+					break;
+				}
+			}
+			ecoTree = checkTree;
+			ecoVacant = checkVacant;
+			ecoSites = checkSites;
+			ecoIndex = checkIndex;
+			ecoOccupied = checkOccupied;
+		}
 		// do not yet set isConsistent to false because this prevents the test in super
 		// to run
 		super.isConsistent();
@@ -1524,12 +2414,34 @@ public class IBSDPopulation extends IBSPopulation {
 		// consulted
 		if (getPopulationSize() == 0)
 			return true;
+		// ecological updates cannot change the population anymore and there are no
+		// mutations or migrations to wait for
+		if (populationUpdate.getType() == PopulationUpdate.Type.ECOLOGY && pMigration <= 0.0
+				&& (mutation.temperature || mutation.probability <= 0.0) && !permitsEcologicalEvents())
+			return true;
 		boolean absorbed = isMonomorphic() && (mutation.probability <= 0.0);
 		// has absorbed if monomorphic and no vacant sites or if stop requested on
 		// monomorphic states
 		return (absorbed && (VACANT < 0 || module.getMonoStop()));
 	}
 
+	/**
+	 * Checks whether ecological updates can still change the population. Without
+	 * deaths a saturated population is frozen because offspring cannot be placed
+	 * anywhere. This holds regardless of {@link #optimizeEcology}.
+	 * <p>
+	 * <strong>Important:</strong> Subclasses that implement their own ecological
+	 * updates, see {@link #updatePlayerEcologyAt(int)}, must override this method
+	 * if individuals can die or be replaced in other ways.
+	 * 
+	 * @return {@code true} if ecological events are still possible
+	 * 
+	 * @see #checkConvergence()
+	 */
+	protected boolean permitsEcologicalEvents() {
+		return module.getDeathRate() > 0.0 || traitsCount[VACANT] > 0;
+	}
+
 	@Override
 	public boolean isVacantAt(int index) {
 		if (VACANT < 0)
@@ -1546,7 +2458,7 @@ public class IBSDPopulation extends IBSPopulation {
 
 	@Override
 	public void commitTraitAt(int me) {
-		int newtrait = traitsNext[me];
+		byte newtrait = traitsNext[me];
 		int newtype = newtrait % nTraits;
 		int oldtype = getTraitAt(me);
 		traits[me] = newtrait; // the type may be the same but nevertheless it could have changed
@@ -1555,6 +2467,56 @@ public class IBSDPopulation extends IBSPopulation {
 			return;
 		traitsCount[oldtype]--;
 		traitsCount[newtype]++;
+		if (ecoValid)
+			commitEcologyAt(me, oldtype, newtype);
+		if (!neighCountsValid)
+			return;
+		// on undirected graphs the in-neighbours are the out-neighbours
+		int[] neighs = interaction.getOutAt(me, tmpNeighs);
+		int nNeighs = interaction.kout[me];
+		for (int n = 0; n < nNeighs; n++) {
+			int offset = neighs[n] * nTraits;
+			neighCounts[offset + oldtype]--;
+			neighCounts[offset + newtype]++;
+		}
+	}
+
+	/**
+	 * Copy the trait counts in the neighbourhood of the individual with index
+	 * {@code me} into the array {@code counts}. The counts are rebuilt from
+	 * scratch if needed.
+	 * 
+	 * @param me     the index of the focal individual
+	 * @param counts the array to store the trait counts
+	 * @return {@code true} if the trait counts are available
+	 * 
+	 * @see #neighCounts
+	 */
+	protected boolean getNeighCountsAt(int me, int[] counts) {
+		if (neighCounts == null)
+			return false;
+		if (!neighCountsValid)
+			initNeighCounts();
+		System.arraycopy(neighCounts, me * nTraits, counts, 0, nTraits);
+		return true;
+	}
+
+	/**
+	 * Rebuild the trait counts in the neighbourhoods of all individuals from
+	 * scratch.
+	 * 
+	 * @see #neighCounts
+	 */
+	private void initNeighCounts() {
+		Arrays.fill(neighCounts, 0);
+		for (int me = 0; me < nPopulation; me++) {
+			int[] neighs = interaction.getOutAt(me, tmpNeighs);
+			int nNeighs = interaction.kout[me];
+			int offset = me * nTraits;
+			for (int n = 0; n < nNeighs; n++)
+				neighCounts[offset + getTraitAt(neighs[n])]++;
+		}
+		neighCountsValid = true;
 	}
 
 	/**
@@ -1714,6 +2676,9 @@ public class IBSDPopulation extends IBSPopulation {
 	public boolean check() {
 		boolean doReset = super.check();
 
+		if (nTraits > MAX_TRAITS)
+			engine.fatal("individual based simulations support at most " + MAX_TRAITS + " traits (requested "
+					+ nTraits + ").");
 		active = module.getActiveTraits();
 		if (optimizeMoran) {
 			// optimized Moran type processes are incompatible with mutations!
@@ -1735,6 +2700,100 @@ public class IBSDPopulation extends IBSPopulation {
 				doReset = true;
 			}
 		}
+		if (optimizeTau) {
+			// tau-leaping requires that transition rates depend on trait counts only
+			if (!populationUpdate.isMoran()) {
+				optimizeTau = false;
+				logger.warning("tau-leaping requires Moran-type updates - disabled.");
+			} else if (interaction.getType() != Geometry.Type.MEANFIELD
+					|| competition.getType() != Geometry.Type.MEANFIELD) {
+				optimizeTau = false;
+				logger.warning("tau-leaping requires well-mixed populations - disabled.");
+			} else if (VACANT >= 0) {
+				optimizeTau = false;
+				logger.warning("tau-leaping is incompatible with vacant sites - disabled.");
+			} else if (!hasLookupTable || !(playerScoreAveraged || module.isStatic())
+					|| playerScoring.equals(ScoringType.EPHEMERAL)) {
+				optimizeTau = false;
+				logger.warning("tau-leaping requires averaged payoffs based on trait counts - disabled.");
+			}
+		}
+		if (optimizeNeighCounts) {
+			// neighbourhood trait counts require fixed neighbourhoods for pairwise interactions
+			if (!module.isPairwise() || module.isStatic()) {
+				optimizeNeighCounts = false;
+				logger.warning("neighbourhood trait counts require pairwise interactions - disabled.");
+			} else if (interaction.getType() == Geometry.Type.MEANFIELD
+					|| interaction.getType() == Geometry.Type.HIERARCHY || interaction.isInterspecies()
+					|| !interaction.isUndirected || interaction.isDynamic) {
+				optimizeNeighCounts = false;
+				logger.warning("neighbourhood trait counts require undirected, static structures - disabled.");
+			} else if (!interGroup.isSampling(IBSGroup.SamplingType.ALL)) {
+				optimizeNeighCounts = false;
+				logger.warning("neighbourhood trait counts require interactions with all neighbours - disabled.");
+			}
+		}
+		if (optimizeNeighCounts) {
+			int size = nPopulation * nTraits;
+			if (neighCounts == null || neighCounts.length != size)
+				neighCounts = new int[size];
+			int maxNeighs = Math.max(1, interaction.maxOut);
+			if (tmpNeighs == null || tmpNeighs.length < maxNeighs)
+				tmpNeighs = new int[maxNeighs];
+		} else {
+			neighCounts = null;
+			tmpNeighs = null;
+		}
+		neighCountsValid = false;
+		if (optimizeTau) {
+			int nTransitions = nTraits * nTraits;
+			if (tauRates == null || tauRates.length != nTransitions)
+				tauRates = new double[nTransitions];
+			if (tauDelta == null || tauDelta.length != nTraits)
+				tauDelta = new int[nTraits];
+			tauExact = 0;
+		} else {
+			tauRates = null;
+			tauDelta = null;
+		}
+		if (optimizeEcology) {
+			// birth rates require individual fitness and fixed competition neighbourhoods
+			if (populationUpdate.getType() != PopulationUpdate.Type.ECOLOGY || VACANT < 0) {
+				optimizeEcology = false;
+				logger.warning("optimized ecological updates require ecological population updates - disabled.");
+			} else if (competition.isDynamic) {
+				optimizeEcology = false;
+				logger.warning("optimized ecological updates require static competition structures - disabled.");
+			} else if ((hasLookupTable && !(module.isStatic() && playerScoreAveraged))
+					|| playerScoring.equals(ScoringType.EPHEMERAL)) {
+				optimizeEcology = false;
+				logger.warning("optimized ecological updates require fitness of individuals - disabled.");
+			}
+		}
+		if (optimizeEcology) {
+			if (ecoTree == null || ecoTree.size() != nPopulation) {
+				ecoTree = new SumTree(nPopulation);
+				ecoSites = new int[nPopulation];
+				ecoIndex = new int[nPopulation];
+			}
+			if (competition.getType() == Geometry.Type.MEANFIELD) {
+				ecoVacant = null;
+				ecoNeighs = null;
+			} else {
+				if (ecoVacant == null || ecoVacant.length != nPopulation)
+					ecoVacant = new int[nPopulation];
+				int maxNeighs = Math.max(1, Math.max(competition.maxOut, competition.maxIn));
+				if (ecoNeighs == null || ecoNeighs.length < maxNeighs)
+					ecoNeighs = new int[maxNeighs];
+			}
+		} else {
+			ecoTree = null;
+			ecoVacant = null;
+			ecoSites = null;
+			ecoIndex = null;
+			ecoNeighs = null;
+		}
+		ecoValid = false;
 
 		int nGroup = module.getNGroup();
 		if (interaction.getType() == Geometry.Type.MEANFIELD && !playerScoreAveraged && nGroup > 2) {
@@ -1769,9 +2828,9 @@ public class IBSDPopulation extends IBSPopulation {
 
 		// start allocating memory
 		if (traits == null || traits.length != nPopulation)
-			traits = new int[nPopulation];
+			traits = new byte[nPopulation];
 		if (traitsNext == null || traitsNext.length != nPopulation)
-			traitsNext = new int[nPopulation];
+			traitsNext = new byte[nPopulation];
 		if (tmpCount == null || tmpCount.length != nTraits)
 			tmpCount = new int[nTraits];
 		if (tmpTraitScore == null || tmpTraitScore.length != nTraits)
@@ -1860,6 +2919,8 @@ public class IBSDPopulation extends IBSPopulation {
 			engine.fatal("accounting problem (sum of traits " + ArrayMath.norm(traitsCount) + "!=" + nPopulation
 					+ ").");
 		System.arraycopy(traitsCount, 0, initCount, 0, nTraits);
+		neighCountsValid = false;
+		ecoValid = false;
 	}
 
 	/**
@@ -2007,7 +3068,7 @@ public class IBSDPopulation extends IBSPopulation {
 		monoType = monoType % nTraits;
 		Arrays.fill(traitsCount, 0);
 		if (monoFreq > 1.0 - 1e-8) {
-			Arrays.fill(traits, monoType);
+			Arrays.fill(traits, (byte) monoType);
 			traitsCount[monoType] = nPopulation;
 			return;
 		}
@@ -2132,7 +3193,7 @@ public class IBSDPopulation extends IBSPopulation {
 		if (nneighs == 0)
 			// nowhere to place offspring...
 			return -1;
-		int idx = competition.out[parent][random0n(nneighs)];
+		int idx = competition.getOutAt(parent, focalNeighs)[random0n(nneighs)];
 		if (isVacantAt(idx)) {
 			traitsCount[VACANT]--;
 			// number of residents unchanged, initMono decreased it
@@ -2245,7 +3306,7 @@ public class IBSDPopulation extends IBSPopulation {
 	private void fillStripe(int offset, int width, int trait) {
 		int size = (int) Math.sqrt(nPopulation);
 		for (int i = 0; i < size; i++) {
-			Arrays.fill(traits, offset, offset + width, trait);
+			Arrays.fill(traits, offset, offset + width, (byte) trait);
 			offset += size;
 		}
 	}
@@ -2313,7 +3374,7 @@ public class IBSDPopulation extends IBSPopulation {
 	 * @return {@code false} if no actions taken (should not happen)
 	 */
 	private boolean mouseSetHit(int hit, int trait) {
-		traitsNext[hit] = trait;
+		traitsNext[hit] = (byte) trait;
 
 		/* this is a trait change - need to adjust scores */
 		if (adjustScores) {
@@ -2336,6 +3397,7 @@ public class IBSDPopulation extends IBSPopulation {
 	public boolean restoreFitness(Plist plist) {
 		if (!super.restoreFitness(plist))
 			return false;
+		ecoValid = false;
 		if (hasLookupTable) {
 			// super could not determine sumFitness
 			sumFitness = 0.0;
@@ -2358,13 +3420,13 @@ public class IBSDPopulation extends IBSPopulation {
 	}
 
 	@Override
-	public void encodeTraits(StringBuilder plist) {
+	public void encodeTraits(PlistWriter plist) {
 		plist.append("<key>Traits</key>\n<dict>\n");
 		String[] names = module.getTraitNames();
 		for (int n = 0; n < nTraits; n++)
-			plist.append(Plist.encodeKey(Integer.toString(n), names[n]));
+			plist.appendKey(Integer.toString(n), names[n]);
 		plist.append("</dict>\n");
-		plist.append(Plist.encodeKey("Configuration", traits));
+		plist.appendKey("Configuration", traits);
 	}
 
 	@Override
@@ -91,6 +91,24 @@ public class IBSGroup {
 		self = false;
 	}
 
+	/**
+	 * Create a new interaction or competition group with the same settings as
+	 * {@code template} but picking groups with the random number generator
+	 * {@code rng}. Groups that do not share their random number generator can be
+	 * picked concurrently.
+	 * 
+	 * @param rng      the random number generator for picking interaction or
+	 *                 reference groups
+	 * @param template the group to copy the settings from
+	 */
+	public IBSGroup(RNGDistribution rng, IBSGroup template) {
+		this(rng);
+		geometry = template.geometry;
+		samplingType = template.samplingType;
+		self = template.self;
+		setNSamples(template.nSamples);
+	}
+
 	/**
 	 * Set the geometry associated with this group.
 	 * 
@@ -273,13 +291,8 @@ public class IBSGroup {
 				return null;
 
 			case ALL:
-				if (downstream) {
-					group = geometry.out[focal];
-					nSampled = geometry.kout[focal];
-					return group;
-				}
-				group = geometry.in[focal];
-				nSampled = geometry.kin[focal];
+				group = neighbours(downstream);
+				nSampled = (downstream ? geometry.kout[focal] : geometry.kin[focal]);
 				return group;
 
 			case RANDOM:
@@ -326,10 +339,7 @@ public class IBSGroup {
 							case MEANFIELD:
 								if (level == 0) {
 									// pick random neighbour
-									if (downstream)
-										group[0] = geometry.out[focal][rng.random0n(geometry.kout[focal])];
-									else
-										group[0] = geometry.in[focal][rng.random0n(geometry.kin[focal])];
+									group[0] = pickNeighbour(downstream);
 									return group;
 								}
 								// with zero hierarchyweight levelSize is still 1 instead of unitSize
@@ -351,10 +361,7 @@ public class IBSGroup {
 							case SQUARE:
 								if (level == 0) {
 									// pick random neighbour
-									if (downstream)
-										group[0] = geometry.out[focal][rng.random0n(geometry.kout[focal])];
-									else
-										group[0] = geometry.in[focal][rng.random0n(geometry.kin[focal])];
+									group[0] = pickNeighbour(downstream);
 									return group;
 								}
 								// determine start of focal level
@@ -389,27 +396,38 @@ public class IBSGroup {
 						}
 
 					default:
-						int[] src = (downstream ? geometry.out[focal] : geometry.in[focal]);
 						int len = (downstream ? geometry.kout[focal] : geometry.kin[focal]);
 						if (len <= nSamples) {
 							nSampled = len;
-							group = src;
+							group = neighbours(downstream);
 							return group;
 						}
-						group = mem;
 						nSampled = nSamples;
 						if (nSamples == 1) {
 							// optimization: single reference is commonly used and saves copying of all
 							// neighbors.
-							group[0] = src[rng.random0n(len)];
+							int pick = pickNeighbour(downstream);
+							group = mem;
+							group[0] = pick;
 							return group;
 						}
+						group = mem;
 						// make sure memory is sufficient for picking
 						if (group.length < len) {
 							mem = new int[len];
 							group = mem;
 						}
-						System.arraycopy(src, 0, group, 0, len);
+						// use compressed sparse row representation of frozen geometries
+						int[] targets = (downstream ? geometry.getOutTargets() : geometry.getInTargets());
+						if (geometry.isImplicit()) {
+							group = neighbours(downstream);
+						} else if (targets != null) {
+							int[] offsets = (downstream ? geometry.getOutOffsets() : geometry.getInOffsets());
+							System.arraycopy(targets, offsets[focal], group, 0, len);
+						} else {
+							int[] src = (downstream ? geometry.out[focal] : geometry.in[focal]);
+							System.arraycopy(src, 0, group, 0, len);
+						}
 						if (nSamples > len / 2) {
 							for (int n = 0; n < len - nSamples; n++) {
 								int aRand = rng.random0n(len - n);
@@ -430,6 +448,55 @@ public class IBSGroup {
 		}
 	}
 
+	/**
+	 * Get the outgoing (downstream) or incoming (upstream) neighbours of the focal
+	 * individual. Neighbourhoods of implicit lattices are computed on the fly and
+	 * those of frozen geometries are copied from the compressed sparse row
+	 * representation. In both cases the neighbours are stored in {@code mem}.
+	 * 
+	 * @param downstream the flag indicating whether to get the outgoing
+	 *                   (downstream) or incoming (upstream) neighbours
+	 * @return the indices of the neighbours
+	 * 
+	 * @see Geometry#isImplicit()
+	 * @see Geometry#isFrozen()
+	 */
+	private int[] neighbours(boolean downstream) {
+		int[] neighs = (downstream ? geometry.getOutAt(focal, mem) : geometry.getInAt(focal, mem));
+		// mem must never refer to the neighbourhood arrays of the geometry
+		if (geometry.isImplicit() || geometry.isFrozen())
+			mem = neighs;
+		return neighs;
+	}
+
+	/**
+	 * Pick a random neighbour of the focal individual. If the flag
+	 * {@code downstream == true} the neighbour is picked among the outgoing
+	 * neighbours and among the incoming neighbours otherwise. For frozen
+	 * geometries the neighbour is picked from the compressed sparse row
+	 * representation of the population structure.
+	 * 
+	 * @param downstream the flag indicating whether to pick an outgoing
+	 *                   (downstream) or incoming (upstream) neighbour
+	 * @return the index of the neighbour
+	 * 
+	 * @see Geometry#isFrozen()
+	 */
+	private int pickNeighbour(boolean downstream) {
+		if (geometry.isImplicit())
+			return neighbours(downstream)[rng.random0n(downstream ? geometry.kout[focal] : geometry.kin[focal])];
+		if (downstream) {
+			int[] targets = geometry.getOutTargets();
+			if (targets != null)
+				return targets[geometry.getOutOffsets()[focal] + rng.random0n(geometry.kout[focal])];
+			return geometry.out[focal][rng.random0n(geometry.kout[focal])];
+		}
+		int[] targets = geometry.getInTargets();
+		if (targets != null)
+			return targets[geometry.getInOffsets()[focal] + rng.random0n(geometry.kin[focal])];
+		return geometry.in[focal][rng.random0n(geometry.kin[focal])];
+	}
+
 	/**
 	 * Pick group of {@code nSamples} random individual with indices
 	 * {@code 0 - (size-1)}. The focal individual is included if {@code self==true}.
@@ -452,23 +519,25 @@ public class IBSGroup {
 			return;
 		}
 
+		// at least nSampled picks are needed; draw them in one batch and discard
+		// duplicates in place (picks are processed in the same order as drawn)
+		int max = (self ? size : size - 1);
+		rng.random0n(max, group, 0, nSampled);
 		int n = 0;
-		if (self) {
-			nextpick: while (n < nSampled) {
-				int aPick = rng.random0n(size);
-				// sample without replacement
-				for (int i = 0; i < n; i++)
-					if (group[i] == aPick)
-						continue nextpick;
-				group[n++] = aPick;
-			}
-			return;
+		nextbatch: for (int b = 0; b < nSampled; b++) {
+			int aPick = group[b];
+			if (!self && aPick >= focal)
+				aPick++;
+			// sample without replacement
+			for (int i = 0; i < n; i++)
+				if (group[i] == aPick)
+					continue nextbatch;
+			group[n++] = aPick;
 		}
-		// exclude focal
-		int max1 = size - 1;
+		// replace discarded duplicates
 		nextpick: while (n < nSampled) {
-			int aPick = rng.random0n(max1);
-			if (aPick >= focal)
+			int aPick = rng.random0n(max);
+			if (!self && aPick >= focal)
 				aPick++;
 			// sample without replacement
 			for (int i = 0; i < n; i++)
@@ -44,6 +44,7 @@ import org.evoludo.simulator.modules.Continuous;
 import org.evoludo.simulator.modules.Mutation;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * The core class for individual based simulations with <em>multiple</em>
@@ -503,7 +504,7 @@ public class IBSMCPopulation extends IBSPopulation {
 		int nIn = 0;
 		int nOut = interaction.kout[me];
 		int[] in = null;
-		int[] out = interaction.out[me];
+		int[] out = interaction.getOutAt(me, focalNeighs);
 		for (int n = 0; n < nOut; n++)
 			System.arraycopy(opptraits, out[n] * oppntraits, tmpGroup, n * oppntraits, oppntraits);
 		int u2 = 2;
@@ -511,7 +512,7 @@ public class IBSMCPopulation extends IBSPopulation {
 			// directed graph, count in-neighbors
 			u2 = 1;
 			nIn = interaction.kin[me];
-			in = interaction.in[me];
+			in = interaction.getInAt(me, otherNeighs);
 			for (int n = 0; n < nIn; n++)
 				System.arraycopy(opptraits, in[n] * oppntraits, tmpGroup, (nOut + n) * oppntraits, oppntraits);
 		}
@@ -1079,8 +1080,8 @@ public class IBSMCPopulation extends IBSPopulation {
 	}
 
 	@Override
-	public void encodeTraits(StringBuilder plist) {
-		plist.append(Plist.encodeKey("Configuration", traits));
+	public void encodeTraits(PlistWriter plist) {
+		plist.appendKey("Configuration", traits);
 	}
 
 	@Override
@@ -40,6 +40,9 @@ import org.evoludo.math.ArrayMath;
 import org.evoludo.math.Combinatorics;
 import org.evoludo.math.Functions;
 import org.evoludo.math.RNGDistribution;
+import org.evoludo.math.RandomNumberGenerator;
+import org.evoludo.math.SumTree;
+import org.evoludo.math.Xoshiro128;
 import org.evoludo.simulator.ColorMap;
 import org.evoludo.simulator.EvoLudo;
 import org.evoludo.simulator.Geometry;
@@ -53,6 +56,7 @@ import org.evoludo.simulator.modules.Features;
 import org.evoludo.simulator.modules.Features.Payoffs;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * The core class for individual based simulations. Manages the population,
@@ -491,6 +495,14 @@ public abstract class IBSPopulation {
 	 */
 	protected RNGDistribution.Geometric distrMigrants;
 
+	/**
+	 * The distribution to draw binomially distributed random numbers. Reused to
+	 * avoid repeated setups for the same parameters.
+	 * 
+	 * @see #nextBinomial(double, int)
+	 */
+	private RNGDistribution.Binomial distrBinomial;
+
 	/**
 	 * Conveninece variable to store cumulative probability distributions for
 	 * replicator updating.
@@ -649,6 +661,53 @@ public abstract class IBSPopulation {
 	 */
 	protected int maxEffScoreIdx = -1;
 
+	/**
+	 * The flag to indicate whether fitness based picking should use a sum tree
+	 * instead of rejection sampling or linear scans.
+	 * 
+	 * @see #setFitnessTree(boolean)
+	 */
+	boolean fitnessTreeRequested = false;
+
+	/**
+	 * Optimization: The sum tree over the fitness of all individuals, with vacant
+	 * sites at zero weight. Allows fitness based picking in \(O(\log N)\),
+	 * regardless of the distribution of fitness values. Only available without
+	 * lookup tables. {@code null} if not requested or not applicable.
+	 * 
+	 * @see #pickFitFocalIndividual()
+	 * @see #pickFitFocalIndividual(int)
+	 */
+	protected SumTree fitTree;
+
+	/**
+	 * Request the use of a sum tree for fitness based picking of focal
+	 * individuals. This pays off for large populations with strongly skewed
+	 * fitness distributions, where rejection sampling degrades.
+	 * 
+	 * @param tree {@code true} to request a sum tree
+	 * 
+	 * @see #fitTree
+	 */
+	public void setFitnessTree(boolean tree) {
+		fitnessTreeRequested = tree;
+	}
+
+	/**
+	 * Rebuild the sum tree from the current fitness of all individuals.
+	 */
+	protected void initFitTree() {
+		if (fitTree == null)
+			return;
+		fitTree.init(fitness);
+		if (VACANT < 0)
+			return;
+		for (int n = 0; n < nPopulation; n++) {
+			if (isVacantAt(n))
+				fitTree.set(n, 0.0);
+		}
+	}
+
 	/**
 	 * Perform synchronous migration.
 	 * 
@@ -709,7 +768,7 @@ public abstract class IBSPopulation {
 	public void doDiffusionMigration() {
 		int migrant = random0n(nPopulation);
 		// migrant swaps places with random neighbor
-		int[] myNeighs = interaction.out[migrant];
+		int[] myNeighs = interaction.getOutAt(migrant, otherNeighs);
 		int aNeigh = myNeighs[random0n(interaction.kout[migrant])];
 		updatePlayerSwap(migrant, aNeigh);
 	}
@@ -915,6 +974,11 @@ public abstract class IBSPopulation {
 		if (isNeutral)
 			return pickFocalIndividual();
 
+		if (fitTree != null) {
+			double total = fitTree.sum();
+			if (total > 0.0)
+				return fitTree.find(random01() * total);
+		}
 		if (VACANT < 0) {
 			if (nPopulation >= 100) {
 				// optimization of gillespie algorithm to prevent bookkeeping (at the expense of
@@ -1000,6 +1064,11 @@ public abstract class IBSPopulation {
 		if (isNeutral)
 			return pickFocalIndividual(excl);
 
+		if (fitTree != null) {
+			double total = fitTree.sum() - fitTree.get(excl);
+			if (total > 0.0)
+				return fitTree.find(random01() * total, excl);
+		}
 		if (VACANT < 0) {
 			// note: review threshold for optimizations (see pickFitFocalIndividual above)
 			if (nPopulation >= 100) {
@@ -1201,7 +1270,7 @@ public abstract class IBSPopulation {
 
 		if (VACANT < 0) {
 			// structured population
-			debugModels = competition.in[me];
+			debugModels = competition.getInAt(me, debugNeighs);
 			debugNModels = competition.kin[me];
 			double totFitness = 0.0;
 			double myFit = 0.0;
@@ -1242,7 +1311,7 @@ public abstract class IBSPopulation {
 		}
 
 		// vacancies require some extra care
-		debugModels = competition.in[me];
+		debugModels = competition.getInAt(me, debugNeighs);
 		debugNModels = competition.kin[me];
 		double totFitness = 0.0;
 		double myFit = 0.0;
@@ -1336,7 +1405,7 @@ public abstract class IBSPopulation {
 		if (competition.getType() == Geometry.Type.MEANFIELD)
 			return pickFocalSite(me);
 
-		debugModels = competition.out[me];
+		debugModels = competition.getOutAt(me, debugNeighs);
 		debugNModels = competition.kout[me];
 		switch (debugNModels) {
 			case 0:
@@ -1364,7 +1433,7 @@ public abstract class IBSPopulation {
 	 * @see IBSMCPopulation#updateFromModelAt(int, int)
 	 */
 	public void updateFromModelAt(int me, int you) {
-		tags[me] = tags[you];
+		tags[me] = (syncTags == null ? tags[you] : syncTags[you]);
 		debugModel = you;
 	}
 
@@ -1485,13 +1554,13 @@ public abstract class IBSPopulation {
 		if (interaction.isUndirected) {
 			// undirected graph - same as earlier approach
 			// remove old scores
-			int[] neigh = interaction.out[me];
+			int[] neigh = interaction.getOutAt(me, focalNeighs);
 			int nNeigh = competition.kout[me];
 			interGroup.setGroupAt(me, neigh, nNeigh);
 			yalpGroupGameAt(interGroup);
 			for (int i = 0; i < nNeigh; i++) {
 				int you = neigh[i];
-				interGroup.setGroupAt(you, interaction.out[you], interaction.kout[you]);
+				interGroup.setGroupAt(you, interaction.getOutAt(you, otherNeighs), interaction.kout[you]);
 				yalpGroupGameAt(interGroup);
 			}
 			commitTraitAt(me);
@@ -1500,7 +1569,7 @@ public abstract class IBSPopulation {
 			playGroupGameAt(interGroup);
 			for (int i = 0; i < nNeigh; i++) {
 				int you = neigh[i];
-				interGroup.setGroupAt(you, interaction.out[you], interaction.kout[you]);
+				interGroup.setGroupAt(you, interaction.getOutAt(you, otherNeighs), interaction.kout[you]);
 				playGroupGameAt(interGroup);
 			}
 			return;
@@ -1508,42 +1577,42 @@ public abstract class IBSPopulation {
 
 		// directed graph - separately interact with in- and out-neighbors
 		// remove old scores
-		int[] neigh = interaction.out[me];
+		int[] neigh = interaction.getOutAt(me, focalNeighs);
 		int nNeigh = interaction.kout[me];
 		interGroup.setGroupAt(me, neigh, nNeigh);
 		yalpGroupGameAt(interGroup);
 		for (int i = 0; i < nNeigh; i++) {
 			int you = neigh[i];
-			interGroup.setGroupAt(you, interaction.out[you], interaction.kout[you]);
+			interGroup.setGroupAt(you, interaction.getOutAt(you, otherNeighs), interaction.kout[you]);
 			yalpGroupGameAt(interGroup);
 		}
-		neigh = interaction.in[me];
+		neigh = interaction.getInAt(me, focalNeighs);
 		nNeigh = interaction.kin[me];
 		interGroup.setGroupAt(me, neigh, nNeigh);
 		yalpGroupGameAt(interGroup);
 		for (int i = 0; i < nNeigh; i++) {
 			int you = neigh[i];
-			interGroup.setGroupAt(you, interaction.in[you], interaction.kin[you]);
+			interGroup.setGroupAt(you, interaction.getInAt(you, otherNeighs), interaction.kin[you]);
 			yalpGroupGameAt(interGroup);
 		}
 		commitTraitAt(me);
 		// add new scores
-		neigh = interaction.out[me];
+		neigh = interaction.getOutAt(me, focalNeighs);
 		nNeigh = interaction.kout[me];
 		interGroup.setGroupAt(me, neigh, nNeigh);
 		playGroupGameAt(interGroup);
 		for (int i = 0; i < nNeigh; i++) {
 			int you = neigh[i];
-			interGroup.setGroupAt(you, interaction.out[you], interaction.kout[you]);
+			interGroup.setGroupAt(you, interaction.getOutAt(you, otherNeighs), interaction.kout[you]);
 			playGroupGameAt(interGroup);
 		}
-		neigh = interaction.in[me];
+		neigh = interaction.getInAt(me, focalNeighs);
 		nNeigh = interaction.kin[me];
 		interGroup.setGroupAt(me, neigh, nNeigh);
 		playGroupGameAt(interGroup);
 		for (int i = 0; i < nNeigh; i++) {
 			int you = neigh[i];
-			interGroup.setGroupAt(you, interaction.in[you], interaction.kin[you]);
+			interGroup.setGroupAt(you, interaction.getInAt(you, otherNeighs), interaction.kin[you]);
 			playGroupGameAt(interGroup);
 		}
 	}
@@ -1612,6 +1681,8 @@ public abstract class IBSPopulation {
 		double diff = after - (isVacantAt(idx) ? 0.0 : fitness[idx]);
 		fitness[idx] = after;
 		sumFitness += diff;
+		if (fitTree != null)
+			fitTree.set(idx, isVacantAt(idx) ? 0.0 : after);
 		// whenever sumFitness decreases dramatically rounding errors become an issue
 		// if update reduces sumFitness by half or more, recalculate from scratch
 		if (-diff > sumFitness)
@@ -1637,6 +1708,8 @@ public abstract class IBSPopulation {
 		double fit = map2fit.map(scores[index]);
 		fitness[index] = fit;
 		sumFitness += fit;
+		if (fitTree != null)
+			fitTree.set(index, isVacantAt(index) ? 0.0 : fit);
 	}
 
 	/**
@@ -1684,6 +1757,8 @@ public abstract class IBSPopulation {
 		updateEffScoreRange(index, before, 0.0);
 		sumFitness -= fitness[index];
 		fitness[index] = 0.0;
+		if (fitTree != null)
+			fitTree.set(index, 0.0);
 	}
 
 	/**
@@ -1703,6 +1778,8 @@ public abstract class IBSPopulation {
 		int myInteractions = interactions[idxa];
 		interactions[idxa] = interactions[idxb];
 		interactions[idxb] = myInteractions;
+		if (fitTree != null)
+			fitTree.swap(idxa, idxb);
 		if (maxEffScoreIdx == idxa)
 			maxEffScoreIdx = idxb;
 		else if (maxEffScoreIdx == idxb)
@@ -1720,6 +1797,8 @@ public abstract class IBSPopulation {
 			Arrays.fill(fitness, 0.0);
 		if (interactions != null)
 			Arrays.fill(interactions, 0);
+		if (fitTree != null)
+			fitTree.clear();
 		sumFitness = 0.0;
 		if (VACANT < 0 || getPopulationSize() == 0) {
 			// no vacancies or no population
@@ -1911,6 +1990,9 @@ public abstract class IBSPopulation {
 				updatePlayerAsync();
 				return 1;
 
+			case CHECKERBOARD: // asynchronous updates of independent sublattices
+				return stepSublattice();
+
 			case MORAN_BIRTHDEATH: // moran process - birth-death
 				updatePlayerMoranBirthDeath();
 				return 1;
@@ -1932,6 +2014,503 @@ public abstract class IBSPopulation {
 		}
 	}
 
+	/**
+	 * The chunks of the population for parallel synchronous updates or
+	 * {@code null} if not (yet) needed.
+	 * 
+	 * @see #getSyncChunks(int)
+	 */
+	private SyncChunk[] syncChunks;
+
+	/**
+	 * The tags of all individuals at the beginning of a parallel synchronous
+	 * update or {@code null} otherwise. Ensures that tags are inherited from the
+	 * previous generation regardless of the order in which chunks are processed.
+	 * 
+	 * @see #updateFromModelAt(int, int)
+	 */
+	double[] syncTags;
+
+	/**
+	 * Check if synchronous updates of this population can be split into chunks
+	 * that are processed in parallel. This requires that updating an individual
+	 * and calculating its score only modify the state of that individual, and
+	 * that all random numbers are drawn from the generator of the chunk. The
+	 * default returns {@code false}.
+	 * 
+	 * @return {@code true} if parallel synchronous updates are supported
+	 * 
+	 * @see SyncSupervisor
+	 */
+	public boolean permitsParallelSync() {
+		return false;
+	}
+
+	/**
+	 * Get the chunks of the population for parallel synchronous updates. The
+	 * chunks span {@code size} individuals each (except possibly the last one)
+	 * and are created on demand.
+	 * 
+	 * @param size the number of individuals in each chunk
+	 * @return the chunks of the population
+	 */
+	SyncChunk[] getSyncChunks(int size) {
+		if (syncChunks == null || syncChunks[0].end != Math.min(size, nPopulation)) {
+			int nChunks = (nPopulation + size - 1) / size;
+			syncChunks = new SyncChunk[nChunks];
+			for (int n = 0; n < nChunks; n++)
+				syncChunks[n] = createSyncChunk(n * size, Math.min((n + 1) * size, nPopulation));
+		}
+		return syncChunks;
+	}
+
+	/**
+	 * Create a new chunk of the population spanning the individuals with indices
+	 * {@code start} through {@code end} (excluding). Subclasses may require
+	 * additional scratch space.
+	 * 
+	 * @param start the index of the first individual (including)
+	 * @param end   the index of the last individual (excluding)
+	 * @return the new chunk
+	 */
+	protected SyncChunk createSyncChunk(int start, int end) {
+		return new SyncChunk(start, end);
+	}
+
+	/**
+	 * Perform a synchronous update of all individuals in {@code chunk}. The
+	 * counterpart of {@link #step()} for {@link PopulationUpdate.Type#SYNC} with
+	 * a synchronization fraction of {@code 1}, but drawing all random numbers
+	 * from the generator of the chunk. Chunks can be processed in parallel.
+	 * 
+	 * @param chunk the chunk of the population to update
+	 * 
+	 * @see #permitsParallelSync()
+	 */
+	void stepSync(SyncChunk chunk) {
+		IBSGroup group = chunk.compGroup;
+		for (int n = chunk.start; n < chunk.end; n++) {
+			group.pickAt(n, false);
+			updatePlayerAt(n, group.group, group.nSampled, chunk);
+		}
+	}
+
+	/**
+	 * Calculate the scores of all individuals in {@code chunk} after a
+	 * synchronous update. The counterpart of {@link #updateScores()}, which must
+	 * record the sum of the fitness as well as the index and value of the maximum
+	 * score in the chunk. Chunks can be processed in parallel.
+	 * 
+	 * @param chunk the chunk of the population to score
+	 * 
+	 * @see #mergeSyncScores(SyncChunk[])
+	 */
+	void updateScoresSync(SyncChunk chunk) {
+		throw new Error("parallel scoring not implemented!");
+	}
+
+	/**
+	 * Merge the scores of all {@code chunks} after
+	 * {@link #updateScoresSync(SyncChunk)} has been processed for each of them.
+	 * The reductions are merged in the order of the chunks, which yields the same
+	 * results as {@link #updateScores()} regardless of the number of threads.
+	 * 
+	 * @param chunks the chunks of the population
+	 */
+	void mergeSyncScores(SyncChunk[] chunks) {
+		sumFitness = 0.0;
+		double max = -Double.MAX_VALUE;
+		int maxIdx = -1;
+		for (SyncChunk chunk : chunks) {
+			sumFitness += chunk.sumFitness;
+			if (chunk.maxScore > max) {
+				max = chunk.maxScore;
+				maxIdx = chunk.maxIdx;
+			}
+		}
+		if (maxEffScoreIdx >= 0)
+			maxEffScoreIdx = maxIdx;
+	}
+
+	/**
+	 * The indices of all individuals grouped by sublattices. The individuals of
+	 * sublattice {@code s} are stored in {@code sublatticeSites[n]} for
+	 * {@code sublatticeStart[s] <= n < sublatticeStart[s + 1]} or
+	 * {@code null} if not (yet) needed.
+	 * 
+	 * @see #initSublattices()
+	 */
+	private int[] sublatticeSites;
+
+	/**
+	 * The offsets of the sublattices in {@link #sublatticeSites}.
+	 */
+	private int[] sublatticeStart;
+
+	/**
+	 * The chunks of each sublattice for parallel updates. Chunks span at most
+	 * {@link SyncSupervisor#SYNC_MIN_WORKLOAD} individuals and never extend across
+	 * sublattices. The start and end of each chunk refer to positions in
+	 * {@link #sublatticeSites}.
+	 */
+	private SyncChunk[][] sublatticeChunks;
+
+	/**
+	 * The order in which the sublattices are processed in the current sweep.
+	 */
+	private int[] sublatticeOrder;
+
+	/**
+	 * The index of the next sublattice in {@link #sublatticeOrder}.
+	 */
+	private int sublatticeNext;
+
+	/**
+	 * The flags indicating whether the individuals in {@link #sublatticeSites}
+	 * adopted the trait of their reference individual.
+	 */
+	private boolean[] sublatticeSwitched;
+
+	/**
+	 * Check if asynchronous updates of this population can be processed as
+	 * updates of independent sublattices. In addition to the requirements for
+	 * parallel synchronous updates, the geometries must be static. The default
+	 * returns {@code false}.
+	 * 
+	 * @return {@code true} if sublattice updates are supported
+	 * 
+	 * @see PopulationUpdate.Type#CHECKERBOARD
+	 */
+	public boolean permitsSublatticeUpdates() {
+		return false;
+	}
+
+	/**
+	 * Partition the population into sublattices of independent individuals.
+	 * Updating an individual reads the traits and scores of its competition
+	 * neighbourhood, while changing its trait modifies the scores in its
+	 * interaction neighbourhood. Two individuals are independent if neither
+	 * neighbourhood of one overlaps with the other neighbourhood of the other.
+	 * All individuals of a sublattice can then be updated concurrently, which is
+	 * equivalent to updating them one after the other in any order. The
+	 * sublattices are determined by greedy coloring of the graph of dependencies.
+	 * For example, on a square lattice with von Neumann neighbourhood this yields
+	 * nine sublattices, while at least five are required.
+	 */
+	private void initSublattices() {
+		int[] sub = new int[nPopulation];
+		Arrays.fill(sub, -1);
+		int[] taken = new int[8];
+		// neighbourhoods of implicit lattices are computed on the fly
+		int maxNeighs = Math.max(Math.max(interaction.maxIn, interaction.maxOut),
+				Math.max(competition.maxIn, competition.maxOut));
+		int[] firstNeighs = new int[maxNeighs];
+		int[] secondNeighs = new int[maxNeighs];
+		int nSub = 0;
+		for (int n = 0; n < nPopulation; n++) {
+			int stamp = n + 1;
+			markSublattices(n, competition, interaction, sub, taken, stamp, firstNeighs, secondNeighs);
+			markSublattices(n, interaction, competition, sub, taken, stamp, firstNeighs, secondNeighs);
+			int s = 0;
+			while (s < nSub && taken[s] == stamp)
+				s++;
+			sub[n] = s;
+			if (s == nSub) {
+				nSub++;
+				if (nSub == taken.length)
+					taken = Arrays.copyOf(taken, 2 * nSub);
+			}
+		}
+		// sort individuals by sublattices (preserving the order of indices)
+		sublatticeStart = new int[nSub + 1];
+		for (int n = 0; n < nPopulation; n++)
+			sublatticeStart[sub[n] + 1]++;
+		for (int s = 0; s < nSub; s++)
+			sublatticeStart[s + 1] += sublatticeStart[s];
+		int[] next = Arrays.copyOf(sublatticeStart, nSub);
+		sublatticeSites = new int[nPopulation];
+		for (int n = 0; n < nPopulation; n++)
+			sublatticeSites[next[sub[n]]++] = n;
+		sublatticeChunks = new SyncChunk[nSub][];
+		int size = SyncSupervisor.SYNC_MIN_WORKLOAD;
+		for (int s = 0; s < nSub; s++) {
+			int start = sublatticeStart[s];
+			int end = sublatticeStart[s + 1];
+			int nChunks = (end - start + size - 1) / size;
+			sublatticeChunks[s] = new SyncChunk[nChunks];
+			for (int c = 0; c < nChunks; c++)
+				sublatticeChunks[s][c] = createSyncChunk(start + c * size, Math.min(start + (c + 1) * size, end));
+		}
+		sublatticeOrder = new int[nSub];
+		for (int s = 0; s < nSub; s++)
+			sublatticeOrder[s] = s;
+		sublatticeNext = nSub;
+		sublatticeSwitched = new boolean[nPopulation];
+		logger.info("population split into " + nSub + " sublattices for parallel updates.");
+	}
+
+	/**
+	 * Helper method to mark the sublattices that are already taken by individuals
+	 * in the neighbourhood of {@code me} in geometry {@code first} or in the
+	 * neighbourhoods of those individuals in geometry {@code second}.
+	 * 
+	 * @param me     the index of the focal individual
+	 * @param first  the geometry of the neighbourhood of the focal individual
+	 * @param second the geometry of the neighbourhoods of the neighbours
+	 * @param sub    the sublattices of individuals ({@code -1} if not yet
+	 *               assigned)
+	 * @param taken  the array to mark the sublattices that are taken
+	 * @param stamp  the marker for taken sublattices
+	 * @param mem    the array for storing the neighbours in {@code first}
+	 * @param neighs the array for storing the neighbours in {@code second}
+	 */
+	private static void markSublattices(int me, Geometry first, Geometry second, int[] sub, int[] taken,
+			int stamp, int[] mem, int[] neighs) {
+		markSublattices(me, second, sub, taken, stamp, neighs);
+		int[] out = first.getOutAt(me, mem);
+		for (int i = 0; i < first.kout[me]; i++)
+			markSublattices(out[i], second, sub, taken, stamp, neighs);
+		int[] in = first.getInAt(me, mem);
+		for (int i = 0; i < first.kin[me]; i++)
+			markSublattices(in[i], second, sub, taken, stamp, neighs);
+	}
+
+	/**
+	 * Helper method to mark the sublattices that are already taken by the
+	 * individual {@code me} or its neighbours in geometry {@code geom}.
+	 * 
+	 * @param me    the index of the individual
+	 * @param geom  the geometry of the neighbourhood
+	 * @param sub   the sublattices of individuals ({@code -1} if not yet assigned)
+	 * @param taken the array to mark the sublattices that are taken
+	 * @param stamp the marker for taken sublattices
+	 * @param mem   the array for storing the neighbours
+	 */
+	private static void markSublattices(int me, Geometry geom, int[] sub, int[] taken, int stamp, int[] mem) {
+		if (sub[me] >= 0)
+			taken[sub[me]] = stamp;
+		int[] out = geom.getOutAt(me, mem);
+		for (int i = 0; i < geom.kout[me]; i++) {
+			int s = sub[out[i]];
+			if (s >= 0)
+				taken[s] = stamp;
+		}
+		int[] in = geom.getInAt(me, mem);
+		for (int i = 0; i < geom.kin[me]; i++) {
+			int s = sub[in[i]];
+			if (s >= 0)
+				taken[s] = stamp;
+		}
+	}
+
+	/**
+	 * Get the chunks of the next sublattice to update. Once all sublattices have
+	 * been updated, a new sweep starts with the sublattices in random order. The
+	 * streams of random numbers of all chunks are seeded by the shared random
+	 * number generator.
+	 * 
+	 * @return the chunks of the next sublattice
+	 */
+	SyncChunk[] nextSublattice() {
+		if (sublatticeSites == null)
+			initSublattices();
+		int nSub = sublatticeOrder.length;
+		if (sublatticeNext >= nSub) {
+			// new sweep - shuffle order of sublattices
+			for (int s = nSub - 1; s > 0; s--) {
+				int idx = random0n(s + 1);
+				int swap = sublatticeOrder[idx];
+				sublatticeOrder[idx] = sublatticeOrder[s];
+				sublatticeOrder[s] = swap;
+			}
+			sublatticeNext = 0;
+		}
+		SyncChunk[] chunks = sublatticeChunks[sublatticeOrder[sublatticeNext++]];
+		RandomNumberGenerator master = rng.getRNG();
+		for (SyncChunk chunk : chunks)
+			chunk.seed(master.nextLong());
+		return chunks;
+	}
+
+	/**
+	 * Update all individuals of the sublattice in {@code chunk}. Only the traits
+	 * of the individuals in the chunk are determined but not yet committed and
+	 * all random numbers are drawn from the generator of the chunk. Chunks of
+	 * the same sublattice can be processed in parallel.
+	 * 
+	 * @param chunk the chunk of the sublattice to update
+	 * 
+	 * @see #commitSublattice(SyncChunk[])
+	 */
+	void stepSublattice(SyncChunk chunk) {
+		IBSGroup group = chunk.compGroup;
+		for (int n = chunk.start; n < chunk.end; n++) {
+			int me = sublatticeSites[n];
+			group.pickAt(me, false);
+			sublatticeSwitched[n] = updatePlayerAt(me, group.group, group.nSampled, chunk);
+		}
+	}
+
+	/**
+	 * Commit the traits of all individuals in the sublattice spanned by
+	 * {@code chunks} and update the scores, exactly as for asynchronous updates
+	 * of each individual. Individuals are processed in the order of their
+	 * indices.
+	 * 
+	 * @param chunks the chunks of the sublattice
+	 * @return the number of individuals updated
+	 * 
+	 * @see #updatePlayerAsyncAt(int)
+	 */
+	int commitSublattice(SyncChunk[] chunks) {
+		int start = chunks[0].start;
+		int end = chunks[chunks.length - 1].end;
+		boolean payoffs = module instanceof Payoffs;
+		for (int n = start; n < end; n++) {
+			int me = sublatticeSites[n];
+			boolean switched = sublatticeSwitched[n];
+			if (payoffs)
+				updateScoreAt(me, switched);
+			else if (switched)
+				commitTraitAt(me);
+		}
+		return end - start;
+	}
+
+	/**
+	 * Update the next sublattice of the population. The counterpart of
+	 * {@link SyncSupervisor#stepSublattice(IBSPopulation)} with all chunks
+	 * processed sequentially.
+	 * 
+	 * @return the number of individuals updated
+	 */
+	int stepSublattice() {
+		SyncChunk[] chunks = nextSublattice();
+		for (SyncChunk chunk : chunks)
+			stepSublattice(chunk);
+		return commitSublattice(chunks);
+	}
+
+	/**
+	 * Chunk of the population for parallel synchronous updates. Each chunk has
+	 * its own stream of random numbers, its own interaction and competition
+	 * groups as well as its own scratch space. In addition, each chunk records
+	 * its contributions to the total fitness and the maximum score of the
+	 * population.
+	 * 
+	 * @see SyncSupervisor
+	 */
+	class SyncChunk {
+
+		/**
+		 * The index of the first individual in this chunk.
+		 */
+		final int start;
+
+		/**
+		 * The index of the last individual in this chunk (excluding).
+		 */
+		final int end;
+
+		/**
+		 * The generator of the stream of random numbers of this chunk.
+		 */
+		final Xoshiro128 stream;
+
+		/**
+		 * The random number generator of this chunk.
+		 */
+		final RNGDistribution rng;
+
+		/**
+		 * The competition group of this chunk.
+		 */
+		final IBSGroup compGroup;
+
+		/**
+		 * The interaction group of this chunk.
+		 */
+		final IBSGroup interGroup;
+
+		/**
+		 * Scratch space for the cumulative probabilities of adopting the trait of
+		 * a reference individual.
+		 */
+		final double[] cProbs;
+
+		/**
+		 * Scratch space for the scores of the members of the reference group.
+		 */
+		final double[] groupScores;
+
+		/**
+		 * The sum of the fitness of all individuals in this chunk.
+		 */
+		double sumFitness;
+
+		/**
+		 * The maximum score of all individuals in this chunk.
+		 */
+		double maxScore;
+
+		/**
+		 * The index of the individual with the maximum score in this chunk.
+		 */
+		int maxIdx;
+
+		/**
+		 * Create a new chunk spanning the individuals with indices {@code start}
+		 * through {@code end} (excluding).
+		 * 
+		 * @param start the index of the first individual (including)
+		 * @param end   the index of the last individual (excluding)
+		 */
+		protected SyncChunk(int start, int end) {
+			this.start = start;
+			this.end = end;
+			stream = new Xoshiro128(start);
+			rng = new RNGDistribution.Uniform(stream, 0.0, 1.0);
+			compGroup = new IBSGroup(rng, IBSPopulation.this.compGroup);
+			interGroup = new IBSGroup(rng, IBSPopulation.this.interGroup);
+			cProbs = new double[IBSPopulation.this.cProbs.length];
+			groupScores = new double[IBSPopulation.this.groupScores.length];
+		}
+
+		/**
+		 * Seed the stream of random numbers of this chunk.
+		 * 
+		 * @param seed the seed of the stream
+		 */
+		void seed(long seed) {
+			stream.setSeed(seed);
+		}
+
+		/**
+		 * Record the score {@code score} and fitness {@code fit} of the individual
+		 * with index {@code index} in the reductions of this chunk.
+		 * 
+		 * @param index the index of the individual
+		 * @param score the score of the individual
+		 * @param fit   the fitness of the individual
+		 */
+		void reduce(int index, double score, double fit) {
+			sumFitness += fit;
+			if (score > maxScore) {
+				maxScore = score;
+				maxIdx = index;
+			}
+		}
+
+		/**
+		 * Reset the reductions of this chunk.
+		 */
+		void resetReductions() {
+			sumFitness = 0.0;
+			maxScore = -Double.MAX_VALUE;
+			maxIdx = -1;
+		}
+	}
+
 	/**
 	 * Gets the update rate of this species. Only used in multi-species modules.
 	 * Determines the relative rate at which this species is picked as compared to
@@ -1947,6 +2526,21 @@ public abstract class IBSPopulation {
 		return getPopulationSize();
 	}
 
+	/**
+	 * Advance the population by a batch of up to {@code maxEvents} events at
+	 * once (tau-leaping). Only available for some populations, which need to
+	 * override this method. By default no events are processed.
+	 * 
+	 * @param maxEvents the maximum number of events
+	 * @return the number of events processed or {@code 0} if the next event needs
+	 *         to be processed exactly
+	 * 
+	 * @see IBSDPopulation#leap(int)
+	 */
+	public int leap(int maxEvents) {
+		return 0;
+	}
+
 	/**
 	 * Perform a mutation event. The focal individual is picked uniformly at random.
 	 * 
@@ -1981,6 +2575,24 @@ public abstract class IBSPopulation {
 	 */
 	protected abstract boolean maybeMutateAt(int focal, boolean switched);
 
+	/**
+	 * Consider mutating the trait of the focal individual with index {@code focal}
+	 * using the random number generator {@code rand}. The thread safe counterpart
+	 * of {@link #maybeMutateAt(int, boolean)} for parallel synchronous updates.
+	 * Must be implemented by populations that permit parallel synchronous
+	 * updates.
+	 * 
+	 * @param focal    the index of the focal individual
+	 * @param switched {@code true} if the focal individual switched trait
+	 * @param rand     the random number generator
+	 * @return {@code true} if the trait of the focal individual changed
+	 * 
+	 * @see #permitsParallelSync()
+	 */
+	protected boolean maybeMutateAt(int focal, boolean switched, RNGDistribution rand) {
+		throw new Error("thread safe mutations not implemented!");
+	}
+
 	/**
 	 * Consider mutating the trait of the parent individual with index
 	 * {@code source}. The mutated trait is committed and the scores updated.
@@ -2012,6 +2624,7 @@ public abstract class IBSPopulation {
 
 			case ONCE: // asynchronous updates (every individual once)
 			case ASYNC: // exclusively the current payoff matters
+			case CHECKERBOARD: // asynchronous updates of independent sublattices
 				updatePlayerAsyncAt(focal);
 				break;
 
@@ -2071,6 +2684,34 @@ public abstract class IBSPopulation {
 	 */
 	protected int debugNModels = -1;
 
+	/**
+	 * Helper variable to store the neighbourhood of the focal individual for
+	 * implicit lattices, where neighbourhoods are computed on the fly, and for
+	 * frozen geometries, where neighbourhoods are copied from the compressed
+	 * representation.
+	 * 
+	 * @see Geometry#isImplicit()
+	 * @see Geometry#isFrozen()
+	 */
+	protected int[] focalNeighs = null;
+
+	/**
+	 * Helper variable to store the neighbourhood of another individual for
+	 * implicit lattices and frozen geometries.
+	 * 
+	 * @see #focalNeighs
+	 */
+	protected int[] otherNeighs = null;
+
+	/**
+	 * Helper variable to store the neighbourhood of the individuals that served as
+	 * models for implicit lattices and frozen geometries.
+	 * 
+	 * @see #debugModels
+	 * @see #focalNeighs
+	 */
+	private int[] debugNeighs = null;
+
 	/**
 	 * Override in subclass for example to mark those individuals in the GUI that
 	 * were involved in the debug step.
@@ -2412,6 +3053,63 @@ public abstract class IBSPopulation {
 		return switched;
 	}
 
+	/**
+	 * Perform a single synchronous update of the individual with index
+	 * {@code me} using the random number generator and the scratch space of
+	 * {@code chunk}. This is the thread safe counterpart of
+	 * {@link #updatePlayerAt(int, int[], int)}, which does not refer to any
+	 * shared random number generator or scratch space. Only supported if
+	 * {@link #permitsParallelSync()} returns {@code true}.
+	 * 
+	 * @param me         the index of the focal individual
+	 * @param refGroup   the group of reference individuals
+	 * @param rGroupSize the number of reference individuals
+	 * @param chunk      the chunk of the population that is being updated
+	 * @return {@code true} if trait of reference adopted
+	 * 
+	 * @see #stepSync(SyncChunk)
+	 */
+	boolean updatePlayerAt(int me, int[] refGroup, int rGroupSize, SyncChunk chunk) {
+		if (rGroupSize <= 0)
+			return false;
+
+		RNGDistribution rand = chunk.rng;
+		boolean switched;
+		switch (playerUpdate.getType()) {
+			case BEST: // best update
+				switched = updatePlayerBest(me, refGroup, rGroupSize);
+				break;
+
+			case BEST_RANDOM: // best update - equal payoffs 50% chance to switch
+				switched = updatePlayerBestHalf(me, refGroup, rGroupSize, rand);
+				break;
+
+			case PROPORTIONAL: // proportional update
+				switched = updateProportionalAbs(me, refGroup, rGroupSize, rand, chunk.groupScores);
+				break;
+
+			case IMITATE_BETTER: // imitation update (better traits only)
+				switched = updateReplicator(me, refGroup, rGroupSize, true, rand, chunk.cProbs);
+				break;
+
+			case IMITATE: // imitation update
+				switched = updateReplicator(me, refGroup, rGroupSize, false, rand, chunk.cProbs);
+				break;
+
+			case THERMAL: // fermi update
+				switched = updateThermal(me, refGroup, rGroupSize, rand, chunk.cProbs);
+				break;
+
+			default:
+				throw new Error("Update method for players (" + playerUpdate + ") not thread safe");
+		}
+		if (maybeMutateAt(me, switched, rand))
+			return true;
+		if (playerScoring.equals(ScoringType.RESET_ON_CHANGE))
+			return switched && !isSameTrait(me);
+		return switched;
+	}
+
 	/**
 	 * Updates the focal individual with index {@code me} by adopting the trait
 	 * of the best performing reference individual among the {@code rGroupSize}
@@ -2497,6 +3195,20 @@ public abstract class IBSPopulation {
 	 * @see #resetScoreAt(int)
 	 */
 	protected boolean updatePlayerBestHalf(int me, int[] refGroup, int rGroupSize) {
+		return updatePlayerBestHalf(me, refGroup, rGroupSize, rng);
+	}
+
+	/**
+	 * Implementation of {@link #updatePlayerBestHalf(int, int[], int)} using the
+	 * random number generator {@code rand}.
+	 * 
+	 * @param me         the index of the focal individual
+	 * @param refGroup   the group of reference individuals
+	 * @param rGroupSize the number of reference individuals
+	 * @param rand       the random number generator
+	 * @return {@code true} if trait of reference adopted
+	 */
+	private boolean updatePlayerBestHalf(int me, int[] refGroup, int rGroupSize, RNGDistribution rand) {
 		int bestPlayer = me;
 		double bestScore = getFitnessAt(me);
 		boolean switched = false;
@@ -2510,7 +3222,7 @@ public abstract class IBSPopulation {
 				switched = true;
 				continue;
 			}
-			if (Math.abs(aScore - bestScore) < 1e-8 && random01() < 0.5) {
+			if (Math.abs(aScore - bestScore) < 1e-8 && rand.random01() < 0.5) {
 				// equal scores - switch with probability 50%
 				bestPlayer = aPlayer;
 				switched = true;
@@ -2539,9 +3251,25 @@ public abstract class IBSPopulation {
 	 * @see #resetScoreAt(int)
 	 */
 	protected boolean updateProportionalAbs(int me, int[] refGroup, int rGroupSize) {
+		return updateProportionalAbs(me, refGroup, rGroupSize, rng, groupScores);
+	}
+
+	/**
+	 * Implementation of {@link #updateProportionalAbs(int, int[], int)} using the
+	 * random number generator {@code rand} and the scratch space {@code gScores}.
+	 * 
+	 * @param me         the index of the focal individual
+	 * @param refGroup   the group of reference individuals
+	 * @param rGroupSize the number of reference individuals
+	 * @param rand       the random number generator
+	 * @param gScores    the scratch space for the scores of the reference group
+	 * @return {@code true} if trait of reference adopted
+	 */
+	private boolean updateProportionalAbs(int me, int[] refGroup, int rGroupSize, RNGDistribution rand,
+			double[] gScores) {
 		// neutral case: choose random neighbor or individual itself
 		if (isNeutral) {
-			int hit = random0n(rGroupSize + 1);
+			int hit = rand.random0n(rGroupSize + 1);
 			if (hit == rGroupSize)
 				return false;
 			updateFromModelAt(me, refGroup[hit]);
@@ -2552,25 +3280,25 @@ public abstract class IBSPopulation {
 		double totFitness = myFitness;
 		for (int i = 0; i < rGroupSize; i++) {
 			double aScore = getFitnessAt(refGroup[i]) - minFitness;
-			groupScores[i] = aScore;
+			gScores[i] = aScore;
 			totFitness += aScore;
 		}
 		if (totFitness <= 0.0) { // everybody has the minimal score - pick at random
-			int hit = random0n(rGroupSize + 1);
+			int hit = rand.random0n(rGroupSize + 1);
 			if (hit == rGroupSize)
 				return false;
 			updateFromModelAt(me, refGroup[hit]);
 			return true;
 		}
 
-		double choice = random01() * totFitness;
+		double choice = rand.random01() * totFitness;
 		double bin = myFitness;
 		if (choice <= bin)
 			return false; // individual keeps its place
 
 		choice -= bin;
 		for (int i = 0; i < rGroupSize; i++) {
-			bin = groupScores[i];
+			bin = gScores[i];
 			if (choice <= bin) {
 				updateFromModelAt(me, refGroup[i]);
 				return true;
@@ -2602,7 +3330,7 @@ public abstract class IBSPopulation {
 	 * @see #resetScoreAt(int)
 	 */
 	protected boolean updateReplicatorPlus(int me, int[] refGroup, int rGroupSize) {
-		return updateReplicator(me, refGroup, rGroupSize, true);
+		return updateReplicator(me, refGroup, rGroupSize, true, rng, cProbs);
 	}
 
 	/**
@@ -2627,7 +3355,7 @@ public abstract class IBSPopulation {
 	 * @see #resetScoreAt(int)
 	 */
 	protected boolean updateReplicatorHalf(int me, int[] refGroup, int rGroupSize) {
-		return updateReplicator(me, refGroup, rGroupSize, false);
+		return updateReplicator(me, refGroup, rGroupSize, false, rng, cProbs);
 	}
 
 	/**
@@ -2641,19 +3369,22 @@ public abstract class IBSPopulation {
 	 * @param rGroupSize the number of reference individuals
 	 * @param betterOnly the flag to indicate whether only better performing
 	 *                   reference individuals are considered
+	 * @param rand       the random number generator
+	 * @param probs      the scratch space for the cumulative probabilities
 	 * @return {@code true} if trait of reference adopted
 	 * 
 	 * @see #updateReplicatorPlus(int, int[], int)
 	 * @see #updateReplicatorHalf(int, int[], int)
 	 */
-	private boolean updateReplicator(int me, int[] refGroup, int rGroupSize, boolean betterOnly) {
+	private boolean updateReplicator(int me, int[] refGroup, int rGroupSize, boolean betterOnly,
+			RNGDistribution rand, double[] probs) {
 		// neutral case
 		if (isNeutral) {
 			// return if betterOnly because no one is better
 			if (betterOnly)
 				return false;
 			// choose random neighbor or individual itself
-			int hit = random0n(rGroupSize + 1);
+			int hit = rand.random0n(rGroupSize + 1);
 			if (hit == rGroupSize)
 				return false;
 			updateFromModelAt(me, refGroup[hit]);
@@ -2677,14 +3408,14 @@ public abstract class IBSPopulation {
 			norm = aProb;
 			nProb = 1.0 - aProb;
 			if (rGroupSize > 1) {
-				cProbs[0] = aProb;
+				probs[0] = aProb;
 				for (int i = 1; i < rGroupSize; i++) {
 					aDiff = getFitnessAt(refGroup[i]) - myFitness;
 					if (aDiff > 0.0)
 						aProb = 1.0 - error;
 					else
 						aProb = (aDiff < 0.0 ? error : equalProb);
-					cProbs[i] = cProbs[i - 1] + aProb;
+					probs[i] = probs[i - 1] + aProb;
 					nProb *= 1.0 - aProb;
 					norm += aProb;
 				}
@@ -2704,11 +3435,11 @@ public abstract class IBSPopulation {
 				norm = aProb;
 				nProb = 1.0 - aProb;
 				if (rGroupSize > 1) {
-					cProbs[0] = aProb;
+					probs[0] = aProb;
 					for (int i = 1; i < rGroupSize; i++) {
 						aProb = Math.min(1.0 - error,
 								Math.max(error, (getFitnessAt(refGroup[i]) - myFitness) * inoise + shift));
-						cProbs[i] = cProbs[i - 1] + aProb;
+						probs[i] = probs[i - 1] + aProb;
 						nProb *= 1.0 - aProb;
 						norm += aProb;
 					}
@@ -2721,7 +3452,7 @@ public abstract class IBSPopulation {
 		if (norm <= 0.0)
 			return false;
 
-		double choice = random01();
+		double choice = rand.random01();
 		if (choice >= 1.0 - nProb)
 			return false;
 
@@ -2734,7 +3465,7 @@ public abstract class IBSPopulation {
 		norm = (1.0 - nProb) / norm;
 		for (int i = 0; i < rGroupSize; i++) {
 			// normalize cumulative probabilities only if and when needed
-			if (choice < cProbs[i] * norm) {
+			if (choice < probs[i] * norm) {
 				updateFromModelAt(me, refGroup[i]);
 				return true;
 			}
@@ -2767,9 +3498,25 @@ public abstract class IBSPopulation {
 	 * @see #resetScoreAt(int)
 	 */
 	protected boolean updateThermal(int me, int[] refGroup, int rGroupSize) {
+		return updateThermal(me, refGroup, rGroupSize, rng, cProbs);
+	}
+
+	/**
+	 * Implementation of {@link #updateThermal(int, int[], int)} using the random
+	 * number generator {@code rand} and the scratch space {@code probs}.
+	 * 
+	 * @param me         the index of the focal individual
+	 * @param refGroup   the group of reference individuals
+	 * @param rGroupSize the number of reference individuals
+	 * @param rand       the random number generator
+	 * @param probs      the scratch space for the cumulative probabilities
+	 * @return {@code true} if trait of reference adopted
+	 */
+	private boolean updateThermal(int me, int[] refGroup, int rGroupSize, RNGDistribution rand,
+			double[] probs) {
 		// neutral case: choose random neighbor or individual itself
 		if (isNeutral) {
-			int hit = random0n(rGroupSize + 1);
+			int hit = rand.random0n(rGroupSize + 1);
 			if (hit == rGroupSize)
 				return false;
 			updateFromModelAt(me, refGroup[hit]);
@@ -2792,14 +3539,14 @@ public abstract class IBSPopulation {
 			norm = aProb;
 			nProb = 1.0 - aProb;
 			if (rGroupSize > 1) {
-				cProbs[0] = aProb;
+				probs[0] = aProb;
 				for (int i = 1; i < rGroupSize; i++) {
 					aDiff = getFitnessAt(refGroup[i]) - myFitness;
 					if (aDiff > 0)
 						aProb = 1.0 - error;
 					else
 						aProb = (aDiff < 0.0 ? error : 0.5);
-					cProbs[i] = cProbs[i - 1] + aProb;
+					probs[i] = probs[i - 1] + aProb;
 					nProb *= 1.0 - aProb;
 					norm += aProb;
 				}
@@ -2813,11 +3560,11 @@ public abstract class IBSPopulation {
 			norm = aProb;
 			nProb = 1.0 - aProb;
 			if (rGroupSize > 1) {
-				cProbs[0] = aProb;
+				probs[0] = aProb;
 				for (int i = 1; i < rGroupSize; i++) {
 					aProb = Math.min(1.0 - error, Math.max(error,
 							1.0 / (2.0 + Math.expm1(-(getFitnessAt(refGroup[i]) - myFitness) * inoise))));
-					cProbs[i] = cProbs[i - 1] + aProb;
+					probs[i] = probs[i - 1] + aProb;
 					nProb *= 1.0 - aProb;
 					norm += aProb;
 				}
@@ -2826,7 +3573,7 @@ public abstract class IBSPopulation {
 		if (norm <= 0.0)
 			return false;
 
-		double choice = random01();
+		double choice = rand.random01();
 		if (choice >= 1.0 - nProb)
 			return false;
 
@@ -2839,7 +3586,7 @@ public abstract class IBSPopulation {
 		norm = (1.0 - nProb) / norm;
 		for (int i = 0; i < rGroupSize; i++) {
 			// normalize cumulative probabilities only if and when needed
-			if (choice < cProbs[i] * norm) {
+			if (choice < probs[i] * norm) {
 				updateFromModelAt(me, refGroup[i]);
 				return true;
 			}
@@ -2853,7 +3600,7 @@ public abstract class IBSPopulation {
 					.append(", choice=").append(choice)
 					.append("\nCumulative probabilities: ");
 			for (int i = 0; i < rGroupSize; i++)
-				sb.append(cProbs[i]).append('\t');
+				sb.append(probs[i]).append('\t');
 			logger.fine(sb.toString());
 		}
 		throw new Error("Problem in updateThermal()...");
@@ -3280,6 +4027,13 @@ public abstract class IBSPopulation {
 				if (interactions == null || interactions.length != nPopulation)
 					interactions = new int[nPopulation];
 			}
+			// sum tree requires individual fitness (not available with lookup tables)
+			if (fitnessTreeRequested && fitness != null) {
+				if (fitTree == null || fitTree.size() != nPopulation)
+					fitTree = new SumTree(nPopulation);
+			} else {
+				fitTree = null;
+			}
 
 			// number of interactions can also be determined in structured populations with
 			// well-mixed demes
@@ -3297,6 +4051,7 @@ public abstract class IBSPopulation {
 			interactions = null;
 			typeFitness = null;
 			typeScores = null;
+			fitTree = null;
 		}
 		if (tags == null || tags.length != nPopulation)
 			tags = new double[nPopulation];
@@ -3486,6 +4241,23 @@ public abstract class IBSPopulation {
 			smallScores = new double[maxGroup]; // can hold scores for any group size!
 		if (cProbs == null || cProbs.length != maxGroup)
 			cProbs = new double[maxGroup]; // can hold groups of any size!
+		// chunks for parallel synchronous updates are created on demand
+		syncChunks = null;
+		sublatticeSites = null;
+		// neighbourhoods of implicit lattices are computed on the fly and those of
+		// frozen geometries are copied from their compressed representation
+		if (interaction.isImplicit() || competition.isImplicit() || interaction.isFrozen()
+				|| competition.isFrozen()) {
+			if (focalNeighs == null || focalNeighs.length != maxGroup) {
+				focalNeighs = new int[maxGroup];
+				otherNeighs = new int[maxGroup];
+				debugNeighs = new int[maxGroup];
+			}
+		} else {
+			focalNeighs = null;
+			otherNeighs = null;
+			debugNeighs = null;
+		}
 
 		// number of interactions can be determined for ephemeral payoffs
 		// store in interactions array
@@ -3613,6 +4385,16 @@ public abstract class IBSPopulation {
 				isConsistent = false;
 			}
 		}
+		if (fitTree != null) {
+			for (int n = 0; n < nPopulation; n++) {
+				double fitn = (isVacantAt(n) ? 0.0 : fitness[n]);
+				if (fitTree.get(n) != fitn) {
+					logger.warning("sum tree issue @ " + n + ": weight=" + fitTree.get(n) + " instead of fitness=" + fitn);
+					isConsistent = false;
+					break;
+				}
+			}
+		}
 		if (adjustScores) {
 			// recalculate scores/fitness
 			if (hasLookupTable) {
@@ -3717,6 +4499,7 @@ public abstract class IBSPopulation {
 				scores = scoresStore;
 				fitness = fitnessStore;
 				sumFitness = sumFitnessStore;
+				initFitTree();
 			}
 		} else {
 			// no adjust scores
@@ -4288,14 +5071,13 @@ public abstract class IBSPopulation {
 	 * Encode the fitness of all individuals in the IBS model in a
 	 * <code>plist</code> inspired <code>XML</code> string.
 	 * 
-	 * @param plist the {@link java.lang.StringBuilder StringBuilder} to write the
-	 *              encoded state to
+	 * @param plist the {@link PlistWriter} to write the encoded state to
 	 * 
-	 * @see Model#encodeState(StringBuilder)
+	 * @see Model#encodeState(PlistWriter)
 	 */
-	public void encodeFitness(StringBuilder plist) {
+	public void encodeFitness(PlistWriter plist) {
 		if (!hasLookupTable)
-			plist.append(Plist.encodeKey("Fitness", scores));
+			plist.appendKey("Fitness", scores);
 	}
 
 	/**
@@ -4321,6 +5103,7 @@ public abstract class IBSPopulation {
 				fitness[n] = nfit;
 				sumFitness += nfit;
 			}
+			initFitTree();
 			setMaxEffScoreIdx();
 		}
 		return true;
@@ -4330,14 +5113,13 @@ public abstract class IBSPopulation {
 	 * Encode the interactions of all individuals in the IBS model in a
 	 * <code>plist</code> inspired <code>XML</code> string.
 	 * 
-	 * @param plist the {@link java.lang.StringBuilder StringBuilder} to write the
-	 *              encoded state to
+	 * @param plist the {@link PlistWriter} to write the encoded state to
 	 * 
-	 * @see Model#encodeState(StringBuilder)
+	 * @see Model#encodeState(PlistWriter)
 	 */
-	public void encodeInteractions(StringBuilder plist) {
+	public void encodeInteractions(PlistWriter plist) {
 		if (!hasLookupTable)
-			plist.append(Plist.encodeKey("Interactions", interactions));
+			plist.appendKey("Interactions", interactions);
 	}
 
 	/**
@@ -4365,12 +5147,11 @@ public abstract class IBSPopulation {
 	 * Encode the traits of all individuals in the IBS model in a
 	 * <code>plist</code> inspired <code>XML</code> string.
 	 * 
-	 * @param plist the {@link java.lang.StringBuilder StringBuilder} to write the
-	 *              encoded state to
+	 * @param plist the {@link PlistWriter} to write the encoded state to
 	 * 
-	 * @see Model#encodeState(StringBuilder)
+	 * @see Model#encodeState(PlistWriter)
 	 */
-	public abstract void encodeTraits(StringBuilder plist);
+	public abstract void encodeTraits(PlistWriter plist);
 
 	/**
 	 * Restore the traits of all individuals encoded in the <code>plist</code>
@@ -4387,23 +5168,18 @@ public abstract class IBSPopulation {
 	 * Encode the interaction and competition structures of the IBS model in a
 	 * <code>plist</code> inspired <code>XML</code> string.
 	 * 
-	 * @param plist the {@link java.lang.StringBuilder StringBuilder} to write the
-	 *              encoded state to
+	 * @param plist the {@link PlistWriter} to write the encoded state to
 	 * 
-	 * @see Model#encodeState(StringBuilder)
+	 * @see Model#encodeState(PlistWriter)
 	 */
-	public void encodeGeometry(StringBuilder plist) {
-		plist.append(
-				"<key>" + interaction.name + "</key>\n" +
-						"<dict>\n");
-		plist.append(interaction.encodeGeometry());
+	public void encodeGeometry(PlistWriter plist) {
+		plist.appendKey(interaction.name).append("<dict>\n");
+		interaction.encodeGeometry(plist);
 		plist.append("</dict>\n");
 		if (interaction.interCompSame)
 			return;
-		plist.append(
-				"<key>" + competition.name + "</key>\n" +
-						"<dict>\n");
-		plist.append(competition.encodeGeometry());
+		plist.appendKey(competition.name).append("<dict>\n");
+		competition.encodeGeometry(plist);
 		plist.append("</dict>\n");
 	}
 
@@ -4495,32 +5271,17 @@ public abstract class IBSPopulation {
 	 * @return the number of successes
 	 */
 	public int nextBinomial(double p, int n) {
-		if (n == 0)
+		if (n == 0 || p <= 0.0)
 			return 0;
 		if (p > 1.0 - 1e-8)
 			return 0;
 
-		// check if gaussian approximation is suitable
-		double np = n * p;
-		if (np / (1.0 - p) > 9.0 && n * (1.0 - p) / p > 9.0)
-			return (int) Math.floor(randomGaussian(np + 0.5, Math.sqrt(np * (1.0 - p))));
-
-		double uRand = random01();
-		double pi = Combinatorics.pow(1.0 - p, n);
-		double f = p / (1.0 - p);
-		double sum = 0.0;
-
-		for (int i = 0; i <= n; i++) {
-			sum += pi * Combinatorics.combinations(n, i);
-			if (uRand <= sum)
-				return i;
-			pi *= f;
-		}
-		if (logger.isLoggable(Level.WARNING)) {
-			StringBuilder sb = new StringBuilder("What the heck are you doing here!!! (rand: ");
-			sb.append(uRand).append(", p: ").append(p).append(", n: ").append(n).append(" → ").append(sum).append(")");
-			logger.warning(sb.toString());
-		}
-		return -1;
+		// the setup is cached and only repeated if p or n changed
+		RandomNumberGenerator gen = rng.getRNG();
+		if (distrBinomial == null || distrBinomial.getRNG() != gen)
+			distrBinomial = new RNGDistribution.Binomial(gen, p, n);
+		else
+			distrBinomial.setProbabilityTrials(p, n);
+		return distrBinomial.next();
 	}
 }
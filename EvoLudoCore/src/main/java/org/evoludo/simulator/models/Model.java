@@ -49,6 +49,7 @@ import org.evoludo.util.CLOption.CLODelegate;
 import org.evoludo.util.CLOption.Category;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Interface for EvoLudo models to interact with {@link Module}s, which define
@@ -150,6 +151,13 @@ public abstract class Model implements CLOProvider {
 		public interface EM extends ODE {
 		}
 
+		/**
+		 * Interface for stiff ordinary differential equation models using the fourth
+		 * order Rosenbrock method.
+		 */
+		public interface ROS extends ODE {
+		}
+
 		/**
 		 * Interface for stochastic differential equation models.
 		 */
@@ -1648,15 +1656,14 @@ public abstract class Model implements CLOProvider {
 	 * the exact same results as when continuing to run the model. This even allows
 	 * to switch from JRE to GWT or back and obtain identical results!
 	 * 
-	 * @param plist the {@link java.lang.StringBuilder StringBuilder} to write the
-	 *              encoded state to
+	 * @param plist the {@link PlistWriter} to write the encoded state to
 	 * 
 	 * @see org.evoludo.util.Plist
 	 * @see org.evoludo.util.XMLCoder
 	 */
-	public void encodeState(StringBuilder plist) {
-		plist.append(Plist.encodeKey("Time", time));
-		plist.append(Plist.encodeKey("Model", type.toString()));
+	public void encodeState(PlistWriter plist) {
+		plist.appendKey("Time", time);
+		plist.appendKey("Model", type.toString());
 	}
 
 	/**
@@ -51,6 +51,7 @@ import org.evoludo.util.CLOption.CLODelegate;
 import org.evoludo.util.CLOption.Category;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Common base class for all differential equations models. Provides the basic
@@ -184,6 +185,69 @@ public class ODE extends Model implements DModel {
 	 */
 	double[] dstate;
 
+	/**
+	 * The state of the numerical integration for integrators with dense output,
+	 * see {@link #hasDenseOutput()}. The integration advances with its own
+	 * adaptive step sizes and is generally ahead of the reported state
+	 * {@link #yt} at time {@link #time}, which is obtained by interpolation.
+	 * Similarly, {@code dyDense} and {@code ftDense} refer to the rates of change
+	 * and the fitness at time {@code tDense}.
+	 */
+	private double[] yDense;
+
+	/**
+	 * The rates of change at the state {@link #yDense} of the integration.
+	 */
+	private double[] dyDense;
+
+	/**
+	 * The fitness at the state {@link #yDense} of the integration.
+	 */
+	private double[] ftDense;
+
+	/**
+	 * The time of the integration state {@link #yDense}.
+	 */
+	private double tDense;
+
+	/**
+	 * The state at the beginning of the most recent integration step. Together
+	 * with {@link #yDense} this defines the interval for interpolating reported
+	 * states and locating halting conditions.
+	 */
+	private double[] yPrev;
+
+	/**
+	 * The rates of change at the beginning of the most recent integration step.
+	 */
+	private double[] dyPrev;
+
+	/**
+	 * The time at the beginning of the most recent integration step.
+	 */
+	private double tPrev;
+
+	/**
+	 * The time when the halting condition was met during an integration step
+	 * that extends beyond the current report or {@code NaN} if none.
+	 */
+	private double haltPending = Double.NaN;
+
+	/**
+	 * The flag is {@code true} if the integration state {@link #yDense} is in
+	 * sync with the reported state {@link #yt}. Any external changes to the state
+	 * or the parameters invalidate the integration state.
+	 */
+	private boolean denseValid = false;
+
+	/**
+	 * The condition for halting the numerical integration or {@code null} if
+	 * none.
+	 * 
+	 * @see #setHaltCondition(HaltCondition)
+	 */
+	HaltCondition haltCondition;
+
 	/**
 	 * For {@link Module}s with static fitness, e.g. the original Moran process
 	 * {@link org.evoludo.simulator.modules.Moran}, this array stores the fitness of
@@ -348,6 +412,8 @@ public class ODE extends Model implements DModel {
 		mutation = null;
 		dependents = null;
 		yt = ft = dyt = yout = null;
+		yDense = dyDense = ftDense = yPrev = dyPrev = null;
+		denseValid = false;
 		staticfit = null;
 		names = null;
 		invFitRange = null;
@@ -387,6 +453,13 @@ public class ODE extends Model implements DModel {
 			nDim += nTraits;
 		}
 		idxSpecies[nSpecies] = nDim;
+		if (haltTrait >= nDim) {
+			if (logger.isLoggable(Level.WARNING))
+				logger.warning(getClass().getSimpleName() + " - no trait with index " + haltTrait
+						+ " (halting condition ignored).");
+			haltTrait = -1;
+			setHaltCondition(null);
+		}
 		if (yt == null || yt.length != nDim) {
 			yt = new double[nDim];
 			dyt = new double[nDim];
@@ -669,6 +742,8 @@ public class ODE extends Model implements DModel {
 		if (converged)
 			return false;
 		connect = true;
+		if (hasDenseOutput())
+			return nextDense();
 		double nextHalt = getNextHalt();
 		// continue if milestone reached in previous step, i.e. deltat < 1e-8
 		double step = timeStep;
@@ -703,6 +778,281 @@ public class ODE extends Model implements DModel {
 		return !converged;
 	}
 
+	/**
+	 * Checks whether the integrator provides a continuous extension of the
+	 * numerical solution between steps. If so, the integration proceeds with
+	 * its own adaptive step sizes and the states at the reporting times are
+	 * interpolated instead of truncating steps to land on every report.
+	 * 
+	 * @return {@code true} if dense output is available
+	 * 
+	 * @see #nextDense()
+	 */
+	protected boolean hasDenseOutput() {
+		return false;
+	}
+
+	/**
+	 * Advances the numerical integration to the next report for integrators with
+	 * dense output. Steps are truncated only to hit the next halting time
+	 * {@link #getNextHalt()} exactly, while the state at the report time is
+	 * obtained by cubic Hermite interpolation of the step that brackets it. The
+	 * integration state is kept separately and generally remains ahead of the
+	 * reported state. If a halting condition is set, each step is checked for a
+	 * sign change of the condition and the crossing is located on the
+	 * interpolant.
+	 * 
+	 * @return {@code true} if the next report is due and the integration should
+	 *         continue
+	 * 
+	 * @see #hermite(double, double[], double[], double, double[])
+	 * @see #setHaltCondition(HaltCondition)
+	 */
+	boolean nextDense() {
+		double nextHalt = getNextHalt();
+		// continue if milestone reached in previous step, i.e. deltat < 1e-8
+		double step = timeStep;
+		double deltat = Math.abs(nextHalt - time);
+		if (deltat >= 1e-8)
+			step = Math.min(step, deltat);
+		double target = time + (forward ? step : -step);
+		if (!denseValid)
+			syncDense();
+		// swap in the state of the integration
+		double[] yRep = yt;
+		double[] dyRep = dyt;
+		double[] ftRep = ft;
+		yt = yDense;
+		dyt = dyDense;
+		ft = ftDense;
+		time = tDense;
+		double dir = (forward ? 1.0 : -1.0);
+		double tReport = target;
+		boolean halted = false;
+		if (haltPending == haltPending && dir * (target - haltPending) >= 0.0) {
+			// halting condition met before target was reached in previous step
+			tReport = haltPending;
+			haltPending = Double.NaN;
+			halted = true;
+		}
+		while (!halted && dir * (target - time) > 1e-8) {
+			double h = dtTry;
+			// truncate steps only to hit halting times
+			double toHalt = dir * (nextHalt - time);
+			if (toHalt > 1e-8 && h > toHalt)
+				h = toHalt;
+			System.arraycopy(yt, 0, yPrev, 0, nDim);
+			System.arraycopy(dyt, 0, dyPrev, 0, nDim);
+			tPrev = time;
+			double d2 = deStep(forward ? h : -h);
+			if (dtTaken <= 1e-16) {
+				// emergency brake - step size too small
+				if (logger.isLoggable(Level.WARNING))
+					logger.warning(getClass().getSimpleName()
+							+ ": aborted, step size too small, dt=" + Formatter.formatSci(dtTaken, 5));
+				converged = true;
+				tReport = time;
+				break;
+			}
+			if (haltCondition != null) {
+				double tHalt = locateHalt();
+				if (tHalt == tHalt) {
+					// not NaN - halting condition met
+					if (dir * (target - tHalt) >= 0.0) {
+						tReport = tHalt;
+						halted = true;
+						break;
+					}
+					// report target first
+					haltPending = tHalt;
+				}
+			}
+			if (checkConvergence(d2)) {
+				if (dir * (target - time) > 0.0)
+					tReport = time;
+				break;
+			}
+		}
+		// swap out the state of the integration
+		yDense = yt;
+		dyDense = dyt;
+		ftDense = ft;
+		tDense = time;
+		yt = yRep;
+		dyt = dyRep;
+		ft = ftRep;
+		if (Math.abs(tReport - tDense) <= 1e-8) {
+			// report coincides with integration state
+			System.arraycopy(yDense, 0, yt, 0, nDim);
+			System.arraycopy(dyDense, 0, dyt, 0, nDim);
+			if (ft != null)
+				System.arraycopy(ftDense, 0, ft, 0, nDim);
+			time = tDense;
+		} else {
+			hermite(tReport, yDense, dyDense, tDense, yt);
+			time = tReport;
+			getDerivatives(time, yt, ft, dyt);
+		}
+		if (halted)
+			return false;
+		if (Math.abs(nextHalt - time) < 1e-8)
+			return false;
+		return !converged;
+	}
+
+	/**
+	 * Synchronizes the state of the integration with the reported state, e.g.
+	 * after initialization, restoring a state or changes of parameters.
+	 */
+	private void syncDense() {
+		if (yDense == null || yDense.length != nDim) {
+			yDense = new double[nDim];
+			dyDense = new double[nDim];
+			yPrev = new double[nDim];
+			dyPrev = new double[nDim];
+		}
+		if (ft == null)
+			ftDense = null;
+		else if (ftDense == null || ftDense.length != nDim)
+			ftDense = new double[nDim];
+		System.arraycopy(yt, 0, yDense, 0, nDim);
+		System.arraycopy(dyt, 0, dyDense, 0, nDim);
+		if (ft != null)
+			System.arraycopy(ft, 0, ftDense, 0, nDim);
+		System.arraycopy(yt, 0, yPrev, 0, nDim);
+		System.arraycopy(dyt, 0, dyPrev, 0, nDim);
+		tDense = time;
+		tPrev = time;
+		haltPending = Double.NaN;
+		denseValid = true;
+	}
+
+	/**
+	 * Interpolates the state at time {@code t} within the most recent
+	 * integration step from {@link #yPrev} at {@link #tPrev} to {@code y1} at
+	 * {@code t1}. The cubic Hermite interpolant matches the states and the rates
+	 * of change at both ends of the step and hence only requires quantities that
+	 * the integrator calculates anyways. For frequencies the interpolated state
+	 * is normalized.
+	 * 
+	 * @param t   the time of the requested state
+	 * @param y1  the state at the end of the step
+	 * @param dy1 the rates of change at the end of the step
+	 * @param t1  the time at the end of the step
+	 * @param out the array for storing the interpolated state
+	 */
+	private void hermite(double t, double[] y1, double[] dy1, double t1, double[] out) {
+		double h = t1 - tPrev;
+		double theta = (t - tPrev) / h;
+		double theta2 = theta * theta;
+		double theta3 = theta2 * theta;
+		double h00 = 2.0 * theta3 - 3.0 * theta2 + 1.0;
+		double h10 = (theta3 - 2.0 * theta2 + theta) * h;
+		double h01 = 3.0 * theta2 - 2.0 * theta3;
+		double h11 = (theta3 - theta2) * h;
+		for (int n = 0; n < nDim; n++)
+			out[n] = Math.max(0.0, h00 * yPrev[n] + h10 * dyPrev[n] + h01 * y1[n] + h11 * dy1[n]);
+		normalizeState(out);
+	}
+
+	/**
+	 * Locates the time where the halting condition changes sign during the most
+	 * recent integration step. The root of the halting condition along the
+	 * interpolant is found using the Illinois variant of the regula falsi.
+	 * <p>
+	 * <strong>Note:</strong> the integration state is in {@link #yt} at time
+	 * {@link #time} while this method is called.
+	 * 
+	 * @return the time when the halting condition is met or {@code NaN} if the
+	 *         condition did not change sign
+	 */
+	private double locateHalt() {
+		double ga = haltCondition.value(tPrev, yPrev);
+		double gb = haltCondition.value(time, yt);
+		// a sign change requires ga != 0; otherwise the condition was already met
+		// at the end of the previous step
+		if (ga == 0.0 || ga * gb > 0.0)
+			return Double.NaN;
+		if (gb == 0.0)
+			return time;
+		double a = 0.0;
+		double b = 1.0;
+		double h = time - tPrev;
+		int side = 0;
+		for (int i = 0; i < MAX_HALT_ITER; i++) {
+			double c = (a * gb - b * ga) / (gb - ga);
+			double tc = tPrev + c * h;
+			hermite(tc, yt, dyt, time, yout);
+			double gc = haltCondition.value(tc, yout);
+			if (gc * gb > 0.0) {
+				b = c;
+				gb = gc;
+				if (side == -1)
+					ga *= 0.5;
+				side = -1;
+			} else if (gc * ga > 0.0) {
+				a = c;
+				ga = gc;
+				if (side == 1)
+					gb *= 0.5;
+				side = 1;
+			} else
+				return tc;
+			if (Math.abs((b - a) * h) < 1e-12)
+				break;
+		}
+		return tPrev + 0.5 * (a + b) * h;
+	}
+
+	/**
+	 * The maximum number of iterations to locate the time when the halting
+	 * condition is met.
+	 */
+	private static final int MAX_HALT_ITER = 60;
+
+	/**
+	 * Sets the condition for halting the numerical integration. The integration
+	 * halts at the time when {@link HaltCondition#value(double, double[])} changes
+	 * sign. Only available for integrators with dense output.
+	 * 
+	 * @param condition the halting condition or {@code null} to clear
+	 * 
+	 * @see #hasDenseOutput()
+	 */
+	public void setHaltCondition(HaltCondition condition) {
+		haltCondition = condition;
+	}
+
+	/**
+	 * Gets the condition for halting the numerical integration.
+	 * 
+	 * @return the halting condition or {@code null} if none
+	 */
+	public HaltCondition getHaltCondition() {
+		return haltCondition;
+	}
+
+	/**
+	 * Interface for conditions that halt the numerical integration, for example
+	 * when the frequency of a trait crosses a threshold. The integration halts
+	 * where the value of the condition changes sign and the crossing is located
+	 * precisely on the interpolant between integration steps.
+	 */
+	@FunctionalInterface
+	public interface HaltCondition {
+
+		/**
+		 * Evaluates the halting condition at time {@code t} for the state
+		 * {@code state}.
+		 * 
+		 * @param t     the time
+		 * @param state the frequencies/densities of all traits
+		 * @return the value of the condition, which changes sign when the condition
+		 *         is met
+		 */
+		public double value(double t, double[] state);
+	}
+
 	/**
 	 * Helper method to check whether the squared distance <code>dist2</code>
 	 * qualifies to signal convergence.
@@ -1369,6 +1719,7 @@ public class ODE extends Model implements DModel {
 
 	@Override
 	public void update() {
+		denseValid = false;
 		getDerivatives(time, yt, ft, dyt);
 	}
 
@@ -1491,6 +1842,7 @@ public class ODE extends Model implements DModel {
 		dtTry = dt;
 		connect = false;
 		converged = false;
+		denseValid = false;
 		// PDE models have their own initialization types
 		if (type.isPDE())
 			return;
@@ -1787,6 +2139,82 @@ public class ODE extends Model implements DModel {
 				}
 			});
 
+	/**
+	 * The number of initial conditions that are integrated simultaneously to
+	 * determine basins of attraction.
+	 * 
+	 * @see ODEEnsemble
+	 * @see #cloEnsemble
+	 */
+	int nEnsemble = 1000;
+
+	/**
+	 * Gets the number of initial conditions that are integrated simultaneously to
+	 * determine basins of attraction.
+	 * 
+	 * @return the number of initial conditions
+	 * 
+	 * @see ODEEnsemble
+	 */
+	public int getNEnsemble() {
+		return nEnsemble;
+	}
+
+	/**
+	 * Command line option to set the number of initial conditions that are
+	 * integrated simultaneously to determine basins of attraction.
+	 * 
+	 * @see ODEEnsemble
+	 */
+	public final CLOption cloEnsemble = new CLOption("ensemble", "1000", Category.Model,
+			"--ensemble <n>  number of initial conditions for basins of attraction",
+			new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					int n = CLOParser.parseInteger(arg);
+					if (n < 1)
+						return false;
+					nEnsemble = n;
+					return true;
+				}
+			});
+
+	/**
+	 * The index of the trait whose frequency/density halts the integration when
+	 * crossing a threshold or {@code -1} if not set.
+	 * 
+	 * @see #cloHaltAt
+	 */
+	int haltTrait = -1;
+
+	/**
+	 * Command line option to halt the numerical integration when the
+	 * frequency/density of a trait crosses a threshold. In multi-species modules
+	 * the traits of all species are numbered consecutively. Only available for
+	 * integrators with dense output.
+	 * 
+	 * @see #setHaltCondition(HaltCondition)
+	 * @see #hasDenseOutput()
+	 */
+	public final CLOption cloHaltAt = new CLOption("haltat", "none", Category.Model,
+			"--haltat <i,x>  halt when trait i crosses x", new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					haltTrait = -1;
+					setHaltCondition(null);
+					if (!cloHaltAt.isSet())
+						return true;
+					double[] args = CLOParser.parseVector(arg);
+					if (args.length != 2 || args[0] < 0.0)
+						return false;
+					int idx = (int) args[0];
+					double threshold = args[1];
+					haltTrait = idx;
+					setHaltCondition((t, state) -> state[idx] - threshold);
+					return true;
+				}
+			});
+
 	@Override
 	public void collectCLO(CLOParser parser) {
 		super.collectCLO(parser);
@@ -1814,15 +2242,19 @@ public class ODE extends Model implements DModel {
 		}
 		if (permitsTimeReversal())
 			parser.addCLO(cloTimeReversed);
+		if (type.isODE())
+			parser.addCLO(cloEnsemble);
+		if (hasDenseOutput())
+			parser.addCLO(cloHaltAt);
 	}
 
 	@Override
-	public void encodeState(StringBuilder plist) {
+	public void encodeState(PlistWriter plist) {
 		super.encodeState(plist);
-		plist.append(Plist.encodeKey("Dt", dt));
-		plist.append(Plist.encodeKey("Forward", forward));
-		plist.append(Plist.encodeKey("AdjustedDynamics", isAdjustedDynamics));
-		plist.append(Plist.encodeKey("Accuracy", accuracy));
+		plist.appendKey("Dt", dt);
+		plist.appendKey("Forward", forward);
+		plist.appendKey("AdjustedDynamics", isAdjustedDynamics);
+		plist.appendKey("Accuracy", accuracy);
 		encodeTraits(plist);
 		encodeFitness(plist);
 	}
@@ -1836,6 +2268,7 @@ public class ODE extends Model implements DModel {
 		isAdjustedDynamics = (Boolean) plist.get("AdjustedDynamics");
 		accuracy = (Double) plist.get("Accuracy");
 		connect = false;
+		denseValid = false;
 		if (!restoreTraits(plist)) {
 			if (logger.isLoggable(Level.WARNING))
 				logger.warning("restore traits in " + type + "-model failed.");
@@ -1852,11 +2285,11 @@ public class ODE extends Model implements DModel {
 	/**
 	 * Encodes state of the model in the form of a <code>plist</code> string.
 	 * 
-	 * @param plist the string builder for the encoded state
+	 * @param plist the writer for the encoded state
 	 */
-	void encodeTraits(StringBuilder plist) {
-		plist.append(Plist.encodeKey("State", yt));
-		plist.append(Plist.encodeKey("StateChange", dyt));
+	void encodeTraits(PlistWriter plist) {
+		plist.appendKey("State", yt);
+		plist.appendKey("StateChange", dyt);
 	}
 
 	/**
@@ -1882,10 +2315,10 @@ public class ODE extends Model implements DModel {
 	/**
 	 * Encodes the fitness of the model in the form of a <code>plist</code> string.
 	 * 
-	 * @param plist the string builder for the encoded state
+	 * @param plist the writer for the encoded state
 	 */
-	void encodeFitness(StringBuilder plist) {
-		plist.append(Plist.encodeKey("Fitness", ft));
+	void encodeFitness(PlistWriter plist) {
+		plist.appendKey("Fitness", ft);
 	}
 
 	/**
@@ -0,0 +1,453 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+package org.evoludo.simulator.models;
+
+import java.util.Arrays;
+
+import org.evoludo.math.ArrayMath;
+import org.evoludo.math.RNGDistribution;
+import org.evoludo.simulator.EvoLudo;
+import org.evoludo.util.Formatter;
+
+/**
+ * Ensemble of initial conditions of an {@link ODE} model that are integrated
+ * simultaneously. The states of all members are stored in a single flat array
+ * such that the state of member {@code m} occupies the entries
+ * {@code m * nDim} through {@code (m + 1) * nDim - 1}. All members are
+ * advanced with the classical fourth order Runge-Kutta method and fixed steps
+ * of size {@link ODE#getDt()}. This avoids the overhead of resetting and
+ * re-running the model for every initial condition, e.g. to determine the
+ * basins of attraction.
+ * <p>
+ * The rates of change are calculated by the model itself,
+ * {@link ODE#getDerivatives(double, double[], double[], double[])}, for one
+ * member at a time. Members that converged are masked and no longer
+ * integrated. Once all members converged, the endpoints can be classified
+ * into basins of attraction, see {@link #classify(double)}.
+ * <p>
+ * This default implementation processes all members sequentially.
+ * Subclasses are encouraged to take advantage of optimizations available in
+ * different frameworks. In particular, members are independent and can be
+ * processed in parallel in JRE.
+ * <p>
+ * <strong>IMPORTANT:</strong> parallel processing requires
+ * {@link ODE#getDerivatives(double, double[], double[], double[])} to be
+ * thread safe, just as for {@link PDE}s.
+ *
+ * @author Christoph Hauert
+ * 
+ * @see org.evoludo.simulator.EvoLudo#hireODEEnsemble(ODE)
+ */
+public class ODEEnsemble {
+
+	/**
+	 * Creates a new ensemble of initial conditions for the model
+	 * <strong>charge</strong>.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 * @param charge the model to integrate
+	 */
+	public ODEEnsemble(EvoLudo engine, ODE charge) {
+		this.engine = engine;
+		this.charge = charge;
+	}
+
+	/**
+	 * The pacemaker of all models. Interface with the outside world.
+	 */
+	protected EvoLudo engine;
+
+	/**
+	 * The model that provides the rates of change.
+	 */
+	protected ODE charge;
+
+	/**
+	 * The number of members in the ensemble.
+	 */
+	protected int nEnsemble;
+
+	/**
+	 * The number of dynamical variables of each member.
+	 */
+	protected int nDim;
+
+	/**
+	 * The initial states of all members.
+	 */
+	double[] init;
+
+	/**
+	 * The current states of all members.
+	 */
+	double[] state;
+
+	/**
+	 * The times when members converged or {@code NaN} if not (yet) converged.
+	 */
+	double[] convergedAt;
+
+	/**
+	 * The number of converged members.
+	 */
+	int nConverged;
+
+	/**
+	 * The time elapsed since the initial states.
+	 */
+	double time;
+
+	/**
+	 * The index of the basin of attraction of each member or {@code -1} if the
+	 * member did not converge.
+	 * 
+	 * @see #classify(double)
+	 */
+	int[] basin;
+
+	/**
+	 * The number of distinct attractors found.
+	 * 
+	 * @see #classify(double)
+	 */
+	int nAttractors;
+
+	/**
+	 * Reset the ensemble to {@code nEnsemble} members. All members start in the
+	 * initial state of the model.
+	 * 
+	 * @param nEnsemble the number of members
+	 */
+	public void reset(int nEnsemble) {
+		if (nEnsemble < 1)
+			throw new IllegalArgumentException("ensemble requires at least one member.");
+		this.nEnsemble = nEnsemble;
+		nDim = charge.nDim;
+		int size = nEnsemble * nDim;
+		if (state == null || state.length != size) {
+			init = new double[size];
+			state = new double[size];
+			convergedAt = new double[nEnsemble];
+			basin = new int[nEnsemble];
+		}
+		for (int m = 0; m < nEnsemble; m++)
+			System.arraycopy(charge.y0, 0, init, m * nDim, nDim);
+		init();
+	}
+
+	/**
+	 * Restart the integration of all members from their initial states.
+	 */
+	public void init() {
+		System.arraycopy(init, 0, state, 0, init.length);
+		Arrays.fill(convergedAt, Double.NaN);
+		Arrays.fill(basin, -1);
+		nConverged = 0;
+		nAttractors = 0;
+		time = 0.0;
+	}
+
+	/**
+	 * Draw the initial states of all members at random. For frequency based
+	 * models the initial frequencies of each species are uniformly distributed on
+	 * the simplex. For density based models the initial densities are uniformly
+	 * distributed between zero and twice the initial densities of the model.
+	 * 
+	 * @param rng the random number generator
+	 */
+	public void initRandom(RNGDistribution rng) {
+		boolean isDensity = charge.isDensity();
+		double[] y0 = charge.y0;
+		for (int m = 0; m < nEnsemble; m++) {
+			int offset = m * nDim;
+			for (int n = 0; n < nDim; n++)
+				init[offset + n] = (isDensity ? 2.0 * y0[n] * rng.random01()
+						// exponential spacings yield uniform distribution on simplex
+						: -Math.log(1.0 - rng.random01()));
+		}
+		if (!isDensity) {
+			double[] member = new double[nDim];
+			for (int m = 0; m < nEnsemble; m++) {
+				System.arraycopy(init, m * nDim, member, 0, nDim);
+				charge.normalizeState(member);
+				System.arraycopy(member, 0, init, m * nDim, nDim);
+			}
+		}
+		init();
+	}
+
+	/**
+	 * Set the initial state of member {@code member} to {@code init}. The member
+	 * restarts from its new initial state, while all other members are
+	 * unaffected.
+	 * 
+	 * @param member the index of the member
+	 * @param init   the initial state of the member
+	 */
+	public void setInitialState(int member, double[] init) {
+		int offset = member * nDim;
+		System.arraycopy(init, 0, this.init, offset, nDim);
+		System.arraycopy(init, 0, state, offset, nDim);
+		if (!Double.isNaN(convergedAt[member])) {
+			convergedAt[member] = Double.NaN;
+			nConverged--;
+		}
+	}
+
+	/**
+	 * Advance all members that have not yet converged by {@code stepDt}, using
+	 * fixed steps of size {@link ODE#getDt()}. In time reversed models the members
+	 * are integrated backwards in time.
+	 * 
+	 * @param stepDt the time to advance the ensemble
+	 * @return {@code true} if members remain that have not converged
+	 */
+	public boolean next(double stepDt) {
+		double dt = charge.getDt();
+		double sign = (charge.isTimeReversed() ? -1.0 : 1.0);
+		double remain = stepDt;
+		while (remain > 1e-8 && nConverged < nEnsemble) {
+			double h = Math.min(dt, remain);
+			nConverged += step(time, sign * h);
+			time += h;
+			remain -= h;
+		}
+		return nConverged < nEnsemble;
+	}
+
+	/**
+	 * Advance all members that have not yet converged by a single step of size
+	 * {@code h} from time {@code t}. Subclasses may override this method to
+	 * process members in parallel.
+	 * 
+	 * @param t the current time
+	 * @param h the size of the step (negative if time reversed)
+	 * @return the number of members that converged in this step
+	 */
+	protected int step(double t, double h) {
+		return step(t, h, 0, nEnsemble);
+	}
+
+	/**
+	 * Advance the members with indices {@code start} (including) through
+	 * {@code end} (excluding) that have not yet converged by a single step of
+	 * size {@code h} from time {@code t} using the classical fourth order
+	 * Runge-Kutta method. Negative frequencies or densities are set to zero and
+	 * frequencies are normalized after each step. A member converged if the
+	 * squared distance between its current and previous states is less than
+	 * {@code (accuracy h)<sup>2</sup>}.
+	 * <p>
+	 * <strong>Note:</strong> only the entries of members in the range are
+	 * modified. Hence, disjoint ranges can be processed concurrently.
+	 * 
+	 * @param t     the current time
+	 * @param h     the size of the step (negative if time reversed)
+	 * @param start the index of the first member (including)
+	 * @param end   the index of the last member (excluding)
+	 * @return the number of members that converged in this step
+	 */
+	int step(double t, double h, int start, int end) {
+		double[] y = new double[nDim];
+		double[] ytmp = new double[nDim];
+		double[] fit = new double[nDim];
+		double[] k1 = new double[nDim];
+		double[] k2 = new double[nDim];
+		double[] k3 = new double[nDim];
+		double[] k4 = new double[nDim];
+		double h2 = 0.5 * h;
+		double h6 = h / 6.0;
+		double acc = charge.getAccuracy() * h;
+		double acc2 = acc * acc;
+		boolean isDensity = charge.isDensity();
+		int converged = 0;
+		for (int m = start; m < end; m++) {
+			if (!Double.isNaN(convergedAt[m]))
+				continue;
+			int offset = m * nDim;
+			System.arraycopy(state, offset, y, 0, nDim);
+			charge.getDerivatives(t, y, fit, k1);
+			ArrayMath.addscale(y, k1, h2, ytmp);
+			charge.getDerivatives(t + h2, ytmp, fit, k2);
+			ArrayMath.addscale(y, k2, h2, ytmp);
+			charge.getDerivatives(t + h2, ytmp, fit, k3);
+			ArrayMath.addscale(y, k3, h, ytmp);
+			charge.getDerivatives(t + h, ytmp, fit, k4);
+			for (int n = 0; n < nDim; n++)
+				ytmp[n] = Math.max(0.0, y[n] + h6 * (k1[n] + 2.0 * (k2[n] + k3[n]) + k4[n]));
+			if (!isDensity)
+				charge.normalizeState(ytmp);
+			System.arraycopy(ytmp, 0, state, offset, nDim);
+			if (ArrayMath.distSq(y, ytmp) < acc2) {
+				convergedAt[m] = time + Math.abs(h);
+				converged++;
+			}
+		}
+		return converged;
+	}
+
+	/**
+	 * Classify the current states of all converged members into basins of
+	 * attraction. Members whose states are within a distance {@code tol} of the
+	 * first member of an existing basin are assigned to that basin, otherwise a
+	 * new basin is opened. Members that did not converge are assigned to basin
+	 * {@code -1}.
+	 * 
+	 * @param tol the maximum distance between states in the same basin
+	 * @return the number of distinct attractors
+	 */
+	public int classify(double tol) {
+		double tol2 = tol * tol;
+		// index of first member in each basin
+		int[] representative = new int[nEnsemble];
+		nAttractors = 0;
+		for (int m = 0; m < nEnsemble; m++) {
+			basin[m] = -1;
+			if (Double.isNaN(convergedAt[m]))
+				continue;
+			int offset = m * nDim;
+			for (int a = 0; a < nAttractors; a++) {
+				if (distSq(offset, representative[a] * nDim) <= tol2) {
+					basin[m] = a;
+					break;
+				}
+			}
+			if (basin[m] < 0) {
+				representative[nAttractors] = m;
+				basin[m] = nAttractors++;
+			}
+		}
+		return nAttractors;
+	}
+
+	/**
+	 * Helper method to calculate the squared distance between the states starting
+	 * at {@code a} and {@code b} in the flat array of states.
+	 * 
+	 * @param a the offset of the first state
+	 * @param b the offset of the second state
+	 * @return the squared distance
+	 */
+	private double distSq(int a, int b) {
+		double dist2 = 0.0;
+		for (int n = 0; n < nDim; n++) {
+			double d = state[a + n] - state[b + n];
+			dist2 += d * d;
+		}
+		return dist2;
+	}
+
+	/**
+	 * Gets the number of members in the ensemble.
+	 * 
+	 * @return the number of members
+	 */
+	public int getNEnsemble() {
+		return nEnsemble;
+	}
+
+	/**
+	 * Gets the number of members that converged.
+	 * 
+	 * @return the number of converged members
+	 */
+	public int getNConverged() {
+		return nConverged;
+	}
+
+	/**
+	 * Gets the time elapsed since the initial states.
+	 * 
+	 * @return the elapsed time
+	 */
+	public double getTime() {
+		return time;
+	}
+
+	/**
+	 * Gets the current state of member {@code member}.
+	 * 
+	 * @param member the index of the member
+	 * @param state  the array to store the state
+	 */
+	public void getState(int member, double[] state) {
+		System.arraycopy(this.state, member * nDim, state, 0, nDim);
+	}
+
+	/**
+	 * Gets the initial state of member {@code member}.
+	 * 
+	 * @param member the index of the member
+	 * @param init   the array to store the initial state
+	 */
+	public void getInitialState(int member, double[] init) {
+		System.arraycopy(this.init, member * nDim, init, 0, nDim);
+	}
+
+	/**
+	 * Gets the time when member {@code member} converged.
+	 * 
+	 * @param member the index of the member
+	 * @return the time of convergence or {@code NaN} if not converged
+	 */
+	public double getConvergedAt(int member) {
+		return convergedAt[member];
+	}
+
+	/**
+	 * Gets the basin of attraction of member {@code member}.
+	 * 
+	 * @param member the index of the member
+	 * @return the index of the basin or {@code -1} if not converged
+	 * 
+	 * @see #classify(double)
+	 */
+	public int getBasin(int member) {
+		return basin[member];
+	}
+
+	/**
+	 * Format the endpoint of member {@code member} as a single row of a table with
+	 * the columns: index of member, index of basin, time of convergence (or
+	 * elapsed time if not converged), initial state and final state.
+	 * 
+	 * @param member the index of the member
+	 * @param digits the number of digits
+	 * @return the formatted endpoint
+	 */
+	public String formatEndpoint(int member, int digits) {
+		double[] buf = new double[nDim];
+		getInitialState(member, buf);
+		String initial = Formatter.format(buf, digits);
+		getState(member, buf);
+		double at = convergedAt[member];
+		return member + ",\t" + basin[member] + ",\t" + Formatter.format(Double.isNaN(at) ? time : at, digits)
+				+ ",\t" + initial + ",\t" + Formatter.format(buf, digits);
+	}
+}
@@ -31,7 +31,6 @@
 package org.evoludo.simulator.models;
 
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 
 import org.evoludo.math.ArrayMath;
@@ -47,6 +46,7 @@ import org.evoludo.util.CLOption.CLODelegate;
 import org.evoludo.util.CLOption.Category;
 import org.evoludo.util.Formatter;
 import org.evoludo.util.Plist;
+import org.evoludo.util.PlistWriter;
 
 /**
  * Numerical integration of partial differential equations for
@@ -82,37 +82,50 @@ public class PDE extends ODE {
 	protected Geometry space;
 
 	/**
-	 * Density distribution of traits as a 2D array. The first entry refers to the
-	 * index of the node (e.g. location on lattice) and the second entry refers to
-	 * the different traits at that location. {@link #space} defines the geometric
-	 * arrangement of the nodes.
+	 * Density distribution of traits as a flat array. The densities of the
+	 * different traits at the node with index {@code n} (e.g. location on lattice)
+	 * are stored in the {@code nDim} consecutive entries starting at
+	 * {@code n * nDim}. {@link #space} defines the geometric arrangement of the
+	 * nodes. The contiguous layout avoids chasing pointers for every node and its
+	 * neighbours and keeps large PDEs cache friendly.
 	 * <p>
 	 * <strong>Note:</strong> this variable is <code>protected</code> to allow
 	 * direct access from {@link PDESupervisor} for efficiency reasons.
+	 * 
+	 * @see #getDensityAt(int, double[])
 	 */
-	protected double[][] density;
+	protected double[] density;
 
 	/**
-	 * The next density/frequency distribution of traits as a 2D array. The first
-	 * entry refers to the index of the node (e.g. location on lattice) and the
-	 * second entry refers to the different traits at that location. {@link #space}
-	 * defines the geometric arrangement of the nodes.
+	 * The next density/frequency distribution of traits as a flat array. Same
+	 * layout as {@link #density}.
 	 * <p>
 	 * <strong>Note:</strong> this variable is <code>protected</code> to allow
 	 * direct access from {@link PDESupervisor} for efficiency reasons.
 	 */
-	protected double[][] next;
+	protected double[] next;
+
+	/**
+	 * Buffer for the next density/frequency distribution of traits in fused
+	 * diffusion and reaction steps. Same layout as {@link #next}. Only allocated
+	 * on request.
+	 * 
+	 * @see #initBuffer()
+	 * @see #diffuseReact(int, int, double[], double[], double[], double[],
+	 *      double[], double[])
+	 */
+	protected double[] buffer;
 
 	/**
-	 * Fitness distribution of traits as a 2D array. The first entry refers to the
-	 * index of the node (e.g. location on lattice) and the second entry refers to
-	 * the different traits at that location. {@link #space} defines the geometric
-	 * arrangement of the nodes.
+	 * Fitness distribution of traits as a flat array. Same layout as
+	 * {@link #density}.
 	 * <p>
 	 * <strong>Note:</strong> this variable is <code>protected</code> to allow
 	 * direct access from {@link PDESupervisor} for efficiency reasons.
+	 * 
+	 * @see #getFitnessAt(int, double[])
 	 */
-	protected double[][] fitness;
+	protected double[] fitness;
 
 	/**
 	 * The background densities for each trait at initialization.
@@ -256,13 +269,6 @@ public class PDE extends ODE {
 	 */
 	protected double[] alpha;
 
-	/**
-	 * In order to preserve symmetry the densities of neighbouring cells in the
-	 * diffusion step need to be sorted. The sorting criteria are essentially
-	 * irrelevant as long as they are consistently applied.
-	 */
-	Comparator<double[]> sorting;
-
 	/**
 	 * Constructs a new model for the numerical integration of the system of partial
 	 * differential equations representing the dynamics specified by the
@@ -306,7 +312,6 @@ public class PDE extends ODE {
 			supervisor = engine.hirePDESupervisor(this);
 		module = engine.getModule();
 		space = module.createGeometry();
-		sorting = (o1, o2) -> (int) Math.signum(o1[0] - o2[0]);
 	}
 
 	@Override
@@ -316,8 +321,8 @@ public class PDE extends ODE {
 		space = null;
 		density = null;
 		next = null;
+		buffer = null;
 		fitness = null;
-		sorting = null;
 		module = null;
 		super.unload();
 	}
@@ -363,17 +368,19 @@ public class PDE extends ODE {
 		if (space.getType() == Geometry.Type.MEANFIELD)
 			return;
 		space.init();
+		space.evaluate();
 
-		if (density == null || density.length != space.size || density[0].length != nDim) {
-			density = new double[space.size][nDim];
-			next = new double[space.size][nDim];
+		int size = space.size * nDim;
+		if (density == null || density.length != size) {
+			density = new double[size];
+			next = new double[size];
 			minDensity = new double[nDim];
 			maxDensity = new double[nDim];
 			meanDensity = new double[nDim];
 		}
 		if (module instanceof Payoffs
-				&& (fitness == null || fitness.length != space.size || fitness[0].length != nDim)) {
-			fitness = new double[space.size][nDim];
+				&& (fitness == null || fitness.length != size)) {
+			fitness = new double[size];
 			minFitness = new double[nDim];
 			maxFitness = new double[nDim];
 			meanFitness = new double[nDim];
@@ -457,27 +464,77 @@ public class PDE extends ODE {
 			Arrays.fill(maxFit, -Double.MAX_VALUE);
 			meanFit = new double[nDim];
 		}
+		double change = react(start, end, minFit, maxFit, meanFit);
+		if (hasFit)
+			updateFitness(minFit, maxFit, meanFit);
+		return change;
+	}
+
+	/**
+	 * Reaction step without reporting. Same as {@link #react(int, int)} but the
+	 * minima, maxima and the total fitness of the cells with indices between
+	 * <code>start</code> (including) and <code>end</code> (excluding) are
+	 * accumulated in {@code minFit}, {@code maxFit} and {@code meanFit},
+	 * respectively, instead of being reported through
+	 * {@link #updateFitness(double[], double[], double[])}. This allows parallel
+	 * implementations to collect the partial results of each worker and merge them
+	 * once the step is complete, without any locks.
+	 * <p>
+	 * <strong>Note:</strong> the fitness arrays are ignored (and may be
+	 * {@code null}) if the module does not implement {@link Payoffs}.
+	 *
+	 * @param start   the index of the first cell (including)
+	 * @param end     the index of the last cell (excluding)
+	 * @param minFit  the array for accumulating fitness minima
+	 * @param maxFit  the array for accumulating fitness maxima
+	 * @param meanFit the array for accumulating total fitness
+	 * @return the accumulated change in state
+	 */
+	public double react(int start, int end, double[] minFit, double[] maxFit, double[] meanFit) {
+		return react(start, end, next, minFit, maxFit, meanFit);
+	}
+
+	/**
+	 * Reaction step writing the new states of the cells with indices between
+	 * <code>start</code> (including) and <code>end</code> (excluding) to
+	 * {@code out}. The state of each cell is copied to a temporary array such that
+	 * {@link #getDerivatives(double, double[], double[], double[])} can operate on
+	 * plain arrays.
+	 *
+	 * @param start   the index of the first cell (including)
+	 * @param end     the index of the last cell (excluding)
+	 * @param out     the array for the new states
+	 * @param minFit  the array for accumulating fitness minima
+	 * @param maxFit  the array for accumulating fitness maxima
+	 * @param meanFit the array for accumulating total fitness
+	 * @return the accumulated change in state
+	 * 
+	 * @see #react(int, int, double[], double[], double[])
+	 */
+	private double react(int start, int end, double[] out, double[] minFit, double[] maxFit, double[] meanFit) {
+		boolean hasFit = (module instanceof Payoffs);
+		double[] ytn = new double[nDim];
+		double[] ftn = (hasFit ? new double[nDim] : null);
 		double[] dytn = new double[nDim];
 		double change = 0.0;
 
-		for (int n = start; n < end; n++) {
-			double[] ytn = density[n];
-			double[] youtn = next[n]; // youtn is only a short-cut - data written to next[]
-			double[] ftn = (hasFit ? fitness[n] : null);
+		for (int idx = start * nDim; idx < end * nDim; idx += nDim) {
+			System.arraycopy(density, idx, ytn, 0, nDim);
 			getDerivatives(time, ytn, ftn, dytn);
-			ArrayMath.addscale(ytn, dytn, dt, youtn); // youtn = ytn+step*dy
+			for (int i = 0; i < nDim; i++)
+				out[idx + i] = ytn[i] + dt * dytn[i]; // youtn = ytn+step*dy
 			change += ArrayMath.dot(dytn, dytn) * dt * dt;
 			if (!isDensity) {
-				normalizeState(youtn);
+				// note: PDEs are restricted to single species
+				ArrayMath.normalize(out, idx, idx + nDim);
 			}
 			if (!hasFit)
 				continue;
+			System.arraycopy(ftn, 0, fitness, idx, nDim);
 			ArrayMath.min(minFit, ftn);
 			ArrayMath.max(maxFit, ftn);
 			ArrayMath.add(meanFit, ftn);
 		}
-		if (hasFit)
-			updateFitness(minFit, maxFit, meanFit);
 		return change;
 	}
 
@@ -537,54 +594,157 @@ public class PDE extends ODE {
 		double[] maxDens = new double[nDim];
 		Arrays.fill(maxDens, -Double.MAX_VALUE);
 		double[] meanDens = new double[nDim];
-		int[][] in = space.in;
-
-		if (isSymmetric) {
-			double[][] sort = new double[space.maxIn][];
-			for (int n = start; n < end; n++) {
-				int[] neighs = in[n];
-				int nIn = space.kin[n];
-				double[] sn = next[n]; // current state of focal site sn
-				double[] s = density[n]; // next state
-				ArrayMath.multiply(sn, -space.kout[n], s); // s = -k*sn
-				// sort neighbours
-				for (int i = 0; i < nIn; i++)
-					sort[i] = next[neighs[i]];
+		diffuse(start, end, minDens, maxDens, meanDens);
+		updateDensity(minDens, maxDens, meanDens);
+	}
+
+	/**
+	 * Diffusion step without reporting. Same as {@link #diffuse(int, int)} but the
+	 * minima, maxima and the total density of the cells with indices between
+	 * <code>start</code> (including) and <code>end</code> (excluding) are
+	 * accumulated in {@code minDens}, {@code maxDens} and {@code meanDens},
+	 * respectively, instead of being reported through
+	 * {@link #updateDensity(double[], double[], double[])}.
+	 *
+	 * @param start    the index of the first cell (including)
+	 * @param end      the index of the last cell (excluding)
+	 * @param minDens  the array for accumulating density minima
+	 * @param maxDens  the array for accumulating density maxima
+	 * @param meanDens the array for accumulating total density
+	 * 
+	 * @see #react(int, int, double[], double[], double[])
+	 */
+	public void diffuse(int start, int end, double[] minDens, double[] maxDens, double[] meanDens) {
+		// use compressed sparse row representation of frozen geometries
+		int[] offsets = space.getInOffsets();
+		int[] targets = space.getInTargets();
+		int[] sort = (isSymmetric ? new int[space.maxIn] : null);
+		// neighbourhoods of implicit lattices are computed on the fly
+		int[] mem = (space.isImplicit() ? new int[space.maxIn] : null);
+		double[] dens = density;
+		double[] nxt = next;
+
+		for (int n = start; n < end; n++) {
+			int[] neighs;
+			int from;
+			if (targets != null) {
+				neighs = targets;
+				from = offsets[n];
+			} else {
+				neighs = space.getInAt(n, mem);
+				from = 0;
+			}
+			int nIn = space.kin[n];
+			int sn = n * nDim; // offset of focal site sn
+			double kout = -space.kout[n];
+			if (sort != null) {
 				// sorting must maintain integrity of densities at neighbouring sites
 				// (sorting based on first element is enough - only equality in the first
 				// density but not the others could still result in an eventual break of
 				// symmetry due to rounding error.)
-				Arrays.sort(sort, 0, nIn, sorting);
+				sortNeighbours(neighs, from, nIn, sort);
+				neighs = sort;
+				from = 0;
+			}
+			int to = from + nIn;
+			double norm = 0.0;
+			for (int j = 0; j < nDim; j++) {
+				double snj = nxt[sn + j];
+				double s = snj * kout; // s = -kout*sn
 				// loop over neighbours
-				for (int i = 0; i < nIn; i++)
-					ArrayMath.add(s, sort[i]); // s += si
-				ArrayMath.multiply(s, alpha); // s *= alpha
-				ArrayMath.add(s, sn); // s += sn
-				if (dependent >= 0)
-					s[dependent] = Math.max(0.0, 1.0 + s[dependent] - ArrayMath.norm(s));
-				// update extrema and mean density
-				minmaxmean(s, minDens, maxDens, meanDens);
+				for (int i = from; i < to; i++)
+					s += nxt[neighs[i] * nDim + j]; // s += si
+				s *= alpha[j]; // s *= alpha, s is change in density
+				s += snj; // s += sn, new density now in s
+				dens[sn + j] = s;
+				norm += s;
 			}
-			updateDensity(minDens, maxDens, meanDens);
-			return;
+			if (dependent >= 0)
+				dens[sn + dependent] = Math.max(0.0, 1.0 + dens[sn + dependent] - norm);
+			// update extrema and mean density
+			minmaxmean(dens, sn, minDens, maxDens, meanDens);
 		}
+	}
 
-		for (int n = start; n < end; n++) {
-			int[] neighs = in[n];
-			int nIn = space.kin[n];
-			double[] ds = next[n];
-			double[] s = density[n];
-			ArrayMath.multiply(ds, -space.kout[n], s); // s = -kout*ds[n], current density in ds
-			for (int i = 0; i < nIn; i++)
-				ArrayMath.add(s, next[neighs[i]]); // s += sum ds[i], where i are neighbours of n
-			ArrayMath.multiply(s, alpha); // s *= alpha, s is change in density
-			ArrayMath.add(s, ds); // s += ds, new density now in s
-			if (dependent >= 0)
-				s[dependent] = Math.max(0.0, 1.0 + s[dependent] - ArrayMath.norm(s));
-			// update extrema and mean density // min_s:
-			minmaxmean(s, minDens, maxDens, meanDens);
+	/**
+	 * Sort the {@code nIn} neighbours {@code neighs} of a cell according to the
+	 * density of the first trait in <code>next</code> and store the sorted indices
+	 * in {@code sorted}. Insertion sort is fast for the few neighbours on lattices
+	 * and stable, i.e. neighbours with equal densities retain their order.
+	 * 
+	 * @param neighs the indices of the neighbours
+	 * @param from   the index of the first neighbour in {@code neighs}
+	 * @param nIn    the number of neighbours
+	 * @param sorted the array for the sorted indices of the neighbours
+	 */
+	protected void sortNeighbours(int[] neighs, int from, int nIn, int[] sorted) {
+		for (int i = 0; i < nIn; i++) {
+			int ni = neighs[from + i];
+			double key = next[ni * nDim];
+			int j = i - 1;
+			while (j >= 0 && next[sorted[j] * nDim] > key) {
+				sorted[j + 1] = sorted[j];
+				j--;
+			}
+			sorted[j + 1] = ni;
 		}
-		updateDensity(minDens, maxDens, meanDens);
+	}
+
+	/**
+	 * Fused diffusion and reaction step. Update cells with indices between
+	 * <code>start</code> (including) and <code>end</code> (excluding) in a single
+	 * sweep. The cells first diffuse and then immediately react while their states
+	 * are still in the cache. The reaction cannot overwrite <code>next</code>
+	 * because cells outside the range may not have diffused yet. Instead the new
+	 * states are written to <code>buffer</code> and the two arrays need to be
+	 * swapped through {@link #swapBuffer()} once all cells are processed. The
+	 * results are identical to a diffusion step followed by a reaction step.
+	 * <p>
+	 * <strong>Important:</strong> requires {@link #initBuffer()}.
+	 *
+	 * @param start    the index of the first cell (including)
+	 * @param end      the index of the last cell (excluding)
+	 * @param minDens  the array for accumulating density minima
+	 * @param maxDens  the array for accumulating density maxima
+	 * @param meanDens the array for accumulating total density
+	 * @param minFit   the array for accumulating fitness minima
+	 * @param maxFit   the array for accumulating fitness maxima
+	 * @param meanFit  the array for accumulating total fitness
+	 * @return the accumulated change in state
+	 * 
+	 * @see #diffuse(int, int, double[], double[], double[])
+	 * @see #react(int, int, double[], double[], double[])
+	 */
+	public double diffuseReact(int start, int end, double[] minDens, double[] maxDens, double[] meanDens,
+			double[] minFit, double[] maxFit, double[] meanFit) {
+		diffuse(start, end, minDens, maxDens, meanDens);
+		return react(start, end, buffer, minFit, maxFit, meanFit);
+	}
+
+	/**
+	 * Allocate the buffer for fused diffusion and reaction steps, if needed.
+	 * 
+	 * @see #diffuseReact(int, int, double[], double[], double[], double[],
+	 *      double[], double[])
+	 */
+	public void initBuffer() {
+		if (next == null)
+			return;
+		if (buffer == null || buffer.length != next.length)
+			buffer = new double[next.length];
+	}
+
+	/**
+	 * Swap the buffer with the new states after a fused diffusion and reaction
+	 * step with <code>next</code>.
+	 * 
+	 * @see #diffuseReact(int, int, double[], double[], double[], double[],
+	 *      double[], double[])
+	 */
+	public synchronized void swapBuffer() {
+		double[] swap = next;
+		next = buffer;
+		buffer = swap;
 	}
 
 	/**
@@ -602,7 +762,7 @@ public class PDE extends ODE {
 	public synchronized void setDensity() {
 		resetDensity();
 		for (int n = 0; n < space.size; n++)
-			minmaxmean(density[n], minDensity, maxDensity, meanDensity);
+			minmaxmean(density, n * nDim, minDensity, maxDensity, meanDensity);
 		normalizeMeanDensity();
 	}
 
@@ -641,14 +801,52 @@ public class PDE extends ODE {
 		return connect;
 	}
 
+	/**
+	 * Gets the densities of all traits at the node with index {@code idx} and
+	 * stores them in {@code dens}.
+	 * 
+	 * @param idx  the index of the node
+	 * @param dens the array for storing the densities
+	 * @return the array {@code dens}
+	 */
+	public double[] getDensityAt(int idx, double[] dens) {
+		return getDataAt(density, idx, dens);
+	}
+
+	/**
+	 * Gets the fitnesses of all traits at the node with index {@code idx} and
+	 * stores them in {@code fit}.
+	 * 
+	 * @param idx the index of the node
+	 * @param fit the array for storing the fitnesses
+	 * @return the array {@code fit}
+	 */
+	public double[] getFitnessAt(int idx, double[] fit) {
+		return getDataAt(fitness, idx, fit);
+	}
+
+	/**
+	 * Helper method to copy the {@code nDim} entries for the node with index
+	 * {@code idx} from the flat array {@code data} to {@code dst}.
+	 * 
+	 * @param data the flat data array
+	 * @param idx  the index of the node
+	 * @param dst  the array for storing the entries
+	 * @return the array {@code dst}
+	 */
+	private double[] getDataAt(double[] data, int idx, double[] dst) {
+		System.arraycopy(data, idx * nDim, dst, 0, nDim);
+		return dst;
+	}
+
 	@Override
 	public double[] getMeanTraitAt(int id, int idx) {
-		return density[idx];
+		return getDensityAt(idx, new double[nDim]);
 	}
 
 	@Override
 	public String getTraitNameAt(int id, int idx) {
-		return Formatter.formatFix(density[idx], 3);
+		return Formatter.formatFix(getDensityAt(idx, new double[nDim]), 3);
 	}
 
 	@Override
@@ -666,12 +864,12 @@ public class PDE extends ODE {
 			cMap.setRange(minDensity[n], maxDensity[n]);
 			// else
 			// cMap.setRange(min[n], max[n]);
-			colorMap.translate(density, colors);
+			colorMap.translate(density, nDim, colors);
 			return;
 		}
 		ColorMap.Gradient2D<T> map = (ColorMap.Gradient2D<T>) colorMap;
 		map.setRange(minDensity, maxDensity, dependent);
-		map.translate(density, colors);
+		map.translate(density, nDim, colors);
 	}
 
 	@Override
@@ -688,12 +886,12 @@ public class PDE extends ODE {
 
 	@Override
 	public double[] getMeanFitnessAt(int id, int idx) {
-		return fitness[idx];
+		return getFitnessAt(idx, new double[nDim]);
 	}
 
 	@Override
 	public String getFitnessNameAt(int id, int idx) {
-		return Formatter.formatFix(fitness[idx], 3);
+		return Formatter.formatFix(getFitnessAt(idx, new double[nDim]), 3);
 	}
 
 	@Override
@@ -728,7 +926,7 @@ public class PDE extends ODE {
 			colorMap.setRange(minf * mind, (nTraits - 1) * maxf * maxd);
 		// else
 		// colorMap.setRange(minScore, maxScore);
-		colorMap.translate(density, fitness, colors);
+		colorMap.translate(density, fitness, nDim, colors);
 	}
 
 	@Override
@@ -760,15 +958,14 @@ public class PDE extends ODE {
 		for (int n = 0; n < bins.length; n++)
 			Arrays.fill(bins[n], 0.0);
 		for (int n = 0; n < discretization; n++) {
-			double[] f = fitness[n];
-			double[] d = density[n];
+			int offset = n * nDim;
 			idx = 0;
 			for (int i = 0; i < nDim; i++) {
 				if (i == vacant)
 					continue;
-				int bin = (int) ((f[idx] - min) * map);
+				int bin = (int) ((fitness[offset + idx] - min) * map);
 				bin = Math.max(0, Math.min(maxBin, bin));
-				bins[idx][bin] += d[idx];
+				bins[idx][bin] += density[offset + idx];
 				idx++;
 			}
 		}
@@ -980,16 +1177,16 @@ public class PDE extends ODE {
 			default:
 			case UNIFORM:
 				for (int n = 0; n < space.size; n++)
-					System.arraycopy(y0, 0, density[n], 0, nDim);
+					System.arraycopy(y0, 0, density, n * nDim, nDim);
 				break;
 
 			case PERTURBATION:
 				for (int n = 0; n < space.size; n++)
-					System.arraycopy(background, 0, density[n], 0, nDim);
+					System.arraycopy(background, 0, density, n * nDim, nDim);
 				switch (space.getType()) {
 					case CUBE:
 						int l = (int) (Math.pow(space.size, 1.0 / 3.0) + 0.5);
-						System.arraycopy(y0, 0, density[(l * l + l + 1) * l / 2], 0, nDim);
+						System.arraycopy(y0, 0, density, ((l * l + l + 1) * l / 2) * nDim, nDim);
 						break;
 					case SQUARE_NEUMANN:
 					case SQUARE_MOORE:
@@ -997,20 +1194,20 @@ public class PDE extends ODE {
 					case TRIANGULAR:
 					case HONEYCOMB:
 						l = (int) (Math.sqrt(space.size) + 0.5);
-						System.arraycopy(y0, 0, density[(l + 1) * l / 2], 0, nDim);
+						System.arraycopy(y0, 0, density, ((l + 1) * l / 2) * nDim, nDim);
 						break;
 					default: // for anything else
-						System.arraycopy(y0, 0, density[space.size / 2], 0, nDim);
+						System.arraycopy(y0, 0, density, (space.size / 2) * nDim, nDim);
 				}
 				break;
 
 			case RANDOM:
 				for (int n = 0; n < space.size; n++) {
-					double[] ds = density[n]; // ds is only a short-cut - data written to density[]
+					int offset = n * nDim;
 					for (int i = 0; i < nDim; i++)
-						ds[i] = rng.random01() * y0[i];
+						density[offset + i] = rng.random01() * y0[i];
 					if (!isDensity)
-						ArrayMath.normalize(ds);
+						ArrayMath.normalize(density, offset, offset + nDim);
 				}
 				break;
 
@@ -1020,7 +1217,7 @@ public class PDE extends ODE {
 
 			case SQUARE:
 				for (int n = 0; n < space.size; n++)
-					System.arraycopy(background, 0, density[n], 0, nDim);
+					System.arraycopy(background, 0, density, n * nDim, nDim);
 				switch (space.getType()) {
 					case CUBE:
 						int l = 50;
@@ -1040,7 +1237,8 @@ public class PDE extends ODE {
 								for (int x = -r; x <= r; x++) {
 									if (isCircular && x * x + y * y + z * z >= r2)
 										continue;
-									System.arraycopy(y0, 0, density[(mz + z) * l2 + (m + y) * l + m + x], 0, nDim);
+									System.arraycopy(y0, 0, density, ((mz + z) * l2 + (m + y) * l + m + x) * nDim,
+											nDim);
 								}
 						break;
 					case LINEAR:
@@ -1048,7 +1246,7 @@ public class PDE extends ODE {
 						dd -= space.size % 2 - dd % 2;
 						m = (space.size - dd) / 2;
 						for (int n = m; n < m + dd; n++)
-							System.arraycopy(y0, 0, density[n], 0, nDim);
+							System.arraycopy(y0, 0, density, n * nDim, nDim);
 						break;
 					default: // for square, triangular and hexagonal lattices
 						l = (int) Math.floor(Math.sqrt(space.size) + 0.5);
@@ -1060,7 +1258,7 @@ public class PDE extends ODE {
 							for (int x = -r; x <= r; x++) {
 								if (isCircular && x * x + y * y >= r2)
 									continue;
-								System.arraycopy(y0, 0, density[(m + y) * l + m + x], 0, nDim);
+								System.arraycopy(y0, 0, density, ((m + y) * l + m + x) * nDim, nDim);
 							}
 				}
 				break;
@@ -1083,7 +1281,7 @@ public class PDE extends ODE {
 							for (int y = 0; y < l; y++) {
 								double y2 = (y - m) * (y - m);
 								for (int x = 0; x < l; x++)
-									scaleDensity(density[z * l2 + y * l + x],
+									scaleDensity((z * l2 + y * l + x) * nDim,
 											Math.exp(-((x - m) * (x - m) + y2 + z2) * norm));
 							}
 						}
@@ -1093,7 +1291,7 @@ public class PDE extends ODE {
 						m = l * 0.5;
 						norm = 1.0 / l;
 						for (int x = 0; x < l; x++)
-							scaleDensity(density[x], Math.exp(-(x - m) * (x - m) * norm));
+							scaleDensity(x * nDim, Math.exp(-(x - m) * (x - m) * norm));
 						break;
 					default: // for square, triangular and hexagonal lattices
 						l = (int) Math.floor(Math.sqrt(space.size) + 0.5);
@@ -1102,7 +1300,7 @@ public class PDE extends ODE {
 						for (int y = 0; y < l; y++) {
 							double y2 = (y - m) * (y - m);
 							for (int x = 0; x < l; x++)
-								scaleDensity(density[y * l + x],
+								scaleDensity((y * l + x) * nDim,
 										Math.exp(-((x - m) * (x - m) + y2) * norm));
 						}
 				}
@@ -1128,7 +1326,7 @@ public class PDE extends ODE {
 								double y2 = (y - m) * (y - m);
 								for (int x = 0; x < l; x++) {
 									double r = Math.pow((x - m) * (x - m) + y2 + z2, 1.0 / 3.0);
-									scaleDensity(density[z * l2 + y * l + x],
+									scaleDensity((z * l2 + y * l + x) * nDim,
 											Math.exp(-(r - m3) * (r - m3) * norm));
 								}
 							}
@@ -1141,7 +1339,7 @@ public class PDE extends ODE {
 						norm = 1.0 / l;
 						for (int x = 0; x < l; x++) {
 							double r = Math.abs(x - m);
-							scaleDensity(density[x],
+							scaleDensity(x * nDim,
 									Math.exp(-(r - m3) * (r - m3) * norm));
 						}
 						break;
@@ -1154,7 +1352,7 @@ public class PDE extends ODE {
 							double y2 = (y - m) * (y - m);
 							for (int x = 0; x < l; x++) {
 								double r = Math.sqrt((x - m) * (x - m) + y2);
-								scaleDensity(density[y * l + x],
+								scaleDensity((y * l + x) * nDim,
 										Math.exp(-(r - m3) * (r - m3) * norm));
 							}
 						}
@@ -1175,19 +1373,23 @@ public class PDE extends ODE {
 	}
 
 	/**
-	 * Helper method to scale the density vector {@code d} by the scalar factor
-	 * {@code scale}. The scalar must lie in \((0, 1)\) such that the initial
-	 * densities/frequencies represent the maximum.
+	 * Helper method to scale the density vector starting at {@code offset} by the
+	 * scalar factor {@code scale}. The scalar must lie in \((0, 1)\) such that the
+	 * initial densities/frequencies represent the maximum.
 	 * 
-	 * @param d     the density vector to scale
-	 * @param scale the scaling factor
+	 * @param offset the offset of the density vector to scale
+	 * @param scale  the scaling factor
 	 */
-	private void scaleDensity(double[] d, double scale) {
-		for (int n = 0; n < nDim; n++)
-			d[n] = (1.0 - scale) * background[n] + scale * y0[n];
+	private void scaleDensity(int offset, double scale) {
+		double norm = 0.0;
+		for (int n = 0; n < nDim; n++) {
+			double d = (1.0 - scale) * background[n] + scale * y0[n];
+			density[offset + n] = d;
+			norm += d;
+		}
 		if (dependent >= 0) {
-			d[dependent] = Math.max(0.0, 1.0 + d[dependent] - ArrayMath.norm(d));
-			ArrayMath.normalize(d);
+			density[offset + dependent] = Math.max(0.0, 1.0 + density[offset + dependent] - norm);
+			ArrayMath.normalize(density, offset, offset + nDim);
 		}
 	}
 
@@ -1481,8 +1683,23 @@ public class PDE extends ODE {
 	 * @param mean the array with the trait means
 	 */
 	static void minmaxmean(double[] data, double[] min, double[] max, double[] mean) {
-		for (int i = 0; i < data.length; i++) {
-			double d = data[i];
+		minmaxmean(data, 0, min, max, mean);
+	}
+
+	/**
+	 * Utility method to update the trait minimum, maximum and mean based on the
+	 * entries of the data array starting at {@code offset}. The number of traits is
+	 * given by the length of {@code min}.
+	 * 
+	 * @param data   the data to process
+	 * @param offset the offset of the first trait in {@code data}
+	 * @param min    the array with the minima of each trait
+	 * @param max    the array with the maxima of each trait
+	 * @param mean   the array with the trait means
+	 */
+	static void minmaxmean(double[] data, int offset, double[] min, double[] max, double[] mean) {
+		for (int i = 0; i < min.length; i++) {
+			double d = data[offset + i];
 			min[i] = Math.min(d, min[i]);
 			max[i] = Math.max(d, max[i]);
 			mean[i] += d;
@@ -1662,7 +1879,7 @@ public class PDE extends ODE {
 	// }
 
 	@Override
-	public void encodeState(StringBuilder plist) {
+	public void encodeState(PlistWriter plist) {
 		super.encodeState(plist);
 		encodeGeometry(plist);
 	}
@@ -1691,11 +1908,11 @@ public class PDE extends ODE {
 	 * Encodes the geometry of the spatial structure for this PDE in the form of a
 	 * <code>plist</code> string.
 	 * 
-	 * @param plist the string builder for the encoded state
+	 * @param plist the writer for the encoded state
 	 */
-	void encodeGeometry(StringBuilder plist) {
+	void encodeGeometry(PlistWriter plist) {
 		plist.append("<key>PDEGeometry</key>\n" + "<dict>\n");
-		plist.append(space.encodeGeometry());
+		space.encodeGeometry(plist);
 		plist.append("</dict>\n");
 	}
 
@@ -1714,8 +1931,10 @@ public class PDE extends ODE {
 	}
 
 	@Override
-	void encodeTraits(StringBuilder plist) {
-		plist.append(Plist.encodeKey("Density", density));
+	void encodeTraits(PlistWriter plist) {
+		// encode as matrix with one row per node to remain compatible with
+		// previously saved states
+		plist.appendKey("Density", density, space.size, nDim);
 	}
 
 	@Override
@@ -1726,16 +1945,16 @@ public class PDE extends ODE {
 			return false;
 		for (int n = 0; n < space.size; n++) {
 			List<Double> cell = state.get(n);
-			double[] dcell = density[n];
+			int offset = n * nDim;
 			for (int i = 0; i < nDim; i++)
-				dcell[i] = cell.get(i);
+				density[offset + i] = cell.get(i);
 		}
 		return true;
 	}
 
 	@Override
-	public void encodeFitness(StringBuilder plist) {
-		plist.append(Plist.encodeKey("Fitness", fitness));
+	public void encodeFitness(PlistWriter plist) {
+		plist.appendKey("Fitness", fitness, space.size, nDim);
 	}
 
 	@Override
@@ -1746,9 +1965,9 @@ public class PDE extends ODE {
 			return false;
 		for (int n = 0; n < space.size; n++) {
 			List<Double> cell = fit.get(n);
-			double[] fcell = fitness[n];
+			int offset = n * nDim;
 			for (int i = 0; i < nDim; i++)
-				fcell[i] = cell.get(i);
+				fitness[offset + i] = cell.get(i);
 		}
 		update();
 		return true;
@@ -115,8 +115,7 @@ public class PDESupervisor {
 		double timeRemain = stepDt;
 		double change = Double.MAX_VALUE;
 		while (timeRemain > dt) {
-			diffuse();
-			change = react();
+			change = diffuseReact();
 			// at this point, fitness and density are synchronized
 			// the new density distribution is in 'next'
 			charge.incrementTime(dt);
@@ -129,8 +128,7 @@ public class PDESupervisor {
 		// update remainder (if necessary)
 		if (timeRemain > 1e-6) {
 			charge.initDiffusion(timeRemain);
-			diffuse();
-			change = react();
+			change = diffuseReact();
 			charge.incrementTime(timeRemain);
 		}
 		if (change > acc2 * timeRemain * timeRemain)
@@ -158,6 +156,19 @@ public class PDESupervisor {
 		return change;
 	}
 
+	/**
+	 * Perform a diffusion step followed by a reaction step. Subclasses may
+	 * override this method to fuse the two steps into a single sweep.
+	 * <p>
+	 * <strong>Important:</strong> This is not thread-safe.
+	 * 
+	 * @return the accumulated total change in state
+	 */
+	protected double diffuseReact() {
+		diffuse();
+		return react();
+	}
+
 	/**
 	 * Perform the diffusion step.
 	 * <p>
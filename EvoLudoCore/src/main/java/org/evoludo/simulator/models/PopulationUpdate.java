@@ -50,6 +50,8 @@ import org.evoludo.util.CLOption.Category;
  * <dd>Wright-Fisher process (synchronous)
  * <dt>asynchronous
  * <dd>Asynchronous population updates (default).
+ * <dt>checkerboard
+ * <dd>Asynchronous updates of independent sublattices (parallel).
  * <dt>Bd
  * <dd>Moran process (birth-death, asynchronous).
  * <dt>dB
@@ -199,6 +201,8 @@ public class PopulationUpdate {
 	 * <dd>Wright-Fisher process (synchronous)</dd>
 	 * <dt>asynchronous</dt>
 	 * <dd>Asynchronous population updates (default).</dd>
+	 * <dt>checkerboard</dt>
+	 * <dd>Asynchronous updates of independent sublattices (parallel).</dd>
 	 * <dt>Bd</dt>
 	 * <dd>Moran process (birth-death, asynchronous).</dd>
 	 * <dt>dB</dt>
@@ -242,6 +246,28 @@ public class PopulationUpdate {
 		 */
 		ONCE("once", "everyone updates once (asynchronous)"),
 
+		/**
+		 * Asynchronous updates of independent sublattices. The population is
+		 * partitioned into sublattices such that the neighbourhoods of individuals
+		 * in the same sublattice do not overlap. Thus, updating all individuals of a
+		 * sublattice at once is equivalent to updating them one after the other.
+		 * This permits processing each sublattice in parallel. In every generation
+		 * the sublattices are updated in random order.
+		 * <p>
+		 * <strong>Note:</strong> Statistically this differs from {@code ASYNC}
+		 * updating: every individual updates exactly once per generation (as for
+		 * {@code ONCE}), instead of a Poisson distributed number of times, and
+		 * individuals never update twice before all others in their sublattice have
+		 * been updated. Neighbouring individuals are never updated in immediate
+		 * succession. On lattices this introduces spatial correlations in the
+		 * sequence of updates, which may affect quantities sensitive to the update
+		 * order, such as critical points or the speed of invasion fronts. Only
+		 * available for discrete traits on lattices.
+		 * 
+		 * @see IBSPopulation#permitsSublatticeUpdates()
+		 */
+		CHECKERBOARD("checkerboard", "independent sublattices update in turn (asynchronous, parallel)"),
+
 		/**
 		 * Moran process (birth-death, asynchronous).
 		 */
@@ -0,0 +1,491 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+package org.evoludo.simulator.models;
+
+import org.evoludo.math.ArrayMath;
+import org.evoludo.simulator.EvoLudo;
+import org.evoludo.simulator.modules.Module;
+
+/**
+ * Implementation of a fourth order Rosenbrock method with adaptive step size
+ * for the numerical integration of stiff systems of differential equations.
+ * Adapted from numerical recipes in C.
+ * <p>
+ * Explicit integrators, such as {@link RungeKutta}, must keep the step size
+ * below the shortest time scale of the dynamics to remain stable, even if the
+ * state changes only slowly. This can slow down the numerical integration to a
+ * crawl, for example, for strong selection or large differences in densities.
+ * Rosenbrock methods are linearly implicit and remain stable for large steps,
+ * such that the step size is dictated by accuracy only.
+ * <p>
+ * The Jacobian is approximated numerically by finite differences. It is
+ * calculated once per step and reused for all attempts to take that step, i.e.
+ * if the step size needs to be reduced.
+ * <p>
+ * <strong>Note:</strong> for large steps Rosenbrock methods dampen growing as
+ * well as decaying modes. This does not affect the error estimate if the
+ * growing trait is rare, e.g. when a mutant or an infection invades. Growing
+ * modes are never stiff and hence the step size is limited such that the state
+ * of any trait grows by at most a factor of about {@code e} within one step.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see <a href="https://doi.org/10.1145/355993.355994">Kaps, P. &amp;
+ *      Rentrop, P. (1979) Generalized Runge-Kutta methods of order four with
+ *      stepsize control for stiff ordinary differential equations, Numer. Math.
+ *      33, 55-68</a>
+ */
+public class Rosenbrock extends ODE {
+
+	/**
+	 * Constructs a new model for the numerical integration of the system of
+	 * ordinary differential equations representing the dynamics specified by the
+	 * {@link Module} <code>module</code> using the {@link EvoLudo} pacemaker
+	 * <code>engine</code> to control the numerical evaluations. The integrator
+	 * implements the fourth order Rosenbrock method with adaptive step size for
+	 * stiff systems.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 */
+	public Rosenbrock(EvoLudo engine) {
+		super(engine);
+		type = Type.ROS;
+	}
+
+	@Override
+	public void unload() {
+		ysav = dysav = ftmp = yerr = null;
+		dfdt = g1 = g2 = g3 = g4 = null;
+		dfdy = lu = null;
+		pivot = null;
+		super.unload();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		if (ysav == null || ysav.length != nDim) {
+			ysav = new double[nDim];
+			dysav = new double[nDim];
+			ftmp = new double[nDim];
+			yerr = new double[nDim];
+			dfdt = new double[nDim];
+			g1 = new double[nDim];
+			g2 = new double[nDim];
+			g3 = new double[nDim];
+			g4 = new double[nDim];
+			dfdy = new double[nDim][nDim];
+			lu = new double[nDim][nDim];
+			pivot = new int[nDim];
+		}
+	}
+
+	/**
+	 * The safety margin for adjusting time steps. Magic number from Numerical
+	 * Recipes in C.
+	 */
+	private static final double SAFETY = 0.9;
+
+	/**
+	 * The maximum factor for increasing the time step. Magic number from Numerical
+	 * Recipes in C.
+	 */
+	private static final double GROW = 1.5;
+
+	/**
+	 * The exponent for increasing the time step if error outside margin. Magic
+	 * number from Numerical Recipes in C.
+	 * 
+	 * @see #ERRCON
+	 */
+	private static final double PGROW = -0.25;
+
+	/**
+	 * The minimum factor for decreasing the time step. Magic number from Numerical
+	 * Recipes in C.
+	 */
+	private static final double SHRNK = 0.5;
+
+	/**
+	 * The exponent for decreasing the time step if error outside margin. Magic
+	 * number from Numerical Recipes in C.
+	 */
+	private static final double PSHRNK = -1.0 / 3.0;
+
+	/**
+	 * The maximum error in a single step. The value {@code ERRCON} equals
+	 * {@code (GROW/SAFETY)^(1/PGROW)}. Magic number from Numerical Recipes in C.
+	 */
+	private static final double ERRCON = 0.1296;
+
+	/**
+	 * The maximum number of attempts to take a step.
+	 */
+	private static final int MAXTRY = 40;
+
+	/**
+	 * The accuracy required for the integration. Same as for {@link RungeKutta}.
+	 */
+	private static final double ACCURACY = 1e-7;
+
+	/**
+	 * The maximum rate of growth of any trait, i.e. the largest positive diagonal
+	 * element of the Jacobian, or zero if no trait grows.
+	 * 
+	 * @see #jacobian()
+	 */
+	private double maxGrowth;
+
+	/**
+	 * The relative increment for the finite difference approximation of the
+	 * Jacobian, i.e. the square root of the machine precision.
+	 */
+	private static final double SQRT_EPS = 1.4901161193847656e-8;
+
+	/**
+	 * Shampine's parameters of the fourth order Rosenbrock method. More magic
+	 * numbers from Numerical Recipes in C.
+	 */
+	private static final double GAM = 1.0 / 2.0;
+	private static final double A21 = 2.0;
+	private static final double A31 = 48.0 / 25.0;
+	private static final double A32 = 6.0 / 25.0;
+	private static final double C21 = -8.0;
+	private static final double C31 = 372.0 / 25.0;
+	private static final double C32 = 12.0 / 5.0;
+	private static final double C41 = -112.0 / 125.0;
+	private static final double C42 = -54.0 / 125.0;
+	private static final double C43 = -2.0 / 5.0;
+	private static final double B1 = 19.0 / 9.0;
+	private static final double B2 = 1.0 / 2.0;
+	private static final double B3 = 25.0 / 108.0;
+	private static final double B4 = 125.0 / 108.0;
+	private static final double E1 = 17.0 / 54.0;
+	private static final double E2 = 7.0 / 36.0;
+	private static final double E3 = 0.0;
+	private static final double E4 = 125.0 / 108.0;
+	private static final double C1X = 1.0 / 2.0;
+	private static final double C2X = -3.0 / 2.0;
+	private static final double C3X = 121.0 / 50.0;
+	private static final double C4X = 29.0 / 250.0;
+	private static final double A2X = 1.0;
+	private static final double A3X = 3.0 / 5.0;
+
+	/**
+	 * Helper variables and temporary storage for the state and its derivatives at
+	 * the beginning of the step, the fitness and errors when calculating
+	 * derivatives for different stages.
+	 */
+	private double[] ysav;
+	private double[] dysav;
+	private double[] ftmp;
+	private double[] yerr;
+
+	/**
+	 * The partial derivatives of the rates of change with respect to time.
+	 */
+	private double[] dfdt;
+
+	/**
+	 * The Jacobian, i.e. the partial derivatives of the rates of change with
+	 * respect to the state.
+	 */
+	private double[][] dfdy;
+
+	/**
+	 * The LU decomposition of the matrix {@code 1/(GAM h) - dfdy}.
+	 */
+	private double[][] lu;
+
+	/**
+	 * The row permutations of the LU decomposition.
+	 */
+	private int[] pivot;
+
+	/**
+	 * Temporary variables for the intermediate results of the four stages.
+	 */
+	private double[] g1;
+	private double[] g2;
+	private double[] g3;
+	private double[] g4;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The Rosenbrock integrator provides dense output. This is particularly
+	 * useful for stiff systems, where steps are often much larger than the
+	 * intervals between reports.
+	 */
+	@Override
+	protected boolean hasDenseOutput() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <h3>Implementation Notes:</h3> Fourth-order Rosenbrock step for integrating
+	 * stiff ordinary differential equations, with monitoring of local truncation
+	 * error to adjust stepsize. The Jacobian and the partial derivatives with
+	 * respect to time are approximated by finite differences at the beginning of
+	 * the step. For replicator dynamics the new state must remain normalized,
+	 * otherwise the step size is halved.
+	 * <p>
+	 * Copied from Numerical Recipes in C, chapter 16.6, p.739f
+	 */
+	@Override
+	protected double deStep(double step) {
+		System.arraycopy(yt, 0, ysav, 0, nDim);
+		System.arraycopy(dyt, 0, dysav, 0, nDim);
+		jacobian();
+		double h = step; // set step size to the initial trial value.
+		// resolve growing modes
+		if (maxGrowth * Math.abs(h) > 1.0)
+			h = (h >= 0.0 ? 1.0 : -1.0) / maxGrowth;
+		double errmax = 0.0;
+		int jtry = 0;
+		while (true) {
+			if (++jtry > MAXTRY) {
+				logger.warning("exceeded maximum number of trials in ODE method Rosenbrock.deStep() at time "
+						+ time + ".");
+				dtTaken = 0.0;
+				return -1.0;
+			}
+			if (time + h == time) {
+				logger.warning("stepsize underflow in ODE method Rosenbrock.deStep() at time " + time + ".");
+				dtTaken = 0.0;
+				return -1.0;
+			}
+			if (!ros4(h)) {
+				// step failed - decrease step width and try again
+				h /= 2.0;
+				continue;
+			}
+			errmax = 0.0; // evaluate accuracy.
+			for (int i = 0; i < nDim; i++) {
+				if (ysav[i] > 1e-6) // ignore component if variable is zero.
+					errmax = Math.max(errmax, Math.abs(yerr[i] / ysav[i]));
+			}
+			errmax /= ACCURACY; // scale relative to required tolerance.
+			if (errmax <= 1.0)
+				break; // step succeeded - compute size of next step.
+			double htemp = SAFETY * h * Math.pow(errmax, PSHRNK);
+			// truncation error too large, reduce step size.
+			h = (h >= 0.0 ? Math.max(htemp, SHRNK * h) : Math.min(htemp, SHRNK * h));
+		}
+		time += h;
+		// ensure that dtTry and dtTaken remain positive
+		h = Math.abs(h);
+		if (errmax > ERRCON)
+			dtTry = SAFETY * h * Math.pow(errmax, PGROW);
+		else
+			dtTry = GROW * h;
+		dtTaken = h;
+
+		// if it's a replicator equation the frequencies must add up to 1
+		// this can be used to improve numerical accuracy.
+		normalizeState(yout);
+
+		// the new state is in yout - swap and determine new fitness
+		double[] swap = yt;
+		yt = yout;
+		yout = swap;
+		// determine fitness of new state
+		getDerivatives(time, yt, ft, dyt);
+		return ArrayMath.distSq(yout, yt);
+	}
+
+	/**
+	 * Approximate the Jacobian, {@code dfdy}, and the partial derivatives with
+	 * respect to time, {@code dfdt}, of the rates of change at the current state
+	 * by forward differences. Forward differences ensure that frequencies and
+	 * densities remain non-negative. Also determines the maximum rate of growth,
+	 * {@code maxGrowth}.
+	 */
+	private void jacobian() {
+		for (int j = 0; j < nDim; j++) {
+			double yj = ysav[j];
+			double delta = SQRT_EPS * Math.max(Math.abs(yj), 1.0);
+			ysav[j] = yj + delta;
+			getDerivatives(time, ysav, ftmp, g1);
+			ysav[j] = yj;
+			double idelta = 1.0 / delta;
+			for (int i = 0; i < nDim; i++)
+				dfdy[i][j] = (g1[i] - dysav[i]) * idelta;
+		}
+		maxGrowth = 0.0;
+		for (int i = 0; i < nDim; i++)
+			maxGrowth = Math.max(maxGrowth, dfdy[i][i]);
+		double delta = SQRT_EPS * Math.max(Math.abs(time), 1.0);
+		getDerivatives(time + delta, ysav, ftmp, g1);
+		double idelta = 1.0 / delta;
+		for (int i = 0; i < nDim; i++)
+			dfdt[i] = (g1[i] - dysav[i]) * idelta;
+	}
+
+	/**
+	 * Attempt a single step of size {@code h} using the fourth-order Rosenbrock
+	 * method with Shampine's parameters. The new state is returned in
+	 * {@code yout} and an estimate of the local truncation error, based on the
+	 * embedded third-order method, in {@code yerr}.
+	 * <p>
+	 * Copied from Numerical Recipes in C, chapter 16.6, p.739f
+	 * 
+	 * <h3>Implementation Notes:</h3>
+	 * For replicator dynamics the new state must remain normalized, i.e.
+	 * frequencies in {@code [0, 1]}, otherwise reject.
+	 * 
+	 * @param h the step to try to take
+	 * @return <code>true</code> if step successful
+	 */
+	private boolean ros4(double h) {
+		// set up the matrix 1/(GAM h) - dfdy
+		double diag = 1.0 / (GAM * h);
+		for (int i = 0; i < nDim; i++) {
+			double[] lui = lu[i];
+			double[] dfdyi = dfdy[i];
+			for (int j = 0; j < nDim; j++)
+				lui[j] = -dfdyi[j];
+			lui[i] += diag;
+		}
+		if (!decompose())
+			return false;
+		double ih = 1.0 / h;
+		// first stage
+		for (int i = 0; i < nDim; i++)
+			g1[i] = dysav[i] + h * C1X * dfdt[i];
+		solve(g1);
+		// second stage
+		for (int i = 0; i < nDim; i++)
+			yout[i] = ysav[i] + A21 * g1[i];
+		getDerivatives(time + A2X * h, yout, ftmp, dyt);
+		for (int i = 0; i < nDim; i++)
+			g2[i] = dyt[i] + h * C2X * dfdt[i] + C21 * g1[i] * ih;
+		solve(g2);
+		// third stage
+		for (int i = 0; i < nDim; i++)
+			yout[i] = ysav[i] + A31 * g1[i] + A32 * g2[i];
+		getDerivatives(time + A3X * h, yout, ftmp, dyt);
+		for (int i = 0; i < nDim; i++)
+			g3[i] = dyt[i] + h * C3X * dfdt[i] + (C31 * g1[i] + C32 * g2[i]) * ih;
+		solve(g3);
+		// fourth stage
+		for (int i = 0; i < nDim; i++)
+			g4[i] = dyt[i] + h * C4X * dfdt[i] + (C41 * g1[i] + C42 * g2[i] + C43 * g3[i]) * ih;
+		solve(g4);
+		// restore derivatives at beginning of step (in case step gets rejected)
+		System.arraycopy(dysav, 0, dyt, 0, nDim);
+		double ytmax = -Double.MAX_VALUE;
+		double ytmin = Double.MAX_VALUE;
+		for (int i = 0; i < nDim; i++) {
+			double y = ysav[i] + B1 * g1[i] + B2 * g2[i] + B3 * g3[i] + B4 * g4[i];
+			yout[i] = y;
+			ytmax = Math.max(ytmax, y);
+			ytmin = Math.min(ytmin, y);
+			yerr[i] = E1 * g1[i] + E2 * g2[i] + E3 * g3[i] + E4 * g4[i];
+		}
+		return (isDensity || (ytmin >= 0.0 && ytmax <= 1.0));
+	}
+
+	/**
+	 * LU decomposition of the matrix {@code lu} in place using partial pivoting.
+	 * The row permutations are stored in {@code pivot}.
+	 * <p>
+	 * Adapted from Numerical Recipes in C, chapter 2.3, p.46f
+	 * 
+	 * @return <code>false</code> if the matrix is singular
+	 */
+	private boolean decompose() {
+		for (int k = 0; k < nDim; k++) {
+			// find pivot
+			int p = k;
+			double max = Math.abs(lu[k][k]);
+			for (int i = k + 1; i < nDim; i++) {
+				double a = Math.abs(lu[i][k]);
+				if (a > max) {
+					max = a;
+					p = i;
+				}
+			}
+			if (max == 0.0)
+				return false;
+			pivot[k] = p;
+			if (p != k) {
+				double[] swap = lu[p];
+				lu[p] = lu[k];
+				lu[k] = swap;
+			}
+			double[] luk = lu[k];
+			double ipivot = 1.0 / luk[k];
+			for (int i = k + 1; i < nDim; i++) {
+				double[] lui = lu[i];
+				double f = lui[k] * ipivot;
+				lui[k] = f;
+				if (f == 0.0)
+					continue;
+				for (int j = k + 1; j < nDim; j++)
+					lui[j] -= f * luk[j];
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solve the linear system {@code lu x = b} in place using the LU decomposition
+	 * by forward and back substitution.
+	 * <p>
+	 * Adapted from Numerical Recipes in C, chapter 2.3, p.47
+	 * 
+	 * @param b the right-hand side on input and the solution on output
+	 * 
+	 * @see #decompose()
+	 */
+	private void solve(double[] b) {
+		// forward substitution (with row permutations)
+		for (int k = 0; k < nDim; k++) {
+			int p = pivot[k];
+			double sum = b[p];
+			b[p] = b[k];
+			double[] luk = lu[k];
+			for (int j = 0; j < k; j++)
+				sum -= luk[j] * b[j];
+			b[k] = sum;
+		}
+		// back substitution
+		for (int i = nDim - 1; i >= 0; i--) {
+			double[] lui = lu[i];
+			double sum = b[i];
+			for (int j = i + 1; j < nDim; j++)
+				sum -= lui[j] * b[j];
+			b[i] = sum / lui[i];
+		}
+	}
+}
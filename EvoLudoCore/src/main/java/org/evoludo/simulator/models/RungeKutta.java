@@ -136,6 +136,17 @@ public class RungeKutta extends ODE {
 		return doReset;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The adaptive Runge-Kutta integrator provides dense output while the Euler
+	 * method with fixed increments does not.
+	 */
+	@Override
+	protected boolean hasDenseOutput() {
+		return !doEuler;
+	}
+
 	// @Override
 	// public void collectCLO(CLOParser parser) {
 	// ODERungeKutta does not provide any additional command line options
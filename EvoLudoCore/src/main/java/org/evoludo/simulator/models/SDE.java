@@ -52,6 +52,12 @@ public class SDE extends ODE {
 	 */
 	protected Module<?> module;
 
+	/**
+	 * The Gaussian random numbers for the noise of one integration step. All
+	 * random numbers required for a step are drawn in a single batch.
+	 */
+	protected double[] gauss;
+
 	/**
 	 * Constructs a new model for the numerical integration of the system of
 	 * stochastic differential equations representing the dynamics specified by the
@@ -105,6 +111,9 @@ public class SDE extends ODE {
 			}
 		}
 		boolean doReset = super.check();
+		int nGauss = Math.max(2, nSpecies);
+		if (gauss == null || gauss.length != nGauss)
+			gauss = new double[nGauss];
 		// at this point it is clear that we have a dependent trait
 		int dim = nDim - 1;
 		// only one or two traits acceptable or, alternatively, two or three
@@ -199,7 +208,8 @@ public class SDE extends ODE {
 		int idx;
 		switch (nDim) {
 			case 2: // two traits
-				process2DNoise(0, step, sqrtdt, mutation[0].probability, getEffectiveNoise(module, 0));
+				rng.nextGaussian(gauss, 0, 1);
+				process2DNoise(0, step, sqrtdt, mutation[0].probability, getEffectiveNoise(module, 0), gauss[0]);
 				break;
 
 			case 3: // two dimensions (or three traits) - e.g. RSP game
@@ -277,8 +287,9 @@ public class SDE extends ODE {
 				double cyy = sqrte1 * u2 * u2 + sqrte2 * v2 * v2;
 
 				// noise (note this scales with sqrt(dt) - for efficiency applied here)
-				double r1 = rng.nextGaussian() * sqrtdt;
-				double r2 = rng.nextGaussian() * sqrtdt;
+				rng.nextGaussian(gauss, 0, 2);
+				double r1 = gauss[0] * sqrtdt;
+				double r2 = gauss[1] * sqrtdt;
 				double nx = cxx * r1 + cxy * r2;
 				double ny = cyx * r1 + cyy * r2;
 				// 2) deterministic term stored in dyt
@@ -316,9 +327,11 @@ public class SDE extends ODE {
 
 			default: // any number of traits (single traits in multiple species)
 				int skip = 0;
+				int k = 0;
+				rng.nextGaussian(gauss, 0, nSpecies);
 				if (isDensity) {
 					for (Module<?> mod : species) {
-						double noise = Math.sqrt(getEffectiveNoise(mod, skip)) * rng.nextGaussian() * sqrtdt;
+						double noise = Math.sqrt(getEffectiveNoise(mod, skip)) * gauss[k++] * sqrtdt;
 						// species that went extinct should not make a sudden reappearance
 						if (yt[skip] > 0.0) {
 							dyt[skip] += noise;
@@ -331,7 +344,7 @@ public class SDE extends ODE {
 				// frequency dynamics
 				for (Module<?> mod : species) {
 					// no mutations in ecological processes
-					process2DNoise(skip, step, sqrtdt, 0.0, getEffectiveNoise(mod, skip));
+					process2DNoise(skip, step, sqrtdt, 0.0, getEffectiveNoise(mod, skip), gauss[k++]);
 					skip += mod.getNTraits();
 				}
 				break;
@@ -375,12 +388,13 @@ public class SDE extends ODE {
 	 * @param sqrtdt the square root of the step size
 	 * @param mu     the mutation rate
 	 * @param noise  the noise to be processed
+	 * @param gauss  the Gaussian random number for the noise
 	 */
-	private void process2DNoise(int skip, double step, double sqrtdt, double mu, double noise) {
+	private void process2DNoise(int skip, double step, double sqrtdt, double mu, double noise, double gauss) {
 		double x = yt[skip];
 		double b = ((1.0 - mu) * x * (1.0 - x) + mu) * noise;
 		double c = Math.sqrt(b);
-		double n = c * rng.nextGaussian() * sqrtdt;
+		double n = c * gauss * sqrtdt;
 		dyt[skip] += n;
 		int skip1 = skip + 1;
 		dyt[skip1] -= n;
@@ -0,0 +1,205 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import org.evoludo.math.RandomNumberGenerator;
+import org.evoludo.simulator.EvoLudo;
+import org.evoludo.simulator.models.IBSPopulation.SyncChunk;
+
+/**
+ * Supervisor for synchronous population updates and asynchronous updates of
+ * independent sublattices in IBS models. The
+ * population is split into chunks of {@link #SYNC_MIN_WORKLOAD} individuals,
+ * which are updated and scored independently. Each chunk draws its random
+ * numbers from its own stream, which is seeded by the shared random number
+ * generator prior to every update. The contributions of each chunk to the
+ * total fitness and maximum score are recorded separately and merged in the
+ * order of the chunks. Because the size of the chunks is fixed, the results
+ * are reproducible for a fixed seed regardless of how the chunks are
+ * processed.
+ * <p>
+ * This default implementation processes all chunks sequentially. Subclasses
+ * are encouraged to take advantage of optimizations available in different
+ * frameworks. In particular, chunks can be processed in parallel in JRE.
+ * <p>
+ * Asynchronous updates of sublattices are processed in the same manner: each
+ * sublattice is split into chunks, whose individuals are updated in parallel
+ * but their traits are committed and scores adjusted sequentially.
+ * <p>
+ * <strong>Note:</strong> Only populations that permit parallel synchronous
+ * updates are processed in chunks. All others use
+ * {@link IBSPopulation#step()} and {@link IBSPopulation#updateScores()}.
+ *
+ * @author Christoph Hauert
+ * 
+ * @see IBSPopulation#permitsParallelSync()
+ * @see IBSPopulation#permitsSublatticeUpdates()
+ * @see org.evoludo.simulator.EvoLudo#hireSyncSupervisor(IBS)
+ */
+public class SyncSupervisor {
+
+	/**
+	 * Creates a new supervisor to manage synchronous updates of the IBS model
+	 * <strong>charge</strong>.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 * @param charge the model to supervise
+	 */
+	public SyncSupervisor(EvoLudo engine, IBS charge) {
+		this.engine = engine;
+		this.charge = charge;
+	}
+
+	/**
+	 * The pacemaker of all models. Interface with the outside world.
+	 */
+	protected EvoLudo engine;
+
+	/**
+	 * The model to manage and supervise its execution.
+	 */
+	protected IBS charge;
+
+	/**
+	 * The number of individuals in each chunk. Must not depend on the number of
+	 * threads to ensure reproducible results.
+	 */
+	public static final int SYNC_MIN_WORKLOAD = 1024;
+
+	/**
+	 * Storage for the tags of the population during synchronous updates.
+	 */
+	private double[] tags;
+
+	/**
+	 * Perform a synchronous update of the entire population {@code pop}. The
+	 * counterpart of {@link IBSPopulation#step()}.
+	 * 
+	 * @param pop the population to update
+	 * @return the number of elapsed realtime units
+	 */
+	public int step(IBSPopulation pop) {
+		SyncChunk[] chunks = pop.getSyncChunks(SYNC_MIN_WORKLOAD);
+		// seed streams of chunks with the shared random number generator
+		RandomNumberGenerator master = engine.getRNG().getRNG();
+		for (SyncChunk chunk : chunks)
+			chunk.seed(master.nextLong());
+		if (tags == null || tags.length != pop.nPopulation)
+			tags = new double[pop.nPopulation];
+		pop.syncTags = pop.getTags(tags);
+		invoke(pop, chunks, Task.UPDATE);
+		pop.syncTags = null;
+		return pop.nPopulation;
+	}
+
+	/**
+	 * Perform an asynchronous update of the next sublattice of the population
+	 * {@code pop}. The counterpart of {@link IBSPopulation#step()} for
+	 * {@link PopulationUpdate.Type#CHECKERBOARD}.
+	 * 
+	 * @param pop the population to update
+	 * @return the number of individuals updated
+	 */
+	public int stepSublattice(IBSPopulation pop) {
+		SyncChunk[] chunks = pop.nextSublattice();
+		invoke(pop, chunks, Task.SUBLATTICE);
+		return pop.commitSublattice(chunks);
+	}
+
+	/**
+	 * Calculate the scores of all individuals in the population {@code pop} after
+	 * a synchronous update. The counterpart of
+	 * {@link IBSPopulation#updateScores()}.
+	 * 
+	 * @param pop the population to score
+	 */
+	public void updateScores(IBSPopulation pop) {
+		SyncChunk[] chunks = pop.getSyncChunks(SYNC_MIN_WORKLOAD);
+		invoke(pop, chunks, Task.SCORE);
+		pop.mergeSyncScores(chunks);
+	}
+
+	/**
+	 * The tasks for processing chunks of the population.
+	 */
+	enum Task {
+
+		/**
+		 * Synchronous update of the individuals.
+		 */
+		UPDATE,
+
+		/**
+		 * Calculation of the scores after a synchronous update.
+		 */
+		SCORE,
+
+		/**
+		 * Asynchronous update of the individuals of a sublattice.
+		 */
+		SUBLATTICE
+	}
+
+	/**
+	 * Process all {@code chunks} of the population {@code pop}. Either update the
+	 * individuals or calculate their scores.
+	 * 
+	 * @param pop    the population to process
+	 * @param chunks the chunks of the population
+	 * @param task   the task to perform for each chunk
+	 */
+	protected void invoke(IBSPopulation pop, SyncChunk[] chunks, Task task) {
+		for (SyncChunk chunk : chunks)
+			process(pop, chunk, task);
+	}
+
+	/**
+	 * Process the single {@code chunk} of the population {@code pop}. Either
+	 * update the individuals or calculate their scores.
+	 * 
+	 * @param pop   the population to process
+	 * @param chunk the chunk of the population
+	 * @param task  the task to perform
+	 */
+	protected void process(IBSPopulation pop, SyncChunk chunk, Task task) {
+		switch (task) {
+			case SCORE:
+				pop.updateScoresSync(chunk);
+				break;
+			case SUBLATTICE:
+				pop.stepSublattice(chunk);
+				break;
+			case UPDATE:
+			default:
+				pop.stepSync(chunk);
+		}
+	}
+}
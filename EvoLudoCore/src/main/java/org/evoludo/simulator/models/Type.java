@@ -66,6 +66,12 @@ public enum Type implements CLOption.Key {
 	 */
 	EM("ODEEM", "Euler method"),
 
+	/**
+	 * Fourth order Rosenbrock method for stiff ordinary differential equation
+	 * models.
+	 */
+	ROS("ODESTIFF", "Rosenbrock method for stiff systems"),
+
 	/**
 	 * Euler-Maruyama method for stochastic differential equation models.
 	 */
@@ -164,7 +170,7 @@ public enum Type implements CLOption.Key {
 	 * @return {@code true} if this is an ODE model, {@code false} otherwise
 	 */
 	public boolean isODE() {
-		return this == ODE || this == RK5 || this == EM;
+		return this == ODE || this == RK5 || this == EM || this == ROS;
 	}
 
 	/**
@@ -627,6 +627,29 @@ public class ATBT extends TBT implements HasS3, HasPhase2D {
 			return processEnvironmentalAsymmetryAt(me, super.updatePlayerAt(me));
 		}
 
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * <strong>Note:</strong> environmental asymmetries are processed in
+		 * {@link #updatePlayerAt(int)}, which is bypassed by parallel synchronous
+		 * updates.
+		 */
+		@Override
+		public boolean permitsParallelSync() {
+			return false;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * <strong>Note:</strong> environmental asymmetries are processed in
+		 * {@link #updatePlayerAt(int)}, which is bypassed by sublattice updates.
+		 */
+		@Override
+		public boolean permitsSublatticeUpdates() {
+			return false;
+		}
+
 		@Override
 		public boolean isMonomorphic() {
 			if (ArrayMath.max(feedback) > 0.0)
@@ -658,7 +681,7 @@ public class ATBT extends TBT implements HasS3, HasPhase2D {
 				changed = (oldtype % 2 != newtrait);
 				// make sure patch type is preserved
 				int oldpatch = oldtype / 2;
-				traitsNext[me] = oldpatch + oldpatch + newtrait + (changed ? nTraits : 0);
+				traitsNext[me] = (byte) (oldpatch + oldpatch + newtrait + (changed ? nTraits : 0));
 			}
 			// note: should we allow simultaneous trait and patch changes? i don't think
 			// so... which approach corresponds to the ODE?
@@ -670,7 +693,7 @@ public class ATBT extends TBT implements HasS3, HasPhase2D {
 				// determine new patch type (old one was GOOD if oldtype is even and will now
 				// turn BAD and vice versa)
 				int newpatch = (oldtype + 1) % 2;
-				traitsNext[me] = newpatch + oldtrait + oldtrait + nTraits;
+				traitsNext[me] = (byte) (newpatch + oldtrait + oldtrait + nTraits);
 				return true;
 			}
 			return changed;
@@ -56,7 +56,7 @@ import org.evoludo.util.CLOption.Category;
  * @author Christoph Hauert
  */
 public class CDL extends Discrete implements Payoffs,
-		HasIBS.DGroups, HasDE.DGroups, HasDE.EM, HasDE.RK5, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
+		HasIBS.DGroups, HasDE.DGroups, HasDE.EM, HasDE.RK5, HasDE.ROS, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
 		HasPop2D.Traits, HasPop3D.Traits, HasPop2D.Fitness, HasPop3D.Fitness,
 		HasMean.Traits, HasMean.Fitness, HasS3,
 		HasHistogram.Fitness, HasHistogram.Degree, HasHistogram.StatisticsStationary {
@@ -57,7 +57,7 @@ import org.evoludo.util.Formatter;
  * @author Christoph Hauert
  */
 public class EcoPGG extends Discrete implements Payoffs,
-		HasIBS.DGroups, HasDE.DGroups, HasDE.EM, HasDE.RK5, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
+		HasIBS.DGroups, HasDE.DGroups, HasDE.EM, HasDE.RK5, HasDE.ROS, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits, HasS3, HasPhase2D,
 		HasPop2D.Fitness, HasPop3D.Fitness, HasMean.Fitness,
 		HasHistogram.Fitness, HasHistogram.Degree, HasHistogram.StatisticsStationary {
@@ -38,6 +38,7 @@ import org.evoludo.simulator.models.IBSDPopulation;
 import org.evoludo.simulator.models.Model;
 import org.evoludo.simulator.models.Model.HasDE;
 import org.evoludo.simulator.models.Model.HasIBS;
+import org.evoludo.simulator.models.Rosenbrock;
 import org.evoludo.simulator.models.RungeKutta;
 import org.evoludo.simulator.models.Type;
 import org.evoludo.simulator.modules.Features.Multispecies;
@@ -58,7 +59,7 @@ import org.evoludo.util.CLOption.Category;
  * 
  * @author Christoph Hauert
  */
-public class LV extends Discrete implements HasDE.ODE, HasDE.SDE, HasDE.DualDynamics, HasIBS,
+public class LV extends Discrete implements HasDE.ODE, HasDE.ROS, HasDE.SDE, HasDE.DualDynamics, HasIBS,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits, HasPhase2D {
 
 	/**
@@ -276,9 +277,13 @@ public class LV extends Discrete implements HasDE.ODE, HasDE.SDE, HasDE.DualDyna
 	public Model createModel(Type type) {
 		switch (type) {
 			case ODE:
-				if (model != null && model.getType().isODE())
+				if (model instanceof LV.ODE)
 					return model;
 				return new LV.ODE();
+			case ROS:
+				if (model instanceof LV.ROS)
+					return model;
+				return new LV.ROS();
 			case SDE:
 				if (model != null && model.getType().isSDE())
 					return model;
@@ -317,6 +322,25 @@ public class LV extends Discrete implements HasDE.ODE, HasDE.SDE, HasDE.DualDyna
 		}
 	}
 
+	/**
+	 * Stiff ODE model for the Lotka-Volterra module.
+	 */
+	public class ROS extends Rosenbrock {
+
+		/**
+		 * Constructor for the classic Lotka-Volterra model based on ordinary
+		 * differential equations using an integrator for stiff systems.
+		 */
+		public ROS() {
+			super(LV.this.engine);
+		}
+
+		@Override
+		protected void getDerivatives(double t, double[] state, double[] unused, double[] change) {
+			LV.this.getDerivatives(t, state, unused, change, isDensity);
+		}
+	}
+
 	/**
 	 * SDE model for the LV module.
 	 */
@@ -492,6 +516,11 @@ class IBSPop extends IBSDPopulation {
 
 	@Override
 	public boolean check() {
+		if (optimizeEcology) {
+			// birth and death rates depend on predators and prey
+			optimizeEcology = false;
+			logger.warning("optimized ecological updates not available for predator-prey models - disabled.");
+		}
 		boolean doReset = super.check();
 		rates = (isPredator ? ((Predator) module).rates : ((LV) module).rates);
 		deathRate = module.getDeathRate();
@@ -512,6 +541,17 @@ class IBSPop extends IBSDPopulation {
 		return maxRate * getPopulationSize();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * <strong>Note:</strong> Predation and competition can remove individuals even
+	 * in saturated populations without deaths.
+	 */
+	@Override
+	protected boolean permitsEcologicalEvents() {
+		return true;
+	}
+
 	/**
 	 * Individual based simulation implementation of the classical Lotka-Volterra
 	 * model in finite and structured populations. For a focal individual three
@@ -585,7 +625,7 @@ class IBSPop extends IBSDPopulation {
 			if (randomTestVal < focalDies) {
 				// focal dies spontaneously or due to competition: vacate focal site
 				// more efficient than setNextTraitAt
-				traitsNext[me] = VACANT + nTraits;
+				traitsNext[me] = (byte) (VACANT + nTraits);
 				commitTraitAt(me);
 				isExtinct = (getPopulationSize() == 0);
 			} else {
@@ -598,7 +638,7 @@ class IBSPop extends IBSDPopulation {
 					}
 				} else {
 					// prey dies; more efficient than setNextTraitAt
-					traitsNext[me] = VACANT + nTraits;
+					traitsNext[me] = (byte) (VACANT + nTraits);
 					commitTraitAt(me);
 					isExtinct = (getPopulationSize() == 0);
 				}
@@ -53,6 +53,7 @@ import org.evoludo.simulator.models.Model.HasDE;
 import org.evoludo.simulator.models.Model.HasIBS;
 import org.evoludo.simulator.models.ODE;
 import org.evoludo.simulator.models.PDE;
+import org.evoludo.simulator.models.Rosenbrock;
 import org.evoludo.simulator.models.RungeKutta;
 import org.evoludo.simulator.models.SDE;
 import org.evoludo.simulator.models.Type;
@@ -252,6 +253,10 @@ public abstract class Module<T extends Module<T>> implements Features, Milestone
 				if (!(this instanceof HasDE.ODE))
 					return null;
 				return new ODE(engine);
+			case ROS:
+				if (!(this instanceof HasDE.ROS))
+					return null;
+				return new Rosenbrock(engine);
 			case PDEADV:
 				if (!(this instanceof HasDE.PDEADV))
 					return null;
@@ -478,6 +483,8 @@ public abstract class Module<T extends Module<T>> implements Features, Milestone
 			types.add(Type.RK5);
 		if (this instanceof HasDE.EM)
 			types.add(Type.EM);
+		if (this instanceof HasDE.ROS)
+			types.add(Type.ROS);
 		if (this instanceof HasDE.SDE)
 			types.add(Type.SDE);
 		if (this instanceof HasDE.PDE)
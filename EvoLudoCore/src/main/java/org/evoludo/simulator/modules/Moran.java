@@ -71,7 +71,7 @@ import org.evoludo.util.CLOption.Category;
  * @author Christoph Hauert
  */
 public class Moran extends Discrete implements Static,
-		HasIBS, HasDE.RK5, HasDE.EM, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
+		HasIBS, HasDE.RK5, HasDE.ROS, HasDE.EM, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits,
 		HasPop2D.Fitness, HasPop3D.Fitness, HasMean.Fitness,
 		HasHistogram.Fitness, HasHistogram.Degree, HasHistogram.StatisticsProbability,
@@ -146,15 +146,41 @@ public abstract class Mutation {
 
 		@Override
 		public boolean doMutate() {
+			return doMutate(rng);
+		}
+
+		/**
+		 * Check if a mutation arises using the random number generator
+		 * {@code rand}.
+		 * 
+		 * @param rand the random number generator
+		 * @return {@code true} if a mutation should be performed
+		 */
+		public boolean doMutate(RNGDistribution rand) {
 			if (type == Type.NONE || !temperature)
 				return false;
 			if (probability >= 1.0)
 				return true;
-			return rng.random01() < probability;
+			return rand.random01() < probability;
 		}
 
 		@Override
 		public int mutate(int trait) {
+			return mutate(trait, rng);
+		}
+
+		/**
+		 * Mutate trait {@code trait} in IBS models according to the type of mutation
+		 * using the random number generator {@code rand}. Mutations that do not
+		 * share their random number generator can be processed concurrently.
+		 * 
+		 * @param trait the trait to mutate
+		 * @param rand  the random number generator
+		 * @return the mutated trait
+		 * 
+		 * @see Discrete.Type
+		 */
+		public int mutate(int trait, RNGDistribution rand) {
 			if (type == Type.NONE)
 				// no mutations
 				return trait;
@@ -173,14 +199,14 @@ public abstract class Mutation {
 				int nt = (vacant < 0 ? nTraits : nTraits - 1);
 				switch ((Type) type) {
 					case ALL:
-						trait = rng.random0n(nt);
+						trait = rand.random0n(nt);
 						break;
 					case OTHER:
-						trait = (trait + rng.random0n(nt - 1) + 1) % nTraits;
+						trait = (trait + rand.random0n(nt - 1) + 1) % nTraits;
 						break;
 					case RANGE:
 						int irange = (int) range;
-						trait = (trait + rng.random0n(irange * 2 + 1) - irange + nTraits) % nTraits;
+						trait = (trait + rand.random0n(irange * 2 + 1) - irange + nTraits) % nTraits;
 						break;
 					default:
 						return trait;
@@ -195,7 +221,7 @@ public abstract class Mutation {
 			int mut = trait;
 			switch ((Type) type) {
 				case ALL:
-					idx = rng.random0n(nActive);
+					idx = rand.random0n(nActive);
 					mut = -1;
 					while (idx >= 0) {
 						if (idx != vacant && active[idx--])
@@ -203,7 +229,7 @@ public abstract class Mutation {
 					}
 					break;
 				case OTHER:
-					idx = rng.random0n(nActive - 1);
+					idx = rand.random0n(nActive - 1);
 					mut = -1;
 					while (idx >= 0) {
 						if (idx != trait && idx != vacant && active[idx--])
@@ -212,7 +238,7 @@ public abstract class Mutation {
 					break;
 				case RANGE:
 					int irange = (int) range;
-					mut = (trait + rng.random0n(irange * 2 + 1) - irange + nTraits) % nTraits;
+					mut = (trait + rand.random0n(irange * 2 + 1) - irange + nTraits) % nTraits;
 					break;
 				default:
 			}
@@ -58,7 +58,7 @@ import org.evoludo.util.CLOption.Category;
  * @author Christoph Hauert
  */
 public class RSP extends Discrete implements Payoffs,
-		HasIBS.DPairs, HasDE.DPairs, HasDE.RK5, HasDE.EM, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
+		HasIBS.DPairs, HasDE.DPairs, HasDE.RK5, HasDE.ROS, HasDE.EM, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits, HasS3, HasPop2D.Fitness,
 		HasPop3D.Fitness, HasMean.Fitness, HasHistogram.Fitness, HasHistogram.Degree,
 		HasHistogram.StatisticsStationary {
@@ -40,6 +40,7 @@ import org.evoludo.simulator.models.IBSDPopulation;
 import org.evoludo.simulator.models.Model;
 import org.evoludo.simulator.models.Model.HasDE;
 import org.evoludo.simulator.models.Model.HasIBS;
+import org.evoludo.simulator.models.Rosenbrock;
 import org.evoludo.simulator.models.RungeKutta;
 import org.evoludo.simulator.models.Type;
 import org.evoludo.simulator.views.HasHistogram;
@@ -69,7 +70,7 @@ import org.evoludo.util.CLOption.Category;
  * 
  * @author Christoph Hauert
  */
-public class SIR extends Discrete implements HasIBS, HasDE.ODE, HasDE.SDE, HasDE.PDE,
+public class SIR extends Discrete implements HasIBS, HasDE.ODE, HasDE.ROS, HasDE.SDE, HasDE.PDE,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits, HasS3, HasHistogram.Degree,
 		HasHistogram.StatisticsProbability, HasHistogram.StatisticsTime, HasHistogram.StatisticsStationary {
 
@@ -325,7 +326,10 @@ public class SIR extends Discrete implements HasIBS, HasDE.ODE, HasDE.SDE, HasDE
 
 	@Override
 	public Model createModel(Type type) {
-		if (model != null && model.getType().isType(type))
+		// isType() does not distinguish between ODE integrators
+		if (type == Type.ROS)
+			return (model instanceof SIR.ROS ? model : new SIR.ROS());
+		if (model != null && model.getType().isType(type) && !(model instanceof SIR.ROS))
 			return model;
 		switch (type) {
 			case ODE:
@@ -360,6 +364,25 @@ public class SIR extends Discrete implements HasIBS, HasDE.ODE, HasDE.SDE, HasDE
 		}
 	}
 
+	/**
+	 * Stiff ODE model for the SIR module.
+	 */
+	public class ROS extends Rosenbrock {
+
+		/**
+		 * Constructor for the classic SIR model based on ordinary differential
+		 * equations using an integrator for stiff systems.
+		 */
+		public ROS() {
+			super(SIR.this.engine);
+		}
+
+		@Override
+		protected void getDerivatives(double t, double[] state, double[] unused, double[] change) {
+			SIR.this.getDerivatives(t, state, change, accuracy);
+		}
+	}
+
 	/**
 	 * SDE model for the SIR module.
 	 */
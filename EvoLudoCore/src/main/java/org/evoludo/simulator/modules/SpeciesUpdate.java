@@ -149,6 +149,9 @@ public class SpeciesUpdate {
 	 * <dd>focal species selected proportional to their total fitness</dd>
 	 * <dt>turns</dt>
 	 * <dd>one species is selected after another.</dd>
+	 * <dt>next</dt>
+	 * <dd>focal species selected by the next reaction method based on the update
+	 * rate of each species.</dd>
 	 * <dt>sync</dt>
 	 * <dd>simultaneous updates of all species (not yet implemented).</dd>
 	 * </dl>
@@ -181,7 +184,17 @@ public class SpeciesUpdate {
 		/**
 		 * Pick species sequentially.
 		 */
-		TURNS("turns", "pick sequentially"); //
+		TURNS("turns", "pick sequentially"), //
+
+		/**
+		 * Pick focal species based on update rate using the next reaction method.
+		 * Statistically equivalent to {@code RATE} but the next event time of each
+		 * species is kept in an indexed priority queue and only rescheduled if its
+		 * update rate changed. Advances real time by the time of the next event.
+		 * 
+		 * @see org.evoludo.math.IndexedPriorityQueue
+		 */
+		NEXT("next", "next reaction method (rates)"); //
 
 		/**
 		 * Simultaneous updates of all species. Not implemented
@@ -168,6 +168,26 @@ public class Formatter {
 		return sb.toString();
 	}
 
+	/**
+	 * Format byte array/vector <code>aVector</code> as String. Elements are
+	 * separated by '{@value #VECTOR_DELIMITER}'.
+	 * 
+	 * @param aVector array to format
+	 * @return formatted <code>byte[]</code> as String
+	 */
+	public static String format(byte[] aVector) {
+		if (aVector == null)
+			return "";
+		int len = aVector.length;
+		if (len == 0)
+			return "";
+		StringBuilder sb = new StringBuilder();
+		sb.append(format(aVector[0]));
+		for (int i = 1; i < len; i++)
+			sb.append(VECTOR_DELIMITER).append(format(aVector[i]));
+		return sb.toString();
+	}
+
 	/**
 	 * Format array/matrix of integers <code>aMatrix</code> as String. Column
 	 * elements are separated by '{@value #VECTOR_DELIMITER}' and rows of elements
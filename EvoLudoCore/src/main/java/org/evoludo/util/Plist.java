@@ -44,6 +44,7 @@ import org.evoludo.math.Combinatorics;
  * the bit-patterns for doubles to allow for perfect reproducibility.
  * 
  * @see #encodeKey(String, double)
+ * @see PlistWriter
  * @see PlistParser#parse(String)
  * 
  * @author Christoph Hauert
@@ -566,7 +567,23 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, int[] array) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array);
+		return plist.toString();
+	}
+
+	/**
+	 * Utility method to encode <code>byte</code> array with tag <code>key</code>.
+	 * Entries are encoded as integers.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>byte[]</code> value
+	 * @return encoded String
+	 */
+	public static String encodeKey(String key, byte[] array) {
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array);
+		return plist.toString();
 	}
 
 	/**
@@ -579,7 +596,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, int[] array, int len) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array, len);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array, len);
+		return plist.toString();
 	}
 
 	/**
@@ -593,7 +612,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, double[] array) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array);
+		return plist.toString();
 	}
 
 	/**
@@ -609,7 +630,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, double[] array, int len) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array, len);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array, len);
+		return plist.toString();
 	}
 
 	/**
@@ -624,7 +647,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, double[][] matrix) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(matrix);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, matrix);
+		return plist.toString();
 	}
 
 	/**
@@ -635,7 +660,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, String[] array) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array);
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array);
+		return plist.toString();
 	}
 
 	/**
@@ -648,122 +675,9 @@ public class Plist extends HashMap<String, Object> {
 	 * @return encoded String
 	 */
 	public static String encodeKey(String key, String[] array, int len) {
-		return KEY_OPEN + key + KEY_CLOSE + encodeArray(array, len);
-	}
-
-	/**
-	 * Helper method to encode <code>int</code> array
-	 * 
-	 * @param array <code>int[]</code> value
-	 * @return encoded String
-	 */
-	private static String encodeArray(int[] array) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (int a : array)
-			plist.append(INTEGER_OPEN)
-					.append(a)
-					.append(INTEGER_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode first <code>len</code> elements of <code>int</code>
-	 * array
-	 * 
-	 * @param array <code>int[]</code> value
-	 * @param len   number elements to encode
-	 * @return encoded String
-	 */
-	private static String encodeArray(int[] array, int len) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (int n = 0; n < len; n++)
-			plist.append(INTEGER_OPEN)
-					.append(array[n])
-					.append(INTEGER_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode <code>double</code> array
-	 * <p>
-	 * <strong>Note:</strong> floating point values are saved as bit strings to
-	 * avoid rounding errors when saving/restoring the state of the model.
-	 * 
-	 * @param array <code>double[]</code> value
-	 * @return encoded String
-	 */
-	private static String encodeArray(double[] array) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (double a : array)
-			plist.append(REAL_OPEN)
-					.append(Long.toString(Double.doubleToLongBits(a)))
-					.append(REAL_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode first <code>len</code> elements of
-	 * <code>double</code> array
-	 * <p>
-	 * <strong>Note:</strong> floating point values are saved as bit strings to
-	 * avoid rounding errors when saving/restoring the state of the model.
-	 * 
-	 * @param array <code>double[]</code> value
-	 * @param len   number elements to encode
-	 * @return encoded String
-	 */
-	private static String encodeArray(double[] array, int len) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (int n = 0; n < len; n++)
-			plist.append(REAL_OPEN)
-					.append(Long.toString(Double.doubleToLongBits(array[n])))
-					.append(REAL_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode <code>double</code> matrix
-	 * 
-	 * @param array <code>double[][]</code> value
-	 * @return encoded String
-	 */
-	private static String encodeArray(double[][] array) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (double[] a : array)
-			plist.append(encodeArray(a));
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode <code>String</code> array
-	 * 
-	 * @param array <code>String[]</code> value
-	 * @return encoded String
-	 */
-	private static String encodeArray(String[] array) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (String a : array)
-			plist.append(STRING_OPEN)
-					.append(XMLCoder.encode(a))
-					.append(STRING_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
-	}
-
-	/**
-	 * Helper method to encode first <code>len</code> elements of
-	 * <code>String</code> array
-	 * 
-	 * @param array <code>String[]</code> value
-	 * @param len   number elements to encode
-	 * @return encoded String
-	 */
-	private static String encodeArray(String[] array, int len) {
-		StringBuilder plist = new StringBuilder(ARRAY_OPEN);
-		for (int n = 0; n < len; n++)
-			plist.append(STRING_OPEN)
-					.append(XMLCoder.encode(array[n]))
-					.append(STRING_CLOSE);
-		return plist.append(ARRAY_CLOSE).toString();
+		StringBuilder plist = new StringBuilder();
+		new PlistWriter(plist).appendKey(key, array, len);
+		return plist.toString();
 	}
 
 	/**
@@ -0,0 +1,345 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.util;
+
+import java.io.IOException;
+
+/**
+ * Streaming encoder for plist-files. In contrast to the utility methods
+ * {@link Plist#encodeKey(String, int[])} and friends, which return the encoded
+ * {@code key, value}-pairs as strings, the {@code PlistWriter} appends the
+ * encoded entries element by element to the underlying {@link Appendable}.
+ * This avoids assembling the (potentially very large) encoded state of a model
+ * in memory before writing it to a file or stream.
+ * <p>
+ * Similar to {@link java.io.PrintWriter} the methods of this class never throw
+ * {@link IOException}s. Instead, the first exception is recorded and all
+ * further output is discarded. The client should check for errors through
+ * {@link #checkError()} once the encoding is complete.
+ * <p>
+ * <strong>Note:</strong> floating point values are saved as bit strings to
+ * avoid rounding errors when saving/restoring the state of the model, see
+ * {@link Plist#encodeKey(String, double)}.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see Plist
+ * @see PlistParser
+ */
+public class PlistWriter {
+
+	/**
+	 * The destination of the encoded plist.
+	 */
+	private final Appendable out;
+
+	/**
+	 * The first exception encountered while writing (if any).
+	 */
+	private IOException error;
+
+	/**
+	 * Create a new plist encoder that appends its output to {@code out}.
+	 * 
+	 * @param out the destination of the encoded plist
+	 */
+	public PlistWriter(Appendable out) {
+		this.out = out;
+	}
+
+	/**
+	 * Check whether an error occurred while writing to the destination.
+	 * 
+	 * @return {@code true} if writing failed
+	 * 
+	 * @see #getError()
+	 */
+	public boolean checkError() {
+		return error != null;
+	}
+
+	/**
+	 * Get the exception that caused writing to fail.
+	 * 
+	 * @return the exception or {@code null} if no error occurred
+	 */
+	public IOException getError() {
+		return error;
+	}
+
+	/**
+	 * Append the string {@code str} verbatim.
+	 * 
+	 * @param str the string to append
+	 * @return this writer
+	 */
+	public PlistWriter append(CharSequence str) {
+		if (error != null)
+			return this;
+		try {
+			out.append(str);
+		} catch (IOException e) {
+			error = e;
+		}
+		return this;
+	}
+
+	/**
+	 * Append the tag {@code key}.
+	 * 
+	 * @param key the tag name
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key) {
+		return append(Plist.KEY_OPEN).append(key).append(Plist.KEY_CLOSE);
+	}
+
+	/**
+	 * Encode <code>boolean</code> with tag <code>key</code>.
+	 * 
+	 * @param key  tag name
+	 * @param bool <code>boolean</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, boolean bool) {
+		return appendKey(key).append(bool ? "<true/>\n" : "<false/>\n");
+	}
+
+	/**
+	 * Encode <code>int</code> with tag <code>key</code>.
+	 * 
+	 * @param key     tag name
+	 * @param integer <code>int</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, int integer) {
+		return appendKey(key).appendInteger(integer);
+	}
+
+	/**
+	 * Encode <code>double</code> with tag <code>key</code>.
+	 * 
+	 * @param key  tag name
+	 * @param real <code>double</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, double real) {
+		return appendKey(key).appendReal(real);
+	}
+
+	/**
+	 * Encode <code>String</code> with tag <code>key</code>.
+	 * 
+	 * @param key    tag name
+	 * @param string <code>String</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, String string) {
+		return appendKey(key).appendString(string);
+	}
+
+	/**
+	 * Encode <code>int</code> array with tag <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>int[]</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, int[] array) {
+		return appendKey(key, array, array.length);
+	}
+
+	/**
+	 * Encode first <code>len</code> entries of <code>int</code> array with tag
+	 * <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>int[]</code> value
+	 * @param len   number elements to encode
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, int[] array, int len) {
+		appendKey(key).append(Plist.ARRAY_OPEN);
+		for (int n = 0; n < len && error == null; n++)
+			appendInteger(array[n]);
+		return append(Plist.ARRAY_CLOSE);
+	}
+
+	/**
+	 * Encode <code>byte</code> array with tag <code>key</code>. Entries are
+	 * encoded as integers.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>byte[]</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, byte[] array) {
+		appendKey(key).append(Plist.ARRAY_OPEN);
+		for (int n = 0; n < array.length && error == null; n++)
+			appendInteger(array[n]);
+		return append(Plist.ARRAY_CLOSE);
+	}
+
+	/**
+	 * Encode <code>double</code> array with tag <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>double[]</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, double[] array) {
+		return appendKey(key, array, array.length);
+	}
+
+	/**
+	 * Encode first <code>len</code> entries of <code>double</code> array with tag
+	 * <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>double[]</code> value
+	 * @param len   number elements to encode
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, double[] array, int len) {
+		appendKey(key);
+		return appendArray(array, 0, len);
+	}
+
+	/**
+	 * Encode <code>double</code> matrix with tag <code>key</code>.
+	 * 
+	 * @param key    tag name
+	 * @param matrix <code>double[][]</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, double[][] matrix) {
+		appendKey(key).append(Plist.ARRAY_OPEN);
+		for (int n = 0; n < matrix.length && error == null; n++)
+			appendArray(matrix[n], 0, matrix[n].length);
+		return append(Plist.ARRAY_CLOSE);
+	}
+
+	/**
+	 * Encode the flat <code>double</code> array {@code data} with tag
+	 * <code>key</code> as a matrix with {@code nCols} columns. The encoding is the
+	 * same as for {@link #appendKey(String, double[][])} but avoids allocating the
+	 * matrix.
+	 * 
+	 * @param key   tag name
+	 * @param data  the flat <code>double[]</code> array with rows stored
+	 *              consecutively
+	 * @param nRows the number of rows
+	 * @param nCols the number of columns
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, double[] data, int nRows, int nCols) {
+		appendKey(key).append(Plist.ARRAY_OPEN);
+		for (int n = 0; n < nRows && error == null; n++)
+			appendArray(data, n * nCols, nCols);
+		return append(Plist.ARRAY_CLOSE);
+	}
+
+	/**
+	 * Encode <code>String</code> array with tag <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>String[]</code> value
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, String[] array) {
+		return appendKey(key, array, array.length);
+	}
+
+	/**
+	 * Encode first <code>len</code> entries of <code>String</code> array with tag
+	 * <code>key</code>.
+	 * 
+	 * @param key   tag name
+	 * @param array <code>String[]</code> value
+	 * @param len   number elements to encode
+	 * @return this writer
+	 */
+	public PlistWriter appendKey(String key, String[] array, int len) {
+		appendKey(key).append(Plist.ARRAY_OPEN);
+		for (int n = 0; n < len && error == null; n++)
+			appendString(array[n]);
+		return append(Plist.ARRAY_CLOSE);
+	}
+
+	/**
+	 * Helper method to encode the <code>int</code> value {@code integer}.
+	 * 
+	 * @param integer the <code>int</code> value
+	 * @return this writer
+	 */
+	private PlistWriter appendInteger(int integer) {
+		return append(Plist.INTEGER_OPEN).append(Integer.toString(integer)).append(Plist.INTEGER_CLOSE);
+	}
+
+	/**
+	 * Helper method to encode the <code>double</code> value {@code real} as a bit
+	 * string.
+	 * 
+	 * @param real the <code>double</code> value
+	 * @return this writer
+	 */
+	private PlistWriter appendReal(double real) {
+		return append(Plist.REAL_OPEN).append(Long.toString(Double.doubleToLongBits(real)))
+				.append(Plist.REAL_CLOSE);
+	}
+
+	/**
+	 * Helper method to encode the <code>String</code> value {@code string}.
+	 * 
+	 * @param string the <code>String</code> value
+	 * @return this writer
+	 */
+	private PlistWriter appendString(String string) {
+		return append(Plist.STRING_OPEN).append(XMLCoder.encode(string)).append(Plist.STRING_CLOSE);
+	}
+
+	/**
+	 * Helper method to encode {@code len} elements of the <code>double</code>
+	 * array {@code array} starting at {@code from} as a plist array.
+	 * 
+	 * @param array the <code>double[]</code> array
+	 * @param from  the index of the first element
+	 * @param len   number elements to encode
+	 * @return this writer
+	 */
+	private PlistWriter appendArray(double[] array, int from, int len) {
+		append(Plist.ARRAY_OPEN);
+		int to = from + len;
+		for (int n = from; n < to && error == null; n++)
+			appendReal(array[n]);
+		return append(Plist.ARRAY_CLOSE);
+	}
+}
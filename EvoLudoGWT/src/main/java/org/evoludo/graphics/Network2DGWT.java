@@ -122,6 +122,9 @@ public class Network2DGWT extends Network2D {
 	 */
 	protected boolean doLayoutStep() {
 		int nLinksDone = 0;
+		if (nextLayoutNode == 0)
+			// start of new sweep
+			prepareRelax();
 		for (int n = nextLayoutNode; n < nNodes; n++) {
 			potential += relax(n);
 			nLinksDone += geometry.kout[n];
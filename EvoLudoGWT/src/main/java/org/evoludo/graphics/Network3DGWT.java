@@ -135,7 +135,7 @@ public class Network3DGWT extends Network3D {
 				// draw all links
 				lines = new ArrayList<>(nLinks + nLinks);
 				for (int i = 0; i < nNodes; i++) {
-					int[] neighs = geometry.out[i];
+					int[] neighs = getOutAt(i);
 					int nn = geometry.kout[i];
 					Node3D fp = nodes[i];
 					Vector3 focal = new Vector3(fp.getX(), fp.getY(), fp.getZ());
@@ -173,7 +173,7 @@ public class Network3DGWT extends Network3D {
 					}
 					Node3D ap = nodes[a];
 					lines.add(new Vector3(ap.getX(), ap.getY(), ap.getZ()));
-					Node3D bp = nodes[geometry.out[a][nodeidx]];
+					Node3D bp = nodes[getOutAt(a)[nodeidx]];
 					lines.add(new Vector3(bp.getX(), bp.getY(), bp.getZ()));
 				}
 			}
@@ -184,7 +184,7 @@ public class Network3DGWT extends Network3D {
 				lines = new ArrayList<>(nLinks + nLinks);
 				colors = new ArrayList<>(nLinks + nLinks);
 				for (int i = 0; i < nNodes; i++) {
-					int[] neighs = geometry.out[i];
+					int[] neighs = getOutAt(i);
 					int nn = geometry.kout[i];
 					Node3D fp = nodes[i];
 					Vector3 focal = new Vector3(fp.getX(), fp.getY(), fp.getZ());
@@ -236,7 +236,7 @@ public class Network3DGWT extends Network3D {
 					// draw all links as directed ones
 					Node3D ap = nodes[a];
 					lines.add(new Vector3(ap.getX(), ap.getY(), ap.getZ()));
-					Node3D bp = nodes[geometry.out[a][nodeidx]];
+					Node3D bp = nodes[getOutAt(a)[nodeidx]];
 					lines.add(new Vector3(bp.getX(), bp.getY(), bp.getZ()));
 					colors.add(ColorMap3D.DIRECTED_SRC);
 					colors.add(ColorMap3D.DIRECTED_DST);
@@ -308,6 +308,9 @@ public class Network3DGWT extends Network3D {
 	 */
 	protected boolean doLayoutStep() {
 		int nLinksDone = 0;
+		if (nextLayoutNode == 0)
+			// start of new sweep
+			prepareRelax();
 		for (int n = nextLayoutNode; n < nNodes; n++) {
 			potential += relax(n);
 			nLinksDone += geometry.kout[n];
@@ -518,7 +518,7 @@ public abstract class GenericPop<T, N extends Network, G extends GenericPopGraph
 		int nNeighs = geom.kout[node];
 		if (geom.getType() == Geometry.Type.MEANFIELD || nNeighs == 0)
 			return "";
-		int[] neigh = geom.out[node];
+		int[] neigh = geom.getOutAt(node, null);
 		StringBuilder msg = new StringBuilder();
 		msg.append("<tr><td><i style='padding-left:2em'>")
 				.append(graph.getGeometry().getName())
@@ -544,7 +544,7 @@ public abstract class GenericPop<T, N extends Network, G extends GenericPopGraph
 	 * @return the formatted string
 	 */
 	private static String formatStructureAt(int node, Geometry geom) {
-		return formatStructureAt(geom.out[node], geom.kout[node], geom.getType());
+		return formatStructureAt(geom.getOutAt(node, null), geom.kout[node], geom.getType());
 	}
 
 	/**
@@ -556,7 +556,7 @@ public abstract class GenericPop<T, N extends Network, G extends GenericPopGraph
 	 * @return the formatted string
 	 */
 	private static String formatOutStructureAt(int node, Geometry geom) {
-		return formatStructureAt(geom.out[node], geom.kout[node], geom.getType());
+		return formatStructureAt(geom.getOutAt(node, null), geom.kout[node], geom.getType());
 	}
 
 	/**
@@ -568,7 +568,7 @@ public abstract class GenericPop<T, N extends Network, G extends GenericPopGraph
 	 * @return the formatted string
 	 */
 	private static String formatInStructureAt(int node, Geometry geom) {
-		return formatStructureAt(geom.in[node], geom.kin[node], geom.getType());
+		return formatStructureAt(geom.getInAt(node, null), geom.kin[node], geom.getType());
 	}
 
 	/**
@@ -75,6 +75,7 @@ public class Network2DJRE extends Network2D implements Runnable {
 		// multi-threaded way of layouting
 		double adjust;
 		do {
+			prepareRelax();
 			pending = workers.size();
 			potential = 0.0;
 			for (NetLayoutWorker worker : workers)
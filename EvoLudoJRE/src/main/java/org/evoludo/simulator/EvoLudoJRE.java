@@ -31,28 +31,41 @@
 package org.evoludo.simulator;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipInputStream;
 
 import javax.swing.Timer;
 
 import org.evoludo.graphics.Network2DJRE;
 import org.evoludo.math.ArrayMath;
+import org.evoludo.math.Xoshiro128;
 import org.evoludo.simulator.models.FixationData;
 import org.evoludo.simulator.models.IBS;
 import org.evoludo.simulator.models.IBSC;
@@ -62,9 +75,14 @@ import org.evoludo.simulator.models.IBSMCPopulation;
 import org.evoludo.simulator.models.IBSPopulation;
 import org.evoludo.simulator.models.Mode;
 import org.evoludo.simulator.models.Model;
+import org.evoludo.simulator.models.ODE;
+import org.evoludo.simulator.models.ODEEnsemble;
+import org.evoludo.simulator.models.ODEEnsembleJRE;
 import org.evoludo.simulator.models.PDE;
 import org.evoludo.simulator.models.PDESupervisor;
 import org.evoludo.simulator.models.PDESupervisorJRE;
+import org.evoludo.simulator.models.SyncSupervisor;
+import org.evoludo.simulator.models.SyncSupervisorJRE;
 import org.evoludo.simulator.modules.Module;
 import org.evoludo.simulator.modules.Traits;
 import org.evoludo.simulator.views.MultiView;
@@ -164,6 +182,25 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 			addModule(new Traits(this));
 	}
 
+	/**
+	 * Constructor for headless replicas of the engine {@code master}. Replicas
+	 * load the same modules as {@code master} but do not launch an engine thread.
+	 * Instead they are driven directly by the thread that uses them, e.g. to
+	 * generate statistics samples in parallel.
+	 * 
+	 * @param master the engine to replicate
+	 * 
+	 * @see #createReplica(long)
+	 */
+	private EvoLudoJRE(EvoLudoJRE master) {
+		super();
+		setHeadless(true);
+		timer = new Timer(0, evt -> poke());
+		loadModules();
+		addModule(new Traits(this));
+		logger.setLevel(master.logger.getLevel());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -199,6 +236,37 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 		return new PDESupervisorJRE(this, charge);
 	}
 
+	@Override
+	public ODEEnsemble hireODEEnsemble(ODE charge) {
+		return new ODEEnsembleJRE(this, charge);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Synchronous updates and asynchronous updates of sublattices are processed
+	 * by multiple threads only if requested, see {@link #cloThreads}.
+	 */
+	@Override
+	public SyncSupervisor hireSyncSupervisor(IBS charge) {
+		if (nThreads <= 1)
+			return null;
+		return new SyncSupervisorJRE(this, charge);
+	}
+
+	/**
+	 * The cache for unique geometries or {@code null} if geometries are not
+	 * cached.
+	 * 
+	 * @see #cloGeometryCache
+	 */
+	GeometryCacheJRE geometryCache = null;
+
+	@Override
+	public GeometryCache getGeometryCache() {
+		return geometryCache;
+	}
+
 	@Override
 	public Network2D createNetwork2D(Geometry geometry) {
 		return new Network2DJRE(this, geometry);
@@ -446,6 +514,11 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 		modelReset();
 		// register hook to dump state when receiving SIGINT
 		registerHook();
+		if (dataTypes.contains(MultiView.DataTypes.BASINS)) {
+			// basins of attraction are determined by ensemble rather than model
+			simulateBasins((ODE) model);
+			return;
+		}
 		// allocate storage and initialize helper variables
 		int totTraits = 0;
 		boolean isContinuous = model.isContinuous();
@@ -464,15 +537,9 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 			offset += nt;
 		}
 		// helper variables for statistics
-		double[][] fixProb = new double[0][];
-		double[][] fixUpdate = new double[0][];
-		double[][] fixTime = new double[0][];
-		double[] fixTotUpdate = new double[0];
-		double[] fixTotTime = new double[0];
-		int nTraits = -1;
-		int nPopulation = -1;
+		int nTraits = module.getNTraits();
+		int nPopulation = module.getNPopulation();
 		long nSamples = (long) model.getNSamples();
-		long samples = 0L;
 		// print settings
 		writeHeader();
 		// print data legend (for dynamical reports) and initialize variables (for
@@ -511,21 +578,9 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 				// "\tSpecies" : "") + ",\tDegree distribution of population structure");
 				// break;
 				case STAT_PROB:
-					nTraits = module.getNTraits();
-					nPopulation = module.getNPopulation();
-					fixProb = new double[nPopulation][nTraits + 1];
-					break;
 				case STAT_UPDATES:
-					nTraits = module.getNTraits();
-					nPopulation = module.getNPopulation();
-					fixUpdate = new double[nPopulation][9];
-					fixTotUpdate = new double[9];
-					break;
 				case STAT_TIMES:
-					nTraits = module.getNTraits();
-					nPopulation = module.getNPopulation();
-					fixTime = new double[nPopulation][9];
-					fixTotTime = new double[9];
+					// statistics allocated below
 					break;
 				default:
 					output.println("# data output for " + data.getKey() + " not (yet) supported!");
@@ -635,51 +690,33 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 					rng.clearSeed();
 
 				}
-				isRunning = true;
-				while (isRunning) {
-					FixationData fixData = generateSample();
-					samples++;
-					boolean mutantFixed = (fixData.typeFixed == fixData.mutantTrait);
-					for (MultiView.DataTypes data : dataTypes) {
-						switch (data) {
-							case STAT_PROB:
-								double[] node = fixProb[fixData.mutantNode];
-								node[(mutantFixed ? 0 : 1)]++;
-								node[nTraits]++;
-								fixData.probRead = true;
-								break;
-							case STAT_UPDATES:
-								updateMeanVar(fixUpdate[fixData.mutantNode], mutantFixed,
-										fixData.updatesFixed);
-								updateMeanVar(fixTotUpdate, mutantFixed, fixData.updatesFixed);
-								fixData.timeRead = true;
-								break;
-							case STAT_TIMES:
-								updateMeanVar(fixTime[fixData.mutantNode], mutantFixed,
-										fixData.timeFixed);
-								updateMeanVar(fixTotTime, mutantFixed, fixData.timeFixed);
-								fixData.timeRead = true;
-								break;
-							default:
-								throw new Error("Statistics for " + data.getKey() + " not supported!");
-						}
+				FixationStatistics stats;
+				int nWorkers = Math.min(nThreads, (int) Math.min(nSamples, Integer.MAX_VALUE));
+				if (nWorkers > 1) {
+					stats = sampleParallel(nSamples, nWorkers, nPopulation, nTraits);
+				} else {
+					stats = new FixationStatistics(dataTypes, nPopulation, nTraits);
+					isRunning = true;
+					while (isRunning) {
+						stats.add(generateSample());
+						isRunning = (stats.samples < nSamples);
 					}
-					isRunning = (samples < nSamples);
+					stats.failed = model.getNStatisticsFailed();
 				}
 				// report statistics
-				int nFailed = model.getNStatisticsFailed();
-				FixationData fixData = model.getFixationData();
+				int nFailed = stats.failed;
+				long samples = stats.samples;
 				for (MultiView.DataTypes data : dataTypes) {
 					switch (data) {
 						case STAT_PROB:
 							output.println("# index,\t" + data.getKey() + (module.getNSpecies() > 1 ? "\tSpecies" : "")
-									+ ",\tFixation probability of single " + traitNames[fixData.mutantTrait]
-									+ " in " + traitNames[fixData.residentTrait]
+									+ ",\tFixation probability of single " + traitNames[stats.mutantTrait]
+									+ " in " + traitNames[stats.residentTrait]
 									+ " populations for all locations with samples");
 							double meanFix = 0.0;
 							double varFix = 0.0;
 							for (int n = 0; n < nPopulation; n++) {
-								double[] node = fixProb[n];
+								double[] node = stats.fixProb[n];
 								double norm = node[nTraits];
 								if (norm <= 0.0)
 									continue; // no samples for node n
@@ -703,26 +740,26 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 						case STAT_UPDATES:
 							output.println("# index,\t" + data.getKey() + (module.getNSpecies() > 1 ? "\tSpecies" : "")
 									+ ",\tFixation and absorption updates (mean, sdev, samples) of single "
-									+ traitNames[fixData.mutantTrait]
-									+ " in " + traitNames[fixData.residentTrait] + " population for all locations");
+									+ traitNames[stats.mutantTrait]
+									+ " in " + traitNames[stats.residentTrait] + " population for all locations");
 							for (int n = 0; n < nPopulation; n++)
-								printTimeStat(fixUpdate[n], n + ",\t");
+								printTimeStat(stats.fixUpdate[n], n + ",\t");
 							String tail = "";
 							if (nFailed > 0L)
 								tail = " (" + nFailed + " failed)";
-							printTimeStat(fixTotUpdate, "# overall:\t", tail);
+							printTimeStat(stats.fixTotUpdate, "# overall:\t", tail);
 							break;
 						case STAT_TIMES:
 							output.println("# index,\t" + data.getKey() + (module.getNSpecies() > 1 ? "\tSpecies" : "")
 									+ ",\tFixation and absorption times (mean, sdev, samples) of single "
-									+ traitNames[fixData.mutantTrait]
-									+ " in " + traitNames[fixData.residentTrait] + " population for all locations");
+									+ traitNames[stats.mutantTrait]
+									+ " in " + traitNames[stats.residentTrait] + " population for all locations");
 							for (int n = 0; n < nPopulation; n++)
-								printTimeStat(fixTime[n], n + ",\t");
+								printTimeStat(stats.fixTime[n], n + ",\t");
 							tail = "";
 							if (nFailed > 0L)
 								tail = " (" + nFailed + " failed)";
-							printTimeStat(fixTotTime, "# overall:\t", tail);
+							printTimeStat(stats.fixTotTime, "# overall:\t", tail);
 							break;
 						default:
 							throw new Error("Statistics for " + data.getKey() + " not supported!");
@@ -738,6 +775,45 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 		exit(0);
 	}
 
+	/**
+	 * Determine the basins of attraction of the ODE model {@code ode}. An
+	 * ensemble of random initial conditions is integrated simultaneously until
+	 * all members converged or the time reaches {@code --timestop}. Progress is
+	 * reported every {@code --timestep}. Finally, the endpoints are classified
+	 * into basins and reported as a table with one row per initial condition.
+	 * Endpoints within a distance of {@code sqrt(accuracy)} are considered to
+	 * belong to the same attractor.
+	 * 
+	 * @param ode the ODE model
+	 * 
+	 * @see ODEEnsemble
+	 * @see ODE#cloEnsemble
+	 */
+	private void simulateBasins(ODE ode) {
+		ODEEnsemble ensemble = hireODEEnsemble(ode);
+		ensemble.reset(ode.getNEnsemble());
+		ensemble.initRandom(rng);
+		double timeStop = Math.abs(ode.getTimeStop());
+		double timeStep = Math.abs(ode.getTimeStep());
+		writeHeader();
+		if (timeStop == Double.POSITIVE_INFINITY)
+			logger.warning("no --timestop set, integrating until all initial conditions converged.");
+		output.println("# time,	converged");
+		boolean cont = true;
+		while (cont && ensemble.getTime() < timeStop) {
+			cont = ensemble.next(Math.min(timeStep, timeStop - ensemble.getTime()));
+			output.println(Formatter.format(ensemble.getTime(), dataDigits) + ",	" + ensemble.getNConverged());
+		}
+		int nAttractors = ensemble.classify(Math.sqrt(ode.getAccuracy()));
+		output.println("# attractors:           " + nAttractors);
+		output.println("# member,	basin,	time,	initial,	final");
+		int nEnsemble = ensemble.getNEnsemble();
+		for (int m = 0; m < nEnsemble; m++)
+			output.println(ensemble.formatEndpoint(m, dataDigits));
+		writeFooter();
+		exit(0);
+	}
+
 	/**
 	 * Generate a single, valid statistics sample.
 	 * 
@@ -768,106 +844,129 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 			fireModelStopped();
 			fix = activeModel.getFixationData();
 		} while (fix.mutantNode < 0);
+		// collect sample and get ready for the next one
+		activeModel.readStatisticsSample();
 		return fix;
 	}
 
 	/**
-	 * Index of the mutants mean fixation probability/updates/time.
-	 */
-	private static final int MUTANT_MEAN = 0;
-
-	/**
-	 * Index of the mutants variance of fixation probability/updates/times.
-	 */
-	private static final int MUTANT_VAR = 1;
-
-	/**
-	 * Index of the number of samples for the mutants mean and variance.
-	 */
-	private static final int MUTANT_NORM = 2;
-
-	/**
-	 * Index of the residents mean fixation probability/updates/time.
-	 */
-	private static final int RESIDENT_MEAN = 3;
-
-	/**
-	 * Index of the residents variance of fixation probability/updates/times.
-	 */
-	private static final int RESIDENT_VAR = 4;
-
-	/**
-	 * Index of the number of samples for the residents mean and variance.
-	 */
-	private static final int RESIDENT_NORM = 5;
-
-	/**
-	 * Index of the mean absorption probability/update/time.
-	 */
-	private static final int ABSORPTION_MEAN = 6;
-
-	/**
-	 * Index of the variance of the mean absorption probability/updates/time.
+	 * The command line options that are specific to the master engine and must not
+	 * be passed on to replicas.
+	 * 
+	 * @see #createReplica(long)
 	 */
-	private static final int ABSORPTION_VAR = 7;
+	private static final String[] REPLICA_EXCLUDE = { "output", "append", "export", "restore", "data",
+			"threads", "seed" };
 
 	/**
-	 * Index of the the number of samples for absorption probability/updates/time.
+	 * Create a headless replica of this engine. The replica uses the same module,
+	 * model and parameters but its own random number generator initialized with
+	 * {@code seed}. Options that are specific to the master engine, such as
+	 * {@code --output}, are not passed on. Replicas are fully independent of each
+	 * other and of the master and hence may be run in separate threads.
+	 * 
+	 * @param seed the seed for the random number generator of the replica
+	 * @return the replica or {@code null} if the options could not be parsed
 	 */
-	private static final int ABSORPTION_NORM = 8;
+	public EvoLudoJRE createReplica(long seed) {
+		return createReplica(seed, null);
+	}
 
 	/**
-	 * Helper method to calculate running mean and variance for fixation
-	 * updates/times. The data structure of the {@code meanvar} array is defined as
-	 * follows:
-	 * <dl>
-	 * <dt>{@code MUTANT_MEAN}
-	 * <dd>mean of mutant fixation
-	 * <dt>{@code MUTANT_VAR}
-	 * <dd>variance of mutant fixation
-	 * <dt>{@code MUTANT_NORM}
-	 * <dd>sample count of mutant fixation
-	 * <dt>{@code RESIDENT_MEAN}
-	 * <dd>mean of resident fixation
-	 * <dt>{@code RESIDENT_VAR}
-	 * <dd>variance of resident fixation
-	 * <dt>{@code RESIDENT_NORM}
-	 * <dd>sample count of resident fixation
-	 * <dt>{@code ABSORPTION_MEAN}
-	 * <dd>mean of absorption
-	 * <dt>{@code ABSORPTION_VAR}
-	 * <dd>variance of absorption
-	 * <dt>{@code ABSORPTION_NORM}
-	 * <dd>sample count of absorption
-	 * ({@code meanvar[MUTANT_NORM] + meanvar[RESIDENT_NORM] == meanvar[ABSORPTION_NORM]}
-	 * must hold)
-	 * </dl>
+	 * Create a headless replica of this engine, see {@link #createReplica(long)}.
+	 * If {@code factory} is not {@code null} it is used to create the module for
+	 * the replica, which replaces the default module with the same key. This is
+	 * required for customized simulations, which extend one of the default modules.
 	 * 
-	 * @param meanvar     the array that stores the running mean and variance
-	 * @param mutantfixed the flag to indicate whether the mutant fixated
-	 * @param x           the time/updates to fixation
-	 */
-	void updateMeanVar(double[] meanvar, boolean mutantfixed, double x) {
-		updateMeanVar(meanvar, x, mutantfixed ? MUTANT_MEAN : RESIDENT_MEAN);
-		updateMeanVar(meanvar, x, ABSORPTION_MEAN);
+	 * @param seed    the seed for the random number generator of the replica
+	 * @param factory the factory for the module of the replica or {@code null}
+	 * @return the replica or {@code null} if the options could not be parsed
+	 * 
+	 * @see ScanExecutor
+	 */
+	EvoLudoJRE createReplica(long seed, Function<EvoLudoJRE, ? extends Module<?>> factory) {
+		StringBuilder options = new StringBuilder();
+		for (String arg : getSplitCLO()) {
+			boolean skip = false;
+			for (String key : REPLICA_EXCLUDE) {
+				if (arg.equals(key) || arg.startsWith(key + " ")) {
+					skip = true;
+					break;
+				}
+			}
+			if (!skip)
+				options.append("--").append(arg).append(" ");
+		}
+		options.append("--").append(cloSeed.getName()).append(" ").append(seed);
+		EvoLudoJRE replica = new EvoLudoJRE(this);
+		if (factory != null)
+			replica.addModule(factory.apply(replica));
+		replica.setCLO(options.toString());
+		if (replica.parseCLO() > 0)
+			return null;
+		return replica;
 	}
 
 	/**
-	 * Helper method to calculate running mean and variance samples {@code x}. The
-	 * entries in the {@code meanvar} array are
-	 * {@code [offset: mean, offset + 1: variance, offset + 2: sample count]}.
+	 * Generate {@code nSamples} statistics samples in parallel using
+	 * {@code nWorkers} replicas of this engine (see {@link #createReplica(long)}).
+	 * The seeds of the replicas are drawn from the random number generator of this
+	 * engine and each replica generates a fixed share of the samples. Results are
+	 * merged in the order of the replicas. Hence, the statistics are reproducible
+	 * for a given seed and number of workers but generally differ from those
+	 * obtained with a different number of workers.
+	 * <p>
+	 * For jumpable random number generators, such as {@link Xoshiro128}, the
+	 * samples of each replica are drawn from a separate stream split off the
+	 * random number generator of this engine. This guarantees that the random
+	 * numbers used by different replicas do not overlap.
 	 * 
-	 * @param meanvar the array with the running mean and variance
-	 * @param x       the fixation probability/update/time
-	 * @param offset  the offset in the {@code meanvar} array
-	 */
-	private void updateMeanVar(double[] meanvar, double x, int offset) {
-		double mean = meanvar[offset];
-		double dx = x - mean;
-		double norm = ++meanvar[offset + 2];
-		mean += dx / norm;
-		meanvar[offset] = mean;
-		meanvar[offset + 1] += dx * (x - mean);
+	 * @param nSamples    the total number of samples
+	 * @param nWorkers    the number of replicas sampling in parallel
+	 * @param nPopulation the population size
+	 * @param nTraits     the number of traits
+	 * @return the merged statistics
+	 */
+	FixationStatistics sampleParallel(long nSamples, int nWorkers, int nPopulation, int nTraits) {
+		List<Callable<FixationStatistics>> tasks = new ArrayList<>(nWorkers);
+		long share = nSamples / nWorkers;
+		long extra = nSamples % nWorkers;
+		for (int n = 0; n < nWorkers; n++) {
+			long seed = rng.getRNG().nextInt() & 0x7fffffffL;
+			Xoshiro128 stream = (rng.getRNG() instanceof Xoshiro128 ? ((Xoshiro128) rng.getRNG()).split() : null);
+			long quota = share + (n < extra ? 1 : 0);
+			tasks.add(() -> {
+				EvoLudoJRE replica = createReplica(seed);
+				if (replica == null)
+					throw new Error("Failed to create replica with seed " + seed + ".");
+				Model model = replica.getModel();
+				model.requestMode(Mode.STATISTICS_SAMPLE);
+				replica.modelReset();
+				// seed set for initial state; continue random sequence for samples
+				replica.rng.clearSeed();
+				if (stream != null)
+					((Xoshiro128) replica.rng.getRNG()).setState(stream);
+				FixationStatistics stats = new FixationStatistics(dataTypes, nPopulation, nTraits);
+				while (stats.samples < quota)
+					stats.add(replica.generateSample());
+				stats.failed = model.getNStatisticsFailed();
+				return stats;
+			});
+		}
+		logger.info("Sampling with " + nWorkers + " threads.");
+		ExecutorService pool = Executors.newFixedThreadPool(nWorkers);
+		FixationStatistics stats = new FixationStatistics(dataTypes, nPopulation, nTraits);
+		try {
+			for (Future<FixationStatistics> result : pool.invokeAll(tasks))
+				stats.merge(result.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new Error("Parallel sampling failed: " + e.getCause().getMessage());
+		} finally {
+			pool.shutdownNow();
+		}
+		return stats;
 	}
 
 	/**
@@ -876,8 +975,9 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 	 * @param meanvar the array with the running mean and variance
 	 * @param head    the string to prepend to the output
 	 * 
-	 * @see #updateMeanVar(double[], boolean, double) see updateMeanVar(double[],
-	 *      boolean, double) for structure of {@code meanvar} array
+	 * @see FixationStatistics#updateMeanVar(double[], boolean, double) see
+	 *      updateMeanVar(double[], boolean, double) for structure of
+	 *      {@code meanvar} array
 	 */
 	private void printTimeStat(double[] meanvar, String head) {
 		printTimeStat(meanvar, head, "");
@@ -890,38 +990,15 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 	 * @param head    the string to prepend to the output
 	 * @param tail    the string to append to the output
 	 * 
-	 * @see #updateMeanVar(double[], boolean, double) see updateMeanVar(double[],
-	 *      boolean, double) for structure of {@code meanvar} array
+	 * @see FixationStatistics#updateMeanVar(double[], boolean, double) see
+	 *      updateMeanVar(double[], boolean, double) for structure of
+	 *      {@code meanvar} array
 	 */
 	private void printTimeStat(double[] meanvar, String head, String tail) {
-		double normut = meanvar[MUTANT_NORM];
-		double normres = meanvar[RESIDENT_NORM];
-		double normabs = meanvar[ABSORPTION_NORM];
-		if (normabs <= 0.0)
+		String stat = FixationStatistics.formatMeanVar(meanvar, dataDigits);
+		if (stat == null)
 			return; // no samples for node n
-		// trick: to avoid -0 output simply add 0...!
-		output.println(head + Formatter.format(meanvar[MUTANT_MEAN] + 0.0, dataDigits) + " ± " // mutant mean fixation
-																								// time
-				+ (normut > 1.0 ? Formatter.format(Math.sqrt(meanvar[MUTANT_VAR] / (normut - 1.0)) + 0.0, dataDigits)
-						: "-")
-				+ ", " // mutant mean fixation
-				// sdev
-				+ Formatter.format(normut, 0) + "; " // mutant mean fixation samples
-				+ Formatter.format(meanvar[RESIDENT_MEAN] + 0.0, dataDigits) + " ± " // resident mean fixation time
-				+ (normres > 1.0
-						? Formatter.format(Math.sqrt(meanvar[RESIDENT_VAR] / (normres - 1.0)) + 0.0, dataDigits)
-						: "-")
-				+ ", " // resident mean
-				// fixation sdev
-				+ Formatter.format(normres, 0) + "; " // mutant mean fixation samples
-				+ Formatter.format(meanvar[ABSORPTION_MEAN] + 0.0, dataDigits) + " ± " // mean absorption time
-				+ (normabs > 1.0
-						? Formatter.format(Math.sqrt(meanvar[ABSORPTION_VAR] / (normabs - 1.0)) + 0.0, dataDigits)
-						: "-")
-				+ ", " // mean absorption
-				// sdev
-				+ Formatter.format(normabs, 0)
-				+ tail); // mean absorption samples
+		output.println(head + stat + tail);
 	}
 
 	/**
@@ -1259,11 +1336,12 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 	/**
 	 * Command line option to export end state of simulation to file. Saved states
 	 * can be read using {@code --restore} to restore the state and resume
-	 * execution, see {@link #cloRestore}.
+	 * execution, see {@link #cloRestore}. If the file name ends in {@code .gz} the
+	 * state is compressed on the fly.
 	 */
 	public final CLOption cloExport = new CLOption("export", "evoludo-%d.plist", CLOption.Argument.OPTIONAL,
 			Category.Simulation,
-			"--export [<filename>]  export final state of simulation (%d for generation)", new CLODelegate() {
+			"--export [<filename>]  export final state of simulation (%d for generation, .gz to compress)", new CLODelegate() {
 				@Override
 				public boolean parse(String arg) {
 					if (!cloExport.isSet()) {
@@ -1382,6 +1460,74 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 				}
 			});
 
+	/**
+	 * The number of threads for generating statistics samples, scanning
+	 * parameters or synchronous updates.
+	 * 
+	 * @see #cloThreads
+	 */
+	int nThreads = 1;
+
+	/**
+	 * Get the number of threads for generating statistics samples, scanning
+	 * parameters or synchronous updates.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getNThreads() {
+		return nThreads;
+	}
+
+	/**
+	 * Command line option to set the number of threads for generating statistics
+	 * samples or scanning parameters. Each thread runs an independent replica of
+	 * the engine. For single runs of IBS models with synchronous or sublattice
+	 * updates, more than one thread splits the population into chunks that are
+	 * updated in parallel.
+	 * 
+	 * @see #sampleParallel(long, int, int, int)
+	 * @see ScanExecutor
+	 * @see SyncSupervisorJRE
+	 */
+	public final CLOption cloThreads = new CLOption("threads", "1", Category.Simulation,
+			"--threads <t>   number of threads for statistics, scans,\n"
+					+ "                synchronous or sublattice updates (0 all processors)",
+			new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					nThreads = CLOParser.parseInteger(arg);
+					if (nThreads <= 0)
+						nThreads = Runtime.getRuntime().availableProcessors();
+					return true;
+				}
+			});
+
+	/**
+	 * Command line option to cache unique geometries, such as random regular or
+	 * scale-free graphs, in a directory. Subsequent runs with the same geometry
+	 * and seed restore the structure from the cache instead of generating it.
+	 * 
+	 * @see GeometryCacheJRE
+	 */
+	public final CLOption cloGeometryCache = new CLOption("geomcache", "geometries", CLOption.Argument.OPTIONAL,
+			Category.Simulation,
+			"--geomcache [<dir>]  cache unique geometries in directory", new CLODelegate() {
+				@Override
+				public boolean parse(String arg) {
+					geometryCache = null;
+					if (!cloGeometryCache.isSet())
+						return true;
+					File dir = new File(arg);
+					if (!dir.isDirectory() && !dir.mkdirs()) {
+						if (logger.isLoggable(Level.WARNING))
+							logger.warning("failed to create geometry cache '" + arg + "'.");
+						return false;
+					}
+					geometryCache = new GeometryCacheJRE(EvoLudoJRE.this, dir);
+					return true;
+				}
+			});
+
 	@Override
 	public void collectCLO(CLOParser prsr) {
 		// some options are only meaningful when running simulations
@@ -1395,8 +1541,10 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 			cloData.clearKeys();
 			cloData.addKeys(MultiView.getAvailableDataTypes(activeModule, activeModel));
 			prsr.addCLO(cloDigits);
+			prsr.addCLO(cloThreads);
 		}
 		prsr.addCLO(cloRestore);
+		prsr.addCLO(cloGeometryCache);
 		super.collectCLO(prsr);
 		// some options are not meaningful when running simulations
 		if (isHeadless) {
@@ -1485,7 +1633,8 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 		int counter = 0;
 		final int MAX_RETRIES = 100;
 		while (!fileCheck(unique, true) && counter < MAX_RETRIES) {
-			unique = new File(template.substring(0, template.lastIndexOf('.')) + "-" + (++counter) + "." + extension);
+			unique = new File(template.substring(0, template.length() - extension.length() - 1) + "-" + (++counter)
+					+ "." + extension);
 		}
 		// check if emergency brake was pulled
 		if (counter >= MAX_RETRIES)
@@ -1551,40 +1700,47 @@ public class EvoLudoJRE extends EvoLudo implements Runnable {
 	/**
 	 * Export state of module to {@code filename}. If {@code filename == null} try
 	 * {@code exportname}. If {@code exportname == null} too then create new unique
-	 * filename.
+	 * filename. If {@code filename} ends in {@code .gz} the state is compressed
+	 * with gzip.
+	 * <p>
+	 * <strong>Note:</strong> the state is streamed to the file as it gets encoded.
+	 * For large populations this avoids holding the entire encoded state in memory.
 	 * 
 	 * @param filename the filename for exporting the state
+	 * 
+	 * @see #encodeState(Appendable)
 	 */
 	@Override
 	public void exportState(String filename) {
 		File export;
 		if (filename == null)
 			filename = exportname;
+		boolean gzip = (filename != null && filename.endsWith(".gz"));
+		String ext = (gzip ? "plist.gz" : "plist");
 		if (filename == null)
-			export = openSnapshot("plist");
+			export = openSnapshot(ext);
 		else
-			export = uniqueFile(filename, "plist");
-		String state = encodeState();
-		if (state == null) {
-			logger.severe("failed to encode state.");
-			return;
-		}
-		try {
-			// if export==null this throws an exception
-			PrintStream stream = new PrintStream(export);
-			stream.println(state);
-			stream.close();
-			logger.info("state saved in '" + export.getName() + "'.");
+			export = uniqueFile(filename, ext);
+		// if export==null this throws an exception
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+				gzip ? new GZIPOutputStream(new FileOutputStream(export), 65536) : new FileOutputStream(export),
+				StandardCharsets.UTF_8))) {
+			if (!encodeState(writer))
+				throw new IOException("failed to write state");
+			writer.write('\n');
 		} catch (Exception e) {
 			String msg = "";
 			if (export != null)
 				msg = "to '" + export.getPath() + "' ";
 			else if (filename != null)
-				msg = "to '" + filename + ".plist' ";
+				msg = "to '" + filename + "." + ext + "' ";
 			logger.warning("failed to export state " + msg + "- using '"
 					+ (cloAppend.isSet() ? cloAppend.getArg() : cloOutput.getArg()) + "'");
-			output.println(state);
+			encodeState(output);
+			output.println();
+			return;
 		}
+		logger.info("state saved in '" + export.getName() + "'.");
 	}
 
 	/**
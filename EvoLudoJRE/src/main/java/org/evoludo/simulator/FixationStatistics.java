@@ -0,0 +1,374 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+
+package org.evoludo.simulator;
+
+import java.util.List;
+
+import org.evoludo.simulator.models.FixationData;
+import org.evoludo.simulator.views.MultiView;
+import org.evoludo.util.Formatter;
+
+/**
+ * Accumulator for fixation statistics, i.e. fixation probabilities, updates
+ * and times to fixation or absorption for every location of the initial
+ * mutant. Samples are added one at a time with {@link #add(FixationData)}.
+ * Accumulators of independent engines, e.g. when sampling in parallel, are
+ * combined with {@link #merge(FixationStatistics)}. Merging is exact for
+ * fixation probabilities and uses the pairwise update of running means and
+ * variances for updates and times, which yields identical results for
+ * identical inputs regardless of thread scheduling.
+ *
+ * @author Christoph Hauert
+ * 
+ * @see EvoLudoJRE#simulation()
+ */
+public class FixationStatistics {
+
+	/**
+	 * Index of the mutants mean fixation probability/updates/time.
+	 */
+	static final int MUTANT_MEAN = 0;
+
+	/**
+	 * Index of the mutants variance of fixation probability/updates/times.
+	 */
+	static final int MUTANT_VAR = 1;
+
+	/**
+	 * Index of the number of samples for the mutants mean and variance.
+	 */
+	static final int MUTANT_NORM = 2;
+
+	/**
+	 * Index of the residents mean fixation probability/updates/time.
+	 */
+	static final int RESIDENT_MEAN = 3;
+
+	/**
+	 * Index of the residents variance of fixation probability/updates/times.
+	 */
+	static final int RESIDENT_VAR = 4;
+
+	/**
+	 * Index of the number of samples for the residents mean and variance.
+	 */
+	static final int RESIDENT_NORM = 5;
+
+	/**
+	 * Index of the mean absorption probability/update/time.
+	 */
+	static final int ABSORPTION_MEAN = 6;
+
+	/**
+	 * Index of the variance of the mean absorption probability/updates/time.
+	 */
+	static final int ABSORPTION_VAR = 7;
+
+	/**
+	 * Index of the the number of samples for absorption probability/updates/time.
+	 */
+	static final int ABSORPTION_NORM = 8;
+
+	/**
+	 * The types of statistics to collect.
+	 */
+	final List<MultiView.DataTypes> dataTypes;
+
+	/**
+	 * The number of traits.
+	 */
+	final int nTraits;
+
+	/**
+	 * The fixation probabilities for each location. The entries for each node are
+	 * {@code [mutant fixations, resident fixations, ..., samples]}.
+	 */
+	final double[][] fixProb;
+
+	/**
+	 * The running mean and variance of the number of updates until fixation for
+	 * each location.
+	 * 
+	 * @see #updateMeanVar(double[], boolean, double)
+	 */
+	final double[][] fixUpdate;
+
+	/**
+	 * The running mean and variance of the time until fixation for each location.
+	 * 
+	 * @see #updateMeanVar(double[], boolean, double)
+	 */
+	final double[][] fixTime;
+
+	/**
+	 * The running mean and variance of the number of updates until fixation
+	 * across all locations.
+	 */
+	final double[] fixTotUpdate;
+
+	/**
+	 * The running mean and variance of the time until fixation across all
+	 * locations.
+	 */
+	final double[] fixTotTime;
+
+	/**
+	 * The number of samples collected.
+	 */
+	long samples = 0L;
+
+	/**
+	 * The number of failed samples.
+	 */
+	int failed = 0;
+
+	/**
+	 * The mutant trait of the most recent sample.
+	 */
+	int mutantTrait = -1;
+
+	/**
+	 * The resident trait of the most recent sample.
+	 */
+	int residentTrait = -1;
+
+	/**
+	 * Create a new accumulator for the fixation statistics {@code dataTypes} in a
+	 * population of size {@code nPopulation} with {@code nTraits} traits.
+	 * 
+	 * @param dataTypes   the types of statistics to collect
+	 * @param nPopulation the population size
+	 * @param nTraits     the number of traits
+	 */
+	public FixationStatistics(List<MultiView.DataTypes> dataTypes, int nPopulation, int nTraits) {
+		this.dataTypes = dataTypes;
+		this.nTraits = nTraits;
+		boolean prob = dataTypes.contains(MultiView.DataTypes.STAT_PROB);
+		boolean updt = dataTypes.contains(MultiView.DataTypes.STAT_UPDATES);
+		boolean time = dataTypes.contains(MultiView.DataTypes.STAT_TIMES);
+		fixProb = prob ? new double[nPopulation][nTraits + 1] : new double[0][];
+		fixUpdate = updt ? new double[nPopulation][9] : new double[0][];
+		fixTotUpdate = updt ? new double[9] : new double[0];
+		fixTime = time ? new double[nPopulation][9] : new double[0][];
+		fixTotTime = time ? new double[9] : new double[0];
+	}
+
+	/**
+	 * Add the statistics sample {@code fixData}.
+	 * 
+	 * @param fixData the statistics sample
+	 */
+	public void add(FixationData fixData) {
+		samples++;
+		mutantTrait = fixData.mutantTrait;
+		residentTrait = fixData.residentTrait;
+		boolean mutantFixed = (fixData.typeFixed == fixData.mutantTrait);
+		for (MultiView.DataTypes data : dataTypes) {
+			switch (data) {
+				case STAT_PROB:
+					double[] node = fixProb[fixData.mutantNode];
+					node[(mutantFixed ? 0 : 1)]++;
+					node[nTraits]++;
+					fixData.probRead = true;
+					break;
+				case STAT_UPDATES:
+					updateMeanVar(fixUpdate[fixData.mutantNode], mutantFixed, fixData.updatesFixed);
+					updateMeanVar(fixTotUpdate, mutantFixed, fixData.updatesFixed);
+					fixData.timeRead = true;
+					break;
+				case STAT_TIMES:
+					updateMeanVar(fixTime[fixData.mutantNode], mutantFixed, fixData.timeFixed);
+					updateMeanVar(fixTotTime, mutantFixed, fixData.timeFixed);
+					fixData.timeRead = true;
+					break;
+				default:
+					throw new Error("Statistics for " + data.getKey() + " not supported!");
+			}
+		}
+	}
+
+	/**
+	 * Merge the statistics collected by {@code other} into this accumulator. Both
+	 * accumulators must refer to the same population size, number of traits and
+	 * types of statistics.
+	 * 
+	 * @param other the statistics to merge
+	 */
+	public void merge(FixationStatistics other) {
+		samples += other.samples;
+		failed += other.failed;
+		if (other.mutantTrait >= 0) {
+			mutantTrait = other.mutantTrait;
+			residentTrait = other.residentTrait;
+		}
+		for (int n = 0; n < fixProb.length; n++) {
+			double[] node = fixProb[n];
+			double[] onode = other.fixProb[n];
+			for (int i = 0; i <= nTraits; i++)
+				node[i] += onode[i];
+		}
+		for (int n = 0; n < fixUpdate.length; n++)
+			mergeMeanVar(fixUpdate[n], other.fixUpdate[n]);
+		if (fixTotUpdate.length > 0)
+			mergeMeanVar(fixTotUpdate, other.fixTotUpdate);
+		for (int n = 0; n < fixTime.length; n++)
+			mergeMeanVar(fixTime[n], other.fixTime[n]);
+		if (fixTotTime.length > 0)
+			mergeMeanVar(fixTotTime, other.fixTotTime);
+	}
+
+	/**
+	 * Helper method to calculate running mean and variance for fixation
+	 * updates/times. The data structure of the {@code meanvar} array is defined as
+	 * follows:
+	 * <dl>
+	 * <dt>{@code MUTANT_MEAN}
+	 * <dd>mean of mutant fixation
+	 * <dt>{@code MUTANT_VAR}
+	 * <dd>variance of mutant fixation
+	 * <dt>{@code MUTANT_NORM}
+	 * <dd>sample count of mutant fixation
+	 * <dt>{@code RESIDENT_MEAN}
+	 * <dd>mean of resident fixation
+	 * <dt>{@code RESIDENT_VAR}
+	 * <dd>variance of resident fixation
+	 * <dt>{@code RESIDENT_NORM}
+	 * <dd>sample count of resident fixation
+	 * <dt>{@code ABSORPTION_MEAN}
+	 * <dd>mean of absorption
+	 * <dt>{@code ABSORPTION_VAR}
+	 * <dd>variance of absorption
+	 * <dt>{@code ABSORPTION_NORM}
+	 * <dd>sample count of absorption
+	 * ({@code meanvar[MUTANT_NORM] + meanvar[RESIDENT_NORM] == meanvar[ABSORPTION_NORM]}
+	 * must hold)
+	 * </dl>
+	 * 
+	 * @param meanvar     the array that stores the running mean and variance
+	 * @param mutantfixed the flag to indicate whether the mutant fixated
+	 * @param x           the time/updates to fixation
+	 */
+	static void updateMeanVar(double[] meanvar, boolean mutantfixed, double x) {
+		updateMeanVar(meanvar, x, mutantfixed ? MUTANT_MEAN : RESIDENT_MEAN);
+		updateMeanVar(meanvar, x, ABSORPTION_MEAN);
+	}
+
+	/**
+	 * Helper method to calculate running mean and variance samples {@code x}. The
+	 * entries in the {@code meanvar} array are
+	 * {@code [offset: mean, offset + 1: variance, offset + 2: sample count]}.
+	 * 
+	 * @param meanvar the array with the running mean and variance
+	 * @param x       the fixation probability/update/time
+	 * @param offset  the offset in the {@code meanvar} array
+	 */
+	private static void updateMeanVar(double[] meanvar, double x, int offset) {
+		double mean = meanvar[offset];
+		double dx = x - mean;
+		double norm = ++meanvar[offset + 2];
+		mean += dx / norm;
+		meanvar[offset] = mean;
+		meanvar[offset + 1] += dx * (x - mean);
+	}
+
+	/**
+	 * Helper method to merge the running means and variances in {@code other} into
+	 * {@code meanvar}. The structure of both arrays is the same as for
+	 * {@link #updateMeanVar(double[], boolean, double)}.
+	 * 
+	 * @param meanvar the array with the running mean and variance
+	 * @param other   the running mean and variance to merge
+	 */
+	static void mergeMeanVar(double[] meanvar, double[] other) {
+		mergeMeanVar(meanvar, other, MUTANT_MEAN);
+		mergeMeanVar(meanvar, other, RESIDENT_MEAN);
+		mergeMeanVar(meanvar, other, ABSORPTION_MEAN);
+	}
+
+	/**
+	 * Helper method to merge the running mean and variance starting at
+	 * {@code offset} in {@code other} into {@code meanvar}. Uses the pairwise
+	 * update of Chan, Golub &amp; LeVeque (1979).
+	 * 
+	 * @param meanvar the array with the running mean and variance
+	 * @param other   the running mean and variance to merge
+	 * @param offset  the offset in the {@code meanvar} arrays
+	 */
+	private static void mergeMeanVar(double[] meanvar, double[] other, int offset) {
+		double nb = other[offset + 2];
+		if (nb <= 0.0)
+			return;
+		double na = meanvar[offset + 2];
+		double norm = na + nb;
+		double dx = other[offset] - meanvar[offset];
+		meanvar[offset] += dx * nb / norm;
+		meanvar[offset + 1] += other[offset + 1] + dx * dx * na * nb / norm;
+		meanvar[offset + 2] = norm;
+	}
+
+	/**
+	 * Helper method to format the fixation and absorption updates/times as
+	 * {@code mean ± sdev, samples} for mutants, residents and absorption.
+	 * 
+	 * @param meanvar the array with the running mean and variance
+	 * @param digits  the number of digits
+	 * @return the formatted statistics or {@code null} if no samples available
+	 * 
+	 * @see #updateMeanVar(double[], boolean, double) see updateMeanVar(double[],
+	 *      boolean, double) for structure of {@code meanvar} array
+	 */
+	static String formatMeanVar(double[] meanvar, int digits) {
+		double normut = meanvar[MUTANT_NORM];
+		double normres = meanvar[RESIDENT_NORM];
+		double normabs = meanvar[ABSORPTION_NORM];
+		if (normabs <= 0.0)
+			return null; // no samples for node n
+		// trick: to avoid -0 output simply add 0...!
+		return Formatter.format(meanvar[MUTANT_MEAN] + 0.0, digits) + " ± " // mutant mean
+				+ (normut > 1.0 ? Formatter.format(Math.sqrt(meanvar[MUTANT_VAR] / (normut - 1.0)) + 0.0, digits)
+						: "-")
+				+ ", " // mutant sdev
+				+ Formatter.format(normut, 0) + "; " // mutant samples
+				+ Formatter.format(meanvar[RESIDENT_MEAN] + 0.0, digits) + " ± " // resident mean
+				+ (normres > 1.0
+						? Formatter.format(Math.sqrt(meanvar[RESIDENT_VAR] / (normres - 1.0)) + 0.0, digits)
+						: "-")
+				+ ", " // resident sdev
+				+ Formatter.format(normres, 0) + "; " // resident samples
+				+ Formatter.format(meanvar[ABSORPTION_MEAN] + 0.0, digits) + " ± " // absorption mean
+				+ (normabs > 1.0
+						? Formatter.format(Math.sqrt(meanvar[ABSORPTION_VAR] / (normabs - 1.0)) + 0.0, digits)
+						: "-")
+				+ ", " // absorption sdev
+				+ Formatter.format(normabs, 0); // absorption samples
+	}
+}
@@ -0,0 +1,301 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.evoludo.math.ArrayMath;
+import org.evoludo.math.RandomNumberGenerator;
+import org.evoludo.util.Plist;
+import org.evoludo.util.PlistParser;
+
+/**
+ * On-disk cache for unique geometries in JRE. Each structure is stored in a
+ * separate binary file in the cache directory, named after the key of the
+ * structure. The key is the SHA-256 digest of the geometry type, size and
+ * parameters together with the state of the random number generator prior to
+ * generating the structure. Thus, runs with a fixed seed restore identical
+ * structures from the cache while runs without a seed (almost surely) never
+ * hit the cache.
+ * <p>
+ * The file holds the in- and outgoing neighbourhoods in compressed sparse row
+ * format (number of neighbours of all nodes followed by their indices) as well
+ * as the state of the random number generator after generation. Files are
+ * memory-mapped for restoring, which bypasses the generation as well as plist
+ * decoding. New files are written to a temporary file first and then moved into
+ * place, such that parallel engines can share the cache.
+ * 
+ * @author Christoph Hauert
+ * 
+ * @see EvoLudoJRE#cloGeometryCache
+ */
+public class GeometryCacheJRE implements GeometryCache {
+
+	/**
+	 * The magic number identifying cache files ({@code EvGC}).
+	 */
+	private static final int MAGIC = 0x45764743;
+
+	/**
+	 * The version of the file format.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * The flag indicating undirected structures.
+	 */
+	private static final int UNDIRECTED = 1;
+
+	/**
+	 * The flag indicating regular structures.
+	 */
+	private static final int REGULAR = 2;
+
+	/**
+	 * The flag indicating rewired structures.
+	 */
+	private static final int REWIRED = 4;
+
+	/**
+	 * The flag indicating that in- and outgoing neighbourhoods are identical and
+	 * only the outgoing ones are stored.
+	 */
+	private static final int SYMMETRIC = 8;
+
+	/**
+	 * The file extension of cache files.
+	 */
+	private static final String EXTENSION = ".geom";
+
+	/**
+	 * The pacemaker of all models. Provides the random number generator.
+	 */
+	EvoLudo engine;
+
+	/**
+	 * The logger for keeping track of cache activities.
+	 */
+	Logger logger;
+
+	/**
+	 * The directory of the cache.
+	 */
+	File dir;
+
+	/**
+	 * Creates a new cache for unique geometries in directory {@code dir}.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 * @param dir    the directory of the cache
+	 */
+	public GeometryCacheJRE(EvoLudo engine, File dir) {
+		this.engine = engine;
+		this.dir = dir;
+		logger = engine.getLogger();
+	}
+
+	/**
+	 * Gets the random number generator for generating geometries.
+	 * 
+	 * @return the random number generator
+	 */
+	private RandomNumberGenerator getRNG() {
+		return engine.getRNG().getRNG();
+	}
+
+	@Override
+	public String getKey(Geometry geometry) {
+		StringBuilder spec = new StringBuilder();
+		spec.append(geometry.getType().getKey()).append(';')
+				.append(geometry.subgeometry.getKey()).append(';')
+				.append(geometry.size).append(';')
+				.append(geometry.connectivity).append(';')
+				.append(geometry.sfExponent).append(';')
+				.append(geometry.pKlemm).append(';')
+				.append(geometry.superstar_petals).append(';')
+				.append(geometry.superstar_amplification).append(';')
+				.append(geometry.linearAsymmetry).append(';')
+				.append(geometry.fixedBoundary).append(';')
+				.append(Arrays.toString(geometry.hierarchy)).append(';')
+				.append(geometry.hierarchyweight).append(';')
+				.append(getRNG().encodeState());
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(spec.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder key = new StringBuilder(2 * hash.length);
+			for (byte b : hash)
+				key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every java platform must support SHA-256
+			throw new Error("SHA-256 unavailable", e);
+		}
+	}
+
+	@Override
+	public boolean restore(Geometry geometry, String key) {
+		File file = new File(dir, key + EXTENSION);
+		if (!file.isFile())
+			return false;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				return false;
+			int size = buffer.getInt();
+			if (size != geometry.size)
+				return false;
+			int flags = buffer.getInt();
+			IntBuffer ints = buffer.asIntBuffer();
+			// file format matches compressed sparse row representation of geometry
+			int[] kout = new int[size];
+			ints.get(kout);
+			int[] out = new int[ArrayMath.norm(kout)];
+			ints.get(out);
+			int[] kin = null;
+			int[] in = null;
+			if ((flags & SYMMETRIC) == 0) {
+				kin = new int[size];
+				ints.get(kin);
+				in = new int[ArrayMath.norm(kin)];
+				ints.get(in);
+			}
+			buffer.position(buffer.position() + 4 * ints.position());
+			byte[] state = new byte[buffer.getInt()];
+			buffer.get(state);
+			Plist plist = PlistParser.parse(new String(state, StandardCharsets.UTF_8));
+			if (plist == null || !getRNG().restoreState(plist))
+				return false;
+			geometry.setCompressed(kout, out, kin, in);
+			geometry.isUndirected = (flags & UNDIRECTED) != 0;
+			geometry.isRegular = (flags & REGULAR) != 0;
+			geometry.isRewired = (flags & REWIRED) != 0;
+			return true;
+		} catch (IOException | BufferUnderflowException e) {
+			if (logger.isLoggable(Level.WARNING))
+				logger.warning("failed to restore geometry from '" + file + "' (" + e.getMessage() + ").");
+			return false;
+		}
+	}
+
+	@Override
+	public void store(Geometry geometry, String key) {
+		File file = new File(dir, key + EXTENSION);
+		if (file.isFile())
+			return;
+		int size = geometry.size;
+		// retrieve neighbourhoods through accessors; frozen geometries only
+		// provide the compressed representation
+		int maxk = Math.max(ArrayMath.max(geometry.kout), ArrayMath.max(geometry.kin));
+		int[] outmem = new int[maxk];
+		int[] inmem = new int[maxk];
+		boolean symmetric = (geometry.getInTargets() != null && geometry.getInTargets() == geometry.getOutTargets());
+		if (!symmetric) {
+			symmetric = true;
+			for (int n = 0; n < size; n++) {
+				int k = geometry.kout[n];
+				if (geometry.kin[n] != k || !Arrays.equals(geometry.getOutAt(n, outmem), 0, k,
+						geometry.getInAt(n, inmem), 0, k)) {
+					symmetric = false;
+					break;
+				}
+			}
+		}
+		int flags = (geometry.isUndirected ? UNDIRECTED : 0) | (geometry.isRegular ? REGULAR : 0)
+				| (geometry.isRewired ? REWIRED : 0) | (symmetric ? SYMMETRIC : 0);
+		File tmp = null;
+		try {
+			tmp = File.createTempFile(key, ".tmp", dir);
+			try (DataOutputStream stream = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				stream.writeInt(MAGIC);
+				stream.writeInt(VERSION);
+				stream.writeInt(size);
+				stream.writeInt(flags);
+				writeNeighbours(stream, geometry, true, outmem);
+				if (!symmetric)
+					writeNeighbours(stream, geometry, false, outmem);
+				// wrap state of random number generator as stand-alone plist
+				byte[] state = ("<plist>\n<dict>\n" + getRNG().encodeState() + "</dict>\n</plist>\n")
+						.getBytes(StandardCharsets.UTF_8);
+				stream.writeInt(state.length);
+				stream.write(state);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			if (tmp != null)
+				tmp.delete();
+			if (logger.isLoggable(Level.WARNING))
+				logger.warning("failed to cache geometry in '" + file + "' (" + e.getMessage() + ").");
+		}
+	}
+
+	/**
+	 * Helper method to write the outgoing ({@code out==true}) or incoming
+	 * neighbourhoods of {@code geometry} in compressed sparse row format to
+	 * {@code stream}: first the number of neighbours of all nodes followed by the
+	 * indices of all neighbours.
+	 * 
+	 * @param stream   the stream to write to
+	 * @param geometry the geometry with the neighbourhoods
+	 * @param out      {@code true} to write the outgoing neighbourhoods
+	 * @param mem      the array for retrieving neighbourhoods
+	 * @throws IOException if writing fails
+	 */
+	private static void writeNeighbours(DataOutputStream stream, Geometry geometry, boolean out, int[] mem)
+			throws IOException {
+		int size = geometry.size;
+		int[] k = (out ? geometry.kout : geometry.kin);
+		for (int n = 0; n < size; n++)
+			stream.writeInt(k[n]);
+		for (int n = 0; n < size; n++) {
+			int[] neigh = (out ? geometry.getOutAt(n, mem) : geometry.getInAt(n, mem));
+			for (int i = 0; i < k[n]; i++)
+				stream.writeInt(neigh[i]);
+		}
+	}
+}
@@ -0,0 +1,240 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+
+package org.evoludo.simulator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.evoludo.simulator.modules.Module;
+
+/**
+ * Executor for parameter scans of customized simulations. The grid points of a
+ * scan are distributed over a pool of threads, each running its own replica of
+ * the master engine together with its own instance of the customized module
+ * (see {@link EvoLudoJRE#createReplica(long, Function)}). The results of the
+ * grid points are written to the output of the master engine in the order of
+ * the grid, irrespective of the order in which they complete. The last grid
+ * point is processed by the master engine itself such that, after the scan,
+ * the master is in the same state as after a sequential scan, e.g. for
+ * exporting the final state.
+ * <p>
+ * Each grid point is assigned its own seed, which is derived from the seed of
+ * the master engine (or a random seed if none was set) and the index of the
+ * grid point. Because every grid point starts from a reset of the model with
+ * its own seed, the results are reproducible and independent of the number of
+ * threads.
+ * <p>
+ * Usage, e.g. in {@code simTBT}:
+ * 
+ * <pre>
+ * new ScanExecutor&lt;&gt;((EvoLudoJRE) engine, this, simTBT::new)
+ * 		.scan(nPoints, (sim, idx) -&gt; sim.scanPoint(idx));
+ * </pre>
+ *
+ * @author Christoph Hauert
+ * 
+ * @param <M> the type of the customized module
+ * 
+ * @see EvoLudoJRE#cloThreads
+ */
+public class ScanExecutor<M extends Module<?>> {
+
+	/**
+	 * The interface to process a single grid point of a scan.
+	 * 
+	 * @param <M> the type of the customized module
+	 */
+	@FunctionalInterface
+	public interface ScanPoint<M> {
+
+		/**
+		 * Process the grid point with index {@code idx} using the module
+		 * {@code module} of a replica engine. Implementations must reset the model
+		 * before sampling (e.g. through {@code engine.modelReset()}) and must not write
+		 * to the output directly but return the results instead.
+		 * 
+		 * @param module the module of the replica engine
+		 * @param idx    the index of the grid point
+		 * @return the results for the grid point or {@code null} if nothing to report
+		 */
+		public String process(M module, int idx);
+	}
+
+	/**
+	 * The master engine.
+	 */
+	EvoLudoJRE master;
+
+	/**
+	 * The customized module of the master engine.
+	 */
+	M module;
+
+	/**
+	 * The factory to create the customized module for each replica engine.
+	 */
+	Function<EvoLudoJRE, M> factory;
+
+	/**
+	 * The number of threads.
+	 */
+	int nThreads;
+
+	/**
+	 * The seed from which the seeds of all grid points are derived.
+	 */
+	long baseSeed;
+
+	/**
+	 * Create a new executor for parameter scans with the master engine
+	 * {@code master}. The number of threads is set by the {@code --threads} option
+	 * of the master engine.
+	 * 
+	 * @param master  the master engine
+	 * @param module  the customized module of the master engine
+	 * @param factory the factory to create the customized module for replicas
+	 */
+	public ScanExecutor(EvoLudoJRE master, M module, Function<EvoLudoJRE, M> factory) {
+		this.master = master;
+		this.module = module;
+		this.factory = factory;
+		nThreads = master.getNThreads();
+		if (master.rng.isSeedSet())
+			baseSeed = master.rng.getSeed();
+		else
+			baseSeed = master.rng.nextInt() & 0xffffffffL;
+	}
+
+	/**
+	 * Get the seed for grid point with index {@code idx}. The seeds are derived
+	 * from the base seed by the SplitMix64 finalizer to decorrelate the random
+	 * sequences of neighbouring grid points.
+	 * 
+	 * @param idx the index of the grid point
+	 * @return the seed for the grid point
+	 */
+	public long getSeed(int idx) {
+		long z = baseSeed + (idx + 1) * 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return (z ^ (z >>> 31)) & 0xffffffffL;
+	}
+
+	/**
+	 * Helper class to hold a replica engine together with its module.
+	 */
+	class Worker {
+
+		/**
+		 * The module of the replica.
+		 */
+		M module;
+
+		/**
+		 * The replica engine.
+		 */
+		EvoLudoJRE engine;
+
+		/**
+		 * Create a new replica of the master engine.
+		 */
+		Worker() {
+			engine = master.createReplica(baseSeed, replica -> (module = factory.apply(replica)));
+			if (engine == null)
+				throw new Error("Failed to create replica.");
+		}
+	}
+
+	/**
+	 * Scan {@code nPoints} grid points. The grid points are processed in parallel
+	 * by {@code point} and the results written to the output of the master engine
+	 * in the order of the grid points. The last grid point is processed by the
+	 * master on the calling thread while the replicas process the others.
+	 * 
+	 * @param nPoints the number of grid points
+	 * @param point   the processor for a single grid point
+	 */
+	public void scan(int nPoints, ScanPoint<M> point) {
+		if (nPoints <= 0)
+			return;
+		int last = nPoints - 1;
+		int nWorkers = Math.max(1, Math.min(nThreads - 1, last));
+		ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+		ExecutorService pool = Executors.newFixedThreadPool(nWorkers);
+		List<Future<String>> results = new ArrayList<>(last);
+		master.logger.info("Scanning " + nPoints + " grid points with " + Math.min(nWorkers + 1, nPoints)
+				+ " threads.");
+		for (int n = 0; n < last; n++) {
+			int idx = n;
+			results.add(pool.submit(() -> {
+				Worker worker = workers.get();
+				worker.engine.rng.setSeed(getSeed(idx));
+				return point.process(worker.module, idx);
+			}));
+		}
+		PrintStream out = master.getOutput();
+		try {
+			// same seed as for a replica to keep results independent of threads
+			master.rng.setSeed(getSeed(last));
+			String lastMsg = point.process(module, last);
+			for (Future<String> result : results)
+				write(out, result.get());
+			write(out, lastMsg);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new Error("Parameter scan failed: " + e.getCause().getMessage());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Write the result {@code msg} of a grid point to {@code out}. Nothing is
+	 * written if {@code msg == null}.
+	 * 
+	 * @param out the output stream
+	 * @param msg the result of the grid point
+	 */
+	private void write(PrintStream out, String msg) {
+		if (msg == null)
+			return;
+		out.println(msg);
+		out.flush();
+	}
+}
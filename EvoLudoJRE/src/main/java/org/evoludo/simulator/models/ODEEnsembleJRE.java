@@ -0,0 +1,144 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.RecursiveTask;
+
+import org.evoludo.simulator.EvoLudo;
+
+/**
+ * Ensemble of initial conditions of an {@link ODE} model. Optimized
+ * implementation for JRE which takes advantage of the computational power
+ * available through multiple threads.
+ * <p>
+ * The members are independent and split into chunks, which are processed by
+ * the pool of workers shared with {@link PDESupervisorJRE}. Each chunk
+ * modifies only the states of its own members and merely reports the number of
+ * members that converged. Hence, the results are identical to sequential
+ * processing.
+ *
+ * @author Christoph Hauert
+ */
+public class ODEEnsembleJRE extends ODEEnsemble {
+
+	/**
+	 * Creates a new ensemble of initial conditions for the model
+	 * <strong>charge</strong> that is integrated with multiple threads in JRE.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 * @param charge the model to integrate
+	 */
+	public ODEEnsembleJRE(EvoLudo engine, ODE charge) {
+		super(engine, charge);
+	}
+
+	/**
+	 * The maximum number of members in a chunk processed by one worker.
+	 */
+	public static final int ENSEMBLE_MIN_WORKLOAD = 64;
+
+	@Override
+	public void reset(int nEnsemble) {
+		super.reset(nEnsemble);
+		int nChunks = (nEnsemble + ENSEMBLE_MIN_WORKLOAD - 1) / ENSEMBLE_MIN_WORKLOAD;
+		int nWorkers = Math.min(PDESupervisorJRE.getPool().getParallelism(), nChunks);
+		engine.getLogger().info("Using " + nWorkers + " threads for integrating " + nEnsemble + " initial conditions.");
+	}
+
+	/**
+	 * Advance all members that have not yet converged using multiple threads (if
+	 * available). Small ensembles that fit into a single chunk are processed
+	 * directly by the calling thread.
+	 */
+	@Override
+	protected int step(double t, double h) {
+		if (nEnsemble <= ENSEMBLE_MIN_WORKLOAD)
+			return step(t, h, 0, nEnsemble);
+		return PDESupervisorJRE.getPool().invoke(new Chunk(t, h, 0, nEnsemble));
+	}
+
+	/**
+	 * Chunk of members for processing by the pool of workers. Chunks exceeding
+	 * {@link #ENSEMBLE_MIN_WORKLOAD} members are split in halves. The left half is
+	 * made available for stealing by idle workers, while the right half is
+	 * processed right away.
+	 */
+	class Chunk extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The current time.
+		 */
+		final double t;
+
+		/**
+		 * The size of the step.
+		 */
+		final double h;
+
+		/**
+		 * The index of the first member in this chunk.
+		 */
+		final int start;
+
+		/**
+		 * The index of the last member in this chunk (excluding).
+		 */
+		final int end;
+
+		/**
+		 * Create a new chunk for advancing the members {@code start} through
+		 * {@code end} by a single step of size {@code h} from time {@code t}.
+		 * 
+		 * @param t     the current time
+		 * @param h     the size of the step
+		 * @param start the index of the first member (including)
+		 * @param end   the index of the last member (excluding)
+		 */
+		Chunk(double t, double h, int start, int end) {
+			this.t = t;
+			this.h = h;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (end - start <= ENSEMBLE_MIN_WORKLOAD)
+				return step(t, h, start, end);
+			int mid = (start + end) >>> 1;
+			Chunk left = new Chunk(t, h, start, mid);
+			left.fork();
+			int right = new Chunk(t, h, mid, end).compute();
+			return left.join() + right;
+		}
+	}
+}
@@ -31,16 +31,27 @@
 package org.evoludo.simulator.models;
 
 import java.awt.GraphicsEnvironment;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ListIterator;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+import org.evoludo.math.ArrayMath;
 import org.evoludo.simulator.EvoLudo;
+import org.evoludo.simulator.modules.Features.Payoffs;
 
 /**
  * Supervisor of reaction-diffusion processes. Coordinates calculations of the
  * next step. Optimized implementation for JRE which takes advantage of the
  * computational power available through multiple threads.
+ * <p>
+ * The PDE units are split into chunks, which are processed by a
+ * {@link ForkJoinPool} with work stealing. Each chunk accumulates the minima,
+ * maxima and totals of densities and fitnesses of its units separately. The
+ * partial results are merged when joining the chunks, which requires no locks.
+ * The chunks are split in halves down to a fixed size irrespective of the
+ * number of processors. Thus, the partial results are always merged in the same
+ * order and the results are reproducible across machines. Diffusion and
+ * reaction are fused into a single sweep.
  *
  * @author Christoph Hauert
  */
@@ -58,78 +69,49 @@ public class PDESupervisorJRE extends PDESupervisor {
 	}
 
 	/**
-	 * The list of worker threads.
-	 * 
-	 * @see RDWorker
+	 * The maximum number of units in a chunk processed by one worker.
 	 */
-	protected List<RDWorker> workers = new ArrayList<RDWorker>(0);
+	public static final int RD_MIN_WORKLOAD = 1000;
 
 	/**
-	 * The total change in state (distance squared between previous and current
-	 * states). Used for managing reactions processed by multiple threads.
+	 * The pool of worker threads. Shared by all supervisors and ensembles to avoid
+	 * oversubscription of processors, e.g. when running replicas of the model in
+	 * parallel.
 	 */
-	protected double change;
+	private static ForkJoinPool pool;
 
 	/**
-	 * The number of workers that have not yet finished their task.
+	 * The flag to indicate whether the module implements {@link Payoffs} and hence
+	 * fitness needs to be tracked.
 	 */
-	private int pending = -1;
+	protected boolean hasFit;
 
-	@Override
-	public void unload() {
-		super.unload();
-		pending = -1;
-		fireWorkers();
-		synchronized (this) {
-			notify();
+	/**
+	 * Get the pool of worker threads. The number of workers depends on the number
+	 * of available processors. With more than two processors and when sporting a
+	 * GUI (as opposed to running simulations), one processor is reserved for
+	 * updating the GUI for a smoother user experience.
+	 * 
+	 * @return the pool of worker threads
+	 */
+	static synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			int nWorkers = Runtime.getRuntime().availableProcessors();
+			if (nWorkers > 2 && !GraphicsEnvironment.isHeadless())
+				nWorkers--;
+			pool = new ForkJoinPool(nWorkers);
 		}
+		return pool;
 	}
 
 	@Override
 	public void reset() {
 		super.reset();
-		fireWorkers();
-		hireWorkers();
-	}
-
-	/**
-	 * Tell worker threads to abort calculations.
-	 */
-	public void fireWorkers() {
-		ListIterator<RDWorker> i = workers.listIterator();
-		while (i.hasNext())
-			i.next().task(RDWorker.Task.EXIT);
-		workers.clear();
-	}
-
-	/**
-	 * Hire workforce. The number of worker threads depends on the number of
-	 * available processors. With more than two processors and when sporting a GUI
-	 * (as opposed to running simulations), one processor is reserved for updating
-	 * the GUI for a smoother user experience.
-	 */
-	private void hireWorkers() {
-		int nWorkers = Runtime.getRuntime().availableProcessors();
-		engine.getLogger().info("Total of " + nWorkers + " processors available.");
-		if (nWorkers > 2 && !GraphicsEnvironment.isHeadless())
-			nWorkers--;
-		nWorkers = Math.min(nWorkers, Math.max(1, nUnits / RDWorker.RD_MIN_WORKLOAD));
+		hasFit = (charge.module instanceof Payoffs);
+		charge.initBuffer();
+		int nChunks = (nUnits + RD_MIN_WORKLOAD - 1) / RD_MIN_WORKLOAD;
+		int nWorkers = Math.min(getPool().getParallelism(), Math.max(1, nChunks));
 		engine.getLogger().info("Using " + nWorkers + " threads for integrating " + nUnits + " PDE units.");
-		RDWorker worker;
-		int start, end = 0;
-		int incr = nUnits / nWorkers;
-		for (int i = 0; i < nWorkers - 1; i++) {
-			start = end;
-			end = start + incr;
-			worker = new RDWorker(this, charge, start, end);
-			new Thread(worker, "RDWorker-" + (i + 1)).start();
-			workers.add(worker);
-		}
-		// the last worker may be responsible for a few more nodes in case
-		// data.nData % count != 0.
-		worker = new RDWorker(this, charge, end, nUnits);
-		new Thread(worker, "RDWorker-" + nWorkers).start();
-		workers.add(worker);
 	}
 
 	/**
@@ -137,20 +119,15 @@ public class PDESupervisorJRE extends PDESupervisor {
 	 */
 	@Override
 	protected synchronized double react() {
-		change = 0.0;
-		charge.resetFitness();
-		pending = workers.size();
-		for (RDWorker worker : workers)
-			worker.task(RDWorker.Task.REACT);
-		// wait for completion
-		while (pending > 0) {
-			try {
-				wait();
-			} catch (InterruptedException e) {
+		Sweep sweep = invoke(Task.REACT);
+		if (hasFit) {
+			synchronized (charge) {
+				charge.resetFitness();
+				charge.updateFitness(sweep.minFit, sweep.maxFit, sweep.meanFit);
+				charge.normalizeMeanFitness();
 			}
 		}
-		charge.normalizeMeanFitness();
-		return change;
+		return sweep.change;
 	}
 
 	/**
@@ -158,169 +135,246 @@ public class PDESupervisorJRE extends PDESupervisor {
 	 */
 	@Override
 	protected synchronized void diffuse() {
-		charge.resetDensity();
-		pending = workers.size();
-		for (RDWorker worker : workers)
-			worker.task(RDWorker.Task.DIFFUSE);
-		// wait for completion
-		while (pending > 0) {
-			try {
-				wait();
-			} catch (InterruptedException e) {
+		Sweep sweep = invoke(Task.DIFFUSE);
+		synchronized (charge) {
+			charge.resetDensity();
+			charge.updateDensity(sweep.minDens, sweep.maxDens, sweep.meanDens);
+			charge.normalizeMeanDensity();
+		}
+	}
+
+	/**
+	 * Perform the fused diffusion and reaction step using multiple threads (if
+	 * available).
+	 * 
+	 * @see PDE#diffuseReact(int, int, double[], double[], double[], double[],
+	 *      double[], double[])
+	 */
+	@Override
+	protected synchronized double diffuseReact() {
+		Sweep sweep = invoke(Task.FUSED);
+		synchronized (charge) {
+			charge.swapBuffer();
+			charge.resetDensity();
+			charge.updateDensity(sweep.minDens, sweep.maxDens, sweep.meanDens);
+			charge.normalizeMeanDensity();
+			if (hasFit) {
+				charge.resetFitness();
+				charge.updateFitness(sweep.minFit, sweep.maxFit, sweep.meanFit);
+				charge.normalizeMeanFitness();
 			}
 		}
-		charge.normalizeMeanDensity();
-		// DEBUG
-		// EvoLudo.logMessage("diffuse - density:
-		// mean="+ChHFormatter.formatFix(charge.meanDensity, 8)+
-		// "\n min="+ChHFormatter.formatFix(charge.minDensity, 8)+
-		// "\n max="+ChHFormatter.formatFix(charge.maxDensity, 8));
+		return sweep.change;
 	}
 
 	/**
-	 * Called after the diffusion step completed. Used for managing multiple
-	 * threads.
+	 * Process {@code task} for all PDE units. Small PDEs that fit into a single
+	 * chunk are processed directly by the calling thread.
+	 * 
+	 * @param task the task to process
+	 * @return the merged results of all chunks
 	 */
-	protected synchronized void done() {
-		if (--pending > 0)
-			return;
-		notify();
+	private Sweep invoke(Task task) {
+		if (nUnits <= RD_MIN_WORKLOAD)
+			return sweep(task, 0, nUnits);
+		return getPool().invoke(new Chunk(task, 0, nUnits));
 	}
 
 	/**
-	 * Called after the reaction step completed, which resulted in a cumulative
-	 * change of state {@code incr}. Used for managing multiple threads.
+	 * Process {@code task} for the PDE units with indices between {@code start}
+	 * (including) and {@code end} (excluding).
 	 * 
-	 * @param incr the cumulative change of state in the reaction step
+	 * @param task  the task to process
+	 * @param start the index of the first unit (including)
+	 * @param end   the index of the last unit (excluding)
+	 * @return the results for the units in the chunk
 	 */
-	protected synchronized void done(double incr) {
-		change += incr;
-		done();
+	Sweep sweep(Task task, int start, int end) {
+		Sweep sweep = new Sweep(charge.nDim, task != Task.REACT, task != Task.DIFFUSE && hasFit);
+		switch (task) {
+			case REACT:
+				sweep.change = charge.react(start, end, sweep.minFit, sweep.maxFit, sweep.meanFit);
+				break;
+			case DIFFUSE:
+				charge.diffuse(start, end, sweep.minDens, sweep.maxDens, sweep.meanDens);
+				break;
+			// case FUSED:
+			default:
+				sweep.change = charge.diffuseReact(start, end, sweep.minDens, sweep.maxDens, sweep.meanDens,
+						sweep.minFit, sweep.maxFit, sweep.meanFit);
+		}
+		return sweep;
 	}
 
 	/**
-	 * Worker class for processing PDE updates.
+	 * The list of possible tasks for processing chunks of PDE units:
+	 * <ul>
+	 * <li>The reaction task. Process one reaction step.
+	 * <li>The diffuse task. Process one diffusion step.
+	 * <li>The fused task. Process one diffusion step followed by one reaction step.
+	 * </ul>
 	 */
-	static class RDWorker implements Runnable {
+	enum Task {
 
 		/**
-		 * The reference to the boss of this worker.
+		 * The reaction task. Process one reaction step.
 		 */
-		PDESupervisorJRE boss;
+		REACT,
 
 		/**
-		 * The reference to the supervised PDE model.
+		 * The diffuse task. Process one diffusion step.
 		 */
-		PDE charge;
+		DIFFUSE,
 
 		/**
-		 * The index of the first PDE unit processed by this worker.
+		 * The fused task. Process one diffusion step followed by one reaction step.
 		 */
-		int start;
+		FUSED
+	}
+
+	/**
+	 * Chunk of PDE units for processing by the pool of workers. Chunks exceeding
+	 * {@link #RD_MIN_WORKLOAD} units are split in halves. The left half is made
+	 * available for stealing by idle workers, while the right half is processed
+	 * right away.
+	 */
+	class Chunk extends RecursiveTask<Sweep> {
+
+		private static final long serialVersionUID = 1L;
 
 		/**
-		 * The index of the last PDE unit processed by this worker.
+		 * The task to process.
 		 */
-		int end;
+		final Task task;
 
 		/**
-		 * The next task to address by the worker.
+		 * The index of the first PDE unit in this chunk.
 		 */
-		Task task = Task.IDLE;
+		final int start;
 
 		/**
-		 * The minimum number of units to process by one worker.
+		 * The index of the last PDE unit in this chunk (excluding).
 		 */
-		public static final int RD_MIN_WORKLOAD = 1000;
+		final int end;
 
 		/**
-		 * The list of possible tasks that {@link RDWorker}s can carry out:
-		 * <ul>
-		 * <li>The idle task. Await further instructions.
-		 * <li>The reaction task. Process one reaction step.
-		 * <li>The diffuse task. Process one diffusion step.
-		 * <li>The exit task. Stop working.
-		 * </ul>
+		 * Create a new chunk for processing {@code task} for the PDE units
+		 * {@code start} through {@code end}.
+		 * 
+		 * @param task  the task to process
+		 * @param start the index of the first unit (including)
+		 * @param end   the index of the last unit (excluding)
 		 */
-		enum Task {
-
-			/**
-			 * The idle task. Await further instructions.
-			 */
-			IDLE,
-
-			/**
-			 * The reaction task. Process one reaction step.
-			 */
-			REACT,
-
-			/**
-			 * The diffuse task. Process one diffusion step.
-			 */
-			DIFFUSE,
-
-			/**
-			 * The exit task. Stop working.
-			 */
-			EXIT
+		Chunk(Task task, int start, int end) {
+			this.task = task;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected Sweep compute() {
+			if (end - start <= RD_MIN_WORKLOAD)
+				return sweep(task, start, end);
+			int mid = (start + end) >>> 1;
+			Chunk left = new Chunk(task, start, mid);
+			left.fork();
+			Sweep right = new Chunk(task, mid, end).compute();
+			return left.join().merge(right);
 		}
+	}
+
+	/**
+	 * The results of processing a chunk of PDE units: the accumulated change in
+	 * state as well as the minima, maxima and totals of densities and fitnesses.
+	 * Arrays are {@code null} if the corresponding quantity is not tracked by the
+	 * task.
+	 */
+	static class Sweep {
+
+		/**
+		 * The accumulated change in state.
+		 */
+		double change;
+
+		/**
+		 * The density minima.
+		 */
+		final double[] minDens;
+
+		/**
+		 * The density maxima.
+		 */
+		final double[] maxDens;
+
+		/**
+		 * The total densities.
+		 */
+		final double[] meanDens;
 
 		/**
-		 * Create a new worker, which deals with PDE units {@code start} through
-		 * {@code end}. The worker reports to the {@code boss} and retrieves data
-		 * for processing from {@code charge}.
+		 * The fitness minima.
+		 */
+		final double[] minFit;
+
+		/**
+		 * The fitness maxima.
+		 */
+		final double[] maxFit;
+
+		/**
+		 * The total fitnesses.
+		 */
+		final double[] meanFit;
+
+		/**
+		 * Create new results for a chunk of PDE units with {@code nDim} traits.
 		 * 
-		 * @param boss   the reference to the boss
-		 * @param charge the reference to the charge
-		 * @param start  the first unit processed byt this worker
-		 * @param end    the last unit processed byt this worker
+		 * @param nDim    the number of traits
+		 * @param hasDens {@code true} to track densities
+		 * @param hasFit  {@code true} to track fitnesses
 		 */
-		public RDWorker(PDESupervisorJRE boss, PDE charge, int start, int end) {
-			this.boss = boss;
-			this.charge = charge;
-			this.start = start;
-			this.end = end;
+		Sweep(int nDim, boolean hasDens, boolean hasFit) {
+			minDens = (hasDens ? init(nDim, Double.MAX_VALUE) : null);
+			maxDens = (hasDens ? init(nDim, -Double.MAX_VALUE) : null);
+			meanDens = (hasDens ? new double[nDim] : null);
+			minFit = (hasFit ? init(nDim, Double.MAX_VALUE) : null);
+			maxFit = (hasFit ? init(nDim, -Double.MAX_VALUE) : null);
+			meanFit = (hasFit ? new double[nDim] : null);
 		}
 
 		/**
-		 * {@inheritDoc}
-		 * <p>
-		 * Perform task at hand or await further instructions.
+		 * Helper method to allocate an array of length {@code nDim} with all
+		 * elements set to {@code value}.
+		 * 
+		 * @param nDim  the length of the array
+		 * @param value the initial value of all elements
+		 * @return the new array
 		 */
-		@Override
-		public synchronized void run() {
-			while (true) {
-				switch (task) {
-					// case IDLE:
-					default:
-						try {
-							wait();
-						} catch (InterruptedException e) {
-						}
-						break;
-					case REACT:
-						boss.done(charge.react(start, end));
-						task = Task.IDLE;
-						break;
-					case DIFFUSE:
-						charge.diffuse(start, end);
-						boss.done();
-						task = Task.IDLE;
-						break;
-					case EXIT:
-						return;
-				}
-			}
+		private static double[] init(int nDim, double value) {
+			double[] array = new double[nDim];
+			Arrays.fill(array, value);
+			return array;
 		}
 
 		/**
-		 * Schedule new task {@code tsk} and notify worker.
+		 * Merge the results of {@code other} into these results.
 		 * 
-		 * @param tsk the new task
+		 * @param other the results to merge
+		 * @return these (merged) results
 		 */
-		public synchronized void task(Task tsk) {
-			task = tsk;
-			notify();
+		Sweep merge(Sweep other) {
+			change += other.change;
+			if (minDens != null) {
+				ArrayMath.min(minDens, other.minDens);
+				ArrayMath.max(maxDens, other.maxDens);
+				ArrayMath.add(meanDens, other.meanDens);
+			}
+			if (minFit != null) {
+				ArrayMath.min(minFit, other.minFit);
+				ArrayMath.max(maxFit, other.maxFit);
+				ArrayMath.add(meanFit, other.meanFit);
+			}
+			return this;
 		}
 	}
 }
@@ -233,8 +233,10 @@ public class SDEN extends SDE {
 		matU.mult(matL, matTmp);
 		matTmp.transBmult(matU, matC);
 		// generate noise vector
+		double[] noise = gaussian.getData();
+		rng.nextGaussian(noise, 0, d1);
 		for (int i = 0; i < d1; i++)
-			gaussian.set(i, rng.nextGaussian() * sqrtdt);
+			noise[i] *= sqrtdt;
 		matC.mult(gaussian, vecyt);
 		double[] vecytraw = vecyt.getData();
 		if (mu > 0.0) {
@@ -0,0 +1,143 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.models;
+
+import java.util.concurrent.RecursiveAction;
+
+import org.evoludo.simulator.EvoLudo;
+import org.evoludo.simulator.models.IBSPopulation.SyncChunk;
+
+/**
+ * Supervisor for synchronous population updates and asynchronous updates of
+ * independent sublattices in IBS models. Optimized
+ * implementation for JRE which takes advantage of the computational power
+ * available through multiple threads.
+ * <p>
+ * The chunks of the population are processed by the pool of workers shared
+ * with {@link PDESupervisorJRE}. Each chunk modifies only the states of its
+ * own individuals, draws random numbers from its own stream and records its
+ * own reductions. Hence, the results are identical to sequential processing
+ * of the chunks.
+ *
+ * @author Christoph Hauert
+ */
+public class SyncSupervisorJRE extends SyncSupervisor {
+
+	/**
+	 * Creates a new supervisor to manage synchronous updates of the IBS model
+	 * <strong>charge</strong> with multiple threads in JRE.
+	 * 
+	 * @param engine the pacemaker for running the model
+	 * @param charge the model to supervise
+	 */
+	public SyncSupervisorJRE(EvoLudo engine, IBS charge) {
+		super(engine, charge);
+	}
+
+	/**
+	 * Process all chunks using multiple threads (if available). Populations that
+	 * fit into a single chunk are processed directly by the calling thread.
+	 */
+	@Override
+	protected void invoke(IBSPopulation pop, SyncChunk[] chunks, Task task) {
+		if (chunks.length == 1) {
+			process(pop, chunks[0], task);
+			return;
+		}
+		PDESupervisorJRE.getPool().invoke(new Batch(pop, chunks, task, 0, chunks.length));
+	}
+
+	/**
+	 * Batch of chunks for processing by the pool of workers. Batches with more
+	 * than one chunk are split in halves. The left half is made available for
+	 * stealing by idle workers, while the right half is processed right away.
+	 */
+	class Batch extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The population to process.
+		 */
+		final IBSPopulation pop;
+
+		/**
+		 * The chunks of the population.
+		 */
+		final SyncChunk[] chunks;
+
+		/**
+		 * The task to perform for each chunk.
+		 */
+		final Task task;
+
+		/**
+		 * The index of the first chunk in this batch.
+		 */
+		final int from;
+
+		/**
+		 * The index of the last chunk in this batch (excluding).
+		 */
+		final int to;
+
+		/**
+		 * Create a new batch for processing the chunks {@code from} through
+		 * {@code to} of the population {@code pop}.
+		 * 
+		 * @param pop    the population to process
+		 * @param chunks the chunks of the population
+		 * @param task   the task to perform for each chunk
+		 * @param from   the index of the first chunk (including)
+		 * @param to     the index of the last chunk (excluding)
+		 */
+		Batch(IBSPopulation pop, SyncChunk[] chunks, Task task, int from, int to) {
+			this.pop = pop;
+			this.chunks = chunks;
+			this.task = task;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				process(pop, chunks[from], task);
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			Batch left = new Batch(pop, chunks, task, from, mid);
+			left.fork();
+			new Batch(pop, chunks, task, mid, to).compute();
+			left.join();
+		}
+	}
+}
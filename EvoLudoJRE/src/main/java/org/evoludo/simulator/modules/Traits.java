@@ -66,7 +66,7 @@ import org.evoludo.util.Formatter;
  * @author Christoph Hauert
  */
 public class Traits extends Discrete implements Payoffs,
-		HasIBS.DPairs, HasDE.DPairs, HasDE.EM, HasDE.RK5, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
+		HasIBS.DPairs, HasDE.DPairs, HasDE.EM, HasDE.RK5, HasDE.ROS, HasDE.SDE, HasDE.PDERD, HasDE.PDEADV,
 		HasPop2D.Traits, HasPop3D.Traits, HasMean.Traits, HasPop2D.Fitness, HasPop3D.Fitness, HasMean.Fitness,
 		HasHistogram.Fitness, HasHistogram.Degree {
 	protected static final int PAYOFF_UNITY = 0;
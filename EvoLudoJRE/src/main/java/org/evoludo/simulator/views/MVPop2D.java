@@ -384,10 +384,10 @@ public class MVPop2D extends MVAbstract implements PopListener {
 				toolTip = "<html><i>Node:</i> " + node + names + density + fitness;
 				Geometry diffusion = ((PDE) model).getGeometry();
 				if (diffusion.isUndirected)
-					toolTip += "<br><i>Connections:</i> " + formatStructureAt(node, diffusion.out, diffusion.kout);
+					toolTip += "<br><i>Connections:</i> " + formatOutStructureAt(node, diffusion);
 				else
-					toolTip += "<br><i>Links to:</i>  " + formatStructureAt(node, diffusion.out, diffusion.kout) +
-							"<br><i>Link here:</i> " + formatStructureAt(node, diffusion.in, diffusion.kin);
+					toolTip += "<br><i>Links to:</i>  " + formatOutStructureAt(node, diffusion) +
+							"<br><i>Link here:</i> " + formatInStructureAt(node, diffusion);
 				return toolTip;
 
 			case IBS:
@@ -409,20 +409,20 @@ public class MVPop2D extends MVAbstract implements PopListener {
 								: "<br><i>Interactions:</i> " + (count == Integer.MAX_VALUE ? "all" : "" + count));
 				Geometry intergeom = module.getInteractionGeometry();
 				if (intergeom.isUndirected)
-					toolTip += "<br><i>Neighbors:</i> " + formatStructureAt(node, intergeom.out, intergeom.kout);
+					toolTip += "<br><i>Neighbors:</i> " + formatOutStructureAt(node, intergeom);
 				// useful for debugging geometry - Geometry.checkConnections should be able to
 				// catch such problems
-				// toolTip += "<br>in: "+formatStructureAt(node, data.in, data.kin);
+				// toolTip += "<br>in: "+formatInStructureAt(node, data);
 				else
-					toolTip += "<br><i>Links to:</i>  " + formatStructureAt(node, intergeom.out, intergeom.kout) +
-							"<br><i>Link here:</i> " + formatStructureAt(node, intergeom.in, intergeom.kin);
+					toolTip += "<br><i>Links to:</i>  " + formatOutStructureAt(node, intergeom) +
+							"<br><i>Link here:</i> " + formatInStructureAt(node, intergeom);
 				if (!intergeom.interCompSame) {
 					Geometry compgeom = module.getCompetitionGeometry();
 					if (compgeom.isUndirected)
-						toolTip += "<br><i>Competitors:</i> " + formatStructureAt(node, compgeom.out, compgeom.kout);
+						toolTip += "<br><i>Competitors:</i> " + formatOutStructureAt(node, compgeom);
 					else
-						toolTip += "<br><i>Competes for:</i>  " + formatStructureAt(node, compgeom.out, compgeom.kout) +
-								"<br><i>Compete here:</i> " + formatStructureAt(node, compgeom.in, compgeom.kin);
+						toolTip += "<br><i>Competes for:</i>  " + formatOutStructureAt(node, compgeom) +
+								"<br><i>Compete here:</i> " + formatInStructureAt(node, compgeom);
 				}
 				return toolTip;
 
@@ -431,11 +431,17 @@ public class MVPop2D extends MVAbstract implements PopListener {
 		}
 	}
 
-	private static String formatStructureAt(int node, int[][] structure, int[] degree) {
-		if (structure == null)
+	private static String formatOutStructureAt(int node, Geometry geom) {
+		return formatStructureAt(geom.getOutAt(node, null), geom.kout[node], geom.getType());
+	}
+
+	private static String formatInStructureAt(int node, Geometry geom) {
+		return formatStructureAt(geom.getInAt(node, null), geom.kin[node], geom.getType());
+	}
+
+	private static String formatStructureAt(int[] links, int k, Geometry.Type type) {
+		if (type == Geometry.Type.MEANFIELD)
 			return "well-mixed";
-		int k = degree[node];
-		int[] links = structure[node];
 		String msg;
 		switch (k) {
 			case 0:
@@ -119,7 +119,15 @@ public interface MultiView {
 		/**
 		 * Report the statistics of fixation times.
 		 */
-		STAT_TIMES("stattimes", "statistics of fixation times");
+		STAT_TIMES("stattimes", "statistics of fixation times"),
+
+		/**
+		 * Report the endpoints and basins of attraction of an ensemble of random
+		 * initial conditions (ODE only).
+		 * 
+		 * @see org.evoludo.simulator.models.ODEEnsemble
+		 */
+		BASINS("basins", "basins of attraction of random initial conditions");
 
 		/**
 		 * Key of data types. Used when parsing command line options.
@@ -202,6 +210,9 @@ public interface MultiView {
 			dataOutputs.add(DataTypes.STAT_UPDATES);
 			dataOutputs.add(DataTypes.STAT_TIMES);
 		}
+		// basins of attraction
+		if (model instanceof ODE && model.getType().isODE())
+			dataOutputs.add(DataTypes.BASINS);
 		return dataOutputs.toArray(new DataTypes[0]);
 	}
 }
@@ -32,7 +32,9 @@ package org.evoludo.simulator.exec;
 
 import java.io.File;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.evoludo.graphics.AbstractGraph;
 import org.evoludo.math.ArrayMath;
@@ -40,6 +42,7 @@ import org.evoludo.math.Distributions;
 import org.evoludo.simulator.EvoLudo;
 import org.evoludo.simulator.EvoLudoJRE;
 import org.evoludo.simulator.Geometry;
+import org.evoludo.simulator.ScanExecutor;
 import org.evoludo.simulator.models.IBSC.Init;
 import org.evoludo.simulator.models.IBSCPopulation;
 import org.evoludo.simulator.modules.CSD;
@@ -208,15 +211,7 @@ public class scanCSD extends CSD {
 	@Override
 	public void run() {
 		out = ((EvoLudoJRE) engine).getOutput();
-		// assumes IBS simulations
-		cpop = (IBSCPopulation) getIBSPopulation();
-		double[] bparams = traits2payoff.getBenefitParameters()[0];
-		double[] cparams = traits2payoff.getCostParameters()[0];
-
-		// initialization
-		Init init = cpop.getInit();
-		double iMean = init.getArgs()[0][TRAIT_MEAN];
-		boolean initHigh = false;
+		prepare();
 
 		// print header
 		engine.writeHeader();
@@ -224,20 +219,9 @@ public class scanCSD extends CSD {
 		// print result legend
 		out.println("# tend\tb1\tb2\tc1\tc2\tmean\tsdev\ttype");
 
-		long prev = progress ? System.currentTimeMillis() : 0L;
-		final int SAMPLES = 11;
-		double reportFreq = model.getTimeStep();
-		double timeStop = model.getTimeStop();// -(SAMPLES-1)*reportFreq;
-		double sdev = mutation.range;
-		// note: sdev is already normalized; for small mutation rates the threshold of
-		// 2*sdev is too conservative
-		double lowMonoThreshold = Math.max(0.01, 2.0 * sdev);
-		double highMonoThreshold = 1.0 - lowMonoThreshold;
-		double lowmean = -1.0;
-		double lowstdev = -1.0;
-		double[] lowstatistics = null;
+		// collect grid points
+		List<double[]> grid = new ArrayList<>();
 		double b1 = b1Start;
-		boolean isBistable = false;
 		while (Math.abs(b1) - Math.abs(b1End) < 1e-4) {
 			double b2 = b2Start;
 			while (Math.abs(b2) - Math.abs(b2End) < 1e-4) {
@@ -245,166 +229,7 @@ public class scanCSD extends CSD {
 				while (Math.abs(c1) - Math.abs(c1End) < 1e-4) {
 					double c2 = c2Start;
 					while (Math.abs(c2) - Math.abs(c2End) < 1e-4) {
-						// set parameters
-						bparams[0] = b1;
-						bparams[1] = b2;
-						cparams[0] = c1;
-						cparams[1] = c2;
-						traits2payoff.setBenefitParameters(bparams, 0);
-						traits2payoff.setCostParameters(cparams, 0);
-						// initialize population
-						double[] myinit = init.getArgs()[0];
-						if (initHigh)
-							myinit[TRAIT_MEAN] = getTraitMax()[0] - iMean;
-						else
-							myinit[TRAIT_MEAN] = iMean;
-						engine.modelReset();
-
-						// evolve population
-						engine.modelRelax();
-						while (model.getUpdates() < timeStop) {
-							engine.modelNext();
-							int g = (int) model.getUpdates();
-							if (snapinterval > 0 && g % snapinterval == 0) {
-								// save snapshot
-								saveSnapshot();
-							}
-							if (progress) {
-								long now = System.currentTimeMillis();
-								if (now - prev > 1000 || g % 1000 == 0) {
-									prev = now;
-									engine.logProgress(g + "/" + (timeStop + (SAMPLES - 1) * reportFreq) + " done");
-								}
-							}
-							// to speed things up, check every 1000 generations whether trait minimum or
-							// maximum has been reached more precisely, whether mean trait <lowMonoThreshold
-							// or >highMonoThreshold
-							if (g % 1000 == 0) {
-								double[] tmp = new double[2 * nTraits];
-								double mean = cpop.getMeanTraits(tmp)[0];
-								double tmin = getTraitMin()[0];
-								double tmax = getTraitMax()[0];
-								if (mean < lowMonoThreshold
-										&& cpop.getMaxTraits(tmp)[0] < tmin + 0.1 * (tmax - tmin))
-									break;
-								if (mean > highMonoThreshold
-										&& cpop.getMinTraits(tmp)[0] < tmax - 0.1 * (tmax - tmin))
-									break;
-							}
-						}
-						// analyze population
-						String msg;
-						// - create histogram (potentially after averaging over several generations)
-						// - calculate statistical quantities (potentially over several generations)
-						double[] statistics = new double[nPopulation];
-						cpop.addState(statistics);
-						for (int n = 1; n < SAMPLES; n++) {
-							engine.modelNext();
-							cpop.addState(statistics);
-						}
-						ArrayMath.multiply(statistics, 1.0 / SAMPLES);
-						double mean = Distributions.mean(statistics);
-						double stdev = Distributions.stdev(statistics, mean);
-						if (snapinterval < 0)
-							saveSnapshot();
-						if (mean < lowMonoThreshold) {
-							// investments converged to zero
-							if (!initHigh) {
-								// check for bi-stability by starting with high investment levels
-								initHigh = true;
-								lowmean = mean;
-								lowstdev = stdev;
-								lowstatistics = statistics;
-								continue;
-							}
-							// monomorphic state, minimum investments
-							msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6) + "\tmonomorphic";
-						} else if (mean > highMonoThreshold) {
-							if (initHigh) {
-								// must be bistable, otherwise initHigh would be false
-								msg = "-2\t-1\tbistable";
-								if (snapinterval < 0)
-									saveSnapshot();
-								isBistable = true;
-							} else {
-								// monomorphic state, maximum investments
-								msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6)
-										+ "\tmonomorphic";
-							}
-						} else {
-							if (initHigh) {
-								// low initial investments converged to zero; high initial investments did not
-								// stay high
-								// hence likely insufficient time to converge to low investments
-								// note: argument only works for linear or quadratic cost/benefit functions
-								// where traits
-								// always converge to extreme values except for ESS
-								// report results for first run because more reliable
-								msg = Formatter.formatFix(lowmean, 6) + "\t" + Formatter.formatFix(lowstdev, 6)
-										+ "\tmonomorphic";
-								statistics = lowstatistics;
-							} else {
-								// intermediate investment levels
-								double bimodal = Distributions.bimodality(statistics, mean);
-								if (bimodal > 5.0 / 9.0) {
-									// likely bi-modal distribution
-									msg = Formatter.formatFix(-mean, 6) + "\t" + Formatter.formatFix(stdev, 6) +
-											"\tbranching (" + Formatter.format(bimodal, 6) + ")";
-								} else {
-									// likely monomorphic distribution
-									msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6) +
-											"\tmonomorphic (" + Formatter.format(bimodal, 6) + ")";
-								}
-							}
-						}
-
-						// print results
-						// "# b1 b2 c1 c2 mean sdev type"
-						out.println((int) model.getUpdates() + "\t" + Formatter.format(bparams[0], 4) + "\t"
-								+ Formatter.format(bparams[1], 4) + "\t" +
-								Formatter.format(cparams[0], 4) + "\t" + Formatter.format(cparams[1], 4) + "\t" +
-								msg);
-
-						if (printDistr)
-							printState(statistics, isBistable ? lowstatistics : null);
-						// if( snapinterval<0 ) saveSnapshot();
-						// DEBUG
-						// double n = strategies.length;
-						// double tot = ChHMath.norm(strategies);
-						// double m1 = ChHMath.centralMoment(strategies, 1);
-						// double m2 = ChHMath.centralMoment(strategies, mean, 2);
-						// double m3 = ChHMath.centralMoment(strategies, mean, 3);
-						// double m4 = ChHMath.centralMoment(strategies, mean, 4);
-						// double sdev = Math.sqrt(m2);
-						// double skew = m3/ChHMath.pow(sdev, 3);
-						// double ekurt = m4/(m2*m2)-3.0;
-						// double bimod = (skew*skew+1)/(ekurt+3*(n-1)*(n-1)/((n-2)*(n-3)));
-						// msg = "tot: "+ChHFormatter.format(tot, 6)+"\n";
-						// msg += "n: "+ChHFormatter.format(n, 0)+"\n";
-						// msg += "m1: "+ChHFormatter.format(m1, 6)+"\n";
-						// msg += "m2: "+ChHFormatter.format(m2, 6)+"\n";
-						// msg += "m3: "+ChHFormatter.format(m3, 6)+"\n";
-						// msg += "m4: "+ChHFormatter.format(m4, 6)+"\n";
-						// msg += "mean: "+ChHFormatter.format(mean, 6)+"\n";
-						// msg += "stdev: "+ChHFormatter.format(sdev,
-						// 6)+"\t("+ChHFormatter.format(ChHMath.stdev(strategies), 6)+")\n";
-						// msg += "skew: "+ChHFormatter.format(skew,
-						// 6)+"\t("+ChHFormatter.format(ChHMath.skewness(strategies), 6)+")\n";
-						// msg += "ekurt: "+ChHFormatter.format(ekurt,
-						// 6)+"\t("+ChHFormatter.format(ChHMath.kurtosis(strategies)-3.0, 6)+")\n";
-						// msg += "bimod: "+ChHFormatter.format(bimod,
-						// 6)+"\t("+ChHFormatter.format(ChHMath.bimodality(strategies), 6)+")\n";
-						// msg += "{ "+ChHFormatter.format(strategies[0], 6);
-						// for( int i=1; i<nPopulation; i++ ) msg += ", "+strategies[i];
-						// msg += " }";
-						// output.println(msg);
-						// ENDDEBUG
-						// reset stuff
-						initHigh = false;
-						lowmean = -1;
-						lowstdev = -1;
-						lowstatistics = null;
-						isBistable = false;
+						grid.add(new double[] { b1, b2, c1, c2 });
 						// next parameter set
 						if (Double.isNaN(c2Incr))
 							break;
@@ -422,10 +247,231 @@ public class scanCSD extends CSD {
 				break;
 			b1 = (b1Log ? b1 * b1Incr : b1 + b1Incr);
 		}
+		if (((EvoLudoJRE) engine).cloThreads.isSet()) {
+			// scan grid points in parallel
+			new ScanExecutor<>((EvoLudoJRE) engine, this, scanCSD::new).scan(grid.size(), (sim, idx) -> {
+				sim.prepare();
+				return sim.scanPoint(grid.get(idx));
+			});
+		} else {
+			for (double[] point : grid) {
+				out.println(scanPoint(point));
+				out.flush();
+			}
+		}
 		engine.writeFooter();
 		engine.exportState();
 	}
 
+	/**
+	 * The initial mean trait.
+	 */
+	double iMean;
+
+	/**
+	 * The time of the last progress report.
+	 */
+	long prev;
+
+	/**
+	 * Prepare the scan. This is called by {@link #run()} as well as by every
+	 * replica when scanning in parallel. Note, the initial mean trait must only be
+	 * retrieved once because {@link #scanPoint(double[])} modifies the
+	 * initialization arguments.
+	 */
+	void prepare() {
+		if (cpop != null)
+			return;
+		// assumes IBS simulations
+		cpop = (IBSCPopulation) getIBSPopulation();
+		iMean = cpop.getInit().getArgs()[0][TRAIT_MEAN];
+		prev = progress ? System.currentTimeMillis() : 0L;
+	}
+
+	/**
+	 * Sample the grid point {@code point} with the benefit and cost parameters
+	 * {@code {b1, b2, c1, c2}}. If investments converge to zero the simulation is
+	 * repeated with high initial investments to check for bi-stability.
+	 * 
+	 * @param point the benefit and cost parameters
+	 * @return the formatted results for the grid point
+	 */
+	String scanPoint(double[] point) {
+		double[] bparams = traits2payoff.getBenefitParameters()[0];
+		double[] cparams = traits2payoff.getCostParameters()[0];
+		Init init = cpop.getInit();
+		final int SAMPLES = 11;
+		double reportFreq = model.getTimeStep();
+		double timeStop = model.getTimeStop();// -(SAMPLES-1)*reportFreq;
+		double sdev = mutation.range;
+		// note: sdev is already normalized; for small mutation rates the threshold of
+		// 2*sdev is too conservative
+		double lowMonoThreshold = Math.max(0.01, 2.0 * sdev);
+		double highMonoThreshold = 1.0 - lowMonoThreshold;
+		double lowmean = -1.0;
+		double lowstdev = -1.0;
+		double[] lowstatistics = null;
+		boolean initHigh = false;
+		boolean isBistable = false;
+		while (true) {
+			// set parameters
+			bparams[0] = point[0];
+			bparams[1] = point[1];
+			cparams[0] = point[2];
+			cparams[1] = point[3];
+			traits2payoff.setBenefitParameters(bparams, 0);
+			traits2payoff.setCostParameters(cparams, 0);
+			// initialize population
+			double[] myinit = init.getArgs()[0];
+			if (initHigh)
+				myinit[TRAIT_MEAN] = getTraitMax()[0] - iMean;
+			else
+				myinit[TRAIT_MEAN] = iMean;
+			engine.modelReset();
+
+			// evolve population
+			engine.modelRelax();
+			while (model.getUpdates() < timeStop) {
+				engine.modelNext();
+				int g = (int) model.getUpdates();
+				if (snapinterval > 0 && g % snapinterval == 0) {
+					// save snapshot
+					saveSnapshot();
+				}
+				if (progress) {
+					long now = System.currentTimeMillis();
+					if (now - prev > 1000 || g % 1000 == 0) {
+						prev = now;
+						engine.logProgress(g + "/" + (timeStop + (SAMPLES - 1) * reportFreq) + " done");
+					}
+				}
+				// to speed things up, check every 1000 generations whether trait minimum or
+				// maximum has been reached more precisely, whether mean trait <lowMonoThreshold
+				// or >highMonoThreshold
+				if (g % 1000 == 0) {
+					double[] tmp = new double[2 * nTraits];
+					double mean = cpop.getMeanTraits(tmp)[0];
+					double tmin = getTraitMin()[0];
+					double tmax = getTraitMax()[0];
+					if (mean < lowMonoThreshold
+							&& cpop.getMaxTraits(tmp)[0] < tmin + 0.1 * (tmax - tmin))
+						break;
+					if (mean > highMonoThreshold
+							&& cpop.getMinTraits(tmp)[0] < tmax - 0.1 * (tmax - tmin))
+						break;
+				}
+			}
+			// analyze population
+			String msg;
+			// - create histogram (potentially after averaging over several generations)
+			// - calculate statistical quantities (potentially over several generations)
+			double[] statistics = new double[nPopulation];
+			cpop.addState(statistics);
+			for (int n = 1; n < SAMPLES; n++) {
+				engine.modelNext();
+				cpop.addState(statistics);
+			}
+			ArrayMath.multiply(statistics, 1.0 / SAMPLES);
+			double mean = Distributions.mean(statistics);
+			double stdev = Distributions.stdev(statistics, mean);
+			if (snapinterval < 0)
+				saveSnapshot();
+			if (mean < lowMonoThreshold) {
+				// investments converged to zero
+				if (!initHigh) {
+					// check for bi-stability by starting with high investment levels
+					initHigh = true;
+					lowmean = mean;
+					lowstdev = stdev;
+					lowstatistics = statistics;
+					continue;
+				}
+				// monomorphic state, minimum investments
+				msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6) + "\tmonomorphic";
+			} else if (mean > highMonoThreshold) {
+				if (initHigh) {
+					// must be bistable, otherwise initHigh would be false
+					msg = "-2\t-1\tbistable";
+					if (snapinterval < 0)
+						saveSnapshot();
+					isBistable = true;
+				} else {
+					// monomorphic state, maximum investments
+					msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6)
+							+ "\tmonomorphic";
+				}
+			} else {
+				if (initHigh) {
+					// low initial investments converged to zero; high initial investments did not
+					// stay high
+					// hence likely insufficient time to converge to low investments
+					// note: argument only works for linear or quadratic cost/benefit functions
+					// where traits
+					// always converge to extreme values except for ESS
+					// report results for first run because more reliable
+					msg = Formatter.formatFix(lowmean, 6) + "\t" + Formatter.formatFix(lowstdev, 6)
+							+ "\tmonomorphic";
+					statistics = lowstatistics;
+				} else {
+					// intermediate investment levels
+					double bimodal = Distributions.bimodality(statistics, mean);
+					if (bimodal > 5.0 / 9.0) {
+						// likely bi-modal distribution
+						msg = Formatter.formatFix(-mean, 6) + "\t" + Formatter.formatFix(stdev, 6) +
+								"\tbranching (" + Formatter.format(bimodal, 6) + ")";
+					} else {
+						// likely monomorphic distribution
+						msg = Formatter.formatFix(mean, 6) + "\t" + Formatter.formatFix(stdev, 6) +
+								"\tmonomorphic (" + Formatter.format(bimodal, 6) + ")";
+					}
+				}
+			}
+
+			// format results
+			// "# b1 b2 c1 c2 mean sdev type"
+			msg = (int) model.getUpdates() + "\t" + Formatter.format(bparams[0], 4) + "\t"
+					+ Formatter.format(bparams[1], 4) + "\t" +
+					Formatter.format(cparams[0], 4) + "\t" + Formatter.format(cparams[1], 4) + "\t" +
+					msg;
+
+			if (printDistr)
+				msg += "\n" + formatState(statistics, isBistable ? lowstatistics : null);
+			// if( snapinterval<0 ) saveSnapshot();
+			// DEBUG
+			// double n = strategies.length;
+			// double tot = ChHMath.norm(strategies);
+			// double m1 = ChHMath.centralMoment(strategies, 1);
+			// double m2 = ChHMath.centralMoment(strategies, mean, 2);
+			// double m3 = ChHMath.centralMoment(strategies, mean, 3);
+			// double m4 = ChHMath.centralMoment(strategies, mean, 4);
+			// double sdev = Math.sqrt(m2);
+			// double skew = m3/ChHMath.pow(sdev, 3);
+			// double ekurt = m4/(m2*m2)-3.0;
+			// double bimod = (skew*skew+1)/(ekurt+3*(n-1)*(n-1)/((n-2)*(n-3)));
+			// msg = "tot: "+ChHFormatter.format(tot, 6)+"\n";
+			// msg += "n: "+ChHFormatter.format(n, 0)+"\n";
+			// msg += "m1: "+ChHFormatter.format(m1, 6)+"\n";
+			// msg += "m2: "+ChHFormatter.format(m2, 6)+"\n";
+			// msg += "m3: "+ChHFormatter.format(m3, 6)+"\n";
+			// msg += "m4: "+ChHFormatter.format(m4, 6)+"\n";
+			// msg += "mean: "+ChHFormatter.format(mean, 6)+"\n";
+			// msg += "stdev: "+ChHFormatter.format(sdev,
+			// 6)+"\t("+ChHFormatter.format(ChHMath.stdev(strategies), 6)+")\n";
+			// msg += "skew: "+ChHFormatter.format(skew,
+			// 6)+"\t("+ChHFormatter.format(ChHMath.skewness(strategies), 6)+")\n";
+			// msg += "ekurt: "+ChHFormatter.format(ekurt,
+			// 6)+"\t("+ChHFormatter.format(ChHMath.kurtosis(strategies)-3.0, 6)+")\n";
+			// msg += "bimod: "+ChHFormatter.format(bimod,
+			// 6)+"\t("+ChHFormatter.format(ChHMath.bimodality(strategies), 6)+")\n";
+			// msg += "{ "+ChHFormatter.format(strategies[0], 6);
+			// for( int i=1; i<nPopulation; i++ ) msg += ", "+strategies[i];
+			// msg += " }";
+			// output.println(msg);
+			// ENDDEBUG
+			return msg;
+		}
+	}
+
 	/**
 	 * Print the distributions of the strategies. In order to identify
 	 * bi-stability two complementary runs with low and high initial
@@ -436,6 +482,18 @@ public class scanCSD extends CSD {
 	 * @param low  the trait distribution for low investments
 	 */
 	public void printState(double[] stat, double[] low) {
+		out.println(formatState(stat, low));
+	}
+
+	/**
+	 * Format the distributions of the strategies, see
+	 * {@link #printState(double[], double[])}.
+	 * 
+	 * @param stat the trait distribution
+	 * @param low  the trait distribution for low investments
+	 * @return the formatted distributions
+	 */
+	String formatState(double[] stat, double[] low) {
 		double[] bins = new double[nBins + 1];
 		double scale = nBins;
 		String msg = "# " + (int) engine.getModel().getUpdates() + ":";
@@ -455,7 +513,7 @@ public class scanCSD extends CSD {
 			bins[(int) (stat[i] * scale + 0.5)] += incr;
 		for (int n = 0; n <= nBins; n++)
 			msg += "\t" + bins[n];
-		out.println(msg);
+		return msg;
 	}
 
 	// public void printState() {
@@ -37,6 +37,7 @@ import java.util.logging.Level;
 import org.evoludo.math.ArrayMath;
 import org.evoludo.simulator.EvoLudo;
 import org.evoludo.simulator.EvoLudoJRE;
+import org.evoludo.simulator.ScanExecutor;
 import org.evoludo.simulator.models.ChangeListener;
 import org.evoludo.simulator.models.DModel;
 import org.evoludo.simulator.modules.CDL;
@@ -152,7 +153,6 @@ public class simCDL extends CDL implements ChangeListener {
 		// double incr = Math.max(1.0, nPopulation*0.05);
 
 		double timeStop = model.getTimeStop();
-		double timeRelax = model.getTimeRelax();
 		if (nSteps > 0) {
 			// even if seed was set, we need to clear the flag here otherwise subsequent
 			// calls to modelReset() will keep generating the same initial configuration!
@@ -248,54 +248,89 @@ public class simCDL extends CDL implements ChangeListener {
 			((EvoLudoJRE) engine).exit(0);
 		}
 		if (scanNL != null) {
-			mean = new double[nTraits];
-			variance = new double[nTraits];
-			state = new double[nTraits];
+			prepare();
 			progress |= (logger.getLevel().intValue() <= Level.FINE.intValue());
-			int tot = (int) ((scanNL[1] - scanNL[0]) / scanNL[2]) + 1;
-			int done = 0;
-			timeStop += timeRelax;
 			out.println("# average frequencies\n# a\tr\tL\tD\tC\tT");
+			// accumulate increments to reproduce grid points of sequential scans
+			int tot = 0;
+			for (double a = scanNL[0]; Math.abs(a) < Math.abs(scanNL[1] + scanNL[2]); a += scanNL[2])
+				tot++;
+			double[] as = new double[tot];
 			double a = scanNL[0];
-			while (Math.abs(a) < Math.abs(scanNL[1] + scanNL[2])) {
-				double r = (interest(1) + interest(nGroup)) * 0.5;
-				setInterest(r - a, r + a);
-				engine.modelReset();
-				resetStatistics();
-				// relax population
-				boolean converged = engine.modelRelax();
-				startStatistics();
-				if (!converged) {
-					while (engine.modelNext()) {
-						// loop until converged (or timeend reached)
-					}
-				}
-				if (model.hasConverged()) {
-					// model converged (ODE only with mu>0) - mean is current state and sdev is zero
-					model.getMeanTraits(getID(), mean);
-					Arrays.fill(variance, 0.0);
-				}
-				StringBuilder sb = new StringBuilder();
-				sb.append(Formatter.format(a, 4)).append("\t").append(Formatter.format(r, 4));
-				double time = Math.max(engine.getModel().getUpdates(), timeStop);
-				for (int n = 0; n < nTraits; n++) {
-					sb.append("\t").append(Formatter.format(mean[n], 6))
-							.append("\t")
-							.append(Formatter.format(Math.sqrt(variance[n] / (time - timeRelax - 1.0)), 6));
-				}
-				out.println(sb.toString());
-				out.flush();
-				done++;
-				if (progress)
-					System.err.printf("progress %d/%d done                    \r", done, tot);
+			for (int n = 0; n < tot; n++) {
+				as[n] = a;
 				a += scanNL[2];
 			}
+			if (((EvoLudoJRE) engine).cloThreads.isSet()) {
+				// scan grid points in parallel
+				new ScanExecutor<>((EvoLudoJRE) engine, this, simCDL::new).scan(tot, (sim, idx) -> {
+					sim.prepare();
+					return sim.scanNL(as[idx]);
+				});
+			} else {
+				for (int n = 0; n < tot; n++) {
+					out.println(scanNL(as[n]));
+					out.flush();
+					if (progress)
+						System.err.printf("progress %d/%d done                    \r", n + 1, tot);
+				}
+			}
 			engine.writeFooter();
 			engine.exportState();
 			((EvoLudoJRE) engine).exit(0);
 		}
 	}
 
+	/**
+	 * Prepare the scan of non-linearities. This is called by {@link #run()} as well
+	 * as by every replica when scanning in parallel.
+	 */
+	void prepare() {
+		model.setTimeStep(1.0);
+		mean = new double[nTraits];
+		variance = new double[nTraits];
+		state = new double[nTraits];
+	}
+
+	/**
+	 * Sample the non-linearity {@code a} of the public goods game, i.e. the
+	 * multiplication factors in groups of size {@code 1} and {@code nGroup} differ
+	 * by {@code 2a}.
+	 * 
+	 * @param a the non-linearity
+	 * @return the formatted average frequencies of all traits
+	 */
+	String scanNL(double a) {
+		double timeRelax = model.getTimeRelax();
+		double timeStop = model.getTimeStop() + timeRelax;
+		double r = (interest(1) + interest(nGroup)) * 0.5;
+		setInterest(r - a, r + a);
+		engine.modelReset();
+		resetStatistics();
+		// relax population
+		boolean converged = engine.modelRelax();
+		startStatistics();
+		if (!converged) {
+			while (engine.modelNext()) {
+				// loop until converged (or timeend reached)
+			}
+		}
+		if (model.hasConverged()) {
+			// model converged (ODE only with mu>0) - mean is current state and sdev is zero
+			model.getMeanTraits(getID(), mean);
+			Arrays.fill(variance, 0.0);
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(Formatter.format(a, 4)).append("\t").append(Formatter.format(r, 4));
+		double time = Math.max(engine.getModel().getUpdates(), timeStop);
+		for (int n = 0; n < nTraits; n++) {
+			sb.append("\t").append(Formatter.format(mean[n], 6))
+					.append("\t")
+					.append(Formatter.format(Math.sqrt(variance[n] / (time - timeRelax - 1.0)), 6));
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Temporary variables for fixation probabilities and absorption times.
 	 */
@@ -456,6 +491,9 @@ public class simCDL extends CDL implements ChangeListener {
 		@Override
 		public void init() {
 			super.init();
+			// initial trait counts are only set when measuring absorption probabilities
+			if (initcount == null)
+				return;
 			int[] todo = new int[nPopulation];
 			for (int n = 0; n < nPopulation; n++)
 				todo[n] = n;
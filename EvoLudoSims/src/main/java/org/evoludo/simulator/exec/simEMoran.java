@@ -218,7 +218,8 @@ public class simEMoran extends EcoMoran implements ChangeListener {
 		List<String> values = Arrays.stream(scores.split(","))
 				.map(String::trim)
 				.collect(Collectors.toList());
-		int[][] outNodes = engine.getModule().getGeometry().out;
+		Geometry geometry = engine.getModule().getGeometry();
+		int[] mem = new int[Math.max(geometry.maxOut, 0)];
 		double nvv = 0.0;
 		double nav = 0.0;
 		double naa = 0.0;
@@ -228,8 +229,10 @@ public class simEMoran extends EcoMoran implements ChangeListener {
 			if (node.equals(successString)) {
 				na++;
 			}
-			for (int adj : outNodes[n]) {
-				String adjNode = values.get(adj);
+			int[] outNodes = geometry.getOutAt(n, mem);
+			int nOut = geometry.kout[n];
+			for (int i = 0; i < nOut; i++) {
+				String adjNode = values.get(outNodes[i]);
 				if (node.equals(successString)) {
 					if (adjNode.equals(successString)) {
 						naa++;
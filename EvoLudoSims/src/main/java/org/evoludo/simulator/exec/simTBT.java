@@ -42,6 +42,7 @@ import javax.imageio.ImageIO;
 import org.evoludo.graphics.AbstractGraph;
 import org.evoludo.simulator.EvoLudo;
 import org.evoludo.simulator.EvoLudoJRE;
+import org.evoludo.simulator.ScanExecutor;
 import org.evoludo.simulator.models.ChangeListener;
 import org.evoludo.simulator.modules.TBT;
 import org.evoludo.simulator.views.MVPop2D;
@@ -120,18 +121,15 @@ public class simTBT extends TBT implements ChangeListener {
 			return;
 		}
 		// initialize
-		out = ((EvoLudoJRE) engine).getOutput();
-		ibs = (org.evoludo.simulator.models.IBS) model;
+		prepare();
 
 		// print header
 		engine.writeHeader();
 
-		// prepare for several runs
-		mean = new double[nTraits];
-		var = new double[nTraits];
-		state = new double[nTraits];
 		progress |= (logger.getLevel().intValue() <= Level.FINE.intValue());
 		boolean converged = false;
+		// scan grid points in parallel if number of threads requested
+		boolean parallel = ((EvoLudoJRE) engine).cloThreads.isSet();
 
 		if (scanDG != null) {
 			setPayoff(1.0, COOPERATE, COOPERATE);
@@ -140,110 +138,91 @@ public class simTBT extends TBT implements ChangeListener {
 			for (int n = 0; n < nTraits; n++)
 				sb.append(getTraitName(n)).append("\t");
 			out.println(sb.toString());
-			double r = scanDG[0];
-			while (r < scanDG[1] + scanDG[2]) {
-				setPayoff(-r, COOPERATE, DEFECT);
-				setPayoff(1.0 + r, DEFECT, COOPERATE);
-				Arrays.fill(mean, 0.0);
-				Arrays.fill(var, 0.0);
-				// relax population
-				if (converged) {
-					// restore original relaxation time
-					engine.modelReset();
-					converged = engine.modelRelax();
-				} else {
-					// if simulations did not converge, keep configuration, only reset time
-					// and adjust min/max scores as well as update scores of all individuals
-					// to new payoffs.
-					ibs.init(true);
-					// should be fine to reduce relaxation time
-					double relax = model.getTimeRelax();
-					model.setTimeRelax(relax * 0.5);
-					converged = engine.modelRelax();
-					model.setTimeRelax(relax);
-				}
-				prevsample = ibs.getUpdates();
-				if (converged) {
-					// simulations converged already - mean is current state and sdev is zero
-					model.getMeanTraits(getID(), mean);
-				} else {
-					while ((converged = !engine.modelNext())) {
-						// loop until converged (or timeend reached)
-					}
-				}
-				sb.setLength(0);
-				sb.append(Formatter.format(r, 3));
-				for (int n = 0; n < nTraits; n++) {
-					sb.append("\t")
-							.append(Formatter.format(mean[n], 6))
-							.append("\t")
-							.append(Formatter.format(Math.sqrt(var[n]), 6));
-				}
-				out.println(sb);
-				out.flush();
-				if (progress)
-					System.err.printf("progress %d/%d done                    \r",
-							(int) ((r - scanDG[0]) / scanDG[2] + 0.5),
-							(int) ((scanDG[1] - scanDG[0]) / scanDG[2] + 1.5));
-				r += scanDG[2];
-			}
-			out.println("# generations @ end: " + Formatter.formatSci(ibs.getUpdates(), 6));
-			engine.writeFooter();
-			engine.exportState();
-			return;
-		}
-
-		if (scanST != null) {
-			setPayoff(1.0, COOPERATE, COOPERATE);
-			setPayoff(0.0, DEFECT, DEFECT);
-			StringBuilder sb = new StringBuilder("# average +/- sdev frequencies\n# S\tT\t");
-			for (int n = 0; n < nTraits; n++)
-				sb.append(getName()).append(".").append(getTraitName(n)).append("\t");
-			out.println(sb);
-			double s = scanST[0];
-			while (s < scanST[1] + scanST[2]) {
-				setPayoff(s, COOPERATE, DEFECT);
-				double t = scanST[3 % scanST.length];
-				while (t < scanST[4 % scanST.length] + scanST[5 % scanST.length]) {
-					setPayoff(t, DEFECT, COOPERATE);
+			if (parallel) {
+				// grid points are independent; each point starts from a reset
+				double[] rs = scanGrid(scanDG[0], scanDG[1], scanDG[2]);
+				new ScanExecutor<>((EvoLudoJRE) engine, this, simTBT::new).scan(rs.length, (sim, idx) -> {
+					sim.prepare();
+					sim.setPayoff(1.0, COOPERATE, COOPERATE);
+					sim.setPayoff(0.0, DEFECT, DEFECT);
+					sim.setPayoff(-rs[idx], COOPERATE, DEFECT);
+					sim.setPayoff(1.0 + rs[idx], DEFECT, COOPERATE);
+					return sim.scanPoint(Formatter.format(rs[idx], 3));
+				});
+			} else {
+				double r = scanDG[0];
+				while (r < scanDG[1] + scanDG[2]) {
+					setPayoff(-r, COOPERATE, DEFECT);
+					setPayoff(1.0 + r, DEFECT, COOPERATE);
 					Arrays.fill(mean, 0.0);
 					Arrays.fill(var, 0.0);
-					engine.modelReset();
 					// relax population
-					converged = engine.modelRelax();
+					if (converged) {
+						// restore original relaxation time
+						engine.modelReset();
+						converged = engine.modelRelax();
+					} else {
+						// if simulations did not converge, keep configuration, only reset time
+						// and adjust min/max scores as well as update scores of all individuals
+						// to new payoffs.
+						ibs.init(true);
+						// should be fine to reduce relaxation time
+						double relax = model.getTimeRelax();
+						model.setTimeRelax(relax * 0.5);
+						converged = engine.modelRelax();
+						model.setTimeRelax(relax);
+					}
 					prevsample = ibs.getUpdates();
 					if (converged) {
 						// simulations converged already - mean is current state and sdev is zero
 						model.getMeanTraits(getID(), mean);
 					} else {
-						while (engine.modelNext()) {
+						while ((converged = !engine.modelNext())) {
 							// loop until converged (or timeend reached)
 						}
 					}
 					sb.setLength(0);
-					sb.append(Formatter.format(s, 2))
-							.append("\t")
-							.append(Formatter.format(t, 2));
-					for (int n = 0; n < nTraits; n++) {
-						sb.append("\t")
-								.append(Formatter.format(mean[n], 6))
-								.append("\t")
-								.append(Formatter.format(Math.sqrt(var[n]), 6));
-					}
+					sb.append(Formatter.format(r, 3));
+					appendMeanSdev(sb);
 					out.println(sb);
 					out.flush();
-					if (progress) {
-						int stepss = (int) ((scanST[1] - scanST[0]) / scanST[2] + 1.5);
-						int stepst = (int) ((scanST[4 % scanST.length] - scanST[3 % scanST.length])
-								/ scanST[5 % scanST.length] + 1.5);
+					if (progress)
 						System.err.printf("progress %d/%d done                    \r",
-								(int) ((s - scanST[0]) / scanST[2] + 0.5) * stepst
-										+ (int) ((t - scanST[3 % scanST.length]) / scanST[5 % scanST.length] + 0.5),
-								stepss * stepst);
+								(int) ((r - scanDG[0]) / scanDG[2] + 0.5),
+								(int) ((scanDG[1] - scanDG[0]) / scanDG[2] + 1.5));
+					r += scanDG[2];
+				}
+			}
+			out.println("# generations @ end: " + Formatter.formatSci(ibs.getUpdates(), 6));
+			engine.writeFooter();
+			engine.exportState();
+			return;
+		}
+
+		if (scanST != null) {
+			StringBuilder sb = new StringBuilder("# average +/- sdev frequencies\n# S\tT\t");
+			for (int n = 0; n < nTraits; n++)
+				sb.append(getName()).append(".").append(getTraitName(n)).append("\t");
+			out.println(sb);
+			double[] ss = scanGrid(scanST[0], scanST[1], scanST[2]);
+			double[] ts = scanGrid(scanST[3 % scanST.length], scanST[4 % scanST.length],
+					scanST[5 % scanST.length]);
+			if (parallel) {
+				new ScanExecutor<>((EvoLudoJRE) engine, this, simTBT::new).scan(ss.length * ts.length,
+						(sim, idx) -> {
+							sim.prepare();
+							return sim.scanST(ss[idx / ts.length], ts[idx % ts.length]);
+						});
+			} else {
+				for (int i = 0; i < ss.length; i++) {
+					for (int j = 0; j < ts.length; j++) {
+						out.println(scanST(ss[i], ts[j]));
+						out.flush();
+						if (progress)
+							System.err.printf("progress %d/%d done                    \r", i * ts.length + j,
+									ss.length * ts.length);
 					}
-					t += scanST[5 % scanST.length];
 				}
-				s += scanST[2];
 			}
 			out.println("# generations @ end: " + Formatter.formatSci(ibs.getUpdates(), 6));
 			engine.writeFooter();
@@ -312,6 +291,101 @@ public class simTBT extends TBT implements ChangeListener {
 		engine.exportState();
 	}
 
+	/**
+	 * Prepare the simulation for sampling. This is called at the start of
+	 * {@link #run()} as well as by every replica when scanning parameters in
+	 * parallel.
+	 */
+	void prepare() {
+		out = ((EvoLudoJRE) engine).getOutput();
+		ibs = (org.evoludo.simulator.models.IBS) model;
+		mean = new double[nTraits];
+		var = new double[nTraits];
+		state = new double[nTraits];
+	}
+
+	/**
+	 * Get the grid points from {@code start} to {@code end} in increments of
+	 * {@code incr}.
+	 * 
+	 * @param start the first grid point
+	 * @param end   the last grid point
+	 * @param incr  the increment
+	 * @return the array of grid points
+	 */
+	static double[] scanGrid(double start, double end, double incr) {
+		// accumulate increments to reproduce grid points of sequential scans
+		int n = 0;
+		for (double x = start; x < end + incr; x += incr)
+			n++;
+		double[] grid = new double[n];
+		double x = start;
+		for (int i = 0; i < n; i++) {
+			grid[i] = x;
+			x += incr;
+		}
+		return grid;
+	}
+
+	/**
+	 * Sample the point {@code (s, t)} in the S-T-plane.
+	 * 
+	 * @param s the sucker's payoff
+	 * @param t the temptation to defect
+	 * @return the formatted average frequencies of all traits
+	 */
+	String scanST(double s, double t) {
+		setPayoff(1.0, COOPERATE, COOPERATE);
+		setPayoff(0.0, DEFECT, DEFECT);
+		setPayoff(s, COOPERATE, DEFECT);
+		setPayoff(t, DEFECT, COOPERATE);
+		return scanPoint(Formatter.format(s, 2) + "\t" + Formatter.format(t, 2));
+	}
+
+	/**
+	 * Reset, relax and run the model for the current payoffs.
+	 * 
+	 * @param label the label of the grid point
+	 * @return the label followed by the average frequencies and their standard
+	 *         deviations
+	 */
+	String scanPoint(String label) {
+		Arrays.fill(mean, 0.0);
+		Arrays.fill(var, 0.0);
+		// ignore notifications until sampling starts; otherwise results depend on
+		// the previous grid point
+		prevsample = Double.POSITIVE_INFINITY;
+		engine.modelReset();
+		// relax population
+		boolean converged = engine.modelRelax();
+		prevsample = ibs.getUpdates();
+		if (converged) {
+			// simulations converged already - mean is current state and sdev is zero
+			model.getMeanTraits(getID(), mean);
+		} else {
+			while (engine.modelNext()) {
+				// loop until converged (or timeend reached)
+			}
+		}
+		StringBuilder sb = new StringBuilder(label);
+		appendMeanSdev(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Append the average frequencies and their standard deviations to {@code sb}.
+	 * 
+	 * @param sb the string builder
+	 */
+	private void appendMeanSdev(StringBuilder sb) {
+		for (int n = 0; n < nTraits; n++) {
+			sb.append("\t")
+					.append(Formatter.format(mean[n], 6))
+					.append("\t")
+					.append(Formatter.format(Math.sqrt(var[n]), 6));
+		}
+	}
+
 	/**
 	 * Temporary variables for fixation probabilities and absorption times.
 	 */
@@ -0,0 +1,133 @@
+//
+// EvoLudo Project
+//
+// Copyright 2010-2025 Christoph Hauert
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//
+// For publications in any form, you are kindly requested to attribute the
+// author and project as follows:
+//
+//	Hauert, Christoph (<year>) EvoLudo Project, https://www.evoludo.org
+//			(doi: 10.5281/zenodo.14591549 [, <version>])
+//
+//	<year>:    year of release (or download), and
+//	<version>: optional version number (as reported in output header
+//			or GUI console) to simplify replication of reported results.
+//
+// The formatting may be adjusted to comply with publisher requirements.
+//
+
+package org.evoludo.simulator.exec;
+
+import org.evoludo.graphics.Network2DJRE;
+import org.evoludo.simulator.EvoLudoJRE;
+import org.evoludo.simulator.Geometry;
+import org.evoludo.simulator.Network.LayoutListener;
+import org.evoludo.util.Formatter;
+
+/**
+ * Benchmark for the layout of networks. The geometry of the population is
+ * specified by the usual command line options, e.g.
+ * 
+ * <pre>
+ * java -cp TestEvoLudo.jar org.evoludo.simulator.exec.TestLayout --module 2x2 \
+ * 		--geometry f4 --popsize 10000 --layoutangle 0.8 --seed 0
+ * </pre>
+ * 
+ * The network is laid out twice starting from the same initial configuration:
+ * first with the exact repulsion between all nodes and second with the
+ * Barnes-Hut approximation for the opening angle set by {@code --layoutangle}.
+ * For both layouts the time, the potential energy reported by the layouting
+ * process as well as the exact potential energy of the final layout are
+ * reported. The maximum time for each layout is set by
+ * {@code --timeout <s>} in seconds (defaults to 60).
+ * 
+ * @author Christoph Hauert
+ */
+public class TestLayout implements LayoutListener {
+
+	/**
+	 * The default timeout of the layouting process in seconds.
+	 */
+	static final int DEFAULT_TIMEOUT = 60;
+
+	@Override
+	public void layoutUpdate(double progress) {
+		// no animation
+	}
+
+	@Override
+	public void layoutComplete() {
+		// layout runs in calling thread
+	}
+
+	/**
+	 * Lay out {@code geometry} with opening angle {@code angle} and report the
+	 * results.
+	 * 
+	 * @param engine   the pacemaker for running the model
+	 * @param geometry the geometry to lay out
+	 * @param angle    the opening angle ({@code 0} for exact repulsion)
+	 * @param timeout  the timeout in milliseconds
+	 * @return {@code false} if the geometry does not require a layout
+	 */
+	boolean layout(EvoLudoJRE engine, Geometry geometry, double angle, int timeout) {
+		Network2DJRE network = new Network2DJRE(engine, geometry);
+		network.reset();
+		if (!network.getStatus().requiresLayout()) {
+			System.out.println("# " + geometry.getType() + " does not require layout.");
+			return false;
+		}
+		network.setOpeningAngle(angle);
+		network.setLayoutTimout(timeout);
+		long start = System.currentTimeMillis();
+		network.doLayout(this, false);
+		long elapsed = System.currentTimeMillis() - start;
+		System.out.println((angle > 0.0 ? "Barnes-Hut (" + Formatter.format(angle, 2) + ")" : "exact") //
+				+ ":\ttime " + Formatter.format(elapsed / 1000.0, 3) + " sec" //
+				+ ",\tlayout energy " + Formatter.formatSci(network.getPotential(), 6) //
+				+ ",\texact energy " + Formatter.formatSci(network.computePotential(), 6));
+		return true;
+	}
+
+	/**
+	 * Main method to run the benchmark.
+	 * 
+	 * @param args the array of command line arguments
+	 */
+	public static void main(String[] args) {
+		int timeout = DEFAULT_TIMEOUT;
+		StringBuilder clo = new StringBuilder();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--timeout") && i + 1 < args.length) {
+				timeout = Integer.parseInt(args[++i]);
+				continue;
+			}
+			clo.append(args[i]).append(" ");
+		}
+		EvoLudoJRE engine = new EvoLudoJRE(false);
+		engine.setHeadless(true);
+		engine.setCLO(clo.toString());
+		if (engine.parseCLO() > 0)
+			engine.exit(1);
+		engine.modelReset();
+		Geometry geometry = engine.getModule().getGeometry();
+		System.out.println("# " + geometry.getType() + " with " + geometry.size + " nodes");
+		TestLayout benchmark = new TestLayout();
+		double angle = engine.getLayoutAngle();
+		if (benchmark.layout(engine, geometry, 0.0, timeout * 1000) && angle > 0.0)
+			benchmark.layout(engine, geometry, angle, timeout * 1000);
+		engine.exit(0);
+	}
+}